@@ -35,6 +35,8 @@ dependencies {
     // Jetty 11 for embedded server and servlet support (EE9)
     implementation("org.eclipse.jetty:jetty-server:11.0.20")
     implementation("org.eclipse.jetty:jetty-servlet:11.0.20")
+    implementation("org.eclipse.jetty:jetty-unixdomain-server:11.0.20")
+    implementation("org.eclipse.jetty.http2:http2-server:11.0.20")
 
     // Use JUnit Jupiter for testing
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.0")
@@ -85,17 +85,19 @@ public class WigAIExtension extends ControllerExtension implements ConfigChangeO
     }
 
     /**
-     * Gracefully restarts the server with new configuration.
+     * Applies a changed host or port. A running server only moves its TCP connector, keeping the
+     * MCP servlet and its sessions alive; otherwise the server is started from scratch.
      */
     private void restartServer() {
-        try {
-            // Create MCP servlet from the MCP server manager
-            ServletHolder mcpServlet = mcpServerManager.createMcpServlet(MCP_ENDPOINT_PATH);
+        if (!jettyServerManager.isRunning()) {
+            startServer();
+            return;
+        }
 
-            // Restart Jetty server with the MCP servlet
-            jettyServerManager.restartServer(mcpServlet, MCP_ENDPOINT_PATH);
+        try {
+            jettyServerManager.rebindConnector();
         } catch (Exception e) {
-            logger.error("Failed to create MCP servlet or restart server", e);
+            logger.error("Failed to rebind server to the new address", e);
         }
     }    /**
      * Called when the MCP server host changes.
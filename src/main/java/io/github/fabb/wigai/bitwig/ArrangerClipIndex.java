@@ -0,0 +1,154 @@
+package io.github.fabb.wigai.bitwig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interval index of arranger clips on the timeline, queried by time range.
+ *
+ * The Bitwig API has no enumeration of arranger clips; positions become known through the arranger cursor
+ * clip whenever a clip is selected. Each observation is merged in incrementally: since clips on one track
+ * never overlap, any known interval on the same track that overlaps a newly observed one is outdated (the clip
+ * was moved, resized or replaced) and is dropped. Selecting another clip cannot be told apart from moving the
+ * selected one, so an interval that the new one does not overlap is kept and may be stale. Tracks are identified
+ * by their position, so that renaming a track or giving two tracks the same name does not merge or lose their
+ * clips; reordering tracks shifts the positions and clears the index. Intervals are kept sorted by start, and
+ * the longest known clip bounds how far back a range query has to look, so queries are a binary search plus a
+ * short scan.
+ */
+public class ArrangerClipIndex {
+
+    /**
+     * A clip on the arranger timeline.
+     *
+     * @param trackPosition The position of the track holding the clip
+     * @param start         The start position in beats
+     * @param end           The end position in beats
+     */
+    public record Interval(int trackPosition, double start, double end) {
+        public double length() {
+            return end - start;
+        }
+
+        boolean overlaps(double from, double to) {
+            return start < to && end > from;
+        }
+    }
+
+    private final List<Interval> byStart = new ArrayList<>();
+    // Last known track name per position, to tell a reorder of tracks from a rename
+    private final Map<Integer, String> trackNames = new HashMap<>();
+    private double maxLength;
+
+    /**
+     * Records the position of an arranger clip, replacing outdated intervals on the same track.
+     *
+     * @param trackPosition The position of the track holding the clip
+     * @param start         The start position in beats
+     * @param end           The end position in beats
+     * @return true if the index changed
+     */
+    public synchronized boolean observe(int trackPosition, double start, double end) {
+        if (trackPosition < 0 || !(end > start)) {
+            return false;
+        }
+
+        for (int i = firstCandidate(start); i < byStart.size() && byStart.get(i).start() < end; i++) {
+            Interval known = byStart.get(i);
+            if (known.trackPosition() == trackPosition && known.overlaps(start, end)) {
+                if (known.start() == start && known.end() == end) {
+                    return false;
+                }
+                byStart.remove(i--);
+            }
+        }
+
+        Interval interval = new Interval(trackPosition, start, end);
+        byStart.add(insertionPoint(start), interval);
+        maxLength = Math.max(maxLength, interval.length());
+        return true;
+    }
+
+    /**
+     * Records the name of the track at a position. A name that another position held before means that the
+     * tracks were reordered, which moves clips to other positions, so the index is cleared; a name not held
+     * elsewhere is a rename and keeps the clips.
+     *
+     * @param trackPosition The position of the track
+     * @param name          The track's new name
+     * @return true if the index was cleared
+     */
+    public synchronized boolean trackNamed(int trackPosition, String name) {
+        String previous = trackNames.put(trackPosition, name);
+        if (previous == null || name == null || name.isEmpty() || name.equals(previous)) {
+            return false;
+        }
+        for (Map.Entry<Integer, String> entry : trackNames.entrySet()) {
+            if (entry.getKey() != trackPosition && name.equals(entry.getValue())) {
+                clear();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the clips overlapping a time range, in start order.
+     *
+     * @param from The range start in beats
+     * @param to   The range end in beats
+     * @return The overlapping clips
+     */
+    public synchronized List<Interval> query(double from, double to) {
+        List<Interval> result = new ArrayList<>();
+        for (int i = firstCandidate(from); i < byStart.size() && byStart.get(i).start() < to; i++) {
+            Interval interval = byStart.get(i);
+            if (interval.end() > from) {
+                result.add(interval);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed clips.
+     */
+    public synchronized int size() {
+        return byStart.size();
+    }
+
+    /**
+     * Removes all clips, e.g. when another project is opened or tracks are inserted, removed or reordered.
+     */
+    public synchronized void clear() {
+        byStart.clear();
+        maxLength = 0;
+    }
+
+    /**
+     * Returns the index of the first interval that can end after the given position.
+     * No interval is longer than maxLength, so every earlier one ends at or before it.
+     */
+    private int firstCandidate(double position) {
+        return insertionPoint(position - maxLength);
+    }
+
+    /**
+     * Returns the index of the first interval starting at or after the given position.
+     */
+    private int insertionPoint(double position) {
+        int low = 0;
+        int high = byStart.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byStart.get(mid).start() < position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.fabb.wigai.bitwig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Time-ordered queue of actions that are due at a musical position.
+ *
+ * The transport position observer feeds {@link #onPosition} on the host thread while the transport plays.
+ * Position updates only arrive every few tens of milliseconds, so every action that falls within the
+ * lookahead window is handed to the dispatcher together with the delay until its exact position. Handed-out
+ * actions stay listed and cancellable until they run, and {@link #recall()} returns them to the queue when
+ * the transport stops before they are due.
+ */
+public class BeatScheduler {
+
+    /**
+     * How far ahead of the transport position actions are handed to the dispatcher.
+     */
+    public static final long LOOKAHEAD_MS = 150;
+
+    private static final double MS_PER_MINUTE = 60_000.0;
+
+    /**
+     * Runs a task on the host thread after a delay.
+     */
+    public interface Dispatcher {
+        void dispatch(Runnable task, long delayMs);
+    }
+
+    /**
+     * A task to schedule.
+     *
+     * @param beat        The position in beats (quarter notes) from the project start
+     * @param description Short description of the action for listings
+     * @param task        The action to run
+     */
+    public record Request(double beat, String description, Runnable task) {}
+
+    /**
+     * A pending action.
+     *
+     * @param id          The id to cancel the action with
+     * @param beat        The position in beats at which the action runs
+     * @param description Short description of the action
+     * @param dispatched  Whether the action is within the lookahead window and about to run
+     */
+    public record Action(long id, double beat, String description, boolean dispatched) {}
+
+    private static final class Entry {
+        private final long id;
+        private final double beat;
+        private final String description;
+        private final Runnable task;
+        private boolean dispatched;
+        // Invalidates tasks handed to the dispatcher before the entry was recalled
+        private int dispatchCount;
+
+        private Entry(long id, double beat, String description, Runnable task) {
+            this.id = id;
+            this.beat = beat;
+            this.description = description;
+            this.task = task;
+        }
+
+        private Action toAction() {
+            return new Action(id, beat, description, dispatched);
+        }
+    }
+
+    private static final Comparator<Entry> BY_POSITION =
+        Comparator.comparingDouble((Entry entry) -> entry.beat).thenComparingLong(entry -> entry.id);
+
+    private final int capacity;
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(BY_POSITION);
+    private final Map<Long, Entry> pending = new HashMap<>();
+    private long nextId = 1;
+
+    /**
+     * Creates a scheduler holding at most the given number of pending actions.
+     *
+     * @param capacity The maximum number of pending actions
+     */
+    public BeatScheduler(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Schedules a batch of actions. Either all actions are scheduled or, if they do not fit, none.
+     *
+     * @param requests The actions to schedule
+     * @return The scheduled actions in request order
+     * @throws IllegalStateException if the batch exceeds the remaining capacity
+     */
+    public synchronized List<Action> scheduleAll(List<Request> requests) {
+        if (pending.size() + requests.size() > capacity) {
+            throw new IllegalStateException("At most " + capacity + " actions can be pending, "
+                + pending.size() + " already are");
+        }
+
+        List<Action> scheduled = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            Entry entry = new Entry(nextId++, request.beat(), request.description(), request.task());
+            pending.put(entry.id, entry);
+            queue.add(entry);
+            scheduled.add(entry.toAction());
+        }
+        return scheduled;
+    }
+
+    /**
+     * Cancels a pending action, including one that is already dispatched but has not run yet.
+     *
+     * @param id The action id
+     * @return Whether the action was pending
+     */
+    public synchronized boolean cancel(long id) {
+        Entry entry = pending.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        queue.remove(entry);
+        return true;
+    }
+
+    /**
+     * Cancels all pending actions.
+     *
+     * @return The number of cancelled actions
+     */
+    public synchronized int cancelAll() {
+        int count = pending.size();
+        pending.clear();
+        queue.clear();
+        return count;
+    }
+
+    /**
+     * Returns the pending actions ordered by position.
+     */
+    public synchronized List<Action> list() {
+        List<Entry> entries = new ArrayList<>(pending.values());
+        entries.sort(BY_POSITION);
+        List<Action> actions = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            actions.add(entry.toAction());
+        }
+        return actions;
+    }
+
+    /**
+     * Returns the number of pending actions.
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Dispatches every queued action that is due within the lookahead window of the transport position.
+     * Actions whose position has already passed are dispatched without delay.
+     *
+     * @param position   The transport position in beats
+     * @param tempoBpm   The current tempo in beats per minute
+     * @param dispatcher Runs the actions after their delay
+     */
+    public void onPosition(double position, double tempoBpm, Dispatcher dispatcher) {
+        if (tempoBpm <= 0) {
+            return;
+        }
+        double msPerBeat = MS_PER_MINUTE / tempoBpm;
+        double horizon = position + LOOKAHEAD_MS / msPerBeat;
+
+        List<Runnable> tasks = new ArrayList<>();
+        List<Long> delays = new ArrayList<>();
+        synchronized (this) {
+            while (!queue.isEmpty() && queue.peek().beat <= horizon) {
+                Entry entry = queue.poll();
+                entry.dispatched = true;
+                int dispatchCount = ++entry.dispatchCount;
+                tasks.add(() -> run(entry, dispatchCount));
+                delays.add(Math.max(0, Math.round((entry.beat - position) * msPerBeat)));
+            }
+        }
+
+        // Dispatch outside the lock, the dispatcher may run a task right away
+        for (int i = 0; i < tasks.size(); i++) {
+            dispatcher.dispatch(tasks.get(i), delays.get(i));
+        }
+    }
+
+    /**
+     * Returns dispatched actions that have not run yet to the queue, e.g. when the transport stops.
+     */
+    public synchronized void recall() {
+        for (Entry entry : pending.values()) {
+            if (entry.dispatched) {
+                entry.dispatched = false;
+                entry.dispatchCount++;
+                queue.add(entry);
+            }
+        }
+    }
+
+    private void run(Entry entry, int dispatchCount) {
+        synchronized (this) {
+            if (pending.get(entry.id) != entry || entry.dispatchCount != dispatchCount) {
+                return;
+            }
+            pending.remove(entry.id);
+        }
+        entry.task.run();
+    }
+}
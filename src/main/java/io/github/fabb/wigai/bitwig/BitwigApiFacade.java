@@ -1,19 +1,34 @@
 package io.github.fabb.wigai.bitwig;
 
 import com.bitwig.extension.api.Color;
+import com.bitwig.extension.callback.BooleanValueChangedCallback;
+import com.bitwig.extension.callback.ColorValueChangedCallback;
+import com.bitwig.extension.callback.DoubleValueChangedCallback;
+import com.bitwig.extension.callback.EnumValueChangedCallback;
+import com.bitwig.extension.callback.StringValueChangedCallback;
 import com.bitwig.extension.controller.api.*;
+import io.github.fabb.wigai.common.AppConstants;
 import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.data.DeviceDetailsResult;
 import io.github.fabb.wigai.common.data.ParameterInfo;
+import io.github.fabb.wigai.common.data.ParameterSetting;
 import io.github.fabb.wigai.common.error.BitwigApiException;
 import io.github.fabb.wigai.common.error.ErrorCode;
 import io.github.fabb.wigai.common.error.WigAIErrorHandler;
+import io.github.fabb.wigai.common.filter.TrackFilter;
 import io.github.fabb.wigai.common.validation.ParameterValidator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Facade for Bitwig API interactions.
@@ -32,35 +47,103 @@ public class BitwigApiFacade {
         public static final int MAX_TRACKS = 128;
         public static final int MAX_SCENES = 128;
         public static final int MAX_DEVICES_PER_TRACK = 128;
-        public static final int TICKS_PER_SIXTEENTH = 240;
-        public static final int BEATS_PER_MEASURE = 4;
-        public static final int SIXTEENTHS_PER_BEAT = 4;
         public static final int DEVICE_PARAMETER_COUNT = 8;
+        public static final int CATALOG_PAGE_COUNT = 16;
+        public static final int MAX_PARAMETER_MATCHES = 10;
         public static final int PROJECT_PARAMETER_COUNT = 8;
+        public static final int MAX_SCHEDULED_ACTIONS = 256;
+        public static final int CURSOR_POOL_SIZE = 4;
+        public static final long CURSOR_LEASE_IDLE_MS = 5 * 60 * 1000;
+        public static final int SEND_WRITE_BATCH_SIZE = 64;
+        public static final long NOTE_WRITE_TIMEOUT_MS = 5000;
+        // Launch options that start a clip right away with its usual launch mode
+        public static final String LAUNCH_QUANTIZATION_NONE = "none";
+        public static final String LAUNCH_MODE_DEFAULT = "default";
+        // Every effect track is the target of one send, so there are as many as sends can be observed
+        public static final int MAX_EFFECT_TRACKS = AppConstants.MAX_SENDS_PER_TRACK;
+        // Normalized mixer values closer than this count as equal, so rounding in a morph is not written back
+        public static final double MIXER_VALUE_EPSILON = 1e-6;
 
         private Constants() {} // Prevent instantiation
     }
 
     private final ControllerHost host;
+    // The extension is initialized on the thread that also runs observers and scheduled tasks
+    private final HostTaskRunner hostTasks;
     private final Transport transport;
     private final Application application;
     private final Logger logger;
     private final CursorDevice cursorDevice;
-    private final RemoteControlsPage deviceParameterBank;
+    private final CursorRemoteControlsPage deviceParameterBank;
     private final TrackBank trackBank;
+    private final TrackBank effectTrackBank;
+    // Names of the effect tracks that the sends of every track feed, kept up to date by observers
+    private final String[] effectTrackNames;
+    private final MasterTrack masterTrack;
     private final SceneBankFacade sceneBankFacade;
     private final CursorTrack cursorTrack;
     private final RemoteControlsPage projectParameterBank;
     private final List<DeviceBank> trackDeviceBanks;
+    private final List<DeviceBank> effectDeviceBanks;
+    private final DeviceBank masterDeviceBank;
+    private final MixerState mixerState;
+    // Channel states of the tracks outside the track bank; the master track is the only slot of its store
+    private final MixerState effectMixerState;
+    private final MixerState masterMixerState;
+    private final ProjectSearchIndex searchIndex = new ProjectSearchIndex();
+    private final ProjectStateVersions stateVersions = new ProjectStateVersions();
+    private final PositionFormatter positionFormatter = new PositionFormatter();
+    private final Clip cursorClip;
+    private final ClipNoteBuffer clipNotes = new ClipNoteBuffer(ClipNoteBuffer.GRID_STEPS);
+    private final ClipNoteBuffer.StepWriter cursorClipWriter;
+    private final Clip arrangerCursorClip;
+    private final ArrangerClipIndex arrangerClipIndex = new ArrangerClipIndex();
+    private final RemoteControlCatalog remoteControlCatalog =
+        new RemoteControlCatalog(Constants.CATALOG_PAGE_COUNT, Constants.DEVICE_PARAMETER_COUNT);
+    private final CursorRemoteControlsPage[] catalogPages = new CursorRemoteControlsPage[Constants.CATALOG_PAGE_COUNT];
+    // Slots of the shown page first, then one block of slots per catalogue page
+    private final ParameterWriteTracker parameterWrites =
+        new ParameterWriteTracker((1 + Constants.CATALOG_PAGE_COUNT) * Constants.DEVICE_PARAMETER_COUNT);
+    private final BeatScheduler beatScheduler = new BeatScheduler(Constants.MAX_SCHEDULED_ACTIONS);
+    // Independent cursor sets leased to clients, so that they can work on different devices at the same time
+    private final CursorPool cursorPool = new CursorPool(Constants.CURSOR_POOL_SIZE, Constants.CURSOR_LEASE_IDLE_MS);
+    private final CursorTrack[] pooledCursorTracks = new CursorTrack[Constants.CURSOR_POOL_SIZE];
+    private final PinnableCursorDevice[] pooledCursorDevices = new PinnableCursorDevice[Constants.CURSOR_POOL_SIZE];
+    private final CursorRemoteControlsPage[] pooledParameterPages = new CursorRemoteControlsPage[Constants.CURSOR_POOL_SIZE];
+    private final String[] leasedDeviceNames = new String[Constants.CURSOR_POOL_SIZE];
+    private final int[] leasedTrackIndices = new int[Constants.CURSOR_POOL_SIZE];
+    // Lease whose device each pooled cursor was last told to select, set by the scheduled select task
+    private final AtomicLongArray selectedLeaseIds = new AtomicLongArray(Constants.CURSOR_POOL_SIZE);
+    private boolean arrangerClipUpdateScheduled;
+    // The interval of the clip currently selected in the arranger, the only one whose position is known to be current
+    private volatile ArrangerClipIndex.Interval lastArrangerClip;
+
+    // Live item counts reported by the banks; -1 until the first observer callback
+    private volatile int trackItemCount = -1;
+    private final int[] deviceItemCounts;
+    private final int[] effectDeviceItemCounts;
+    private final int[] masterDeviceItemCounts = {-1};
 
     /**
-     * Creates a new BitwigApiFacade instance.
+     * Creates a new BitwigApiFacade instance observing the default number of sends per track.
      *
      * @param host   The Bitwig ControllerHost
      * @param logger The logger for logging operations
      */
     public BitwigApiFacade(ControllerHost host, Logger logger) {
+        this(host, logger, AppConstants.DEFAULT_SENDS_PER_TRACK);
+    }
+
+    /**
+     * Creates a new BitwigApiFacade instance.
+     *
+     * @param host          The Bitwig ControllerHost
+     * @param logger        The logger for logging operations
+     * @param sendsPerTrack The number of sends observed per track, fixed for the lifetime of the extension
+     */
+    public BitwigApiFacade(ControllerHost host, Logger logger, int sendsPerTrack) {
         this.host = host;
+        this.hostTasks = new HostTaskRunner(host, Thread.currentThread());
         this.transport = host.createTransport();
         this.application = host.createApplication();
         this.logger = logger;
@@ -69,13 +152,29 @@ public class BitwigApiFacade {
         transport.isPlaying().markInterested();
         transport.isArrangerRecordEnabled().markInterested();
         transport.isArrangerLoopEnabled().markInterested();
+        transport.arrangerLoopStart().markInterested();
+        transport.arrangerLoopDuration().markInterested();
         transport.isMetronomeEnabled().markInterested();
         transport.tempo().markInterested();
         transport.tempo().value().markInterested();
         transport.timeSignature().markInterested();
+        transport.timeSignature().numerator().addValueObserver(positionFormatter::setNumerator);
+        transport.timeSignature().denominator().addValueObserver(positionFormatter::setDenominator);
         transport.getPosition().markInterested();
         transport.playPositionInSeconds().markInterested();
 
+        // Scheduled actions are driven by the play position; actions dispatched ahead of a stop are requeued
+        transport.getPosition().addValueObserver(position -> {
+            if (transport.isPlaying().get()) {
+                beatScheduler.onPosition(position, transport.tempo().getRaw(), host::scheduleTask);
+            }
+        });
+        transport.isPlaying().addValueObserver(playing -> {
+            if (!playing) {
+                beatScheduler.recall();
+            }
+        });
+
         // Mark application properties as interested for status queries
         application.projectName().markInterested();
         application.hasActiveEngine().markInterested();
@@ -84,36 +183,133 @@ public class BitwigApiFacade {
         this.cursorTrack = host.createCursorTrack(0, 0);
         this.cursorDevice = cursorTrack.createCursorDevice();
         this.deviceParameterBank = cursorDevice.createCursorRemoteControlsPage(Constants.DEVICE_PARAMETER_COUNT);
+        deviceParameterBank.selectedPageIndex().markInterested();
+        deviceParameterBank.pageNames().addValueObserver(remoteControlCatalog::setPageNames);
+
+        // One page cursor pinned to each page index, so that parameter names of all pages are observed
+        for (int pageIndex = 0; pageIndex < Constants.CATALOG_PAGE_COUNT; pageIndex++) {
+            observeCatalogPage(pageIndex);
+        }
+
+        // Cursors can only be created here, so the leasable cursor sets are created up front
+        for (int slot = 0; slot < Constants.CURSOR_POOL_SIZE; slot++) {
+            createPooledCursor(slot);
+        }
+
+        // Launcher cursor clip with a fixed step grid over all keys, mirrored into the note buffer by its step observer
+        this.cursorClip = host.createLauncherCursorClip(ClipNoteBuffer.GRID_STEPS, ClipNoteBuffer.KEYS);
+        cursorClip.setStepSize(ClipNoteBuffer.STEP_SIZE_BEATS);
+        cursorClip.scrollToKey(0);
+        cursorClip.scrollToStep(0);
+        cursorClip.exists().markInterested();
+        cursorClip.getLoopLength().markInterested();
+        cursorClip.exists().addValueObserver(exists -> {
+            if (!exists) {
+                clipNotes.clear();
+            }
+        });
+        cursorClip.addNoteStepObserver(this::onNoteStepChanged);
+        this.cursorClipWriter = new ClipNoteBuffer.StepWriter() {
+            @Override
+            public void setStep(int channel, int step, int pitch, int velocity, double duration) {
+                cursorClip.setStep(channel, step, pitch, velocity, duration);
+            }
+
+            @Override
+            public void clearStep(int channel, int step, int pitch) {
+                cursorClip.clearStep(channel, step, pitch);
+            }
+        };
+
+        // Arranger cursor clip; the position of every clip selected in the arranger is merged into the clip index.
+        // Start, stop and track change in separate callbacks, so they are collected into one update on the host thread.
+        this.arrangerCursorClip = host.createArrangerCursorClip(1, 1);
+        arrangerCursorClip.exists().markInterested();
+        arrangerCursorClip.getPlayStart().markInterested();
+        arrangerCursorClip.getPlayStop().markInterested();
+        arrangerCursorClip.getTrack().position().markInterested();
+        arrangerCursorClip.exists().addValueObserver(exists -> scheduleArrangerClipUpdate());
+        arrangerCursorClip.getPlayStart().addValueObserver(position -> scheduleArrangerClipUpdate());
+        arrangerCursorClip.getPlayStop().addValueObserver(position -> scheduleArrangerClipUpdate());
+        arrangerCursorClip.getTrack().position().addValueObserver(position -> scheduleArrangerClipUpdate());
+        application.projectName().addValueObserver(name -> {
+            arrangerClipIndex.clear();
+            lastArrangerClip = null;
+        });
 
         // Initialize project parameter access via MasterTrack (project parameters)
-        MasterTrack masterTrack = host.createMasterTrack(0);
+        this.masterTrack = host.createMasterTrack(0);
         this.projectParameterBank = masterTrack.createCursorRemoteControlsPage(Constants.PROJECT_PARAMETER_COUNT);
 
         // Initialize track bank for clip launching (support up to 128 tracks and 128 scenes for full functionality)
-        this.trackBank = host.createTrackBank(Constants.MAX_TRACKS, 0, Constants.MAX_SCENES);
+        this.trackBank = host.createTrackBank(Constants.MAX_TRACKS, sendsPerTrack, Constants.MAX_SCENES);
         this.sceneBankFacade = new SceneBankFacade(host, logger, Constants.MAX_SCENES); // Support up to 128 scenes for full functionality
 
         // Initialize device banks for each track to enable device enumeration
         this.trackDeviceBanks = new ArrayList<>();
+        this.deviceItemCounts = new int[trackBank.getSizeOfBank()];
+        Arrays.fill(deviceItemCounts, -1);
         for (int i = 0; i < trackBank.getSizeOfBank(); i++) {
             Track track = trackBank.getItemAt(i);
             DeviceBank deviceBank = track.createDeviceBank(Constants.MAX_DEVICES_PER_TRACK);
             trackDeviceBanks.add(deviceBank);
+
+            final int deviceBankIndex = i;
+            deviceBank.itemCount().addValueObserver(count -> {
+                deviceItemCounts[deviceBankIndex] = count;
+                stateVersions.bump(ProjectStateVersions.Domain.TRACKS);
+            });
         }
 
+        // Observe the live track count so that loops stop at the last track instead of the bank size
+        trackBank.itemCount().addValueObserver(count -> {
+            if (trackItemCount >= 0 && count != trackItemCount) {
+                // Inserting or removing tracks shifts the positions the arranger clip index is keyed by
+                arrangerClipIndex.clear();
+                lastArrangerClip = null;
+            }
+            trackItemCount = count;
+            stateVersions.bump(ProjectStateVersions.Domain.TRACKS);
+        });
+
+        // Initialize the primitive mixer state store, kept up to date by the observers registered below
+        this.mixerState = new MixerState(trackBank.getSizeOfBank(), getSendBankSize());
+
+        // The effect tracks are the targets of the sends, one effect track per send index. They and the
+        // master track are not part of the track bank, so they get their own banks and channel state stores
+        this.effectTrackBank = host.createEffectTrackBank(Constants.MAX_EFFECT_TRACKS, 0);
+        this.effectTrackNames = new String[effectTrackBank.getSizeOfBank()];
+        this.effectMixerState = new MixerState(effectTrackBank.getSizeOfBank(), 0);
+        this.effectDeviceBanks = new ArrayList<>();
+        this.effectDeviceItemCounts = new int[effectTrackBank.getSizeOfBank()];
+        Arrays.fill(effectDeviceItemCounts, -1);
+        for (int i = 0; i < effectTrackBank.getSizeOfBank(); i++) {
+            final int effectIndex = i;
+            Track effectTrack = effectTrackBank.getItemAt(i);
+            effectDeviceBanks.add(observeTrackOutsideBank(effectTrack, effectMixerState, i, effectDeviceItemCounts));
+            effectTrack.name().addValueObserver(name -> effectTrackNames[effectIndex] = name);
+        }
+        this.masterMixerState = new MixerState(1, 0);
+        this.masterDeviceBank = observeTrackOutsideBank(masterTrack, masterMixerState, 0, masterDeviceItemCounts);
+
         // Mark interest in device properties to enable value access
         cursorDevice.exists().markInterested();
         cursorDevice.name().markInterested();
         cursorDevice.isEnabled().markInterested();
         cursorDevice.deviceType().markInterested();
 
-        // Mark interest in all device parameter properties to enable value access
+        // Mark interest in all device parameter properties to enable value access;
+        // applied values also feed the write tracker so that writes can be confirmed
         for (int i = 0; i < deviceParameterBank.getParameterCount(); i++) {
+            final int slot = i;
             RemoteControl parameter = deviceParameterBank.getParameter(i);
             parameter.exists().markInterested();
             parameter.name().markInterested();
             parameter.value().markInterested();
             parameter.displayedValue().markInterested();
+            parameter.value().addValueObserver(value -> parameterWrites.setValue(slot, value));
+            parameter.displayedValue().addValueObserver(display -> parameterWrites.setDisplayedValue(slot, display));
+            parameter.discreteValueCount().addValueObserver(count -> parameterWrites.setDiscreteValueCount(slot, count));
         }
 
         // Mark interest in project parameters to enable value access
@@ -151,6 +347,15 @@ public class BitwigApiFacade {
             track.isActivated().markInterested();
             track.color().markInterested();
 
+            // Keep the search index up to date as names change, and drop arranger clips when tracks are reordered
+            final int searchTrackIndex = trackIndex;
+            track.name().addValueObserver(name -> {
+                searchIndex.update(ProjectSearchIndex.Kind.TRACK, searchTrackIndex, -1, name);
+                if (arrangerClipIndex.trackNamed(searchTrackIndex, name)) {
+                    lastArrangerClip = null;
+                }
+            });
+
             // Mark interest in device properties for this track
             DeviceBank deviceBank = trackDeviceBanks.get(trackIndex);
             for (int deviceIndex = 0; deviceIndex < deviceBank.getSizeOfBank(); deviceIndex++) {
@@ -159,18 +364,14 @@ public class BitwigApiFacade {
                 device.name().markInterested();
                 device.isEnabled().markInterested();
                 device.deviceType().markInterested();
+
+                final int searchDeviceIndex = deviceIndex;
+                device.name().addValueObserver(name ->
+                    searchIndex.update(ProjectSearchIndex.Kind.DEVICE, searchTrackIndex, searchDeviceIndex, name));
             }
 
-            // Mark interest in commonly used channel controls
-            track.mute().markInterested();
-            track.solo().markInterested();
-            track.arm().markInterested();
-            track.volume().value().markInterested();
-            track.volume().displayedValue().markInterested();
-            track.pan().value().markInterested();
-            track.pan().displayedValue().markInterested();
-            track.isMonitoring().markInterested();
-            track.monitorMode().markInterested();
+            observeChannel(track, mixerState, trackIndex);
+            final int mixerIndex = trackIndex;
 
             // Mark interest in send properties - only if send bank exists and has sends
             try {
@@ -183,6 +384,10 @@ public class BitwigApiFacade {
                         send.value().markInterested();
                         send.displayedValue().markInterested();
                         send.isEnabled().markInterested();
+                        if (sendIndex < mixerState.getSendCapacity()) {
+                            final int mixerSendIndex = sendIndex;
+                            send.value().addValueObserver(value -> mixerState.setSend(mixerIndex, mixerSendIndex, value));
+                        }
                     }
                 }
             } catch (Exception e) {
@@ -200,8 +405,168 @@ public class BitwigApiFacade {
                 slot.isStopQueued().markInterested();
                 slot.color().markInterested();
                 slot.name().markInterested();
+
+                final int searchSlotIndex = slotIndex;
+                slot.name().addValueObserver(name ->
+                    searchIndex.update(ProjectSearchIndex.Kind.CLIP, searchTrackIndex, searchSlotIndex, name));
+            }
+        }
+
+        sceneBankFacade.addSceneNameObserver((sceneIndex, name) ->
+            searchIndex.update(ProjectSearchIndex.Kind.SCENE, -1, sceneIndex, name));
+
+        observeStateVersions();
+    }
+
+    /**
+     * Marks interest in the channel controls of a track and keeps its slot in a mixer state store
+     * up to date without boxing or allocating per update.
+     *
+     * @param track The track to observe
+     * @param state The mixer state store holding the channel state of the track
+     * @param index The slot of the track in the store
+     */
+    private void observeChannel(Track track, MixerState state, int index) {
+        track.mute().markInterested();
+        track.solo().markInterested();
+        track.arm().markInterested();
+        track.volume().value().markInterested();
+        track.volume().displayedValue().markInterested();
+        track.pan().value().markInterested();
+        track.pan().displayedValue().markInterested();
+        track.isMonitoring().markInterested();
+        track.monitorMode().markInterested();
+
+        track.exists().addValueObserver(exists -> state.setExists(index, exists));
+        track.mute().addValueObserver(muted -> state.setMuted(index, muted));
+        track.solo().addValueObserver(soloed -> state.setSoloed(index, soloed));
+        track.arm().addValueObserver(armed -> state.setArmed(index, armed));
+        track.volume().value().addValueObserver(value -> state.setVolume(index, value));
+        track.pan().value().addValueObserver(value -> state.setPan(index, value));
+    }
+
+    /**
+     * Marks interest in the listed properties of an effect or master track, which are not part of the
+     * track bank, and creates the device bank for its device summaries.
+     *
+     * @param track            The track to observe
+     * @param state            The mixer state store holding the channel state of the track
+     * @param index            The slot of the track in the store
+     * @param deviceItemCounts The live device counts, of which the slot of the track is kept up to date
+     * @return The device bank of the track
+     */
+    private DeviceBank observeTrackOutsideBank(Track track, MixerState state, int index, int[] deviceItemCounts) {
+        track.name().markInterested();
+        track.exists().markInterested();
+        track.trackType().markInterested();
+        track.isGroup().markInterested();
+        track.isActivated().markInterested();
+        track.color().markInterested();
+        observeChannel(track, state, index);
+
+        DeviceBank deviceBank = track.createDeviceBank(Constants.MAX_DEVICES_PER_TRACK);
+        deviceBank.itemCount().addValueObserver(count -> {
+            deviceItemCounts[index] = count;
+            stateVersions.bump(ProjectStateVersions.Domain.TRACKS);
+        });
+        for (int deviceIndex = 0; deviceIndex < deviceBank.getSizeOfBank(); deviceIndex++) {
+            Device device = deviceBank.getItemAt(deviceIndex);
+            device.exists().markInterested();
+            device.name().markInterested();
+            device.isEnabled().markInterested();
+            device.deviceType().markInterested();
+        }
+        return deviceBank;
+    }
+
+    /**
+     * Registers observers that count changes of every value read by the track and scene listings,
+     * so that cached responses can tell whether the project changed since they were built.
+     * One callback instance per area is shared by all observed values; track and device counts
+     * are counted by their existing observers.
+     */
+    private void observeStateVersions() {
+        BooleanValueChangedCallback tracksBoolean = value -> stateVersions.bump(ProjectStateVersions.Domain.TRACKS);
+        StringValueChangedCallback tracksString = value -> stateVersions.bump(ProjectStateVersions.Domain.TRACKS);
+        ColorValueChangedCallback tracksColor = (red, green, blue) -> stateVersions.bump(ProjectStateVersions.Domain.TRACKS);
+        BooleanValueChangedCallback mixerBoolean = value -> stateVersions.bump(ProjectStateVersions.Domain.MIXER);
+        StringValueChangedCallback mixerString = value -> stateVersions.bump(ProjectStateVersions.Domain.MIXER);
+        DoubleValueChangedCallback mixerDouble = value -> stateVersions.bump(ProjectStateVersions.Domain.MIXER);
+        EnumValueChangedCallback mixerEnum = value -> stateVersions.bump(ProjectStateVersions.Domain.MIXER);
+        BooleanValueChangedCallback clipsBoolean = value -> stateVersions.bump(ProjectStateVersions.Domain.CLIPS);
+        StringValueChangedCallback clipsString = value -> stateVersions.bump(ProjectStateVersions.Domain.CLIPS);
+        ColorValueChangedCallback clipsColor = (red, green, blue) -> stateVersions.bump(ProjectStateVersions.Domain.CLIPS);
+
+        cursorTrack.exists().addValueObserver(tracksBoolean);
+        cursorTrack.name().addValueObserver(tracksString);
+
+        // The effect and master tracks are listed alongside the tracks in the bank
+        List<Track> tracks = new ArrayList<>();
+        List<DeviceBank> deviceBanks = new ArrayList<>();
+        for (int trackIndex = 0; trackIndex < trackBank.getSizeOfBank(); trackIndex++) {
+            tracks.add(trackBank.getItemAt(trackIndex));
+            deviceBanks.add(trackDeviceBanks.get(trackIndex));
+        }
+        for (int effectIndex = 0; effectIndex < effectTrackBank.getSizeOfBank(); effectIndex++) {
+            tracks.add(effectTrackBank.getItemAt(effectIndex));
+            deviceBanks.add(effectDeviceBanks.get(effectIndex));
+        }
+        tracks.add(masterTrack);
+        deviceBanks.add(masterDeviceBank);
+
+        for (int trackIndex = 0; trackIndex < tracks.size(); trackIndex++) {
+            Track track = tracks.get(trackIndex);
+            track.exists().addValueObserver(tracksBoolean);
+            track.name().addValueObserver(tracksString);
+            track.trackType().addValueObserver(tracksString);
+            track.isGroup().addValueObserver(tracksBoolean);
+            track.isActivated().addValueObserver(tracksBoolean);
+            track.color().addValueObserver(tracksColor);
+
+            DeviceBank deviceBank = deviceBanks.get(trackIndex);
+            for (int deviceIndex = 0; deviceIndex < deviceBank.getSizeOfBank(); deviceIndex++) {
+                Device device = deviceBank.getItemAt(deviceIndex);
+                device.exists().addValueObserver(tracksBoolean);
+                device.name().addValueObserver(tracksString);
+                device.isEnabled().addValueObserver(tracksBoolean);
+                device.deviceType().addValueObserver(tracksString);
+            }
+
+            track.mute().addValueObserver(mixerBoolean);
+            track.solo().addValueObserver(mixerBoolean);
+            track.arm().addValueObserver(mixerBoolean);
+            track.volume().value().addValueObserver(mixerDouble);
+            track.volume().displayedValue().addValueObserver(mixerString);
+            track.pan().value().addValueObserver(mixerDouble);
+            track.pan().displayedValue().addValueObserver(mixerString);
+            track.isMonitoring().addValueObserver(mixerBoolean);
+            track.monitorMode().addValueObserver(mixerEnum);
+            try {
+                SendBank sendBank = track.sendBank();
+                for (int sendIndex = 0; sendIndex < sendBank.getSizeOfBank(); sendIndex++) {
+                    Send send = sendBank.getItemAt(sendIndex);
+                    send.name().addValueObserver(mixerString);
+                    send.value().addValueObserver(mixerDouble);
+                    send.displayedValue().addValueObserver(mixerString);
+                    send.isEnabled().addValueObserver(mixerBoolean);
+                }
+            } catch (Exception e) {
+                // Some tracks may not have send banks (e.g., master track)
+            }
+
+            ClipLauncherSlotBank trackSlots = track.clipLauncherSlotBank();
+            for (int slotIndex = 0; slotIndex < trackSlots.getSizeOfBank(); slotIndex++) {
+                ClipLauncherSlot slot = trackSlots.getItemAt(slotIndex);
+                slot.hasContent().addValueObserver(clipsBoolean);
+                slot.isPlaying().addValueObserver(clipsBoolean);
+                slot.isRecording().addValueObserver(clipsBoolean);
+                slot.isPlaybackQueued().addValueObserver(clipsBoolean);
+                slot.name().addValueObserver(clipsString);
+                slot.color().addValueObserver(clipsColor);
             }
         }
+
+        sceneBankFacade.addSceneChangeObserver(() -> stateVersions.bump(ProjectStateVersions.Domain.SCENES));
     }
 
     // ========================================
@@ -219,7 +584,7 @@ public class BitwigApiFacade {
             return Optional.empty();
         }
 
-        for (int i = 0; i < trackBank.getSizeOfBank(); i++) {
+        for (int i = 0; i < getLiveTrackCount(); i++) {
             Track track = trackBank.getItemAt(i);
             if (track.exists().get() && trackName.equals(track.name().get())) {
                 return Optional.of(track);
@@ -254,7 +619,7 @@ public class BitwigApiFacade {
             return -1;
         }
 
-        for (int i = 0; i < trackBank.getSizeOfBank(); i++) {
+        for (int i = 0; i < getLiveTrackCount(); i++) {
             Track track = trackBank.getItemAt(i);
             if (track.exists().get() && trackName.equals(track.name().get())) {
                 return i;
@@ -263,10 +628,176 @@ public class BitwigApiFacade {
         return -1;
     }
 
+    /**
+     * Returns the number of tracks in the project that fit into the track bank.
+     * Falls back to the bank size until Bitwig has reported the live count.
+     *
+     * @return The number of track bank slots worth iterating
+     */
+    private int getLiveTrackCount() {
+        return boundedItemCount(trackItemCount, trackBank.getSizeOfBank());
+    }
+
+    /**
+     * Returns the number of devices on a track that fit into its device bank.
+     * Falls back to the bank size until Bitwig has reported the live count.
+     *
+     * @param trackIndex The index of the track in the track bank
+     * @return The number of device bank slots worth iterating
+     */
+    private int getLiveDeviceCount(int trackIndex) {
+        return boundedItemCount(deviceItemCounts[trackIndex], trackDeviceBanks.get(trackIndex).getSizeOfBank());
+    }
+
+    /**
+     * Returns the number of clip launcher slots worth iterating, bounded by the live scene count.
+     *
+     * @param slotBank The clip launcher slot bank of a track
+     * @return The number of slots that correspond to existing scenes
+     */
+    private int getLiveSlotCount(ClipLauncherSlotBank slotBank) {
+        return Math.min(slotBank.getSizeOfBank(), sceneBankFacade.getSceneCount());
+    }
+
+    /**
+     * Bounds an observed item count by the bank size, treating a negative count as not yet known.
+     */
+    static int boundedItemCount(int observedCount, int bankSize) {
+        return observedCount < 0 ? bankSize : Math.min(observedCount, bankSize);
+    }
+
+    /**
+     * Mirrors a note step change of the cursor clip into the note buffer.
+     * Only note starts are stored; sustain cells of longer notes are covered by the note's duration.
+     */
+    private void onNoteStepChanged(NoteStep noteStep) {
+        if (noteStep.state() == NoteStep.State.NoteOn) {
+            clipNotes.put(noteStep.x(), noteStep.y(), noteStep.channel(),
+                (int) Math.round(noteStep.velocity() * 127), noteStep.duration());
+        } else {
+            clipNotes.remove(noteStep.x(), noteStep.y());
+        }
+    }
+
+    /**
+     * Creates a cursor track, device and remote controls page that do not follow the user's selection.
+     */
+    private void createPooledCursor(int slot) {
+        CursorTrack track = host.createCursorTrack("WIGAI_CURSOR_TRACK_" + slot, "WigAI Cursor " + (slot + 1), 0, 0, false);
+        track.exists().markInterested();
+        track.name().markInterested();
+        track.position().markInterested();
+
+        PinnableCursorDevice device = track.createCursorDevice("WIGAI_CURSOR_DEVICE_" + slot, "WigAI Device " + (slot + 1),
+            0, CursorDeviceFollowMode.FIRST_DEVICE);
+        device.exists().markInterested();
+        device.name().markInterested();
+
+        CursorRemoteControlsPage page = device.createCursorRemoteControlsPage(Constants.DEVICE_PARAMETER_COUNT);
+        page.selectedPageIndex().markInterested();
+        page.pageNames().markInterested();
+        for (int i = 0; i < Constants.DEVICE_PARAMETER_COUNT; i++) {
+            RemoteControl parameter = page.getParameter(i);
+            parameter.exists().markInterested();
+            parameter.name().markInterested();
+            parameter.value().markInterested();
+            parameter.displayedValue().markInterested();
+        }
+
+        pooledCursorTracks[slot] = track;
+        pooledCursorDevices[slot] = device;
+        pooledParameterPages[slot] = page;
+    }
+
+    /**
+     * Creates the remote controls page cursor for one page of the catalogue and keeps it on that page.
+     * A cursor clamps to the last page when the device has fewer pages, and is moved back once it has enough.
+     */
+    private void observeCatalogPage(int pageIndex) {
+        CursorRemoteControlsPage page = cursorDevice.createCursorRemoteControlsPage(
+            "catalog-" + pageIndex, Constants.DEVICE_PARAMETER_COUNT, "");
+        catalogPages[pageIndex] = page;
+        page.selectedPageIndex().markInterested();
+        page.pageCount().markInterested();
+
+        Runnable pin = () -> {
+            int selected = page.selectedPageIndex().get();
+            remoteControlCatalog.setPinned(pageIndex, selected == pageIndex);
+            if (selected != pageIndex && pageIndex < page.pageCount().get()) {
+                host.scheduleTask(() -> page.selectedPageIndex().set(pageIndex), 0);
+            }
+        };
+        page.selectedPageIndex().addValueObserver(selected -> pin.run());
+        page.pageCount().addValueObserver(count -> pin.run());
+
+        for (int parameterIndex = 0; parameterIndex < Constants.DEVICE_PARAMETER_COUNT; parameterIndex++) {
+            final int slot = parameterIndex;
+            final int writeSlot = parameterWriteSlot(pageIndex, parameterIndex);
+            RemoteControl parameter = page.getParameter(parameterIndex);
+            parameter.name().addValueObserver(name ->
+                remoteControlCatalog.setParameterName(pageIndex, slot, name));
+            parameter.value().addValueObserver(value -> parameterWrites.setValue(writeSlot, value));
+            parameter.displayedValue().addValueObserver(display -> parameterWrites.setDisplayedValue(writeSlot, display));
+            parameter.discreteValueCount().addValueObserver(count -> parameterWrites.setDiscreteValueCount(writeSlot, count));
+        }
+    }
+
+    /**
+     * Schedules one index update for a burst of arranger cursor clip changes.
+     * Only called from observers, which run on the host thread.
+     */
+    private void scheduleArrangerClipUpdate() {
+        if (!arrangerClipUpdateScheduled) {
+            arrangerClipUpdateScheduled = true;
+            host.scheduleTask(this::recordArrangerCursorClip, 0);
+        }
+    }
+
+    /**
+     * Merges the position of the clip currently selected in the arranger into the clip index.
+     * The API does not tell a move of the selected clip apart from selecting another clip, so earlier intervals
+     * are kept unless the new one overlaps them, and only the selected clip is reported as last observed.
+     */
+    private void recordArrangerCursorClip() {
+        arrangerClipUpdateScheduled = false;
+        if (!arrangerCursorClip.exists().get()) {
+            lastArrangerClip = null;
+            return;
+        }
+
+        int trackPosition = arrangerCursorClip.getTrack().position().get();
+        double start = arrangerCursorClip.getPlayStart().get();
+        double end = arrangerCursorClip.getPlayStop().get();
+        arrangerClipIndex.observe(trackPosition, start, end);
+        lastArrangerClip = new ArrangerClipIndex.Interval(trackPosition, start, end);
+    }
+
+    /**
+     * Returns the number of sends per track exposed by the track bank.
+     *
+     * @return The send bank size, or 0 if the tracks expose no send bank
+     */
+    private int getSendBankSize() {
+        try {
+            return trackBank.getItemAt(0).sendBank().getSizeOfBank();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
     // ========================================
     // Public API Methods
     // ========================================
 
+    /**
+     * Returns the change counters of the project state, used to validate cached responses.
+     *
+     * @return the project state versions
+     */
+    public ProjectStateVersions getStateVersions() {
+        return stateVersions;
+    }
+
     /**
      * Returns the number of tracks in the track bank.
      *
@@ -277,167 +808,1045 @@ public class BitwigApiFacade {
     }
 
     /**
-     * Returns the name of the track at the given index.
+     * Returns the live number of tracks in the project, bounded by the track bank size.
      *
-     * @param index the track index
-     * @return the track name
-     * @throws BitwigApiException if the index is invalid or track doesn't exist
+     * @return the number of tracks to iterate over
      */
-    public String getTrackNameByIndex(int index) throws BitwigApiException {
-        final String operation = "getTrackNameByIndex";
+    public int getTrackCount() {
+        return getLiveTrackCount();
+    }
+
+    /**
+     * Returns the observer-maintained mixer state of all tracks in the track bank.
+     *
+     * @return The live MixerState store
+     */
+    public MixerState getMixerState() {
+        return mixerState;
+    }
+
+    /**
+     * Searches the names of tracks, devices, scenes and clips in the project.
+     *
+     * @param query The search text
+     * @param kinds The kinds of items to return, or null for all kinds
+     * @param limit The maximum number of results
+     * @return The ranked matches with their addresses
+     */
+    public List<Map<String, Object>> searchProject(String query, Set<ProjectSearchIndex.Kind> kinds, int limit) {
+        logger.info("BitwigApiFacade: Searching project for '" + query + "'");
+        return WigAIErrorHandler.executeWithErrorHandling("searchProject", () -> {
+            List<Map<String, Object>> results = searchIndex.search(query, kinds, limit);
+            logger.info("BitwigApiFacade: Found " + results.size() + " matches in " + searchIndex.size() + " indexed items");
+            return results;
+        });
+    }
+
+    /**
+     * Applies the channel state of a mixer snapshot to all tracks.
+     * Only values that differ from the current mixer state are written, and all writes happen
+     * in a single task on the host thread.
+     *
+     * @param target  The snapshot to apply
+     * @param delayMs Delay in milliseconds before the batch runs on the host thread
+     * @return The number of channel values that currently differ from the snapshot
+     * @throws BitwigApiException if scheduling the batch fails
+     */
+    public int applyMixerSnapshot(MixerSnapshot target, long delayMs) throws BitwigApiException {
+        return applyMixerSnapshot(target, delayMs, () -> true);
+    }
+
+    /**
+     * Applies the channel state of a mixer snapshot to all tracks, unless the batch has been superseded
+     * by the time it runs. The check happens on the host thread right before the writes, so a batch that
+     * is no longer current leaves the mixer untouched.
+     *
+     * @param target    The snapshot to apply
+     * @param delayMs   Delay in milliseconds before the batch runs on the host thread
+     * @param isCurrent Checked when the batch runs; the batch is dropped if it returns false
+     * @return The number of channel values that currently differ from the snapshot
+     * @throws BitwigApiException if scheduling the batch fails
+     */
+    public int applyMixerSnapshot(MixerSnapshot target, long delayMs, BooleanSupplier isCurrent) throws BitwigApiException {
+        final String operation = "applyMixerSnapshot";
 
         return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
-            // Validate track index
-            if (index < 0 || index >= trackBank.getSizeOfBank()) {
-                throw new BitwigApiException(
-                    ErrorCode.INVALID_RANGE,
-                    operation,
-                    "Track index must be between 0 and " + (trackBank.getSizeOfBank() - 1) + ", got: " + index,
-                    Map.of("index", index, "max_index", trackBank.getSizeOfBank() - 1)
-                );
+            int differences = writeMixerDifferences(target, false);
+            host.scheduleTask(() -> {
+                if (isCurrent.getAsBoolean()) {
+                    writeMixerDifferences(target, true);
+                }
+            }, delayMs);
+            return differences;
+        });
+    }
+
+    /**
+     * Compares a snapshot against the live mixer state and optionally writes every difference.
+     *
+     * @param target The snapshot to compare against
+     * @param apply  Whether to write the differing values to the tracks
+     * @return The number of differing values
+     */
+    private int writeMixerDifferences(MixerSnapshot target, boolean apply) {
+        int tracks = Math.min(target.getTrackCount(), mixerState.getTrackCount());
+        int sends = Math.min(target.getSendCount(), mixerState.getSendCapacity());
+        int differences = 0;
+
+        for (int trackIndex = 0; trackIndex < tracks; trackIndex++) {
+            Track track = apply ? trackBank.getItemAt(trackIndex) : null;
+
+            if (differs(mixerState.getVolume(trackIndex), target.getVolume(trackIndex))) {
+                differences++;
+                if (apply) {
+                    track.volume().value().set(target.getVolume(trackIndex));
+                }
+            }
+            if (differs(mixerState.getPan(trackIndex), target.getPan(trackIndex))) {
+                differences++;
+                if (apply) {
+                    track.pan().value().set(target.getPan(trackIndex));
+                }
+            }
+            if (mixerState.isMuted(trackIndex) != target.isMuted(trackIndex)) {
+                differences++;
+                if (apply) {
+                    track.mute().set(target.isMuted(trackIndex));
+                }
+            }
+            if (mixerState.isSoloed(trackIndex) != target.isSoloed(trackIndex)) {
+                differences++;
+                if (apply) {
+                    track.solo().set(target.isSoloed(trackIndex));
+                }
+            }
+            for (int sendIndex = 0; sendIndex < sends; sendIndex++) {
+                if (differs(mixerState.getSend(trackIndex, sendIndex), target.getSend(trackIndex, sendIndex))) {
+                    differences++;
+                    if (apply) {
+                        track.sendBank().getItemAt(sendIndex).value().set(target.getSend(trackIndex, sendIndex));
+                    }
+                }
+            }
+        }
+        return differences;
+    }
+
+    private static boolean differs(double current, double target) {
+        return Math.abs(current - target) >= Constants.MIXER_VALUE_EPSILON;
+    }
+
+    /**
+     * Returns the number of sends observed per track.
+     *
+     * @return The send count, fixed when the extension starts
+     */
+    public int getSendCount() {
+        return mixerState.getSendCapacity();
+    }
+
+    /**
+     * Returns the names of the effect tracks fed by each send index.
+     *
+     * @return One name per send index, null where no effect track exists
+     */
+    public List<String> getSendNames() {
+        List<String> names = new ArrayList<>(getSendCount());
+        for (int sendIndex = 0; sendIndex < getSendCount(); sendIndex++) {
+            boolean exists = sendIndex < effectTrackNames.length && effectMixerState.exists(sendIndex);
+            names.add(exists ? effectTrackNames[sendIndex] : null);
+        }
+        return names;
+    }
+
+    /**
+     * Sets the send levels of several tracks.
+     * Every write is validated before any is applied. Writes whose value already matches the mixer state
+     * are skipped, and the rest run on the host thread in batches of a bounded size.
+     *
+     * @param trackIndices The track index of each write
+     * @param sendIndices  The send index of each write
+     * @param values       The send level of each write, from 0.0 to 1.0
+     * @return The number of requested and changed sends and the number of batches scheduled
+     * @throws BitwigApiException if a track or send does not exist or a value is out of range
+     */
+    public Map<String, Object> applySendValues(int[] trackIndices, int[] sendIndices, double[] values) throws BitwigApiException {
+        TrackAddress[] tracks = new TrackAddress[trackIndices.length];
+        for (int i = 0; i < trackIndices.length; i++) {
+            tracks[i] = TrackAddress.track(trackIndices[i]);
+        }
+        return applySendValues(tracks, sendIndices, values);
+    }
+
+    /**
+     * Sets the send levels of several tracks addressed by kind and index.
+     * Only the tracks of the track bank have observed sends, so a write to an effect or master track is rejected.
+     *
+     * @param tracks      The track of each write
+     * @param sendIndices The send index of each write
+     * @param values      The send level of each write, from 0.0 to 1.0
+     * @return The number of requested and changed sends and the number of batches scheduled
+     * @throws BitwigApiException if a track or send does not exist or a value is out of range
+     */
+    public Map<String, Object> applySendValues(TrackAddress[] tracks, int[] sendIndices, double[] values) throws BitwigApiException {
+        final String operation = "applySendValues";
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            int sendCount = getSendCount();
+            int[] trackIndices = new int[tracks.length];
+            for (int i = 0; i < tracks.length; i++) {
+                if (!requireSlot(tracks[i], operation).inTrackBank()) {
+                    throw new BitwigApiException(ErrorCode.INVALID_RANGE, operation,
+                        "The " + tracks[i].describe() + " has no sends; only tracks of kind 'track' have sends");
+                }
+                trackIndices[i] = tracks[i].index();
+                if (sendIndices[i] < 0 || sendIndices[i] >= sendCount) {
+                    throw new BitwigApiException(ErrorCode.INVALID_RANGE, operation,
+                        "Send index " + sendIndices[i] + " is out of range; " + sendCount + " sends per track are available");
+                }
+                ParameterValidator.validateRange(values[i], 0.0, 1.0, "value", operation);
             }
 
-            Track track = trackBank.getItemAt(index);
-            if (!track.exists().get()) {
-                throw new BitwigApiException(
-                    ErrorCode.TRACK_NOT_FOUND,
-                    operation,
-                    "Track at index " + index + " does not exist",
-                    Map.of("index", index)
-                );
+            // Only keep the writes that change something, in request order
+            int[] changed = new int[trackIndices.length];
+            int changedCount = 0;
+            for (int i = 0; i < trackIndices.length; i++) {
+                if (mixerState.getSend(trackIndices[i], sendIndices[i]) != values[i]) {
+                    changed[changedCount++] = i;
+                }
             }
 
-            return track.name().get();
+            int batches = 0;
+            for (int start = 0; start < changedCount; start += Constants.SEND_WRITE_BATCH_SIZE) {
+                final int from = start;
+                final int to = Math.min(changedCount, start + Constants.SEND_WRITE_BATCH_SIZE);
+                host.scheduleTask(() -> {
+                    for (int j = from; j < to; j++) {
+                        int write = changed[j];
+                        trackBank.getItemAt(trackIndices[write]).sendBank().getItemAt(sendIndices[write]).value().set(values[write]);
+                    }
+                }, 0);
+                batches++;
+            }
+            logger.info("BitwigApiFacade: Scheduled " + changedCount + " of " + trackIndices.length + " send writes in " + batches + " batches");
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requested", trackIndices.length);
+            result.put("changed", changedCount);
+            result.put("batches", batches);
+            return result;
+        });
+    }
+
+    /**
+     * Returns a page of the notes of the clip selected in the launcher, in step then pitch order.
+     *
+     * @param offset The number of notes to skip
+     * @param limit  The maximum number of notes to return
+     * @return The clip grid settings, the total note count and the page of notes
+     * @throws BitwigApiException if no launcher clip is selected
+     */
+    public Map<String, Object> getCursorClipNotes(int offset, int limit) throws BitwigApiException {
+        final String operation = "getCursorClipNotes";
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            requireCursorClip(operation);
+
+            ClipNoteBuffer.Page page = clipNotes.page(offset, limit);
+            List<Map<String, Object>> notes = new ArrayList<>(page.notes().size());
+            for (ClipNoteBuffer.Note note : page.notes()) {
+                Map<String, Object> noteInfo = new LinkedHashMap<>();
+                noteInfo.put("pitch", note.pitch());
+                noteInfo.put("step", note.step());
+                noteInfo.put("velocity", note.velocity());
+                noteInfo.put("duration", note.duration());
+                notes.add(noteInfo);
+            }
+
+            int nextOffset = offset + notes.size();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("track_name", cursorTrack.exists().get() ? cursorTrack.name().get() : null);
+            result.put("loop_length", cursorClip.getLoopLength().get());
+            result.put("step_size", ClipNoteBuffer.STEP_SIZE_BEATS);
+            result.put("grid_steps", ClipNoteBuffer.GRID_STEPS);
+            result.put("total_notes", page.total());
+            result.put("offset", offset);
+            result.put("next_offset", nextOffset < page.total() ? nextOffset : null);
+            result.put("notes", notes);
+            return result;
         });
     }
 
     /**
-     * Starts the transport playback.
+     * Writes notes to the clip selected in the launcher.
+     * The step operations are computed against the notes of the clip and issued in the same task on the host
+     * thread, so notes that are already present as requested are not touched. The issued operations are written
+     * through to the note buffer, so a following write in chunks sees them even before the clip reports them back.
+     *
+     * @param notes   The requested notes; a velocity of 0 removes the note in its cell
+     * @param replace Whether all notes that are not requested are removed
+     * @return The number of notes that were set, cleared and already unchanged
+     * @throws BitwigApiException if no launcher clip is selected or the host thread did not run the write
+     */
+    public ClipNoteBuffer.Diff setCursorClipNotes(List<ClipNoteBuffer.Note> notes, boolean replace) throws BitwigApiException {
+        final String operation = "setCursorClipNotes";
+
+        return runOnHostThread(operation, () -> {
+            requireCursorClip(operation);
+
+            ClipNoteBuffer.Diff diff = clipNotes.applyDiff(notes, replace, cursorClipWriter);
+            logger.info("BitwigApiFacade: Wrote clip notes (" + diff.set() + " set, " + diff.cleared() + " cleared)");
+            return diff;
+        }, Constants.NOTE_WRITE_TIMEOUT_MS);
+    }
+
+    private void requireCursorClip(String operation) {
+        if (!cursorClip.exists().get()) {
+            throw new BitwigApiException(ErrorCode.CLIP_NOT_FOUND, operation,
+                "No clip is selected in the clip launcher");
+        }
+    }
+
+    /**
+     * Returns the indexed arranger clips overlapping a time range, in start order, with the current name of
+     * their track. Clips on tracks that no longer exist are left out. Only the clip currently selected in the
+     * arranger is flagged as last observed; the others were seen earlier and may have moved or been deleted.
+     *
+     * @param from      The range start in beats
+     * @param to        The range end in beats
+     * @param trackName The track to restrict the result to, or null for all tracks
+     * @return The clips with their track, position and length
+     */
+    public List<Map<String, Object>> getArrangerClips(double from, double to, String trackName) {
+        logger.info("BitwigApiFacade: Querying arranger clips from " + from + " to " + to);
+        return WigAIErrorHandler.executeWithErrorHandling("getArrangerClips", () -> {
+            List<Map<String, Object>> clips = new ArrayList<>();
+            ArrangerClipIndex.Interval selected = lastArrangerClip;
+            for (ArrangerClipIndex.Interval interval : arrangerClipIndex.query(from, to)) {
+                int trackIndex = interval.trackPosition();
+                if (trackIndex >= getLiveTrackCount() || !trackBank.getItemAt(trackIndex).exists().get()) {
+                    continue;
+                }
+                String currentName = trackBank.getItemAt(trackIndex).name().get();
+                if (trackName != null && !trackName.equals(currentName)) {
+                    continue;
+                }
+                Map<String, Object> clipInfo = new LinkedHashMap<>();
+                clipInfo.put("track_index", trackIndex);
+                clipInfo.put("track_name", currentName);
+                clipInfo.put("start", interval.start());
+                clipInfo.put("end", interval.end());
+                clipInfo.put("length", interval.length());
+                clipInfo.put("start_position", positionFormatter.formatBeatPosition(interval.start()));
+                clipInfo.put("last_observed", interval.equals(selected));
+                clips.add(clipInfo);
+            }
+            return clips;
+        });
+    }
+
+    /**
+     * Returns the number of arranger clips whose position is known.
+     *
+     * @return The size of the arranger clip index
+     */
+    public int getIndexedArrangerClipCount() {
+        return arrangerClipIndex.size();
+    }
+
+    /**
+     * Schedules actions to run on the host thread when the playing transport reaches their position.
+     * Either all actions are scheduled or none.
+     *
+     * @param requests The actions with their positions in beats
+     * @return The scheduled actions with their ids
+     * @throws BitwigApiException if the actions exceed the number of actions that may be pending
+     */
+    public List<BeatScheduler.Action> scheduleActions(List<BeatScheduler.Request> requests) throws BitwigApiException {
+        final String operation = "scheduleActions";
+        logger.info("BitwigApiFacade: Scheduling " + requests.size() + " actions");
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            try {
+                return beatScheduler.scheduleAll(requests);
+            } catch (IllegalStateException e) {
+                throw new BitwigApiException(ErrorCode.RESOURCE_UNAVAILABLE, operation, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Returns the pending scheduled actions ordered by position.
+     */
+    public List<BeatScheduler.Action> getScheduledActions() {
+        return beatScheduler.list();
+    }
+
+    /**
+     * Cancels a pending scheduled action.
+     *
+     * @param id The action id
+     * @return Whether the action was still pending
+     */
+    public boolean cancelScheduledAction(long id) {
+        logger.info("BitwigApiFacade: Cancelling scheduled action " + id);
+        return beatScheduler.cancel(id);
+    }
+
+    /**
+     * Cancels all pending scheduled actions.
+     *
+     * @return The number of cancelled actions
+     */
+    public int cancelAllScheduledActions() {
+        logger.info("BitwigApiFacade: Cancelling all scheduled actions");
+        return beatScheduler.cancelAll();
+    }
+
+    /**
+     * Returns the transport position in beats (quarter notes) from the project start.
+     */
+    public double getTransportBeatPosition() {
+        return transport.getPosition().get();
+    }
+
+    /**
+     * Returns the end of the arranger loop in beats (quarter notes) from the project start.
+     *
+     * @return The loop end, or -1 if the arranger loop is off
+     */
+    public double getArrangerLoopEnd() {
+        if (!transport.isArrangerLoopEnabled().get()) {
+            return -1;
+        }
+        return transport.arrangerLoopStart().get() + transport.arrangerLoopDuration().get();
+    }
+
+    /**
+     * Returns the length of a bar in beats (quarter notes) under the current time signature.
+     */
+    public double getBeatsPerBar() {
+        return positionFormatter.getNumerator() * 4.0 / positionFormatter.getDenominator();
+    }
+
+    /**
+     * Formats a position in beats as a bars.beats.sixteenths:ticks string.
+     *
+     * @param beats The position in beats (quarter notes)
+     * @return The formatted position
+     */
+    public String formatBeatPosition(double beats) {
+        return positionFormatter.formatBeatPosition(beats);
+    }
+
+    /**
+     * Returns the name of the track at the given index.
+     *
+     * @param index the track index
+     * @return the track name
+     * @throws BitwigApiException if the index is invalid or track doesn't exist
+     */
+    public String getTrackNameByIndex(int index) throws BitwigApiException {
+        final String operation = "getTrackNameByIndex";
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            // Validate track index
+            if (index < 0 || index >= trackBank.getSizeOfBank()) {
+                throw new BitwigApiException(
+                    ErrorCode.INVALID_RANGE,
+                    operation,
+                    "Track index must be between 0 and " + (trackBank.getSizeOfBank() - 1) + ", got: " + index,
+                    Map.of("index", index, "max_index", trackBank.getSizeOfBank() - 1)
+                );
+            }
+
+            Track track = trackBank.getItemAt(index);
+            if (!track.exists().get()) {
+                throw new BitwigApiException(
+                    ErrorCode.TRACK_NOT_FOUND,
+                    operation,
+                    "Track at index " + index + " does not exist",
+                    Map.of("index", index)
+                );
+            }
+
+            return track.name().get();
+        });
+    }
+
+    /**
+     * Starts the transport playback.
+     */
+    public void startTransport() {
+        logger.info("BitwigApiFacade: Starting transport playback");
+        transport.play();
+    }
+
+    /**
+     * Stops the transport playback.
+     */
+    public void stopTransport() {
+        logger.info("BitwigApiFacade: Stopping transport playback");
+        transport.stop();
+    }
+
+    /**
+     * Get the ControllerHost instance.
+     *
+     * @return The ControllerHost
+     */
+    public ControllerHost getHost() {
+        return host;
+    }
+
+    /**
+     * Checks if a device is currently selected.
+     *
+     * @return true if a device is selected, false otherwise
+     */
+    public boolean isDeviceSelected() {
+        logger.info("BitwigApiFacade: Checking if device is selected");
+        return cursorDevice.exists().get();
+    }
+
+    /**
+     * Gets the name of the currently selected device.
+     *
+     * @return The device name
+     * @throws BitwigApiException if no device is selected
+     */
+    public String getSelectedDeviceName() throws BitwigApiException {
+        final String operation = "getSelectedDeviceName";
+        logger.info("BitwigApiFacade: Getting selected device name");
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            if (!isDeviceSelected()) {
+                throw new BitwigApiException(
+                    ErrorCode.DEVICE_NOT_SELECTED,
+                    operation,
+                    "No device is currently selected"
+                );
+            }
+            return cursorDevice.name().get();
+        });
+    }
+
+    /**
+     * Gets the parameters of the currently selected device.
+     *
+     * @return A list of ParameterInfo objects representing all addressable parameters
+     */
+    public List<ParameterInfo> getSelectedDeviceParameters() {
+        logger.info("BitwigApiFacade: Getting selected device parameters");
+        List<ParameterInfo> parameters = new ArrayList<>();
+
+        if (!isDeviceSelected()) {
+            logger.info("BitwigApiFacade: No device selected, returning empty parameters list");
+            return parameters;
+        }
+
+        collectParameters(deviceParameterBank, parameters);
+
+        logger.info("BitwigApiFacade: Retrieved " + parameters.size() + " parameters");
+        return parameters;
+    }
+
+    /**
+     * Adds the existing parameters of a remote controls page to a list.
+     */
+    private static void collectParameters(RemoteControlsPage page, List<ParameterInfo> parameters) {
+        for (int i = 0; i < page.getParameterCount(); i++) {
+            RemoteControl parameter = page.getParameter(i);
+            boolean exists = parameter.exists().get();
+
+            if (exists) {
+                String name = parameter.name().get();
+                double value = parameter.value().get();
+                String displayValue = parameter.displayedValue().get();
+
+                // Handle null or empty names
+                if (name != null && name.trim().isEmpty()) {
+                    name = null;
+                }
+
+                parameters.add(new ParameterInfo(i, name, value, displayValue));
+            }
+        }
+    }
+
+    /**
+     * Leases one of the pooled device cursors and points it at a device. The cursor does not follow
+     * the user's selection, so clients holding different leases can work on different devices at once.
+     * The cursor moves on the host thread; its values are available shortly after the lease.
+     *
+     * @param trackIndex  The index of the track containing the device
+     * @param deviceIndex The index of the device on the track
+     * @param sessionId   The MCP session taking the lease, which is the only one that can use it
+     * @return The lease id and the track and device the cursor points at
+     * @throws BitwigApiException if the track or device does not exist, or all cursors are leased
+     */
+    public Map<String, Object> leaseDeviceCursor(int trackIndex, int deviceIndex, String sessionId) throws BitwigApiException {
+        final String operation = "leaseDeviceCursor";
+        logger.info("BitwigApiFacade: Leasing a device cursor for device " + deviceIndex + " on track " + trackIndex);
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            Track track = requireTrack(trackIndex, operation);
+            if (deviceIndex < 0 || deviceIndex >= getLiveDeviceCount(trackIndex)
+                    || !trackDeviceBanks.get(trackIndex).getItemAt(deviceIndex).exists().get()) {
+                throw new BitwigApiException(ErrorCode.DEVICE_NOT_FOUND, operation,
+                    "Track " + trackIndex + " has no device at index " + deviceIndex);
+            }
+            Device device = trackDeviceBanks.get(trackIndex).getItemAt(deviceIndex);
+
+            CursorPool.Lease lease = cursorPool.lease(sessionId);
+            if (lease == null) {
+                throw new BitwigApiException(ErrorCode.RESOURCE_UNAVAILABLE, operation,
+                    "All " + cursorPool.size() + " device cursors are leased; release one or wait until an idle lease expires");
+            }
+            int slot = lease.slot();
+            String deviceName = device.name().get();
+            leasedDeviceNames[slot] = deviceName;
+            leasedTrackIndices[slot] = trackIndex;
+            host.scheduleTask(() -> {
+                pooledCursorTracks[slot].selectChannel(track);
+                pooledCursorDevices[slot].selectDevice(device);
+                pooledParameterPages[slot].selectedPageIndex().set(0);
+                selectedLeaseIds.set(slot, lease.id());
+            }, 0);
+            logger.info("BitwigApiFacade: Leased device cursor " + slot + " as " + lease.id() + " for '" + deviceName + "'");
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("lease_id", lease.id());
+            result.put("track_index", trackIndex);
+            result.put("track_name", track.name().get());
+            result.put("device_index", deviceIndex);
+            result.put("device_name", deviceName);
+            result.put("idle_timeout_ms", Constants.CURSOR_LEASE_IDLE_MS);
+            return result;
+        });
+    }
+
+    /**
+     * Gets the parameters of the device a leased cursor points at.
+     *
+     * @param leaseId   The lease id
+     * @param sessionId The MCP session using the lease
+     * @return The device name, whether the cursor reached the leased device, and the parameters
+     * @throws BitwigApiException if the lease is not active or belongs to another session
+     */
+    public Map<String, Object> getLeasedDeviceParameters(long leaseId, String sessionId) throws BitwigApiException {
+        final String operation = "getLeasedDeviceParameters";
+        logger.info("BitwigApiFacade: Getting parameters of leased device cursor " + leaseId);
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            int slot = requireLease(leaseId, sessionId, operation);
+            boolean ready = isPooledCursorOnLeasedDevice(slot, leaseId);
+
+            List<ParameterInfo> parameters = new ArrayList<>();
+            if (ready) {
+                collectParameters(pooledParameterPages[slot], parameters);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("lease_id", leaseId);
+            result.put("device_name", leasedDeviceNames[slot]);
+            result.put("ready", ready);
+            result.put("parameters", parameters);
+            return result;
+        });
+    }
+
+    /**
+     * Sets parameters of the device a leased cursor points at, in one batch.
+     *
+     * @param leaseId   The lease id
+     * @param settings  The parameters to set, addressed by index
+     * @param sessionId The MCP session using the lease
+     * @return The number of parameters written
+     * @throws BitwigApiException if the lease is not active or belongs to another session, the cursor has not
+     *                            reached the device yet, or a parameter index or value is out of range
+     */
+    public int setLeasedDeviceParameters(long leaseId, List<ParameterSetting> settings, String sessionId) throws BitwigApiException {
+        final String operation = "setLeasedDeviceParameters";
+        logger.info("BitwigApiFacade: Setting " + settings.size() + " parameters through leased device cursor " + leaseId);
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            int slot = requireLease(leaseId, sessionId, operation);
+            if (!isPooledCursorOnLeasedDevice(slot, leaseId)) {
+                throw new BitwigApiException(ErrorCode.DEVICE_UNAVAILABLE, operation,
+                    "The cursor of lease " + leaseId + " has not reached device '" + leasedDeviceNames[slot] + "' yet, retry shortly");
+            }
+            for (ParameterSetting setting : settings) {
+                ParameterValidator.validateParameterIndex(setting.parameter_index(), Constants.DEVICE_PARAMETER_COUNT, operation);
+                ParameterValidator.validateParameterValue(setting.value(), operation);
+            }
+
+            CursorRemoteControlsPage page = pooledParameterPages[slot];
+            for (ParameterSetting setting : settings) {
+                page.getParameter(setting.parameter_index()).value().set(setting.value());
+            }
+            return settings.size();
+        });
+    }
+
+    /**
+     * Releases a leased device cursor.
+     *
+     * @param leaseId   The lease id
+     * @param sessionId The MCP session releasing the lease
+     * @return true if the lease was active
+     */
+    public boolean releaseDeviceCursor(long leaseId, String sessionId) {
+        logger.info("BitwigApiFacade: Releasing device cursor lease " + leaseId);
+        return cursorPool.release(leaseId, sessionId);
+    }
+
+    /**
+     * Returns whether a pooled cursor has moved to the device of a lease: the select task of that lease has run,
+     * and the cursor reports the leased track and device name. The name alone would also match the device of
+     * the previous lease on another track.
+     */
+    private boolean isPooledCursorOnLeasedDevice(int slot, long leaseId) {
+        PinnableCursorDevice device = pooledCursorDevices[slot];
+        return selectedLeaseIds.get(slot) == leaseId
+            && pooledCursorTracks[slot].position().get() == leasedTrackIndices[slot]
+            && device.exists().get() && Objects.equals(leasedDeviceNames[slot], device.name().get());
+    }
+
+    private int requireLease(long leaseId, String sessionId, String operation) {
+        int slot = cursorPool.use(leaseId, sessionId);
+        if (slot < 0) {
+            throw new BitwigApiException(ErrorCode.INVALID_PARAMETER, operation,
+                "Device cursor lease " + leaseId + " is not active; it was released, expired after "
+                    + Constants.CURSOR_LEASE_IDLE_MS / 1000 + " s without use, or belongs to another session");
+        }
+        return slot;
+    }
+
+    /**
+     * Sets the value of a specific parameter for the currently selected device.
+     *
+     * @param parameterIndex The index of the parameter to set (0 to parameterCount-1)
+     * @param value          The value to set (0.0-1.0)
+     * @throws BitwigApiException if parameterIndex is out of range, value is out of range, no device is selected, or Bitwig API error occurs
+     */
+    public void setSelectedDeviceParameter(int parameterIndex, double value) throws BitwigApiException {
+        final String operation = "setSelectedDeviceParameter";
+        logger.info("BitwigApiFacade: Setting parameter " + parameterIndex + " to " + value);
+
+        WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            // Check if device is selected
+            if (!isDeviceSelected()) {
+                throw new BitwigApiException(
+                    ErrorCode.DEVICE_NOT_SELECTED,
+                    operation,
+                    "No device is currently selected"
+                );
+            }
+
+            // Validate parameter index against actual parameter count
+            int parameterCount = deviceParameterBank.getParameterCount();
+            ParameterValidator.validateParameterIndex(parameterIndex, parameterCount, operation);
+
+            // Validate value range
+            ParameterValidator.validateParameterValue(value, operation);
+
+            // Set the parameter value
+            RemoteControl parameter = deviceParameterBank.getParameter(parameterIndex);
+            parameter.value().set(value);
+
+            logger.info("BitwigApiFacade: Successfully set parameter " + parameterIndex + " to " + value);
+        });
+    }
+
+    /**
+     * Finds parameters of the selected device by name across all remote control pages.
+     * If the best match is on another page than the one shown, that page is selected so that the
+     * parameter can be set by its index; the page is left alone when it is already shown.
+     *
+     * @param name       The parameter name to look for, matched case-insensitively
+     * @param selectPage Whether to select the page of the best match
+     * @return The device name, the shown page, whether it was changed, and the matches ranked best first
+     * @throws BitwigApiException if no device is selected
+     */
+    public Map<String, Object> findSelectedDeviceParameter(String name, boolean selectPage) throws BitwigApiException {
+        final String operation = "findSelectedDeviceParameter";
+        logger.info("BitwigApiFacade: Finding parameter '" + name + "' on selected device");
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            if (!isDeviceSelected()) {
+                throw new BitwigApiException(
+                    ErrorCode.DEVICE_NOT_SELECTED,
+                    operation,
+                    "No device is currently selected"
+                );
+            }
+
+            List<RemoteControlCatalog.Match> matches = remoteControlCatalog.find(name, Constants.MAX_PARAMETER_MATCHES);
+            int selectedPage = deviceParameterBank.selectedPageIndex().get();
+            boolean pageSelected = false;
+            if (selectPage && !matches.isEmpty() && matches.get(0).pageIndex() != selectedPage) {
+                selectedPage = matches.get(0).pageIndex();
+                deviceParameterBank.selectedPageIndex().set(selectedPage);
+                pageSelected = true;
+            }
+
+            List<Map<String, Object>> matchList = new ArrayList<>(matches.size());
+            for (RemoteControlCatalog.Match match : matches) {
+                Map<String, Object> matchInfo = new LinkedHashMap<>();
+                matchInfo.put("page_index", match.pageIndex());
+                matchInfo.put("page_name", match.pageName());
+                matchInfo.put("parameter_index", match.parameterIndex());
+                matchInfo.put("name", match.parameterName());
+                matchList.add(matchInfo);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("device_name", cursorDevice.name().get());
+            result.put("page_count", remoteControlCatalog.getPageCount());
+            result.put("catalogued_pages", remoteControlCatalog.getCataloguedPageCount());
+            result.put("selected_page_index", selectedPage);
+            result.put("page_selected", pageSelected);
+            result.put("matches", matchList);
+            logger.info("BitwigApiFacade: Found " + matches.size() + " parameters matching '" + name + "'");
+            return result;
+        });
+    }
+
+    /**
+     * Resolves parameter names of the selected device to their remote control page and index in one pass.
+     * Names are matched whole and case-insensitively; a name on the shown page wins over other pages.
+     *
+     * @param names The parameter names to resolve
+     * @return The matches keyed by the requested name; names that are not found are absent
+     */
+    public Map<String, RemoteControlCatalog.Match> resolveSelectedDeviceParameterNames(Collection<String> names) {
+        logger.info("BitwigApiFacade: Resolving " + names.size() + " parameter names on selected device");
+        return remoteControlCatalog.resolve(names, deviceParameterBank.selectedPageIndex().get());
+    }
+
+    /**
+     * Sets a parameter of the selected device on any remote control page without changing the shown page.
+     * Parameters on the shown page are written through the regular parameter bank, others through the
+     * page cursor that is pinned to their page.
+     *
+     * @param pageIndex      The remote control page
+     * @param parameterIndex The index of the parameter on that page
+     * @param value          The value to set (0.0-1.0)
+     * @throws BitwigApiException if no device is selected, the page is not catalogued, or an index or the value is out of range
+     */
+    public void setSelectedDeviceParameterOnPage(int pageIndex, int parameterIndex, double value) throws BitwigApiException {
+        final String operation = "setSelectedDeviceParameterOnPage";
+
+        if (pageIndex == deviceParameterBank.selectedPageIndex().get()) {
+            setSelectedDeviceParameter(parameterIndex, value);
+            return;
+        }
+
+        logger.info("BitwigApiFacade: Setting parameter " + parameterIndex + " on page " + pageIndex + " to " + value);
+        WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            if (!isDeviceSelected()) {
+                throw new BitwigApiException(
+                    ErrorCode.DEVICE_NOT_SELECTED,
+                    operation,
+                    "No device is currently selected"
+                );
+            }
+            ParameterValidator.validateRange(pageIndex, 0, Constants.CATALOG_PAGE_COUNT - 1, "page_index", operation);
+            ParameterValidator.validateParameterIndex(parameterIndex, Constants.DEVICE_PARAMETER_COUNT, operation);
+            ParameterValidator.validateParameterValue(value, operation);
+
+            CursorRemoteControlsPage page = catalogPages[pageIndex];
+            if (page.selectedPageIndex().get() != pageIndex) {
+                throw new BitwigApiException(
+                    ErrorCode.INVALID_PARAMETER,
+                    operation,
+                    "Remote control page " + pageIndex + " does not exist on the selected device"
+                );
+            }
+            page.getParameter(parameterIndex).value().set(value);
+        });
+    }
+
+    /**
+     * Captures the applied value of a device parameter before it is written, so that the write can be
+     * confirmed afterwards. Must be called before {@link #setSelectedDeviceParameter} or
+     * {@link #setSelectedDeviceParameterOnPage} for the same parameter.
+     *
+     * @param pageIndex      The remote control page of the parameter, or -1 for the shown page
+     * @param parameterIndex The index of the parameter on that page
+     * @param value          The value about to be written
+     * @return The pending write, or null if the parameter cannot be tracked
+     */
+    public ParameterWriteTracker.Pending expectSelectedDeviceParameterWrite(int pageIndex, int parameterIndex, double value) {
+        if (parameterIndex < 0 || parameterIndex >= Constants.DEVICE_PARAMETER_COUNT || pageIndex >= Constants.CATALOG_PAGE_COUNT) {
+            return null;
+        }
+        boolean shown = pageIndex < 0 || pageIndex == deviceParameterBank.selectedPageIndex().get();
+        return parameterWrites.expect(shown ? parameterIndex : parameterWriteSlot(pageIndex, parameterIndex), value);
+    }
+
+    /**
+     * Waits until the value observer of a written device parameter reports the value Bitwig applied.
+     * On the host thread, e.g. when tools run as host tasks, the observer cannot fire while waiting,
+     * so only the state observed so far is returned.
+     *
+     * @param pending       The pending write returned by {@link #expectSelectedDeviceParameterWrite}
+     * @param deadlineNanos The {@link System#nanoTime()} deadline
+     * @return The applied and displayed value; not confirmed if the deadline passed first
+     */
+    public ParameterWriteTracker.Applied awaitSelectedDeviceParameterWrite(ParameterWriteTracker.Pending pending, long deadlineNanos) {
+        try {
+            if (isHostThread()) {
+                return parameterWrites.await(pending, System.nanoTime());
+            }
+            return parameterWrites.await(pending, deadlineNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("BitwigApiFacade: Interrupted while confirming parameter write");
+            return new ParameterWriteTracker.Applied(pending.requested(), null, false);
+        }
+    }
+
+    /**
+     * Returns whether the calling thread is the host thread.
+     */
+    public boolean isHostThread() {
+        return hostTasks.isHostThread();
+    }
+
+    /**
+     * Returns the runner that executes tasks as single batches on the host thread.
+     */
+    public HostTaskRunner getHostTaskRunner() {
+        return hostTasks;
+    }
+
+    /**
+     * Runs a task as one batch on the host thread and returns its result. On the host thread the task runs
+     * directly; otherwise it is scheduled and awaited. A task that has not started when the timeout expires
+     * is withdrawn, so it either runs completely or not at all.
+     *
+     * @param <T>       The result type
+     * @param operation The operation name for error context
+     * @param task      The task to run
+     * @param timeoutMs Time to wait for the host thread to start the task
+     * @return The result of the task
+     * @throws BitwigApiException if the task fails or the host thread did not start it in time
+     */
+    public <T> T runOnHostThread(String operation, WigAIErrorHandler.SupplierWithException<T> task, long timeoutMs)
+            throws BitwigApiException {
+        return hostTasks.run(operation, task, timeoutMs);
+    }
+
+    /**
+     * Checks whether a track exists at an index of the track bank.
+     *
+     * @param trackIndex The track index
+     * @return true if the track exists
+     */
+    public boolean hasTrack(int trackIndex) {
+        return trackIndex < getLiveTrackCount() && findTrackByIndex(trackIndex).isPresent();
+    }
+
+    /**
+     * Checks whether a track of any kind exists at an address.
+     *
+     * @param address The track address
+     * @return true if the track exists
+     */
+    public boolean hasTrack(TrackAddress address) {
+        return findSlot(address) != null;
+    }
+
+    /**
+     * Mutes or unmutes a track.
+     *
+     * @param trackIndex The track index
+     * @param muted      Whether the track is muted
+     * @throws BitwigApiException if the track does not exist
+     */
+    public void setTrackMute(int trackIndex, boolean muted) throws BitwigApiException {
+        setTrackMute(TrackAddress.track(trackIndex), muted);
+    }
+
+    /**
+     * {@link #setTrackMute(int, boolean)} for a track of any kind.
      */
-    public void startTransport() {
-        logger.info("BitwigApiFacade: Starting transport playback");
-        transport.play();
+    public void setTrackMute(TrackAddress address, boolean muted) throws BitwigApiException {
+        final String operation = "setTrackMute";
+        WigAIErrorHandler.executeWithErrorHandling(operation, () -> requireSlot(address, operation).track().mute().set(muted));
     }
 
     /**
-     * Stops the transport playback.
+     * Solos or unsolos a track.
+     *
+     * @param trackIndex The track index
+     * @param soloed     Whether the track is soloed
+     * @throws BitwigApiException if the track does not exist
      */
-    public void stopTransport() {
-        logger.info("BitwigApiFacade: Stopping transport playback");
-        transport.stop();
+    public void setTrackSolo(int trackIndex, boolean soloed) throws BitwigApiException {
+        setTrackSolo(TrackAddress.track(trackIndex), soloed);
     }
 
     /**
-     * Get the ControllerHost instance.
-     *
-     * @return The ControllerHost
+     * {@link #setTrackSolo(int, boolean)} for a track of any kind.
      */
-    public ControllerHost getHost() {
-        return host;
+    public void setTrackSolo(TrackAddress address, boolean soloed) throws BitwigApiException {
+        final String operation = "setTrackSolo";
+        WigAIErrorHandler.executeWithErrorHandling(operation, () -> requireSlot(address, operation).track().solo().set(soloed));
     }
 
     /**
-     * Checks if a device is currently selected.
+     * Sets the volume of a track.
      *
-     * @return true if a device is selected, false otherwise
+     * @param trackIndex The track index
+     * @param value      The normalized volume (0.0-1.0)
+     * @throws BitwigApiException if the track does not exist
      */
-    public boolean isDeviceSelected() {
-        logger.info("BitwigApiFacade: Checking if device is selected");
-        return cursorDevice.exists().get();
+    public void setTrackVolume(int trackIndex, double value) throws BitwigApiException {
+        setTrackVolume(TrackAddress.track(trackIndex), value);
     }
 
     /**
-     * Gets the name of the currently selected device.
-     *
-     * @return The device name
-     * @throws BitwigApiException if no device is selected
+     * {@link #setTrackVolume(int, double)} for a track of any kind.
      */
-    public String getSelectedDeviceName() throws BitwigApiException {
-        final String operation = "getSelectedDeviceName";
-        logger.info("BitwigApiFacade: Getting selected device name");
-
-        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
-            if (!isDeviceSelected()) {
-                throw new BitwigApiException(
-                    ErrorCode.DEVICE_NOT_SELECTED,
-                    operation,
-                    "No device is currently selected"
-                );
-            }
-            return cursorDevice.name().get();
-        });
+    public void setTrackVolume(TrackAddress address, double value) throws BitwigApiException {
+        final String operation = "setTrackVolume";
+        WigAIErrorHandler.executeWithErrorHandling(operation, () -> requireSlot(address, operation).track().volume().value().set(value));
     }
 
     /**
-     * Gets the parameters of the currently selected device.
+     * Sets the pan of a track.
      *
-     * @return A list of ParameterInfo objects representing all addressable parameters
+     * @param trackIndex The track index
+     * @param value      The normalized pan (0.0-1.0, 0.5 is center)
+     * @throws BitwigApiException if the track does not exist
      */
-    public List<ParameterInfo> getSelectedDeviceParameters() {
-        logger.info("BitwigApiFacade: Getting selected device parameters");
-        List<ParameterInfo> parameters = new ArrayList<>();
-
-        if (!isDeviceSelected()) {
-            logger.info("BitwigApiFacade: No device selected, returning empty parameters list");
-            return parameters;
-        }
-
-        for (int i = 0; i < deviceParameterBank.getParameterCount(); i++) {
-            RemoteControl parameter = deviceParameterBank.getParameter(i);
-            boolean exists = parameter.exists().get();
-
-            if (exists) {
-                String name = parameter.name().get();
-                double value = parameter.value().get();
-                String displayValue = parameter.displayedValue().get();
+    public void setTrackPan(int trackIndex, double value) throws BitwigApiException {
+        setTrackPan(TrackAddress.track(trackIndex), value);
+    }
 
-                // Handle null or empty names
-                if (name != null && name.trim().isEmpty()) {
-                    name = null;
-                }
+    /**
+     * {@link #setTrackPan(int, double)} for a track of any kind.
+     */
+    public void setTrackPan(TrackAddress address, double value) throws BitwigApiException {
+        final String operation = "setTrackPan";
+        WigAIErrorHandler.executeWithErrorHandling(operation, () -> requireSlot(address, operation).track().pan().value().set(value));
+    }
 
-                parameters.add(new ParameterInfo(i, name, value, displayValue));
-            }
+    private Track requireTrack(int trackIndex, String operation) {
+        if (!hasTrack(trackIndex)) {
+            throw new BitwigApiException(ErrorCode.TRACK_NOT_FOUND, operation, "No track at index " + trackIndex);
         }
-
-        logger.info("BitwigApiFacade: Retrieved " + parameters.size() + " parameters");
-        return parameters;
+        return trackBank.getItemAt(trackIndex);
     }
 
     /**
-     * Sets the value of a specific parameter for the currently selected device.
-     *
-     * @param parameterIndex The index of the parameter to set (0 to parameterCount-1)
-     * @param value          The value to set (0.0-1.0)
-     * @throws BitwigApiException if parameterIndex is out of range, value is out of range, no device is selected, or Bitwig API error occurs
+     * Returns the write tracker slot of a parameter on a catalogue page.
      */
-    public void setSelectedDeviceParameter(int parameterIndex, double value) throws BitwigApiException {
-        final String operation = "setSelectedDeviceParameter";
-        logger.info("BitwigApiFacade: Setting parameter " + parameterIndex + " to " + value);
-
-        WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
-            // Check if device is selected
-            if (!isDeviceSelected()) {
-                throw new BitwigApiException(
-                    ErrorCode.DEVICE_NOT_SELECTED,
-                    operation,
-                    "No device is currently selected"
-                );
-            }
-
-            // Validate parameter index against actual parameter count
-            int parameterCount = deviceParameterBank.getParameterCount();
-            ParameterValidator.validateParameterIndex(parameterIndex, parameterCount, operation);
-
-            // Validate value range
-            ParameterValidator.validateParameterValue(value, operation);
-
-            // Set the parameter value
-            RemoteControl parameter = deviceParameterBank.getParameter(parameterIndex);
-            parameter.value().set(value);
-
-            logger.info("BitwigApiFacade: Successfully set parameter " + parameterIndex + " to " + value);
-        });
+    private static int parameterWriteSlot(int pageIndex, int parameterIndex) {
+        return (1 + pageIndex) * Constants.DEVICE_PARAMETER_COUNT + parameterIndex;
     }
 
     /**
@@ -469,6 +1878,31 @@ public class BitwigApiFacade {
         });
     }
 
+    /**
+     * Finds a track of any kind by name using case-sensitive matching.
+     * Tracks in the track bank are matched first, then the effect tracks and the master track.
+     *
+     * @param trackName The name of the track to find
+     * @return The address of the track
+     * @throws BitwigApiException if the track is not found
+     */
+    public TrackAddress findTrackAddressByName(String trackName) throws BitwigApiException {
+        final String operation = "findTrackAddressByName";
+
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
+            ParameterValidator.validateNotEmpty(trackName, "trackName", operation);
+
+            int index = getTrackIndexByName(trackName);
+            if (index >= 0) {
+                return TrackAddress.track(index);
+            }
+            return findSlotOutsideBank(trackName)
+                .map(TrackSlot::address)
+                .orElseThrow(() -> new BitwigApiException(ErrorCode.TRACK_NOT_FOUND, operation,
+                    "Track '" + trackName + "' not found", Map.of("trackName", trackName)));
+        });
+    }
+
     /**
      * Checks if a track exists by name using case-sensitive matching.
      *
@@ -496,7 +1930,7 @@ public class BitwigApiFacade {
         Optional<Track> trackOpt = findTrackByName(trackName);
         if (trackOpt.isPresent()) {
             // Return the number of available clip launcher slots
-            return trackOpt.get().clipLauncherSlotBank().getSizeOfBank();
+            return getLiveSlotCount(trackOpt.get().clipLauncherSlotBank());
         }
 
         logger.warn("BitwigApiFacade: Track '" + trackName + "' not found for clip count check");
@@ -511,8 +1945,21 @@ public class BitwigApiFacade {
      * @throws BitwigApiException if track is not found, clip index is invalid, or launch fails
      */
     public void launchClip(String trackName, int clipIndex) throws BitwigApiException {
+        launchClip(trackName, clipIndex, false);
+    }
+
+    /**
+     * Launches a clip at the specified track and clip index, optionally bypassing the launch quantization.
+     * Launching unquantized suits callers that already run at the intended musical position.
+     *
+     * @param trackName   The name of the track containing the clip
+     * @param clipIndex   The zero-based index of the clip slot to launch
+     * @param unquantized Whether to launch right away instead of on the next launch quantization boundary
+     * @throws BitwigApiException if track is not found, clip index is invalid, or launch fails
+     */
+    public void launchClip(String trackName, int clipIndex, boolean unquantized) throws BitwigApiException {
         final String operation = "launchClip";
-        logger.info("BitwigApiFacade: Launching clip at " + trackName + "[" + clipIndex + "]");
+        logger.info("BitwigApiFacade: Launching clip at " + trackName + "[" + clipIndex + "]" + (unquantized ? " unquantized" : ""));
 
         WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
             // Validate parameters
@@ -545,7 +1992,11 @@ public class BitwigApiFacade {
 
             // Launch the clip
             ClipLauncherSlot slot = slotBank.getItemAt(clipIndex);
-            slot.launch();
+            if (unquantized) {
+                slot.launchWithOptions(Constants.LAUNCH_QUANTIZATION_NONE, Constants.LAUNCH_MODE_DEFAULT);
+            } else {
+                slot.launch();
+            }
 
             logger.info("BitwigApiFacade: Successfully launched clip at " + trackName + "[" + clipIndex + "]");
         });
@@ -567,7 +2018,7 @@ public class BitwigApiFacade {
     }
 
     /**
-     * Gets the number of scenes in the scene bank.
+     * Gets the live number of scenes in the project, bounded by the scene bank size.
      */
     public int getSceneCount() {
         return sceneBankFacade.getSceneCount();
@@ -687,45 +2138,6 @@ public class BitwigApiFacade {
         return application.hasActiveEngine().get();
     }
 
-    /**
-     * Formats seconds into a time string in the format MM:SS.mmm or HH:MM:SS.mmm
-     * @param seconds The time in seconds
-     * @return Formatted time string with milliseconds
-     */
-    private String formatTimeString(double seconds) {
-        try {
-            int totalSeconds = (int) Math.floor(seconds);
-            int hours = totalSeconds / 3600;
-            int minutes = (totalSeconds % 3600) / 60;
-            int secs = totalSeconds % 60;
-
-            // Calculate milliseconds from the fractional part
-            int milliseconds = (int) Math.round((seconds - Math.floor(seconds)) * 1000);
-
-            // Handle edge case where rounding gives us 1000ms
-            if (milliseconds >= 1000) {
-                milliseconds = 0;
-                secs += 1;
-                if (secs >= 60) {
-                    secs = 0;
-                    minutes += 1;
-                    if (minutes >= 60) {
-                        minutes = 0;
-                        hours += 1;
-                    }
-                }
-            }
-
-            if (hours > 0) {
-                return String.format("%d:%02d:%02d.%03d", hours, minutes, secs, milliseconds);
-            } else {
-                return String.format("%d:%02d.%03d", minutes, secs, milliseconds);
-            }
-        } catch (Exception e) {
-            return Constants.DEFAULT_TIME_STRING;
-        }
-    }
-
     /**
      * Gets the current transport status information.
      *
@@ -745,12 +2157,12 @@ public class BitwigApiFacade {
 
             // Format position as Bitwig-style beat string
             double positionInBeats = transport.getPosition().get();
-            String beatStr = formatBitwigBeatPosition(positionInBeats);
+            String beatStr = positionFormatter.formatBeatPosition(positionInBeats);
             transportMap.put("current_beat_str", beatStr);
 
             // Get time string using playPositionInSeconds
             double positionInSeconds = transport.playPositionInSeconds().get();
-            String timeStr = formatTimeString(positionInSeconds);
+            String timeStr = positionFormatter.formatTime(positionInSeconds);
             transportMap.put("current_time_str", timeStr);
         } catch (Exception e) {
             logger.warn("BitwigApiFacade: Unable to get complete transport status: " + e.getMessage());
@@ -768,39 +2180,6 @@ public class BitwigApiFacade {
         return transportMap;
     }
 
-    /**
-     * Formats a position in beats to Bitwig-style format: measures.beats.sixteenths:ticks
-     * Example: 1.1.1:0 = measure 1, beat 1, sixteenth 1, tick 0
-     */
-    private String formatBitwigBeatPosition(double positionInBeats) {
-        try {
-            // Assume 4/4 time signature for calculation
-            int beatsPerMeasure = Constants.BEATS_PER_MEASURE;
-            int sixteenthsPerBeat = Constants.SIXTEENTHS_PER_BEAT;
-            int ticksPerSixteenth = Constants.TICKS_PER_SIXTEENTH; // Common MIDI resolution
-
-            // Convert beats to total ticks
-            int totalTicks = (int) Math.round(positionInBeats * sixteenthsPerBeat * ticksPerSixteenth);
-
-            // Calculate measures (1-based)
-            int measures = (totalTicks / (beatsPerMeasure * sixteenthsPerBeat * ticksPerSixteenth)) + 1;
-            int remainingTicks = totalTicks % (beatsPerMeasure * sixteenthsPerBeat * ticksPerSixteenth);
-
-            // Calculate beats within measure (1-based)
-            int beats = (remainingTicks / (sixteenthsPerBeat * ticksPerSixteenth)) + 1;
-            remainingTicks = remainingTicks % (sixteenthsPerBeat * ticksPerSixteenth);
-
-            // Calculate sixteenths within beat (1-based)
-            int sixteenths = (remainingTicks / ticksPerSixteenth) + 1;
-            int ticks = remainingTicks % ticksPerSixteenth;
-
-            return String.format("%d.%d.%d:%d", measures, beats, sixteenths, ticks);
-        } catch (Exception e) {
-            logger.warn("BitwigApiFacade: Error formatting beat position: " + e.getMessage());
-            return Constants.DEFAULT_BEAT_POSITION;
-        }
-    }
-
     /**
      * Gets the project parameters from the project's remote controls page.
      * Only returns parameters where exists() is true.
@@ -930,7 +2309,20 @@ public class BitwigApiFacade {
      * @return A list of track information maps
      */
     public List<Map<String, Object>> getAllTracksInfo(String typeFilter) {
-        logger.info("BitwigApiFacade: Getting all tracks info" + (typeFilter != null ? " filtered by type: " + typeFilter : ""));
+        return getAllTracksInfo(typeFilter, null);
+    }
+
+    /**
+     * Gets a list of all tracks in the project with summary information.
+     * Both filters are evaluated against the track state before any output is built for a track.
+     *
+     * @param typeFilter Optional filter by track type (e.g., "audio", "instrument", "group", "effect", "master")
+     * @param where      Optional compiled filter expression, or null to include all tracks
+     * @return A list of track information maps
+     */
+    public List<Map<String, Object>> getAllTracksInfo(String typeFilter, TrackFilter where) {
+        logger.info("BitwigApiFacade: Getting all tracks info" + (typeFilter != null ? " filtered by type: " + typeFilter : "")
+            + (where != null ? " where: " + where.getExpression() : ""));
         List<Map<String, Object>> tracksInfo = new ArrayList<>();
 
         try {
@@ -942,32 +2334,43 @@ public class BitwigApiFacade {
 
             // Create parent track mapping to determine parent group indices
             Map<String, Integer> parentGroupMapping = buildParentGroupMapping();
+            TrackRow row = new TrackRow(selectedTrackName);
 
-            for (int i = 0; i < trackBank.getSizeOfBank(); i++) {
-                Track track = trackBank.getItemAt(i);
+            // Tracks in the bank first, then the effect tracks and the master track
+            List<TrackSlot> slots = new ArrayList<>(getLiveTrackCount());
+            for (int i = 0; i < getLiveTrackCount(); i++) {
+                slots.add(trackSlot(i));
+            }
+            slots.addAll(slotsOutsideBank());
+
+            for (TrackSlot slot : slots) {
+                Track track = slot.track();
                 if (!track.exists().get()) {
                     continue; // Skip non-existent tracks
                 }
 
+                // Apply filters on the track state before building any output for this track
+                String trackType = track.trackType().get().toLowerCase();
+                if (typeFilter != null && !typeFilter.toLowerCase().equals(trackType)) {
+                    continue;
+                }
+                if (where != null && !where.test(row.bind(slot, trackType))) {
+                    continue;
+                }
+
                 Map<String, Object> trackInfo = new LinkedHashMap<>();
 
-                // Basic track properties
-                trackInfo.put("index", i);
+                // Basic track properties; the index counts within the kind of the track
+                trackInfo.put("index", slot.address().index());
+                trackInfo.put("kind", slot.address().kind().getName());
                 String trackName = track.name().get();
                 trackInfo.put("name", trackName);
-
-                String trackType = track.trackType().get().toLowerCase();
                 trackInfo.put("type", trackType);
 
-                // Apply type filter if specified
-                if (typeFilter != null && !typeFilter.toLowerCase().equals(trackType)) {
-                    continue;
-                }
-
                 trackInfo.put("is_group", track.isGroup().get());
 
-                // Get parent group index from mapping
-                trackInfo.put("parent_group_index", parentGroupMapping.get(trackName));
+                // Get parent group index from mapping; effect and master tracks are never grouped
+                trackInfo.put("parent_group_index", slot.inTrackBank() ? parentGroupMapping.get(trackName) : null);
 
                 // Get track activation status
                 trackInfo.put("activated", track.isActivated().get());
@@ -980,7 +2383,7 @@ public class BitwigApiFacade {
                 trackInfo.put("is_selected", isSelected);
 
                 // Get devices on this track using the pre-existing device bank
-                List<Map<String, Object>> devices = getTrackDevices(i);
+                List<Map<String, Object>> devices = getTrackDevices(slot);
                 trackInfo.put("devices", devices);
 
                 tracksInfo.add(trackInfo);
@@ -995,27 +2398,174 @@ public class BitwigApiFacade {
     }
 
     /**
-     * Gets device information for a specific track by index.
+     * A listed track with the device bank and the mixer state slot it is read from.
+     * Every kind of track has its own mixer state store, in which the track sits at its index.
+     *
+     * @param address     The address of the track
+     * @param track       The track
+     * @param deviceBank  The device bank of the track
+     * @param deviceCount The number of device bank slots worth iterating
+     * @param state       The mixer state store holding the channel state of the track
+     */
+    private record TrackSlot(TrackAddress address, Track track, DeviceBank deviceBank, int deviceCount, MixerState state) {
+
+        int stateIndex() {
+            return address.index();
+        }
+
+        boolean inTrackBank() {
+            return address.kind() == TrackAddress.Kind.TRACK;
+        }
+    }
+
+    private TrackSlot trackSlot(int trackIndex) {
+        return new TrackSlot(TrackAddress.track(trackIndex), trackBank.getItemAt(trackIndex), trackDeviceBanks.get(trackIndex),
+            getLiveDeviceCount(trackIndex), mixerState);
+    }
+
+    private TrackSlot effectTrackSlot(int effectIndex) {
+        DeviceBank deviceBank = effectDeviceBanks.get(effectIndex);
+        return new TrackSlot(new TrackAddress(TrackAddress.Kind.EFFECT, effectIndex), effectTrackBank.getItemAt(effectIndex),
+            deviceBank, boundedItemCount(effectDeviceItemCounts[effectIndex], deviceBank.getSizeOfBank()), effectMixerState);
+    }
+
+    private TrackSlot masterTrackSlot() {
+        return new TrackSlot(new TrackAddress(TrackAddress.Kind.MASTER, 0), masterTrack, masterDeviceBank,
+            boundedItemCount(masterDeviceItemCounts[0], masterDeviceBank.getSizeOfBank()), masterMixerState);
+    }
+
+    /**
+     * Returns the existing effect tracks followed by the master track.
+     */
+    private List<TrackSlot> slotsOutsideBank() {
+        List<TrackSlot> slots = new ArrayList<>();
+        for (int i = 0; i < effectTrackBank.getSizeOfBank(); i++) {
+            if (effectMixerState.exists(i)) {
+                slots.add(effectTrackSlot(i));
+            }
+        }
+        slots.add(masterTrackSlot());
+        return slots;
+    }
+
+    /**
+     * Returns the track at an address, or null if no track exists there.
+     */
+    private TrackSlot findSlot(TrackAddress address) {
+        int index = address.index();
+        return switch (address.kind()) {
+            case TRACK -> hasTrack(index) ? trackSlot(index) : null;
+            case EFFECT -> index >= 0 && index < effectTrackBank.getSizeOfBank() && effectMixerState.exists(index)
+                ? effectTrackSlot(index) : null;
+            case MASTER -> index == 0 ? masterTrackSlot() : null;
+        };
+    }
+
+    private TrackSlot requireSlot(TrackAddress address, String operation) {
+        TrackSlot slot = findSlot(address);
+        if (slot == null) {
+            throw new BitwigApiException(ErrorCode.TRACK_NOT_FOUND, operation, "No " + address.describe());
+        }
+        return slot;
+    }
+
+    /**
+     * Reusable filter view over a listed track.
+     * Channel states come from the mixer state stores; other values are read from the track on demand.
+     */
+    private final class TrackRow implements TrackFilter.TrackView {
+        private final String selectedTrackName;
+        private TrackSlot slot;
+        private String type;
+
+        TrackRow(String selectedTrackName) {
+            this.selectedTrackName = selectedTrackName;
+        }
+
+        TrackRow bind(TrackSlot slot, String type) {
+            this.slot = slot;
+            this.type = type;
+            return this;
+        }
+
+        @Override
+        public int index() {
+            return slot.address().index();
+        }
+
+        @Override
+        public String kind() {
+            return slot.address().kind().getName();
+        }
+
+        @Override
+        public String name() {
+            return slot.track().name().get();
+        }
+
+        @Override
+        public String type() {
+            return type;
+        }
+
+        @Override
+        public boolean isMuted() {
+            return slot.state().isMuted(slot.stateIndex());
+        }
+
+        @Override
+        public boolean isSoloed() {
+            return slot.state().isSoloed(slot.stateIndex());
+        }
+
+        @Override
+        public boolean isArmed() {
+            return slot.state().isArmed(slot.stateIndex());
+        }
+
+        @Override
+        public boolean isActivated() {
+            return slot.track().isActivated().get();
+        }
+
+        @Override
+        public boolean isGroup() {
+            return slot.track().isGroup().get();
+        }
+
+        @Override
+        public boolean isSelected() {
+            return selectedTrackName != null && selectedTrackName.equals(name());
+        }
+
+        @Override
+        public double volume() {
+            return slot.state().getVolume(slot.stateIndex());
+        }
+
+        @Override
+        public double pan() {
+            return slot.state().getPan(slot.stateIndex());
+        }
+    }
+
+    /**
+     * Gets device information for a listed track.
      *
-     * @param trackIndex The index of the track to get devices from
+     * @param slot The track to get devices from
      * @return A list of device information maps
      */
-    private List<Map<String, Object>> getTrackDevices(int trackIndex) {
+    private List<Map<String, Object>> getTrackDevices(TrackSlot slot) {
         List<Map<String, Object>> devices = new ArrayList<>();
 
         try {
             // Use the pre-existing device bank for this track that was created in the constructor
             // and already has its properties marked as interested
-            if (trackIndex < 0 || trackIndex >= trackDeviceBanks.size()) {
-                logger.warn("BitwigApiFacade: Invalid track index for devices: " + trackIndex);
-                return devices;
-            }
-
-            DeviceBank deviceBank = trackDeviceBanks.get(trackIndex);
-            Track track = trackBank.getItemAt(trackIndex);
+            DeviceBank deviceBank = slot.deviceBank();
+            Track track = slot.track();
 
             // Create device info for each existing device
-            for (int i = 0; i < deviceBank.getSizeOfBank(); i++) {
+            for (int i = 0; i < slot.deviceCount(); i++) {
                 Device device = deviceBank.getItemAt(i);
 
                 // Check if device exists - this should work since markInterested() was called in constructor
@@ -1044,7 +2594,7 @@ public class BitwigApiFacade {
             logger.info("BitwigApiFacade: Found " + devices.size() + " devices on track: " + track.name().get());
 
         } catch (Exception e) {
-            logger.warn("BitwigApiFacade: Error getting devices for track index " + trackIndex + ": " + e.getMessage());
+            logger.warn("BitwigApiFacade: Error getting devices for " + slot.address().describe() + ": " + e.getMessage());
         }
 
         return devices;
@@ -1060,7 +2610,7 @@ public class BitwigApiFacade {
         Map<String, Integer> parentMapping = new LinkedHashMap<>();
 
         try {
-            for (int i = 0; i < trackBank.getSizeOfBank(); i++) {
+            for (int i = 0; i < getLiveTrackCount(); i++) {
                 Track track = trackBank.getItemAt(i);
                 if (!track.exists().get()) {
                     continue;
@@ -1076,7 +2626,7 @@ public class BitwigApiFacade {
                         String parentName = parentTrack.name().get();
 
                         // Find the index of the parent track in our track bank
-                        for (int j = 0; j < trackBank.getSizeOfBank(); j++) {
+                        for (int j = 0; j < getLiveTrackCount(); j++) {
                             Track candidateParent = trackBank.getItemAt(j);
                             if (candidateParent.exists().get() &&
                                 candidateParent.isGroup().get() &&
@@ -1117,22 +2667,52 @@ public class BitwigApiFacade {
             if (!track.exists().get()) {
                 throw new BitwigApiException(ErrorCode.TRACK_NOT_FOUND, operation, "Track at index " + index + " does not exist", Map.of("index", index));
             }
-            return buildDetailedTrackInfo(track, index);
+            return buildDetailedTrackInfo(trackSlot(index));
         });
     }
 
+    /**
+     * Gets detailed information about a track of any kind, e.g. an effect track by its index among the effect tracks.
+     */
+    public Map<String, Object> getTrackDetails(TrackAddress address) throws BitwigApiException {
+        if (address.kind() == TrackAddress.Kind.TRACK) {
+            return getTrackDetailsByIndex(address.index());
+        }
+        final String operation = "get_track_details";
+        return WigAIErrorHandler.executeWithErrorHandling(operation, () -> buildDetailedTrackInfo(requireSlot(address, operation)));
+    }
+
     /**
      * Gets detailed information about a track by exact name (case-sensitive).
+     * Tracks in the track bank are matched first, then the effect tracks and the master track.
      */
     public Map<String, Object> getTrackDetailsByName(String trackName) throws BitwigApiException {
         final String operation = "get_track_details";
         return WigAIErrorHandler.executeWithErrorHandling(operation, () -> {
             ParameterValidator.validateNotEmpty(trackName, "track_name", operation);
-            int index = findTrackIndexByName(trackName);
-            return getTrackDetailsByIndex(index);
+            int index = getTrackIndexByName(trackName);
+            if (index >= 0) {
+                return getTrackDetailsByIndex(index);
+            }
+            return findSlotOutsideBank(trackName)
+                .map(this::buildDetailedTrackInfo)
+                .orElseThrow(() -> new BitwigApiException(ErrorCode.TRACK_NOT_FOUND, operation,
+                    "Track '" + trackName + "' not found", Map.of("trackName", trackName)));
         });
     }
 
+    /**
+     * Finds an effect track or the master track by exact name (case-sensitive).
+     */
+    private Optional<TrackSlot> findSlotOutsideBank(String trackName) {
+        for (TrackSlot slot : slotsOutsideBank()) {
+            if (slot.track().exists().get() && trackName.equals(slot.track().name().get())) {
+                return Optional.of(slot);
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Gets detailed information about the currently selected track, or null if none.
      */
@@ -1144,20 +2724,24 @@ public class BitwigApiFacade {
             String name = cursorTrack.name().get();
             // Find index in current bank for consistency
             int index = -1;
-            for (int i = 0; i < trackBank.getSizeOfBank(); i++) {
+            for (int i = 0; i < getLiveTrackCount(); i++) {
                 Track t = trackBank.getItemAt(i);
                 if (t.exists().get() && name.equals(t.name().get())) {
                     index = i;
                     break;
                 }
             }
-            // If not found in bank, attempt to build from cursor directly
+            // If not found in bank, look at the effect and master tracks, then build from cursor directly
+            Optional<TrackSlot> outside = index < 0 ? findSlotOutsideBank(name) : Optional.empty();
             if (index >= 0) {
-                return buildDetailedTrackInfo(trackBank.getItemAt(index), index);
+                return buildDetailedTrackInfo(trackSlot(index));
+            } else if (outside.isPresent()) {
+                return buildDetailedTrackInfo(outside.get());
             } else {
                 // Build minimal from cursor and enrich where possible
                 Map<String, Object> info = new LinkedHashMap<>();
                 info.put("index", -1);
+                info.put("kind", null);
                 info.put("name", name);
                 info.put("type", cursorTrack.trackType().get().toLowerCase());
                 info.put("is_group", cursorTrack.isGroup().get());
@@ -1193,19 +2777,21 @@ public class BitwigApiFacade {
 
     /**
      * Builds a detailed track info map including base fields, device summaries, channel params,
-     * sends and clip launcher slots.
+     * sends and clip launcher slots. Channel values come from the mixer state store of the track.
      */
-    private Map<String, Object> buildDetailedTrackInfo(Track track, int index) {
+    private Map<String, Object> buildDetailedTrackInfo(TrackSlot slot) {
         Map<String, Object> trackInfo = new LinkedHashMap<>();
+        Track track = slot.track();
         try {
             // Basic fields similar to getAllTracksInfo
-            trackInfo.put("index", index);
+            trackInfo.put("index", slot.address().index());
+            trackInfo.put("kind", slot.address().kind().getName());
             String trackName = track.name().get();
             trackInfo.put("name", trackName);
             String trackType = track.trackType().get().toLowerCase();
             trackInfo.put("type", trackType);
             trackInfo.put("is_group", track.isGroup().get());
-            Map<String, Integer> parentMap = buildParentGroupMapping();
+            Map<String, Integer> parentMap = slot.inTrackBank() ? buildParentGroupMapping() : Map.of();
             trackInfo.put("parent_group_index", parentMap.get(trackName));
             trackInfo.put("activated", track.isActivated().get());
             trackInfo.put("color", formatTrackColor(track.color().get()));
@@ -1213,16 +2799,18 @@ public class BitwigApiFacade {
             boolean isSelected = cursorTrack.exists().get() && trackName.equals(cursorTrack.name().get());
             trackInfo.put("is_selected", isSelected);
             // Devices
-            trackInfo.put("devices", getTrackDevices(index));
+            trackInfo.put("devices", getTrackDevices(slot));
 
             // Channel parameters
-            trackInfo.put("volume", track.volume().value().get());
+            MixerState state = slot.state();
+            int stateIndex = slot.stateIndex();
+            trackInfo.put("volume", state.getVolume(stateIndex));
             trackInfo.put("volume_str", safeDisplay(track.volume().displayedValue().get()));
-            trackInfo.put("pan", track.pan().value().get());
+            trackInfo.put("pan", state.getPan(stateIndex));
             trackInfo.put("pan_str", safeDisplay(track.pan().displayedValue().get()));
-            trackInfo.put("muted", track.mute().get());
-            trackInfo.put("soloed", track.solo().get());
-            trackInfo.put("armed", track.arm().get());
+            trackInfo.put("muted", state.isMuted(stateIndex));
+            trackInfo.put("soloed", state.isSoloed(stateIndex));
+            trackInfo.put("armed", state.isArmed(stateIndex));
             // Monitoring (properties marked as interested in constructor)
             boolean monitoring = track.isMonitoring().get();
             String mode = track.monitorMode().get();
@@ -1253,7 +2841,7 @@ public class BitwigApiFacade {
             List<Map<String, Object>> clips = new ArrayList<>();
             try {
                 ClipLauncherSlotBank slotBank = track.clipLauncherSlotBank();
-                int slots = slotBank.getSizeOfBank();
+                int slots = getLiveSlotCount(slotBank);
                 for (int s = 0; s < slots; s++) {
                     ClipLauncherSlot slot = slotBank.getItemAt(s);
                     Map<String, Object> slotMap = new LinkedHashMap<>();
@@ -1347,7 +2935,7 @@ public class BitwigApiFacade {
 
             } else if (trackName != null) {
                 // Track by name - find exact match
-                for (int i = 0; i < trackBank.getSizeOfBank(); i++) {
+                for (int i = 0; i < getLiveTrackCount(); i++) {
                     Track track = trackBank.getItemAt(i);
                     if (track.exists().get() && trackName.equals(track.name().get())) {
                         targetTrack = track;
@@ -1370,7 +2958,7 @@ public class BitwigApiFacade {
 
                 // Find the index of the cursor track in the track bank
                 String selectedTrackName = cursorTrack.name().get();
-                for (int i = 0; i < trackBank.getSizeOfBank(); i++) {
+                for (int i = 0; i < getLiveTrackCount(); i++) {
                     Track track = trackBank.getItemAt(i);
                     if (track.exists().get() && selectedTrackName.equals(track.name().get())) {
                         targetTrack = track;
@@ -1429,7 +3017,7 @@ public class BitwigApiFacade {
             }
 
             // Iterate through device bank with proper enumeration
-            for (int i = 0; i < deviceBank.getSizeOfBank(); i++) {
+            for (int i = 0; i < getLiveDeviceCount(trackIndex); i++) {
                 Device device = deviceBank.getItemAt(i);
 
                 // Check if device exists
@@ -1513,7 +3101,7 @@ public class BitwigApiFacade {
      * @return DeviceDetailsResult containing complete device information
      * @throws BitwigApiException if device/track not found or parameters invalid
      */
-    public io.github.fabb.wigai.features.DeviceController.DeviceDetailsResult getDeviceDetails(
+    public DeviceDetailsResult getDeviceDetails(
             Integer trackIndex, String trackName, Integer deviceIndex, String deviceName, Boolean getForSelectedDevice)
             throws BitwigApiException {
         final String operation = "getDeviceDetails";
@@ -1541,7 +3129,7 @@ public class BitwigApiFacade {
     /**
      * Gets details for the currently selected device.
      */
-    private io.github.fabb.wigai.features.DeviceController.DeviceDetailsResult getSelectedDeviceDetails()
+    private DeviceDetailsResult getSelectedDeviceDetails()
             throws BitwigApiException {
         final String operation = "getSelectedDeviceDetails";
 
@@ -1580,7 +3168,7 @@ public class BitwigApiFacade {
         // Get remote controls for the currently selected page
         List<ParameterInfo> remoteControls = getDeviceRemoteControlsFromCursor();
 
-        return new io.github.fabb.wigai.features.DeviceController.DeviceDetailsResult(
+        return new DeviceDetailsResult(
             resolvedTrackIndex,
             selectedTrackName,
             deviceIndex,
@@ -1595,7 +3183,7 @@ public class BitwigApiFacade {
     /**
      * Gets details for a device specified by track and device identifiers.
      */
-    private io.github.fabb.wigai.features.DeviceController.DeviceDetailsResult getTargetDeviceDetails(
+    private DeviceDetailsResult getTargetDeviceDetails(
             Integer trackIndex, String trackName, Integer deviceIndex, String deviceName)
             throws BitwigApiException {
         final String operation = "getTargetDeviceDetails";
@@ -1646,7 +3234,7 @@ public class BitwigApiFacade {
             }
             resolvedDeviceIndex = deviceIndex;
         } else if (deviceName != null) {
-            for (int i = 0; i < deviceBank.getSizeOfBank(); i++) {
+            for (int i = 0; i < getLiveDeviceCount(resolvedTrackIndex); i++) {
                 Device device = deviceBank.getItemAt(i);
                 if (device.exists().get() && deviceName.equals(device.name().get())) {
                     targetDevice = device;
@@ -1677,7 +3265,7 @@ public class BitwigApiFacade {
         // For non-selected devices, remote control access is limited
         List<ParameterInfo> remoteControls = getDeviceRemoteControlsFromDevice(targetDevice);
 
-        return new io.github.fabb.wigai.features.DeviceController.DeviceDetailsResult(
+        return new DeviceDetailsResult(
             resolvedTrackIndex,
             targetTrack.name().get(),
             resolvedDeviceIndex,
@@ -1722,7 +3310,7 @@ public class BitwigApiFacade {
         }
 
         DeviceBank deviceBank = trackDeviceBanks.get(trackIndex);
-        for (int i = 0; i < deviceBank.getSizeOfBank(); i++) {
+        for (int i = 0; i < getLiveDeviceCount(trackIndex); i++) {
             Device device = deviceBank.getItemAt(i);
             if (device.exists().get() && deviceName.equals(device.name().get())) {
                 return i;
@@ -0,0 +1,267 @@
+package io.github.fabb.wigai.bitwig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Compact store of the notes of the launcher cursor clip, laid out on a fixed step grid.
+ *
+ * Notes are kept in parallel primitive arrays (pitch, step, velocity, duration, channel) that are filled by
+ * the clip's note step observer and by the writes issued through {@link #applyDiff}, plus a cell index from (step, pitch) to the array slot, so that observer
+ * updates are constant time and reads walk the notes in step then pitch order without sorting.
+ */
+public class ClipNoteBuffer {
+
+    /**
+     * Number of keys in the grid, covering all MIDI pitches.
+     */
+    public static final int KEYS = 128;
+
+    /**
+     * Number of steps in the grid window.
+     */
+    public static final int GRID_STEPS = 512;
+
+    /**
+     * Length of one grid step in beats (a sixteenth note).
+     */
+    public static final double STEP_SIZE_BEATS = 0.25;
+
+    /**
+     * Largest page of notes returned by a single read.
+     */
+    public static final int MAX_PAGE_SIZE = 1024;
+
+    private static final double DURATION_EPSILON = 1e-6;
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * A note on the step grid.
+     *
+     * @param pitch    MIDI pitch, 0-127
+     * @param step     Grid step of the note start
+     * @param velocity MIDI velocity, 1-127; 0 removes the note when writing
+     * @param duration Length in beats
+     */
+    public record Note(int pitch, int step, int velocity, double duration) {}
+
+    /**
+     * A page of notes in step then pitch order.
+     *
+     * @param notes The notes of the page
+     * @param total The number of notes in the clip
+     */
+    public record Page(List<Note> notes, int total) {}
+
+    /**
+     * Counts of the step operations issued by a write.
+     *
+     * @param set       Notes added or changed
+     * @param cleared   Notes removed
+     * @param unchanged Requested notes that were already present as requested
+     */
+    public record Diff(int set, int cleared, int unchanged) {}
+
+    /**
+     * Receives the step operations computed by a write.
+     */
+    public interface StepWriter {
+        void setStep(int channel, int step, int pitch, int velocity, double duration);
+
+        void clearStep(int channel, int step, int pitch);
+    }
+
+    private final int steps;
+    private final int[] cellSlots;
+    private int[] pitches = new int[INITIAL_CAPACITY];
+    private int[] noteSteps = new int[INITIAL_CAPACITY];
+    private byte[] velocities = new byte[INITIAL_CAPACITY];
+    private byte[] channels = new byte[INITIAL_CAPACITY];
+    private double[] durations = new double[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * Creates a buffer for a grid with the given number of steps.
+     *
+     * @param steps The number of steps in the grid window
+     */
+    public ClipNoteBuffer(int steps) {
+        this.steps = steps;
+        // Slot index plus one for every (step, pitch) cell; 0 marks an empty cell
+        this.cellSlots = new int[steps * KEYS];
+    }
+
+    /**
+     * Records a note start, replacing any note in the same cell.
+     *
+     * @param step     The grid step
+     * @param pitch    The MIDI pitch
+     * @param channel  The MIDI channel
+     * @param velocity The MIDI velocity, 0-127
+     * @param duration The length in beats
+     */
+    public synchronized void put(int step, int pitch, int channel, int velocity, double duration) {
+        if (!inGrid(step, pitch)) {
+            return;
+        }
+        int cell = cell(step, pitch);
+        int slot = cellSlots[cell] - 1;
+        if (slot < 0) {
+            ensureCapacity(count + 1);
+            slot = count++;
+            cellSlots[cell] = slot + 1;
+            pitches[slot] = pitch;
+            noteSteps[slot] = step;
+        }
+        velocities[slot] = (byte) velocity;
+        channels[slot] = (byte) channel;
+        durations[slot] = duration;
+    }
+
+    /**
+     * Removes the note starting in a cell, if any.
+     *
+     * @param step  The grid step
+     * @param pitch The MIDI pitch
+     */
+    public synchronized void remove(int step, int pitch) {
+        if (!inGrid(step, pitch)) {
+            return;
+        }
+        int cell = cell(step, pitch);
+        int slot = cellSlots[cell] - 1;
+        if (slot < 0) {
+            return;
+        }
+        cellSlots[cell] = 0;
+
+        // Move the last note into the freed slot to keep the arrays dense
+        int last = --count;
+        if (slot != last) {
+            pitches[slot] = pitches[last];
+            noteSteps[slot] = noteSteps[last];
+            velocities[slot] = velocities[last];
+            channels[slot] = channels[last];
+            durations[slot] = durations[last];
+            cellSlots[cell(noteSteps[slot], pitches[slot])] = slot + 1;
+        }
+    }
+
+    /**
+     * Removes all notes, e.g. when the cursor clip moves to another clip.
+     */
+    public synchronized void clear() {
+        for (int slot = 0; slot < count; slot++) {
+            cellSlots[cell(noteSteps[slot], pitches[slot])] = 0;
+        }
+        count = 0;
+    }
+
+    /**
+     * Returns the number of notes.
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Returns a page of notes in step then pitch order.
+     *
+     * @param offset The number of notes to skip
+     * @param limit  The maximum number of notes to return
+     * @return The page and the total note count
+     */
+    public synchronized Page page(int offset, int limit) {
+        List<Note> notes = new ArrayList<>(Math.max(0, Math.min(limit, count - offset)));
+        int seen = 0;
+        for (int cell = 0; cell < cellSlots.length && notes.size() < limit; cell++) {
+            int slot = cellSlots[cell] - 1;
+            if (slot < 0) {
+                continue;
+            }
+            if (seen++ >= offset) {
+                notes.add(new Note(pitches[slot], noteSteps[slot], velocities[slot], durations[slot]));
+            }
+        }
+        return new Page(notes, count);
+    }
+
+    /**
+     * Computes the step operations that turn the current notes into the requested ones, passes them to the writer
+     * and applies them to the buffer as well, so that a following write sees them before the clip's observer reports
+     * them back. Notes already present with the same velocity and duration are left alone, and changed notes keep
+     * their MIDI channel. In replace mode every note that is not requested is cleared; otherwise only requested
+     * notes change, and a velocity of 0 clears a note.
+     *
+     * @param requested The requested notes; must lie within the grid
+     * @param replace   Whether notes that are not requested are cleared
+     * @param writer    The receiver of the step operations
+     * @return The number of set, cleared and unchanged notes
+     */
+    public synchronized Diff applyDiff(List<Note> requested, boolean replace, StepWriter writer) {
+        int set = 0;
+        int cleared = 0;
+        int unchanged = 0;
+        BitSet requestedCells = replace ? new BitSet(cellSlots.length) : null;
+
+        for (Note note : requested) {
+            int cell = cell(note.step(), note.pitch());
+            int slot = cellSlots[cell] - 1;
+            if (note.velocity() <= 0) {
+                if (slot >= 0 && (requestedCells == null || !requestedCells.get(cell))) {
+                    writer.clearStep(channels[slot], note.step(), note.pitch());
+                    remove(note.step(), note.pitch());
+                    cleared++;
+                }
+                continue;
+            }
+            if (requestedCells != null) {
+                requestedCells.set(cell);
+            }
+            if (slot >= 0 && velocities[slot] == note.velocity()
+                    && Math.abs(durations[slot] - note.duration()) < DURATION_EPSILON) {
+                unchanged++;
+            } else {
+                // Rewrite an existing note on its own channel, since a step on another channel would add a second note
+                int channel = slot >= 0 ? channels[slot] : 0;
+                writer.setStep(channel, note.step(), note.pitch(), note.velocity(), note.duration());
+                put(note.step(), note.pitch(), channel, note.velocity(), note.duration());
+                set++;
+            }
+        }
+
+        if (requestedCells != null) {
+            // Backwards, because removing a note moves the last one into its slot
+            for (int slot = count - 1; slot >= 0; slot--) {
+                if (!requestedCells.get(cell(noteSteps[slot], pitches[slot]))) {
+                    writer.clearStep(channels[slot], noteSteps[slot], pitches[slot]);
+                    remove(noteSteps[slot], pitches[slot]);
+                    cleared++;
+                }
+            }
+        }
+        return new Diff(set, cleared, unchanged);
+    }
+
+    private boolean inGrid(int step, int pitch) {
+        return step >= 0 && step < steps && pitch >= 0 && pitch < KEYS;
+    }
+
+    private static int cell(int step, int pitch) {
+        return step * KEYS + pitch;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= pitches.length) {
+            return;
+        }
+        int capacity = Math.max(required, pitches.length * 2);
+        pitches = Arrays.copyOf(pitches, capacity);
+        noteSteps = Arrays.copyOf(noteSteps, capacity);
+        velocities = Arrays.copyOf(velocities, capacity);
+        channels = Arrays.copyOf(channels, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+    }
+}
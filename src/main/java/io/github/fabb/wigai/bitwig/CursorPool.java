@@ -0,0 +1,166 @@
+package io.github.fabb.wigai.bitwig;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Lease bookkeeping for a fixed number of cursor slots.
+ *
+ * Bitwig only allows cursors to be created during extension initialization, so the facade creates a fixed set
+ * up front and this pool hands out its slots. A lease is identified by a random id and belongs to the MCP session
+ * that took it, so a client can neither guess another client's lease nor act on a slot that has since been leased
+ * to someone else. Leases that are not used for longer than the idle time expire and their slots become free again.
+ */
+public class CursorPool {
+
+    /**
+     * A leased slot.
+     *
+     * @param id   The lease id
+     * @param slot The cursor slot
+     */
+    public record Lease(long id, int slot) {}
+
+    /**
+     * Upper bound of lease ids, so that they survive the round trip through JSON numbers as doubles.
+     */
+    static final long MAX_LEASE_ID = 1L << 53;
+
+    private final long[] leaseIds;
+    private final String[] owners;
+    private final long[] lastUsedNanos;
+    private final long idleNanos;
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Creates a pool.
+     *
+     * @param size   The number of cursor slots
+     * @param idleMs The time after which an unused lease expires
+     */
+    public CursorPool(int size, long idleMs) {
+        this(size, idleMs, System::nanoTime);
+    }
+
+    CursorPool(int size, long idleMs, LongSupplier clock) {
+        this.leaseIds = new long[size];
+        this.owners = new String[size];
+        this.lastUsedNanos = new long[size];
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+        this.clock = clock;
+    }
+
+    /**
+     * Leases a free slot, reclaiming expired leases first.
+     *
+     * @param owner The MCP session taking the lease, or null for transports without sessions
+     * @return The lease, or null if every slot is leased
+     */
+    public synchronized Lease lease(String owner) {
+        long now = clock.getAsLong();
+        for (int slot = 0; slot < leaseIds.length; slot++) {
+            if (leaseIds[slot] == 0 || isExpired(slot, now)) {
+                leaseIds[slot] = newLeaseId();
+                owners[slot] = owner;
+                lastUsedNanos[slot] = now;
+                return new Lease(leaseIds[slot], slot);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the slot of a lease and marks the lease as used.
+     *
+     * @param id    The lease id
+     * @param owner The MCP session using the lease
+     * @return The slot, or -1 if the lease was released, has expired or belongs to another session
+     */
+    public synchronized int use(long id, String owner) {
+        long now = clock.getAsLong();
+        int slot = find(id, owner);
+        if (slot < 0) {
+            return -1;
+        }
+        if (isExpired(slot, now)) {
+            leaseIds[slot] = 0;
+            return -1;
+        }
+        lastUsedNanos[slot] = now;
+        return slot;
+    }
+
+    /**
+     * Releases a lease.
+     *
+     * @param id    The lease id
+     * @param owner The MCP session releasing the lease
+     * @return true if the lease was active
+     */
+    public synchronized boolean release(long id, String owner) {
+        int slot = find(id, owner);
+        if (slot < 0) {
+            return false;
+        }
+        boolean active = !isExpired(slot, clock.getAsLong());
+        leaseIds[slot] = 0;
+        return active;
+    }
+
+    /**
+     * Returns the number of active leases.
+     */
+    public synchronized int activeCount() {
+        long now = clock.getAsLong();
+        int active = 0;
+        for (int slot = 0; slot < leaseIds.length; slot++) {
+            if (leaseIds[slot] != 0 && !isExpired(slot, now)) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Returns the number of cursor slots.
+     */
+    public int size() {
+        return leaseIds.length;
+    }
+
+    private int find(long id, String owner) {
+        if (id <= 0) {
+            return -1;
+        }
+        for (int slot = 0; slot < leaseIds.length; slot++) {
+            if (leaseIds[slot] == id) {
+                return Objects.equals(owners[slot], owner) ? slot : -1;
+            }
+        }
+        return -1;
+    }
+
+    private long newLeaseId() {
+        long id;
+        do {
+            id = random.nextLong(1, MAX_LEASE_ID);
+        } while (find(id) >= 0);
+        return id;
+    }
+
+    private int find(long id) {
+        for (int slot = 0; slot < leaseIds.length; slot++) {
+            if (leaseIds[slot] == id) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isExpired(int slot, long now) {
+        return now - lastUsedNanos[slot] > idleNanos;
+    }
+}
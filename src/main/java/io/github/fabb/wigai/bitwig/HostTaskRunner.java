@@ -0,0 +1,121 @@
+package io.github.fabb.wigai.bitwig;
+
+import com.bitwig.extension.controller.api.ControllerHost;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.error.ErrorCode;
+import io.github.fabb.wigai.common.error.WigAIErrorHandler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs tasks as single batches on the Bitwig host thread, either waiting for their results or handing them back
+ * as futures.
+ *
+ * A scheduled task has to claim itself before it runs, and a timer withdraws the task at its timeout by claiming
+ * it first. A task therefore either runs completely or not at all, and never runs after its caller was told that
+ * it timed out.
+ */
+public class HostTaskRunner {
+
+    private final ControllerHost host;
+    private final Thread hostThread;
+
+    /**
+     * Creates a runner.
+     *
+     * @param host       The Bitwig host whose thread runs the tasks
+     * @param hostThread The host thread, on which tasks run directly
+     */
+    public HostTaskRunner(ControllerHost host, Thread hostThread) {
+        this.host = host;
+        this.hostThread = hostThread;
+    }
+
+    /**
+     * Returns whether the calling thread is the host thread.
+     */
+    public boolean isHostThread() {
+        return Thread.currentThread() == hostThread;
+    }
+
+    /**
+     * Runs a task as one batch on the host thread and waits for its result. On the host thread the task runs
+     * directly; otherwise it is submitted and awaited. A task that has not started when the timeout expires
+     * is withdrawn.
+     *
+     * @param <T>       The result type
+     * @param operation The operation name for error context
+     * @param task      The task to run
+     * @param timeoutMs Time to wait for the host thread to start the task
+     * @return The result of the task
+     * @throws BitwigApiException if the task fails or the host thread did not start it in time
+     */
+    public <T> T run(String operation, WigAIErrorHandler.SupplierWithException<T> task, long timeoutMs)
+            throws BitwigApiException {
+        if (isHostThread()) {
+            return WigAIErrorHandler.executeWithErrorHandling(operation, task);
+        }
+
+        try {
+            // Completes by the timeout at the latest, unless the task has started and has to finish first
+            return submit(operation, task, timeoutMs).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BitwigApiException bitwigApiException) {
+                throw bitwigApiException;
+            }
+            throw new BitwigApiException(ErrorCode.INTERNAL_ERROR, operation, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BitwigApiException(ErrorCode.OPERATION_FAILED, operation, "Interrupted while waiting for Bitwig");
+        }
+    }
+
+    /**
+     * Schedules a task as one batch on the host thread without waiting for it. On the host thread the task
+     * runs directly. A task that has not started when the timeout expires is withdrawn, and the returned
+     * future fails with BITWIG_TIMEOUT; no thread is held while the task is pending.
+     *
+     * @param <T>       The result type
+     * @param operation The operation name for error context
+     * @param task      The task to run
+     * @param timeoutMs Time to give the host thread to start the task
+     * @return A future completed on the host thread with the result of the task, or failed with a
+     *         BitwigApiException if the task fails or is withdrawn
+     */
+    public <T> CompletableFuture<T> submit(String operation, WigAIErrorHandler.SupplierWithException<T> task,
+                                           long timeoutMs) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (isHostThread()) {
+            complete(result, operation, task);
+            return result;
+        }
+
+        AtomicBoolean claimed = new AtomicBoolean();
+        host.scheduleTask(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                complete(result, operation, task);
+            }
+        }, 0);
+
+        CompletableFuture.delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS).execute(() -> {
+            // A task that is already running cannot be withdrawn anymore and completes the future itself
+            if (claimed.compareAndSet(false, true)) {
+                result.completeExceptionally(new BitwigApiException(ErrorCode.BITWIG_TIMEOUT, operation,
+                    "Bitwig did not start the operation within " + timeoutMs + " ms, nothing was changed"));
+            }
+        });
+        return result;
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, String operation,
+                                     WigAIErrorHandler.SupplierWithException<T> task) {
+        try {
+            result.complete(WigAIErrorHandler.executeWithErrorHandling(operation, task));
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
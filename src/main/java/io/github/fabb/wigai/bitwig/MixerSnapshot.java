@@ -0,0 +1,100 @@
+package io.github.fabb.wigai.bitwig;
+
+/**
+ * Immutable copy of the recallable channel state (volume, pan, mute, solo and sends) of all tracks.
+ *
+ * Snapshots are taken from the live {@link MixerState} store and keep the same primitive layout:
+ * levels in flat double arrays and boolean states in {@code long} bitsets.
+ */
+public final class MixerSnapshot {
+    private final int trackCount;
+    private final int sendCount;
+    private final double[] volume;
+    private final double[] pan;
+    private final double[] sends; // trackCount * sendCount, row-major by track
+    private final long[] muteBits;
+    private final long[] soloBits;
+
+    MixerSnapshot(int trackCount, int sendCount, double[] volume, double[] pan, double[] sends,
+                  long[] muteBits, long[] soloBits) {
+        this.trackCount = trackCount;
+        this.sendCount = sendCount;
+        this.volume = volume;
+        this.pan = pan;
+        this.sends = sends;
+        this.muteBits = muteBits;
+        this.soloBits = soloBits;
+    }
+
+    public int getTrackCount() {
+        return trackCount;
+    }
+
+    public int getSendCount() {
+        return sendCount;
+    }
+
+    public double getVolume(int track) {
+        return volume[track];
+    }
+
+    public double getPan(int track) {
+        return pan[track];
+    }
+
+    public double getSend(int track, int send) {
+        return sends[track * sendCount + send];
+    }
+
+    public boolean isMuted(int track) {
+        return (muteBits[track >>> 6] & (1L << track)) != 0;
+    }
+
+    public boolean isSoloed(int track) {
+        return (soloBits[track >>> 6] & (1L << track)) != 0;
+    }
+
+    /**
+     * Returns the approximate heap footprint of this snapshot in bytes.
+     */
+    public long estimatedSizeBytes() {
+        return 64L + 8L * (volume.length + pan.length + sends.length + muteBits.length + soloBits.length);
+    }
+
+    /**
+     * Linearly interpolates the continuous values between two snapshots.
+     * Mute and solo states switch to the target state only once the end of the morph is reached.
+     *
+     * @param from     The start snapshot
+     * @param to       The target snapshot
+     * @param fraction The position between both snapshots (0.0-1.0)
+     * @return A new snapshot covering the tracks and sends present in both snapshots
+     */
+    public static MixerSnapshot interpolate(MixerSnapshot from, MixerSnapshot to, double fraction) {
+        int tracks = Math.min(from.trackCount, to.trackCount);
+        int sendCount = Math.min(from.sendCount, to.sendCount);
+
+        double[] volume = new double[tracks];
+        double[] pan = new double[tracks];
+        double[] sends = new double[tracks * sendCount];
+        for (int track = 0; track < tracks; track++) {
+            volume[track] = lerp(from.volume[track], to.volume[track], fraction);
+            pan[track] = lerp(from.pan[track], to.pan[track], fraction);
+            for (int send = 0; send < sendCount; send++) {
+                sends[track * sendCount + send] = lerp(from.getSend(track, send), to.getSend(track, send), fraction);
+            }
+        }
+
+        MixerSnapshot bits = fraction >= 1.0 ? to : from;
+        return new MixerSnapshot(tracks, sendCount, volume, pan, sends, bits.muteBits.clone(), bits.soloBits.clone());
+    }
+
+    private static double lerp(double from, double to, double fraction) {
+        return from + (to - from) * fraction;
+    }
+
+    @Override
+    public String toString() {
+        return "MixerSnapshot[tracks=" + trackCount + ", sends=" + sendCount + "]";
+    }
+}
@@ -0,0 +1,244 @@
+package io.github.fabb.wigai.bitwig;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays store for the mixer state of every track in the track bank.
+ *
+ * Values are written in place by Bitwig value observers (on the host thread) and read by MCP tools.
+ * Channel levels live in primitive arrays and the boolean channel states in {@code long} bitsets,
+ * so neither updates nor a full readout allocate per track.
+ */
+@JsonSerialize(using = MixerState.Serializer.class)
+public final class MixerState {
+    private final int trackCapacity;
+    private final int sendCapacity;
+
+    private final double[] volume;
+    private final double[] pan;
+    private final double[][] sends;
+
+    private final long[] existsBits;
+    private final long[] muteBits;
+    private final long[] soloBits;
+    private final long[] armBits;
+
+    private volatile long version;
+
+    /**
+     * Creates a new MixerState.
+     *
+     * @param trackCapacity The number of tracks in the observed track bank
+     * @param sendCapacity  The number of sends per track
+     */
+    public MixerState(int trackCapacity, int sendCapacity) {
+        this.trackCapacity = trackCapacity;
+        this.sendCapacity = sendCapacity;
+        this.volume = new double[trackCapacity];
+        this.pan = new double[trackCapacity];
+        this.sends = new double[trackCapacity][sendCapacity];
+
+        int words = (trackCapacity + 63) >>> 6;
+        this.existsBits = new long[words];
+        this.muteBits = new long[words];
+        this.soloBits = new long[words];
+        this.armBits = new long[words];
+    }
+
+    // ========================================
+    // Observer-side updates
+    // ========================================
+
+    public void setExists(int track, boolean exists) {
+        setBit(existsBits, track, exists);
+    }
+
+    public void setVolume(int track, double value) {
+        volume[track] = value;
+        version++;
+    }
+
+    public void setPan(int track, double value) {
+        pan[track] = value;
+        version++;
+    }
+
+    public void setSend(int track, int send, double value) {
+        sends[track][send] = value;
+        version++;
+    }
+
+    public void setMuted(int track, boolean muted) {
+        setBit(muteBits, track, muted);
+    }
+
+    public void setSoloed(int track, boolean soloed) {
+        setBit(soloBits, track, soloed);
+    }
+
+    public void setArmed(int track, boolean armed) {
+        setBit(armBits, track, armed);
+    }
+
+    private void setBit(long[] bits, int track, boolean value) {
+        long mask = 1L << track;
+        int word = track >>> 6;
+        if (value) {
+            bits[word] |= mask;
+        } else {
+            bits[word] &= ~mask;
+        }
+        version++;
+    }
+
+    // ========================================
+    // Reads
+    // ========================================
+
+    public int getTrackCapacity() {
+        return trackCapacity;
+    }
+
+    public int getSendCapacity() {
+        return sendCapacity;
+    }
+
+    public boolean exists(int track) {
+        return isSet(existsBits, track);
+    }
+
+    public double getVolume(int track) {
+        return volume[track];
+    }
+
+    public double getPan(int track) {
+        return pan[track];
+    }
+
+    public double getSend(int track, int send) {
+        return sends[track][send];
+    }
+
+    public boolean isMuted(int track) {
+        return isSet(muteBits, track);
+    }
+
+    public boolean isSoloed(int track) {
+        return isSet(soloBits, track);
+    }
+
+    public boolean isArmed(int track) {
+        return isSet(armBits, track);
+    }
+
+    private static boolean isSet(long[] bits, int track) {
+        return (bits[track >>> 6] & (1L << track)) != 0;
+    }
+
+    /**
+     * Returns the number of tracks up to and including the highest existing track.
+     * Tracks in a Bitwig track bank are contiguous, so this is the number of tracks in the project
+     * that fit into the bank.
+     */
+    public int getTrackCount() {
+        for (int word = existsBits.length - 1; word >= 0; word--) {
+            long bits = existsBits[word];
+            if (bits != 0) {
+                return (word << 6) + 64 - Long.numberOfLeadingZeros(bits);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a counter that changes whenever any value in this store changes.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Copies the recallable channel state of all existing tracks into an immutable snapshot.
+     *
+     * @return A new MixerSnapshot
+     */
+    public MixerSnapshot snapshot() {
+        int trackCount = getTrackCount();
+        double[] flatSends = new double[trackCount * sendCapacity];
+        for (int track = 0; track < trackCount; track++) {
+            System.arraycopy(sends[track], 0, flatSends, track * sendCapacity, sendCapacity);
+        }
+        return new MixerSnapshot(
+            trackCount,
+            sendCapacity,
+            Arrays.copyOf(volume, trackCount),
+            Arrays.copyOf(pan, trackCount),
+            flatSends,
+            muteBits.clone(),
+            soloBits.clone());
+    }
+
+    @Override
+    public String toString() {
+        return "MixerState[tracks=" + getTrackCount() + ", sends=" + sendCapacity + ", version=" + version + "]";
+    }
+
+    /**
+     * Writes the state of all existing tracks as a columnar JSON object in a single pass,
+     * straight from the primitive arrays without intermediate maps or boxing.
+     */
+    public void writeJson(JsonGenerator gen) throws IOException {
+        int trackCount = getTrackCount();
+
+        gen.writeStartObject();
+        gen.writeNumberField("track_count", trackCount);
+        gen.writeNumberField("send_count", sendCapacity);
+
+        gen.writeFieldName("volume");
+        gen.writeArray(volume, 0, trackCount);
+        gen.writeFieldName("pan");
+        gen.writeArray(pan, 0, trackCount);
+
+        writeBits(gen, "muted", muteBits, trackCount);
+        writeBits(gen, "soloed", soloBits, trackCount);
+        writeBits(gen, "armed", armBits, trackCount);
+
+        gen.writeFieldName("sends");
+        gen.writeStartArray();
+        for (int track = 0; track < trackCount; track++) {
+            gen.writeArray(sends[track], 0, sendCapacity);
+        }
+        gen.writeEndArray();
+
+        gen.writeEndObject();
+    }
+
+    private static void writeBits(JsonGenerator gen, String fieldName, long[] bits, int trackCount) throws IOException {
+        gen.writeFieldName(fieldName);
+        gen.writeStartArray();
+        for (int track = 0; track < trackCount; track++) {
+            gen.writeBoolean(isSet(bits, track));
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * Jackson serializer delegating to {@link #writeJson(JsonGenerator)}.
+     */
+    public static class Serializer extends StdSerializer<MixerState> {
+        public Serializer() {
+            super(MixerState.class);
+        }
+
+        @Override
+        public void serialize(MixerState value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            value.writeJson(gen);
+        }
+    }
+}
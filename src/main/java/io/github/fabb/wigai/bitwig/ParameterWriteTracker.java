@@ -0,0 +1,159 @@
+package io.github.fabb.wigai.bitwig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applied values of a fixed set of parameter slots, so that a write can be confirmed with what Bitwig
+ * actually applied (quantized, clamped and displayed) instead of echoing the requested value.
+ *
+ * Value observers run on the host thread and count a generation per slot; a writer captures the generation
+ * before writing and then waits on this object's monitor until the value observer has fired since. Writing
+ * the value a slot already holds triggers no observer, so such a write is confirmed right away; for stepped
+ * parameters this includes any value that snaps to the step the slot already holds.
+ */
+public class ParameterWriteTracker {
+
+    /**
+     * A write whose applied value has not been observed yet.
+     *
+     * @param slot              The written slot
+     * @param generation        The value generation of the slot before the write
+     * @param displayGeneration The displayed value generation of the slot before the write
+     * @param requested         The requested value
+     */
+    public record Pending(int slot, long generation, long displayGeneration, double requested) {}
+
+    /**
+     * The outcome of waiting for a write.
+     *
+     * @param value          The applied value, or the last observed one if the write was not confirmed
+     * @param displayedValue The displayed value belonging to it
+     * @param confirmed      Whether the value observer reported the write before the deadline
+     */
+    public record Applied(double value, String displayedValue, boolean confirmed) {}
+
+    /**
+     * How long to wait for the displayed value once the value has been observed. Bitwig reports both in the
+     * same update, but through separate observers, so the displayed value may trail by a callback.
+     */
+    static final long DISPLAY_SETTLE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static final double EPSILON = 1e-9;
+
+    private final double[] values;
+    private final String[] displayedValues;
+    private final long[] generations;
+    private final long[] displayGenerations;
+    private final int[] discreteValueCounts;
+
+    /**
+     * Creates a tracker for a fixed number of slots.
+     *
+     * @param slotCount The number of slots
+     */
+    public ParameterWriteTracker(int slotCount) {
+        this.values = new double[slotCount];
+        this.displayedValues = new String[slotCount];
+        this.generations = new long[slotCount];
+        this.displayGenerations = new long[slotCount];
+        this.discreteValueCounts = new int[slotCount];
+    }
+
+    /**
+     * Records a value reported by the value observer of a slot and wakes waiting writers.
+     *
+     * @param slot  The slot
+     * @param value The applied value
+     */
+    public synchronized void setValue(int slot, double value) {
+        if (slot >= 0 && slot < values.length) {
+            values[slot] = value;
+            generations[slot]++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Records a displayed value reported by the displayed value observer of a slot.
+     *
+     * @param slot           The slot
+     * @param displayedValue The displayed value
+     */
+    public synchronized void setDisplayedValue(int slot, String displayedValue) {
+        if (slot >= 0 && slot < values.length) {
+            displayedValues[slot] = displayedValue;
+            displayGenerations[slot]++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Records the number of steps of the parameter in a slot, as reported by its discrete value count observer.
+     *
+     * @param slot  The slot
+     * @param count The number of steps, or -1 for a continuous parameter
+     */
+    public synchronized void setDiscreteValueCount(int slot, int count) {
+        if (slot >= 0 && slot < values.length) {
+            discreteValueCounts[slot] = count;
+        }
+    }
+
+    /**
+     * Captures the state of a slot before it is written.
+     *
+     * @param slot      The slot about to be written
+     * @param requested The value about to be written
+     * @return The pending write, or null if the slot is not tracked
+     */
+    public synchronized Pending expect(int slot, double requested) {
+        if (slot < 0 || slot >= values.length) {
+            return null;
+        }
+        return new Pending(slot, generations[slot], displayGenerations[slot], requested);
+    }
+
+    /**
+     * Waits until the value observer of the slot has reported the write, or the deadline passes.
+     *
+     * @param pending       The pending write
+     * @param deadlineNanos The {@link System#nanoTime()} deadline
+     * @return The applied value, or the last observed value if the write was not reported in time
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public synchronized Applied await(Pending pending, long deadlineNanos) throws InterruptedException {
+        int slot = pending.slot();
+        if (generations[slot] == pending.generation() && holds(slot, pending.requested())) {
+            return new Applied(values[slot], displayedValues[slot], true);
+        }
+
+        while (generations[slot] == pending.generation()) {
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                return new Applied(values[slot], displayedValues[slot], false);
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        long settleDeadline = Math.min(deadlineNanos, System.nanoTime() + DISPLAY_SETTLE_NANOS);
+        while (displayGenerations[slot] == pending.displayGeneration()) {
+            long remaining = settleDeadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return new Applied(values[slot], displayedValues[slot], true);
+    }
+
+    /**
+     * Returns whether a slot already holds the value a write would apply, so that the write triggers no observer.
+     */
+    private boolean holds(int slot, double requested) {
+        int steps = discreteValueCounts[slot];
+        if (steps > 1) {
+            return Math.round(values[slot] * (steps - 1)) == Math.round(requested * (steps - 1));
+        }
+        return Math.abs(values[slot] - requested) < EPSILON;
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.fabb.wigai.bitwig;
+
+/**
+ * Formats transport positions as Bitwig-style beat strings and clock times without intermediate allocations.
+ *
+ * Beat positions are rendered as bars.beats.sixteenths:ticks against the project's time signature, which
+ * is kept up to date by transport observers. The append methods render into a caller-owned StringBuilder
+ * and allocate nothing; the format methods render into an internal scratch buffer and only allocate the
+ * resulting String.
+ */
+public class PositionFormatter {
+
+    /**
+     * Tick resolution of a sixteenth note, matching Bitwig's display.
+     */
+    public static final int TICKS_PER_SIXTEENTH = 240;
+
+    private static final int TICKS_PER_WHOLE_NOTE = 16 * TICKS_PER_SIXTEENTH;
+    private static final int TICKS_PER_QUARTER_NOTE = 4 * TICKS_PER_SIXTEENTH;
+    private static final int DEFAULT_NUMERATOR = 4;
+    private static final int DEFAULT_DENOMINATOR = 4;
+
+    // Numerator in the high and denominator in the low 16 bits, so that readers always see a consistent pair
+    private volatile int timeSignature = pack(DEFAULT_NUMERATOR, DEFAULT_DENOMINATOR);
+    private final StringBuilder scratch = new StringBuilder(24);
+
+    /**
+     * Updates the time signature numerator (beats per bar).
+     *
+     * @param numerator The numerator; values below 1 are ignored
+     */
+    public void setNumerator(int numerator) {
+        if (numerator >= 1 && numerator <= 0xFFFF) {
+            timeSignature = pack(numerator, getDenominator());
+        }
+    }
+
+    /**
+     * Updates the time signature denominator (note value of one beat).
+     *
+     * @param denominator The denominator; values below 1 are ignored
+     */
+    public void setDenominator(int denominator) {
+        if (denominator >= 1 && denominator <= 0xFFFF) {
+            timeSignature = pack(getNumerator(), denominator);
+        }
+    }
+
+    /**
+     * Returns the time signature numerator used for formatting.
+     */
+    public int getNumerator() {
+        return timeSignature >>> 16;
+    }
+
+    /**
+     * Returns the time signature denominator used for formatting.
+     */
+    public int getDenominator() {
+        return timeSignature & 0xFFFF;
+    }
+
+    /**
+     * Formats a position in quarter-note beats as bars.beats.sixteenths:ticks, e.g. 1.1.1:0.
+     *
+     * @param positionInBeats The position in quarter notes from the project start
+     * @return The formatted position
+     */
+    public String formatBeatPosition(double positionInBeats) {
+        synchronized (scratch) {
+            scratch.setLength(0);
+            appendBeatPosition(positionInBeats, scratch);
+            return scratch.toString();
+        }
+    }
+
+    /**
+     * Formats a time in seconds as M:SS.mmm, or H:MM:SS.mmm from one hour on.
+     *
+     * @param seconds The time in seconds
+     * @return The formatted time
+     */
+    public String formatTime(double seconds) {
+        synchronized (scratch) {
+            scratch.setLength(0);
+            appendTime(seconds, scratch);
+            return scratch.toString();
+        }
+    }
+
+    /**
+     * Appends a position in quarter-note beats as bars.beats.sixteenths:ticks.
+     * Bars, beats and sixteenths are 1-based; beats follow the time signature denominator, so 7/8 has
+     * seven eighth-note beats per bar. Positions before the project start count down from bar 0.
+     *
+     * @param positionInBeats The position in quarter notes from the project start
+     * @param out             The builder to append to
+     */
+    public void appendBeatPosition(double positionInBeats, StringBuilder out) {
+        int signature = timeSignature;
+        int numerator = signature >>> 16;
+        int denominator = signature & 0xFFFF;
+
+        long ticksPerBeat = Math.max(1, TICKS_PER_WHOLE_NOTE / denominator);
+        long ticksPerBar = ticksPerBeat * numerator;
+        // Beats shorter than a sixteenth (e.g. 4/32) have a single sixteenth
+        long ticksPerSixteenth = Math.min(TICKS_PER_SIXTEENTH, ticksPerBeat);
+
+        long totalTicks = Math.round(positionInBeats * TICKS_PER_QUARTER_NOTE);
+        long bar = Math.floorDiv(totalTicks, ticksPerBar) + 1;
+        long ticksInBar = Math.floorMod(totalTicks, ticksPerBar);
+        long beat = ticksInBar / ticksPerBeat + 1;
+        long ticksInBeat = ticksInBar % ticksPerBeat;
+        long sixteenth = ticksInBeat / ticksPerSixteenth + 1;
+        long ticks = ticksInBeat % ticksPerSixteenth;
+
+        out.append(bar).append('.').append(beat).append('.').append(sixteenth).append(':').append(ticks);
+    }
+
+    /**
+     * Appends a time in seconds as M:SS.mmm, or H:MM:SS.mmm from one hour on.
+     *
+     * @param seconds The time in seconds
+     * @param out     The builder to append to
+     */
+    public static void appendTime(double seconds, StringBuilder out) {
+        long totalMillis = Math.round(seconds * 1000);
+        if (totalMillis < 0) {
+            out.append('-');
+            totalMillis = -totalMillis;
+        }
+        long hours = totalMillis / 3_600_000;
+        int minutes = (int) (totalMillis / 60_000 % 60);
+        int secs = (int) (totalMillis / 1000 % 60);
+        int millis = (int) (totalMillis % 1000);
+
+        if (hours > 0) {
+            out.append(hours).append(':');
+            appendPadded(out, minutes, 2);
+        } else {
+            out.append(minutes);
+        }
+        out.append(':');
+        appendPadded(out, secs, 2);
+        out.append('.');
+        appendPadded(out, millis, 3);
+    }
+
+    private static void appendPadded(StringBuilder out, int value, int width) {
+        for (int limit = 10, digits = 1; digits < width; limit *= 10, digits++) {
+            if (value < limit) {
+                out.append('0');
+            }
+        }
+        out.append(value);
+    }
+
+    private static int pack(int numerator, int denominator) {
+        return (numerator << 16) | denominator;
+    }
+}
@@ -0,0 +1,291 @@
+package io.github.fabb.wigai.bitwig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory inverted index over the names of tracks, devices, scenes and clips.
+ *
+ * Name observers registered by the facade call {@link #update} whenever a name changes, which
+ * re-indexes only that single item. Every name is indexed by its word tokens and by the character
+ * trigrams of those tokens, so a whole-word lookup is a single hash probe and partial words are
+ * resolved by intersecting trigram postings.
+ */
+public class ProjectSearchIndex {
+
+    /**
+     * Kinds of project items covered by the index.
+     */
+    public enum Kind {
+        TRACK, DEVICE, SCENE, CLIP;
+
+        public String getName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Kind fromName(String name) {
+            for (Kind kind : values()) {
+                if (kind.getName().equalsIgnoreCase(name)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Invalid kind '" + name + "'. Must be one of: track, device, scene, clip");
+        }
+    }
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final double EXACT_TOKEN_SCORE = 3.0;
+    private static final double PARTIAL_TOKEN_SCORE = 1.0;
+    private static final double TRACK_CONTEXT_WEIGHT = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of("the", "a", "an", "on", "in", "of", "at", "to", "and", "for", "with");
+
+    /**
+     * An indexed project item with its address.
+     *
+     * @param kind        The kind of item
+     * @param trackIndex  The track index (tracks, devices and clips), or -1
+     * @param itemIndex   The device index (devices), slot index (clips) or scene index (scenes), or -1
+     * @param name        The current item name
+     * @param tokens      The normalized word tokens of the name
+     */
+    private record Entry(Kind kind, int trackIndex, int itemIndex, String name, Set<String> tokens) {}
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> tokenPostings = new HashMap<>();
+    private final Map<String, Set<Long>> trigramPostings = new HashMap<>();
+
+    /**
+     * Indexes a new name for an item, replacing its previous name. An empty name removes the item.
+     *
+     * @param kind       The kind of item
+     * @param trackIndex The track index, or -1 for scenes
+     * @param itemIndex  The device, slot or scene index, or -1 for tracks
+     * @param name       The new name
+     */
+    public synchronized void update(Kind kind, int trackIndex, int itemIndex, String name) {
+        long key = key(kind, trackIndex, itemIndex);
+
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            for (String token : previous.tokens()) {
+                removePosting(tokenPostings, token, key);
+                for (String trigram : trigrams(token)) {
+                    removePosting(trigramPostings, trigram, key);
+                }
+            }
+        }
+
+        if (name == null || name.isBlank()) {
+            return;
+        }
+
+        Set<String> tokens = tokenize(name);
+        entries.put(key, new Entry(kind, trackIndex, itemIndex, name, tokens));
+        for (String token : tokens) {
+            tokenPostings.computeIfAbsent(token, t -> new HashSet<>()).add(key);
+            for (String trigram : trigrams(token)) {
+                trigramPostings.computeIfAbsent(trigram, t -> new HashSet<>()).add(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of indexed items.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Searches the index and returns ranked matches with their addresses.
+     * Whole-word matches rank above partial matches. Devices and clips also earn a share of the score
+     * of their track's name, so "reverb vocal bus" ranks a reverb on the "Vocal Bus" track first.
+     *
+     * @param query The search text
+     * @param kinds The kinds of items to return, or null for all kinds
+     * @param limit The maximum number of results
+     * @return The ranked matches
+     */
+    public synchronized List<Map<String, Object>> search(String query, Set<Kind> kinds, int limit) {
+        Set<String> queryTokens = tokenize(query);
+        queryTokens.removeAll(STOP_WORDS);
+        if (queryTokens.isEmpty()) {
+            queryTokens = tokenize(query);
+        }
+        Set<Kind> wantedKinds = kinds == null || kinds.isEmpty() ? EnumSet.allOf(Kind.class) : kinds;
+
+        // Score every item matched by at least one query token
+        Map<Long, Double> scores = new HashMap<>();
+        for (String token : queryTokens) {
+            Set<Long> exact = tokenPostings.getOrDefault(token, Set.of());
+            for (Long key : exact) {
+                scores.merge(key, EXACT_TOKEN_SCORE, Double::sum);
+            }
+            for (Long key : partialMatches(token)) {
+                if (!exact.contains(key)) {
+                    scores.merge(key, PARTIAL_TOKEN_SCORE, Double::sum);
+                }
+            }
+        }
+
+        // Let devices and clips inherit part of the score of their track
+        Map<Integer, Double> trackScores = new HashMap<>();
+        for (Map.Entry<Long, Double> scored : scores.entrySet()) {
+            Entry entry = entries.get(scored.getKey());
+            if (entry.kind() == Kind.TRACK) {
+                trackScores.put(entry.trackIndex(), scored.getValue());
+            }
+        }
+        Map<Long, Double> ranked = new HashMap<>();
+        for (Map.Entry<Long, Double> scored : scores.entrySet()) {
+            Entry entry = entries.get(scored.getKey());
+            if (!wantedKinds.contains(entry.kind())) {
+                continue;
+            }
+            double score = scored.getValue();
+            if (entry.kind() == Kind.DEVICE || entry.kind() == Kind.CLIP) {
+                score += trackScores.getOrDefault(entry.trackIndex(), 0.0) * TRACK_CONTEXT_WEIGHT;
+            }
+            ranked.put(scored.getKey(), score);
+        }
+
+        List<Map.Entry<Long, Double>> ordered = new ArrayList<>(ranked.entrySet());
+        ordered.sort((a, b) -> {
+            int byScore = Double.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : Long.compare(a.getKey(), b.getKey());
+        });
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map.Entry<Long, Double> match : ordered) {
+            if (results.size() >= limit) {
+                break;
+            }
+            results.add(toResult(entries.get(match.getKey()), match.getValue()));
+        }
+        return results;
+    }
+
+    private Collection<Long> partialMatches(String token) {
+        if (token.length() < 3) {
+            // Too short for trigrams: fall back to a prefix scan over the token dictionary
+            Set<Long> matches = new LinkedHashSet<>();
+            for (Map.Entry<String, Set<Long>> posting : tokenPostings.entrySet()) {
+                if (posting.getKey().startsWith(token)) {
+                    matches.addAll(posting.getValue());
+                }
+            }
+            return matches;
+        }
+
+        Set<Long> candidates = null;
+        for (String trigram : trigrams(token)) {
+            Set<Long> posting = trigramPostings.get(trigram);
+            if (posting == null) {
+                return Set.of();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(posting);
+            } else {
+                candidates.retainAll(posting);
+            }
+            if (candidates.isEmpty()) {
+                return Set.of();
+            }
+        }
+
+        // Trigram intersection may yield false positives; verify against the item's tokens
+        Set<Long> matches = new HashSet<>();
+        for (Long key : candidates) {
+            for (String candidateToken : entries.get(key).tokens()) {
+                if (candidateToken.contains(token)) {
+                    matches.add(key);
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private Map<String, Object> toResult(Entry entry, double score) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("kind", entry.kind().getName());
+        result.put("name", entry.name());
+        result.put("score", Math.round(score * 100.0) / 100.0);
+        switch (entry.kind()) {
+            case TRACK -> result.put("track_index", entry.trackIndex());
+            case DEVICE -> {
+                result.put("track_index", entry.trackIndex());
+                result.put("track_name", trackName(entry.trackIndex()));
+                result.put("device_index", entry.itemIndex());
+            }
+            case CLIP -> {
+                result.put("track_index", entry.trackIndex());
+                result.put("track_name", trackName(entry.trackIndex()));
+                result.put("slot_index", entry.itemIndex());
+            }
+            case SCENE -> result.put("scene_index", entry.itemIndex());
+        }
+        return result;
+    }
+
+    private String trackName(int trackIndex) {
+        Entry track = entries.get(key(Kind.TRACK, trackIndex, -1));
+        return track != null ? track.name() : null;
+    }
+
+    private static long key(Kind kind, int trackIndex, int itemIndex) {
+        return ((long) kind.ordinal() << 48) | ((long) (trackIndex + 1) << 24) | (itemIndex + 1);
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String term, long key) {
+        Set<Long> keys = postings.get(term);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Splits a name into lowercase alphanumeric word tokens.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private static List<String> trigrams(String token) {
+        List<String> trigrams = new ArrayList<>();
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            trigrams.add(token.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
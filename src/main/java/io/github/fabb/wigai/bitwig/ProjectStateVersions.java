@@ -0,0 +1,48 @@
+package io.github.fabb.wigai.bitwig;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Change counters for areas of the project state.
+ *
+ * Each counter is incremented by the Bitwig observers whenever a value in its area changes, so two reads
+ * that see the same counters were made against the same state. Read-only tools use the counters to decide
+ * whether a previously built response is still current.
+ */
+public class ProjectStateVersions {
+
+    /**
+     * Areas of the project state with their own change counter.
+     */
+    public enum Domain {
+        /** Track list, names, types, colors, devices and the selected track. */
+        TRACKS,
+        /** Channel controls: mute, solo, arm, volume, pan, monitoring and sends. */
+        MIXER,
+        /** Clip launcher slot contents and playback states. */
+        CLIPS,
+        /** Scene list, names and colors. */
+        SCENES
+    }
+
+    private final AtomicLongArray versions = new AtomicLongArray(Domain.values().length);
+
+    /**
+     * Records a change in the given area.
+     *
+     * @param domain The area that changed
+     */
+    public void bump(Domain domain) {
+        versions.incrementAndGet(domain.ordinal());
+    }
+
+    /**
+     * Returns the current change counter of an area.
+     *
+     * @param domain The area
+     * @return The number of changes recorded so far
+     */
+    public long get(Domain domain) {
+        return versions.get(domain.ordinal());
+    }
+}
@@ -0,0 +1,220 @@
+package io.github.fabb.wigai.bitwig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Catalogue of the remote control pages of the selected device and the parameter names on each page.
+ *
+ * The facade keeps one remote controls page cursor pinned to every page index and feeds page names and
+ * parameter names in through observers, so a parameter can be located by name across all pages without
+ * flipping the visible page. A page only counts as catalogued while its cursor actually shows that page;
+ * cursors beyond the device's last page clamp to it and would otherwise report its parameters twice.
+ */
+public class RemoteControlCatalog {
+
+    /**
+     * A parameter found by name.
+     *
+     * @param pageIndex      The remote control page holding the parameter
+     * @param pageName       The name of that page
+     * @param parameterIndex The slot of the parameter on the page
+     * @param parameterName  The parameter name
+     */
+    public record Match(int pageIndex, String pageName, int parameterIndex, String parameterName) {}
+
+    private static final int EXACT_MATCH = 0;
+    private static final int PREFIX_MATCH = 1;
+    private static final int WORD_PREFIX_MATCH = 2;
+    private static final int SUBSTRING_MATCH = 3;
+    private static final int NO_MATCH = -1;
+
+    private final int pageCapacity;
+    private final int parametersPerPage;
+    private final String[][] parameterNames;
+    private final boolean[] pinned;
+    private String[] pageNames = new String[0];
+
+    /**
+     * Creates a catalogue for a fixed number of pages.
+     *
+     * @param pageCapacity      The number of pages that are observed
+     * @param parametersPerPage The number of parameters per page
+     */
+    public RemoteControlCatalog(int pageCapacity, int parametersPerPage) {
+        this.pageCapacity = pageCapacity;
+        this.parametersPerPage = parametersPerPage;
+        this.parameterNames = new String[pageCapacity][parametersPerPage];
+        this.pinned = new boolean[pageCapacity];
+    }
+
+    /**
+     * Updates the page names of the selected device.
+     *
+     * @param names The page names, one per page
+     */
+    public synchronized void setPageNames(String[] names) {
+        this.pageNames = names != null ? names.clone() : new String[0];
+    }
+
+    /**
+     * Updates whether the cursor observing a page currently shows that page.
+     *
+     * @param pageIndex The page index
+     * @param isPinned  Whether the cursor shows the page
+     */
+    public synchronized void setPinned(int pageIndex, boolean isPinned) {
+        if (pageIndex >= 0 && pageIndex < pageCapacity) {
+            pinned[pageIndex] = isPinned;
+        }
+    }
+
+    /**
+     * Updates the name of a parameter on a page.
+     *
+     * @param pageIndex      The page index
+     * @param parameterIndex The slot on the page
+     * @param name           The parameter name, empty if the slot is unassigned
+     */
+    public synchronized void setParameterName(int pageIndex, int parameterIndex, String name) {
+        if (pageIndex >= 0 && pageIndex < pageCapacity && parameterIndex >= 0 && parameterIndex < parametersPerPage) {
+            parameterNames[pageIndex][parameterIndex] = name;
+        }
+    }
+
+    /**
+     * Returns the number of pages of the selected device.
+     */
+    public synchronized int getPageCount() {
+        return pageNames.length;
+    }
+
+    /**
+     * Returns the number of pages whose parameters are currently catalogued.
+     */
+    public synchronized int getCataloguedPageCount() {
+        int count = 0;
+        for (int page = 0; page < Math.min(pageNames.length, pageCapacity); page++) {
+            if (pinned[page]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds parameters by name, case-insensitively. Exact matches rank first, then names starting with the
+     * query, then names with a word starting with it, then names containing it; ties keep page order.
+     *
+     * @param query The parameter name to look for
+     * @param limit The maximum number of matches
+     * @return The best matches
+     */
+    public synchronized List<Match> find(String query, int limit) {
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        List<Match> matches = new ArrayList<>();
+        List<Integer> ranks = new ArrayList<>();
+        if (needle.isEmpty()) {
+            return matches;
+        }
+
+        for (int page = 0; page < Math.min(pageNames.length, pageCapacity); page++) {
+            if (!pinned[page]) {
+                continue;
+            }
+            for (int slot = 0; slot < parametersPerPage; slot++) {
+                String name = parameterNames[page][slot];
+                int rank = rank(name, needle);
+                if (rank != NO_MATCH) {
+                    matches.add(new Match(page, pageNames[page], slot, name));
+                    ranks.add(rank);
+                }
+            }
+        }
+
+        List<Integer> order = new ArrayList<>(matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            order.add(i);
+        }
+        // Stable sort keeps page and slot order within a rank
+        order.sort(Comparator.comparingInt(ranks::get));
+
+        List<Match> result = new ArrayList<>(Math.min(limit, order.size()));
+        for (int i = 0; i < order.size() && result.size() < limit; i++) {
+            result.add(matches.get(order.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves parameter names to their page and slot in one pass, matching whole names case-insensitively.
+     * A name that exists on several pages resolves to the preferred page if it is one of them, otherwise
+     * to the first page holding it.
+     *
+     * @param names         The parameter names to resolve
+     * @param preferredPage The page to prefer, usually the one shown
+     * @return The matches keyed by the requested name; names without a match are absent
+     */
+    public synchronized Map<String, Match> resolve(Collection<String> names, int preferredPage) {
+        // Normalized name to the requested spellings of it
+        Map<String, List<String>> requested = new HashMap<>();
+        for (String name : names) {
+            if (name != null) {
+                requested.computeIfAbsent(name.trim().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(name);
+            }
+        }
+
+        Map<String, Match> resolved = new HashMap<>();
+        for (int page = 0; page < Math.min(pageNames.length, pageCapacity); page++) {
+            if (!pinned[page]) {
+                continue;
+            }
+            for (int slot = 0; slot < parametersPerPage; slot++) {
+                String parameterName = parameterNames[page][slot];
+                if (parameterName == null || parameterName.isEmpty()) {
+                    continue;
+                }
+                List<String> spellings = requested.get(parameterName.trim().toLowerCase(Locale.ROOT));
+                if (spellings == null) {
+                    continue;
+                }
+                Match known = resolved.get(spellings.get(0));
+                if (known == null || (page == preferredPage && known.pageIndex() != preferredPage)) {
+                    Match match = new Match(page, pageNames[page], slot, parameterName);
+                    for (String spelling : spellings) {
+                        resolved.put(spelling, match);
+                    }
+                }
+            }
+        }
+        return resolved;
+    }
+
+    private static int rank(String name, String needle) {
+        if (name == null || name.isEmpty()) {
+            return NO_MATCH;
+        }
+        String candidate = name.toLowerCase(Locale.ROOT);
+        if (candidate.equals(needle)) {
+            return EXACT_MATCH;
+        }
+        if (candidate.startsWith(needle)) {
+            return PREFIX_MATCH;
+        }
+        int position = candidate.indexOf(needle);
+        if (position < 0) {
+            return NO_MATCH;
+        }
+        for (; position >= 0; position = candidate.indexOf(needle, position + 1)) {
+            if (!Character.isLetterOrDigit(candidate.charAt(position - 1))) {
+                return WORD_PREFIX_MATCH;
+            }
+        }
+        return SUBSTRING_MATCH;
+    }
+}
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * Facade for Bitwig Scene Bank operations (scene name lookup, color, etc).
@@ -17,27 +18,65 @@ import java.util.Map;
 public class SceneBankFacade {
     private final SceneBank sceneBank;
     private final Logger logger;
-    private final int sceneCount;
+    private final int bankSize;
 
-    public SceneBankFacade(ControllerHost host, Logger logger, int sceneCount) {
+    // Live scene count reported by the scene bank; -1 until the first observer callback
+    private volatile int sceneItemCount = -1;
+
+    public SceneBankFacade(ControllerHost host, Logger logger, int bankSize) {
         this.logger = logger;
-        this.sceneCount = sceneCount;
-        this.sceneBank = host.createSceneBank(sceneCount);
+        this.bankSize = bankSize;
+        this.sceneBank = host.createSceneBank(bankSize);
 
-        for (int i = 0; i < sceneCount; i++) {
+        for (int i = 0; i < bankSize; i++) {
             Scene scene = sceneBank.getItemAt(i);
             scene.name().markInterested();
             scene.exists().markInterested();
             scene.color().markInterested();
         }
+
+        sceneBank.itemCount().addValueObserver(count -> sceneItemCount = count);
+    }
+
+    /**
+     * Registers an observer that is called with the scene index and new name whenever a scene name changes.
+     * Must be called during extension initialization.
+     *
+     * @param observer The observer receiving (sceneIndex, name)
+     */
+    public void addSceneNameObserver(BiConsumer<Integer, String> observer) {
+        for (int i = 0; i < bankSize; i++) {
+            final int sceneIndex = i;
+            sceneBank.getItemAt(i).name().addValueObserver(name -> observer.accept(sceneIndex, name));
+        }
     }
 
+    /**
+     * Registers an observer that is called whenever the scene count or any scene's existence, name or color changes.
+     * Must be called during extension initialization.
+     *
+     * @param observer The observer to run on a change
+     */
+    public void addSceneChangeObserver(Runnable observer) {
+        sceneBank.itemCount().addValueObserver(count -> observer.run());
+        for (int i = 0; i < bankSize; i++) {
+            Scene scene = sceneBank.getItemAt(i);
+            scene.exists().addValueObserver(exists -> observer.run());
+            scene.name().addValueObserver(name -> observer.run());
+            scene.color().addValueObserver((red, green, blue) -> observer.run());
+        }
+    }
+
+    /**
+     * Returns the live number of scenes in the project, bounded by the scene bank size.
+     * Falls back to the bank size until Bitwig has reported the live count.
+     */
     public int getSceneCount() {
-        return sceneCount;
+        return BitwigApiFacade.boundedItemCount(sceneItemCount, bankSize);
     }
 
     public String getSceneName(int index) {
-        if (index < 0 || index >= sceneCount) return null;
+        if (index < 0 || index >= getSceneCount()) return null;
         Scene scene = sceneBank.getItemAt(index);
         if (scene.exists().get()) {
             return scene.name().get();
@@ -50,6 +89,7 @@ public class SceneBankFacade {
      * Returns -1 if not found.
      */
     public int findSceneByName(String sceneName) {
+        int sceneCount = getSceneCount();
         for (int i = 0; i < sceneCount; i++) {
             Scene scene = sceneBank.getItemAt(i);
             if (scene.exists().get() && sceneName.equals(scene.name().get())) {
@@ -70,6 +110,7 @@ public class SceneBankFacade {
         List<Map<String, Object>> scenesInfo = new ArrayList<>();
 
         try {
+            int sceneCount = getSceneCount();
             for (int i = 0; i < sceneCount; i++) {
                 Scene scene = sceneBank.getItemAt(i);
                 if (!scene.exists().get()) {
@@ -0,0 +1,54 @@
+package io.github.fabb.wigai.bitwig;
+
+import java.util.Locale;
+
+/**
+ * Address of a track in one of the banks the facade observes.
+ *
+ * Effect tracks and the master track are not part of the track bank, so a position alone cannot name them.
+ * They are counted within their own kind instead: effect track 0 is the target of send 0, and the master
+ * track is the only track of its kind, at index 0.
+ *
+ * @param kind  The bank the track belongs to
+ * @param index The position of the track within its kind
+ */
+public record TrackAddress(Kind kind, int index) {
+
+    /**
+     * Kinds of tracks, each counted from 0.
+     */
+    public enum Kind {
+        TRACK, EFFECT, MASTER;
+
+        public String getName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Kind fromName(String name) {
+            for (Kind kind : values()) {
+                if (kind.getName().equalsIgnoreCase(name)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Invalid track kind '" + name + "'. Must be one of: track, effect, master");
+        }
+    }
+
+    /**
+     * Returns the address of a track in the track bank.
+     */
+    public static TrackAddress track(int index) {
+        return new TrackAddress(Kind.TRACK, index);
+    }
+
+    /**
+     * Describes the address for error messages, e.g. "track at index 3" or "effect track at index 1".
+     */
+    public String describe() {
+        return switch (kind) {
+            case TRACK -> "track at index " + index;
+            case EFFECT -> "effect track at index " + index;
+            case MASTER -> index == 0 ? "master track" : "master track at index " + index;
+        };
+    }
+}
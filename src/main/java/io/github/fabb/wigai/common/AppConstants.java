@@ -9,6 +9,56 @@ public class AppConstants {
      */
     public static final int DEFAULT_MCP_PORT = 61169;
 
+    /**
+     * Default minimum number of threads kept by the server thread pool.
+     */
+    public static final int DEFAULT_SERVER_MIN_THREADS = 4;
+
+    /**
+     * Default maximum number of threads in the server thread pool.
+     */
+    public static final int DEFAULT_SERVER_MAX_THREADS = 64;
+
+    /**
+     * Default minimum response size in bytes before gzip compression is applied.
+     */
+    public static final int DEFAULT_GZIP_MIN_SIZE = 1024;
+
+    /**
+     * Default size limit of the response cache for read-only tools, in kilobytes.
+     */
+    public static final int DEFAULT_RESPONSE_CACHE_KB = 4096;
+
+    /**
+     * Default sustained number of tool calls per second allowed for each client session.
+     */
+    public static final int DEFAULT_TOOL_CALLS_PER_SECOND = 20;
+
+    /**
+     * Default number of tool calls a client session may make at once after being idle.
+     */
+    public static final int DEFAULT_TOOL_CALL_BURST = 40;
+
+    /**
+     * Default maximum number of tool calls running at the same time across all sessions.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_TOOL_CALLS = 4;
+
+    /**
+     * Default fair-queue weight of a client session.
+     */
+    public static final double DEFAULT_SESSION_WEIGHT = 1.0;
+
+    /**
+     * Default number of sends observed per track.
+     */
+    public static final int DEFAULT_SENDS_PER_TRACK = 8;
+
+    /**
+     * Maximum number of sends that can be observed per track.
+     */
+    public static final int MAX_SENDS_PER_TRACK = 16;
+
     /**
      * The application name.
      */
@@ -0,0 +1,62 @@
+package io.github.fabb.wigai.common.data;
+
+import java.util.List;
+
+/**
+ * Result of a device details query, including the device's remote controls.
+ */
+public class DeviceDetailsResult {
+    private final int trackIndex;
+    private final String trackName;
+    private final int index;
+    private final String name;
+    private final String type;
+    private final boolean isBypassed;
+    private final boolean isSelected;
+    private final List<ParameterInfo> remoteControls;
+
+    public DeviceDetailsResult(int trackIndex, String trackName, int index, String name, String type,
+                               boolean isBypassed, boolean isSelected,
+                               List<ParameterInfo> remoteControls) {
+        this.trackIndex = trackIndex;
+        this.trackName = trackName;
+        this.index = index;
+        this.name = name;
+        this.type = type;
+        this.isBypassed = isBypassed;
+        this.isSelected = isSelected;
+        this.remoteControls = remoteControls;
+    }
+
+    public int getTrackIndex() {
+        return trackIndex;
+    }
+
+    public String getTrackName() {
+        return trackName;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public boolean isBypassed() {
+        return isBypassed;
+    }
+
+    public boolean isSelected() {
+        return isSelected;
+    }
+
+    public List<ParameterInfo> getRemoteControls() {
+        return remoteControls;
+    }
+}
@@ -3,8 +3,24 @@ package io.github.fabb.wigai.common.data;
 /**
  * Record representing a parameter setting request for batch operations.
  * Used for setting multiple device parameters simultaneously.
+ * A parameter is addressed either by its index on the shown remote control page or by its name.
  */
 public record ParameterSetting(
-    int parameter_index,     // 0-7
+    int parameter_index,     // 0-7, or -1 when addressed by name
+    String parameter_name,   // Nullable; takes precedence over the index when set
     double value            // 0.0-1.0 normalized
-) {}
+) {
+    /**
+     * Creates a setting addressed by parameter index.
+     */
+    public ParameterSetting(int parameter_index, double value) {
+        this(parameter_index, null, value);
+    }
+
+    /**
+     * Creates a setting addressed by parameter name.
+     */
+    public static ParameterSetting byName(String parameter_name, double value) {
+        return new ParameterSetting(-1, parameter_name, value);
+    }
+}
@@ -5,9 +5,40 @@ package io.github.fabb.wigai.common.data;
  * Used for structured response formatting in multiple parameter setting operations.
  */
 public record ParameterSettingResult(
-    int parameter_index,     // The parameter index that was attempted
+    int parameter_index,     // The parameter index that was attempted, -1 if a name could not be resolved
     String status,           // "success" or "error"
-    Double new_value,        // The value that was set (null for errors)
+    Double new_value,        // The value that was set, or the applied value of a confirmed write (null for errors)
     String error_code,       // Error code if status is "error" (null for success)
-    String message          // Success message or error description
-) {}
+    String message,          // Success message or error description
+    String parameter_name,   // The requested parameter name (null when addressed by index)
+    Integer page_index,      // The remote control page written to (null when addressed by index)
+    String displayed_value,  // The value as displayed by Bitwig (null unless the write was confirmed)
+    Boolean confirmed        // Whether Bitwig reported the applied value in time (null unless confirmation was requested)
+) {
+    /**
+     * Creates a result for a parameter addressed by index.
+     */
+    public ParameterSettingResult(int parameter_index, String status, Double new_value, String error_code, String message) {
+        this(parameter_index, status, new_value, error_code, message, null, null);
+    }
+
+    /**
+     * Creates a result for a parameter that is addressed by name.
+     */
+    public ParameterSettingResult(int parameter_index, String status, Double new_value, String error_code, String message,
+                                  String parameter_name, Integer page_index) {
+        this(parameter_index, status, new_value, error_code, message, parameter_name, page_index, null, null);
+    }
+
+    /**
+     * Returns a copy of this result carrying the value Bitwig applied instead of the requested one.
+     *
+     * @param appliedValue   The applied value
+     * @param displayedValue The value as displayed by Bitwig
+     * @param isConfirmed    Whether the applied value was reported before the confirmation timed out
+     */
+    public ParameterSettingResult withAppliedValue(double appliedValue, String displayedValue, boolean isConfirmed) {
+        return new ParameterSettingResult(parameter_index, status, appliedValue, error_code, message,
+            parameter_name, page_index, displayedValue, isConfirmed);
+    }
+}
@@ -19,6 +19,7 @@ public enum ErrorCode {
     TRACK_NOT_FOUND("TRACK_NOT_FOUND", "Specified track was not found"),
     SCENE_NOT_FOUND("SCENE_NOT_FOUND", "Specified scene was not found"),
     CLIP_NOT_FOUND("CLIP_NOT_FOUND", "Specified clip was not found"),
+    SNAPSHOT_NOT_FOUND("SNAPSHOT_NOT_FOUND", "Specified mixer snapshot was not found"),
     PROJECT_NOT_LOADED("PROJECT_NOT_LOADED", "No project is currently loaded"),
     ENGINE_NOT_ACTIVE("ENGINE_NOT_ACTIVE", "Audio engine is not active"),
 
@@ -34,6 +35,7 @@ public enum ErrorCode {
     CONFIGURATION_ERROR("CONFIGURATION_ERROR", "System configuration error"),
     RESOURCE_UNAVAILABLE("RESOURCE_UNAVAILABLE", "Required resource is unavailable"),
     OPERATION_FAILED("OPERATION_FAILED", "Operation failed to complete"),
+    RATE_LIMITED("RATE_LIMITED", "Too many requests, retry later"),
     SERIALIZATION_ERROR("SERIALIZATION_ERROR", "Failed to serialize/deserialize data"),
 
     // MCP Protocol Errors
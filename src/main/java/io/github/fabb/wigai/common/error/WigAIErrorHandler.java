@@ -1,7 +1,7 @@
 package io.github.fabb.wigai.common.error;
 
 import io.github.fabb.wigai.common.Logger;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fabb.wigai.common.serialization.ResponseSerializer;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
@@ -14,7 +14,6 @@ import java.util.HashMap;
  * Provides consistent error processing, logging, and response formatting across all system layers.
  */
 public class WigAIErrorHandler {
-    private static final ObjectMapper mapper = new ObjectMapper();
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_INSTANT;
 
     /**
@@ -105,10 +104,10 @@ public class WigAIErrorHandler {
      */
     public static String toJsonString(Map<String, Object> response) {
         try {
-            return mapper.writeValueAsString(response);
+            return ResponseSerializer.toJson(response);
         } catch (Exception e) {
             // Fallback error response if JSON serialization fails
-            return "{\"status\":\"error\",\"error\":{\"code\":\"SERIALIZATION_ERROR\",\"message\":\"Failed to serialize response\",\"timestamp\":\"" + getCurrentTimestamp() + "\"}}";
+            return ResponseSerializer.serializationErrorEnvelope();
         }
     }
 
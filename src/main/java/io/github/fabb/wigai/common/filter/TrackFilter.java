@@ -0,0 +1,382 @@
+package io.github.fabb.wigai.common.filter;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Compiled track filter expression used by the list_tracks tool.
+ *
+ * Grammar (keywords are case-insensitive):
+ * <pre>
+ *   expression := term ( "or" term )*
+ *   term       := factor ( "and" factor )*
+ *   factor     := "not" factor | "(" expression ")" | comparison | flag
+ *   comparison := field ( "=" | "!=" | "~" | "&lt;" | "&lt;=" | "&gt;" | "&gt;=" ) value
+ *   flag       := "muted" | "soloed" | "armed" | "activated" | "group" | "selected"
+ *   value      := "quoted string" | word | number
+ * </pre>
+ * String fields are {@code name}, {@code type} and {@code kind}; {@code =} compares case-insensitively and
+ * {@code ~} is a case-insensitive substring match. Numeric fields are {@code index}, {@code volume}
+ * and {@code pan}; {@code index} counts within the kind of the track ({@code track}, {@code effect} or
+ * {@code master}). Flags may also be compared against {@code true} or {@code false}.
+ *
+ * Expressions are parsed once into a tree of predicates; compiled filters are cached by expression text.
+ */
+public final class TrackFilter implements Predicate<TrackFilter.TrackView> {
+
+    /**
+     * Read-only view of the state of one track, as seen by a filter.
+     */
+    public interface TrackView {
+        int index();
+        String kind();
+        String name();
+        String type();
+        boolean isMuted();
+        boolean isSoloed();
+        boolean isArmed();
+        boolean isActivated();
+        boolean isGroup();
+        boolean isSelected();
+        double volume();
+        double pan();
+    }
+
+    public static final int MAX_EXPRESSION_LENGTH = 1024;
+    private static final int CACHE_SIZE = 64;
+
+    private static final Map<String, TrackFilter> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TrackFilter> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final String expression;
+    private final Predicate<TrackView> predicate;
+
+    private TrackFilter(String expression, Predicate<TrackView> predicate) {
+        this.expression = expression;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Compiles a filter expression, reusing a previously compiled filter for the same expression.
+     *
+     * @param expression The filter expression
+     * @return The compiled filter
+     * @throws IllegalArgumentException if the expression is invalid
+     */
+    public static TrackFilter compile(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("Filter expression cannot be empty");
+        }
+        if (expression.length() > MAX_EXPRESSION_LENGTH) {
+            throw new IllegalArgumentException("Filter expression must be at most " + MAX_EXPRESSION_LENGTH + " characters");
+        }
+
+        synchronized (CACHE) {
+            TrackFilter cached = CACHE.get(expression);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        TrackFilter filter = new TrackFilter(expression, new Parser(expression).parse());
+        synchronized (CACHE) {
+            CACHE.put(expression, filter);
+        }
+        return filter;
+    }
+
+    @Override
+    public boolean test(TrackView track) {
+        return predicate.test(track);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return "TrackFilter[" + expression + "]";
+    }
+
+    // ========================================
+    // Parser
+    // ========================================
+
+    private enum TokenType { WORD, STRING, NUMBER, OPERATOR, LPAREN, RPAREN, END }
+
+    private record Token(TokenType type, String text, int position) {}
+
+    /**
+     * Recursive descent parser producing predicates directly.
+     */
+    private static final class Parser {
+        private final String input;
+        private int pos;
+        private Token current;
+
+        Parser(String input) {
+            this.input = input;
+            this.current = nextToken();
+        }
+
+        Predicate<TrackView> parse() {
+            Predicate<TrackView> result = parseOr();
+            if (current.type() != TokenType.END) {
+                throw error("Unexpected '" + current.text() + "'");
+            }
+            return result;
+        }
+
+        private Predicate<TrackView> parseOr() {
+            Predicate<TrackView> left = parseAnd();
+            while (isKeyword("or")) {
+                advance();
+                Predicate<TrackView> l = left;
+                Predicate<TrackView> r = parseAnd();
+                left = t -> l.test(t) || r.test(t);
+            }
+            return left;
+        }
+
+        private Predicate<TrackView> parseAnd() {
+            Predicate<TrackView> left = parseNot();
+            while (isKeyword("and")) {
+                advance();
+                Predicate<TrackView> l = left;
+                Predicate<TrackView> r = parseNot();
+                left = t -> l.test(t) && r.test(t);
+            }
+            return left;
+        }
+
+        private Predicate<TrackView> parseNot() {
+            if (isKeyword("not")) {
+                advance();
+                Predicate<TrackView> inner = parseNot();
+                return t -> !inner.test(t);
+            }
+            return parsePrimary();
+        }
+
+        private Predicate<TrackView> parsePrimary() {
+            if (current.type() == TokenType.LPAREN) {
+                advance();
+                Predicate<TrackView> inner = parseOr();
+                if (current.type() != TokenType.RPAREN) {
+                    throw error("Expected ')'");
+                }
+                advance();
+                return inner;
+            }
+            if (current.type() != TokenType.WORD) {
+                throw error("Expected a field name or flag but found '" + current.text() + "'");
+            }
+
+            Token field = current;
+            advance();
+            if (current.type() == TokenType.OPERATOR) {
+                Token operator = current;
+                advance();
+                if (current.type() != TokenType.WORD && current.type() != TokenType.STRING && current.type() != TokenType.NUMBER) {
+                    throw error("Expected a value after '" + operator.text() + "'");
+                }
+                Token value = current;
+                advance();
+                return comparison(field, operator, value);
+            }
+            return flag(field);
+        }
+
+        private Predicate<TrackView> flag(Token field) {
+            Predicate<TrackView> flag = booleanField(field.text().toLowerCase(Locale.ROOT));
+            if (flag == null) {
+                throw error(field, "Unknown flag '" + field.text() + "'. Flags: muted, soloed, armed, activated, group, selected");
+            }
+            return flag;
+        }
+
+        private Predicate<TrackView> comparison(Token field, Token operator, Token value) {
+            String name = field.text().toLowerCase(Locale.ROOT);
+            String op = operator.text();
+
+            switch (name) {
+                case "name":
+                case "type":
+                case "kind": {
+                    if (!op.equals("=") && !op.equals("!=") && !op.equals("~")) {
+                        throw error(operator, "Operator '" + op + "' is not supported for '" + name + "'");
+                    }
+                    String expected = value.text().toLowerCase(Locale.ROOT);
+                    StringField getter = switch (name) {
+                        case "name" -> TrackView::name;
+                        case "type" -> TrackView::type;
+                        default -> TrackView::kind;
+                    };
+                    Predicate<TrackView> match = op.equals("~")
+                        ? t -> lower(getter.get(t)).contains(expected)
+                        : t -> lower(getter.get(t)).equals(expected);
+                    return op.equals("!=") ? match.negate() : match;
+                }
+                case "index":
+                case "volume":
+                case "pan": {
+                    if (value.type() != TokenType.NUMBER) {
+                        throw error(value, "'" + name + "' must be compared with a number");
+                    }
+                    double expected = Double.parseDouble(value.text());
+                    NumericField getter = switch (name) {
+                        case "index" -> TrackView::index;
+                        case "volume" -> TrackView::volume;
+                        default -> TrackView::pan;
+                    };
+                    return switch (op) {
+                        case "=" -> t -> getter.get(t) == expected;
+                        case "!=" -> t -> getter.get(t) != expected;
+                        case "<" -> t -> getter.get(t) < expected;
+                        case "<=" -> t -> getter.get(t) <= expected;
+                        case ">" -> t -> getter.get(t) > expected;
+                        case ">=" -> t -> getter.get(t) >= expected;
+                        default -> throw error(operator, "Operator '" + op + "' is not supported for '" + name + "'");
+                    };
+                }
+                default: {
+                    Predicate<TrackView> flag = booleanField(name);
+                    if (flag == null) {
+                        throw error(field, "Unknown field '" + field.text() + "'. Fields: name, type, kind, index, volume, pan, "
+                            + "muted, soloed, armed, activated, group, selected");
+                    }
+                    String text = value.text().toLowerCase(Locale.ROOT);
+                    if (!text.equals("true") && !text.equals("false")) {
+                        throw error(value, "'" + name + "' must be compared with true or false");
+                    }
+                    boolean expected = text.equals("true");
+                    if (op.equals("=")) {
+                        return expected ? flag : flag.negate();
+                    } else if (op.equals("!=")) {
+                        return expected ? flag.negate() : flag;
+                    }
+                    throw error(operator, "Operator '" + op + "' is not supported for '" + name + "'");
+                }
+            }
+        }
+
+        private static Predicate<TrackView> booleanField(String name) {
+            return switch (name) {
+                case "muted" -> TrackView::isMuted;
+                case "soloed" -> TrackView::isSoloed;
+                case "armed" -> TrackView::isArmed;
+                case "activated" -> TrackView::isActivated;
+                case "group" -> TrackView::isGroup;
+                case "selected" -> TrackView::isSelected;
+                default -> null;
+            };
+        }
+
+        private static String lower(String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        }
+
+        private boolean isKeyword(String keyword) {
+            return current.type() == TokenType.WORD && current.text().equalsIgnoreCase(keyword);
+        }
+
+        private void advance() {
+            current = nextToken();
+        }
+
+        private Token nextToken() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+            int start = pos;
+            if (pos >= input.length()) {
+                return new Token(TokenType.END, "end of expression", start);
+            }
+
+            char c = input.charAt(pos);
+            if (c == '(') {
+                pos++;
+                return new Token(TokenType.LPAREN, "(", start);
+            }
+            if (c == ')') {
+                pos++;
+                return new Token(TokenType.RPAREN, ")", start);
+            }
+            if (c == '"' || c == '\'') {
+                StringBuilder text = new StringBuilder();
+                pos++;
+                while (pos < input.length() && input.charAt(pos) != c) {
+                    if (input.charAt(pos) == '\\' && pos + 1 < input.length()) {
+                        pos++;
+                    }
+                    text.append(input.charAt(pos++));
+                }
+                if (pos >= input.length()) {
+                    throw new IllegalArgumentException("Invalid filter expression at position " + start + ": Unterminated string");
+                }
+                pos++;
+                return new Token(TokenType.STRING, text.toString(), start);
+            }
+            if (c == '=' || c == '~') {
+                pos++;
+                return new Token(TokenType.OPERATOR, String.valueOf(c), start);
+            }
+            if (c == '!' || c == '<' || c == '>') {
+                pos++;
+                if (pos < input.length() && input.charAt(pos) == '=') {
+                    pos++;
+                    return new Token(TokenType.OPERATOR, c + "=", start);
+                }
+                if (c == '!') {
+                    throw new IllegalArgumentException("Invalid filter expression at position " + start + ": Expected '!='");
+                }
+                return new Token(TokenType.OPERATOR, String.valueOf(c), start);
+            }
+            if (Character.isDigit(c) || c == '-' || c == '.') {
+                pos++;
+                while (pos < input.length() && (Character.isDigit(input.charAt(pos)) || input.charAt(pos) == '.')) {
+                    pos++;
+                }
+                String text = input.substring(start, pos);
+                try {
+                    Double.parseDouble(text);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid filter expression at position " + start + ": Invalid number '" + text + "'");
+                }
+                return new Token(TokenType.NUMBER, text, start);
+            }
+            if (Character.isLetter(c) || c == '_') {
+                while (pos < input.length() && (Character.isLetterOrDigit(input.charAt(pos)) || input.charAt(pos) == '_')) {
+                    pos++;
+                }
+                return new Token(TokenType.WORD, input.substring(start, pos), start);
+            }
+            throw new IllegalArgumentException("Invalid filter expression at position " + start + ": Unexpected character '" + c + "'");
+        }
+
+        private IllegalArgumentException error(String message) {
+            return error(current, message);
+        }
+
+        private IllegalArgumentException error(Token token, String message) {
+            return new IllegalArgumentException("Invalid filter expression at position " + token.position() + ": " + message);
+        }
+    }
+
+    @FunctionalInterface
+    private interface NumericField {
+        double get(TrackView track);
+    }
+
+    @FunctionalInterface
+    private interface StringField {
+        String get(TrackView track);
+    }
+}
@@ -0,0 +1,295 @@
+package io.github.fabb.wigai.common.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.fabb.wigai.common.data.DeviceDetailsResult;
+import io.github.fabb.wigai.common.data.ParameterInfo;
+import io.github.fabb.wigai.common.data.ParameterSettingResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Shared JSON serialization for all MCP responses.
+ *
+ * Holds the single ObjectMapper used by the MCP transport and the tools, with dedicated serializers for
+ * the result types returned by the Bitwig layer, so they are written field by field instead of being copied
+ * into intermediate maps. Response envelopes are written directly with a generator into pooled buffers,
+ * which keeps the per-call allocation to roughly the resulting string.
+ */
+public class ResponseSerializer {
+
+    private static final int BUFFER_POOL_SIZE = 16;
+    private static final int INITIAL_BUFFER_CHARS = 4 * 1024;
+    // Buffers grown beyond this by an unusually large response are dropped instead of being kept forever
+    private static final int MAX_RETAINED_BUFFER_CHARS = 256 * 1024;
+
+    private static final ObjectMapper MAPPER = createMapper();
+    private static final ObjectWriter VALUE_WRITER = MAPPER.writer();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+    private static final ArrayBlockingQueue<BufferWriter> BUFFERS = new ArrayBlockingQueue<>(BUFFER_POOL_SIZE);
+
+    private ResponseSerializer() {} // Prevent instantiation
+
+    /**
+     * Returns the shared, pre-configured ObjectMapper.
+     *
+     * @return The shared ObjectMapper
+     */
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Serializes a value to a JSON string.
+     *
+     * @param value The value to serialize
+     * @return The JSON text
+     * @throws IOException if the value cannot be serialized
+     */
+    public static String toJson(Object value) throws IOException {
+        BufferWriter buffer = acquireBuffer();
+        try (JsonGenerator generator = FACTORY.createGenerator(buffer)) {
+            VALUE_WRITER.writeValue(generator, value);
+            generator.flush();
+            return buffer.toString();
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Writes a success envelope: {"status":"success","data":...}.
+     *
+     * @param data The response data
+     * @return The JSON text, or a serialization error envelope if the data cannot be serialized
+     */
+    public static String successEnvelope(Object data) {
+        BufferWriter buffer = acquireBuffer();
+        try (JsonGenerator generator = FACTORY.createGenerator(buffer)) {
+            generator.writeStartObject();
+            generator.writeStringField("status", "success");
+            generator.writeFieldName("data");
+            VALUE_WRITER.writeValue(generator, data);
+            generator.writeEndObject();
+            generator.flush();
+            return buffer.toString();
+        } catch (IOException | RuntimeException e) {
+            return serializationErrorEnvelope();
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Writes an error envelope: {"status":"error","error":{"code":...,"message":...,"operation":...}}.
+     *
+     * @param code      The error code
+     * @param message   The error message
+     * @param operation The operation that failed
+     * @param details   Additional fields of the error object, or null
+     * @return The JSON text
+     */
+    public static String errorEnvelope(String code, String message, String operation, Map<String, Object> details) {
+        BufferWriter buffer = acquireBuffer();
+        try (JsonGenerator generator = FACTORY.createGenerator(buffer)) {
+            generator.writeStartObject();
+            generator.writeStringField("status", "error");
+            generator.writeObjectFieldStart("error");
+            generator.writeStringField("code", code);
+            generator.writeStringField("message", message);
+            generator.writeStringField("operation", operation);
+            if (details != null) {
+                for (Map.Entry<String, Object> detail : details.entrySet()) {
+                    generator.writeFieldName(detail.getKey());
+                    VALUE_WRITER.writeValue(generator, detail.getValue());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.flush();
+            return buffer.toString();
+        } catch (IOException | RuntimeException e) {
+            return serializationErrorEnvelope();
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Returns the envelope used when a response cannot be serialized.
+     *
+     * @return The JSON text of a SERIALIZATION_ERROR response
+     */
+    public static String serializationErrorEnvelope() {
+        return "{\"status\":\"error\",\"error\":{\"code\":\"SERIALIZATION_ERROR\",\"message\":\"Failed to serialize response\",\"timestamp\":\""
+            + DateTimeFormatter.ISO_INSTANT.format(Instant.now()) + "\"}}";
+    }
+
+    private static ObjectMapper createMapper() {
+        SimpleModule module = new SimpleModule("WigAI");
+        module.addSerializer(ParameterInfo.class, new ParameterInfoSerializer());
+        module.addSerializer(ParameterSettingResult.class, new ParameterSettingResultSerializer());
+        module.addSerializer(DeviceDetailsResult.class, new DeviceDetailsResultSerializer());
+        return new ObjectMapper().registerModule(module);
+    }
+
+    private static BufferWriter acquireBuffer() {
+        BufferWriter buffer = BUFFERS.poll();
+        return buffer != null ? buffer : new BufferWriter();
+    }
+
+    private static void releaseBuffer(BufferWriter buffer) {
+        if (buffer.capacity() <= MAX_RETAINED_BUFFER_CHARS) {
+            buffer.reset();
+            BUFFERS.offer(buffer);
+        }
+    }
+
+    /**
+     * Writer appending to a reusable StringBuilder.
+     */
+    private static final class BufferWriter extends Writer {
+        private final StringBuilder builder = new StringBuilder(INITIAL_BUFFER_CHARS);
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            builder.append(string, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // Kept open for reuse
+        }
+
+        int capacity() {
+            return builder.capacity();
+        }
+
+        void reset() {
+            builder.setLength(0);
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Writes a ParameterInfo as {"index","name","value","display_value"}.
+     */
+    static final class ParameterInfoSerializer extends StdSerializer<ParameterInfo> {
+        ParameterInfoSerializer() {
+            super(ParameterInfo.class);
+        }
+
+        @Override
+        public void serialize(ParameterInfo parameter, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("index", parameter.index());
+            generator.writeStringField("name", parameter.name());
+            generator.writeNumberField("value", parameter.value());
+            generator.writeStringField("display_value", parameter.display_value());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes a ParameterSettingResult with new_value on success, or error_code and message on error.
+     * parameter_name and page_index are only written for parameters addressed by name, displayed_value and
+     * confirmed only for confirmed writes.
+     */
+    static final class ParameterSettingResultSerializer extends StdSerializer<ParameterSettingResult> {
+        ParameterSettingResultSerializer() {
+            super(ParameterSettingResult.class);
+        }
+
+        @Override
+        public void serialize(ParameterSettingResult result, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("parameter_index", result.parameter_index());
+            if (result.parameter_name() != null) {
+                generator.writeStringField("parameter_name", result.parameter_name());
+            }
+            if (result.page_index() != null) {
+                generator.writeNumberField("page_index", result.page_index());
+            }
+            generator.writeStringField("status", result.status());
+            if ("success".equals(result.status())) {
+                generator.writeFieldName("new_value");
+                if (result.new_value() != null) {
+                    generator.writeNumber(result.new_value());
+                } else {
+                    generator.writeNull();
+                }
+                if (result.confirmed() != null) {
+                    generator.writeStringField("displayed_value", result.displayed_value());
+                    generator.writeBooleanField("confirmed", result.confirmed());
+                }
+            } else {
+                generator.writeStringField("error_code", result.error_code());
+                generator.writeStringField("message", result.message());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes a DeviceDetailsResult in the get_device_details response format.
+     */
+    static final class DeviceDetailsResultSerializer extends StdSerializer<DeviceDetailsResult> {
+        DeviceDetailsResultSerializer() {
+            super(DeviceDetailsResult.class);
+        }
+
+        @Override
+        public void serialize(DeviceDetailsResult device, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("track_index", device.getTrackIndex());
+            generator.writeStringField("track_name", device.getTrackName());
+            generator.writeNumberField("index", device.getIndex());
+            generator.writeStringField("name", device.getName());
+            generator.writeStringField("type", device.getType());
+            generator.writeBooleanField("is_bypassed", device.isBypassed());
+            generator.writeBooleanField("is_selected", device.isSelected());
+            generator.writeArrayFieldStart("remote_controls");
+            for (ParameterInfo control : device.getRemoteControls()) {
+                generator.writeStartObject();
+                generator.writeNumberField("index", control.index());
+                generator.writeBooleanField("exists", true); // Only existing parameters are included
+                generator.writeStringField("name", control.name());
+                generator.writeNumberField("value", control.value());
+                generator.writeNullField("raw_value"); // Not available from ParameterInfo
+                generator.writeStringField("display_value", control.display_value());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
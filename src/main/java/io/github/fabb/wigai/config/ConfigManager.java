@@ -20,6 +20,118 @@ public interface ConfigManager {
      */
     int getMcpPort();
 
+    /**
+     * Gets the path of the Unix domain socket the server additionally listens on.
+     *
+     * @return The socket path, or null if the Unix domain socket is disabled
+     */
+    String getUnixSocketPath();
+
+    /**
+     * Gets the minimum number of threads kept by the server thread pool.
+     *
+     * @return The minimum server thread count
+     */
+    int getServerMinThreads();
+
+    /**
+     * Gets the maximum number of threads in the server thread pool.
+     *
+     * @return The maximum server thread count
+     */
+    int getServerMaxThreads();
+
+    /**
+     * Checks whether server requests should be executed on virtual threads.
+     *
+     * @return true if virtual threads are enabled
+     */
+    boolean isVirtualThreadsEnabled();
+
+    /**
+     * Checks whether the server accepts HTTP/2 over cleartext (h2c) in addition to HTTP/1.1.
+     *
+     * @return true if h2c is enabled
+     */
+    boolean isHttp2Enabled();
+
+    /**
+     * Checks whether responses are gzip-compressed for clients that accept it.
+     *
+     * @return true if gzip compression is enabled
+     */
+    boolean isGzipEnabled();
+
+    /**
+     * Gets the minimum response size in bytes before gzip compression is applied.
+     *
+     * @return The gzip size threshold in bytes
+     */
+    int getGzipMinSize();
+
+    /**
+     * Checks whether per-session rate limiting and fair scheduling of tool calls is enabled.
+     *
+     * @return true if admission control is enabled
+     */
+    boolean isAdmissionControlEnabled();
+
+    /**
+     * Gets the sustained number of tool calls per second allowed for each client session.
+     *
+     * @return The per-session call rate
+     */
+    int getToolCallsPerSecond();
+
+    /**
+     * Gets the number of tool calls a client session may make at once after being idle.
+     *
+     * @return The per-session burst size
+     */
+    int getToolCallBurst();
+
+    /**
+     * Gets the maximum number of tool calls running at the same time across all sessions.
+     *
+     * @return The maximum number of concurrent tool calls
+     */
+    int getMaxConcurrentToolCalls();
+
+    /**
+     * Gets the fair-queue weight of client sessions without a per-client override.
+     *
+     * @return The default session weight
+     */
+    double getDefaultSessionWeight();
+
+    /**
+     * Gets the per-client session weight overrides, as comma separated "client=weight" entries.
+     *
+     * @return The client weight overrides, empty if there are none
+     */
+    String getClientWeights();
+
+    /**
+     * Checks whether tool calls should be served by the async MCP server, completing on the Bitwig host thread.
+     *
+     * @return true if async mode is enabled
+     */
+    boolean isAsyncModeEnabled();
+
+    /**
+     * Gets the size limit of the response cache for read-only tools, in bytes.
+     *
+     * @return The response cache size in bytes, 0 if the cache is disabled
+     */
+    long getResponseCacheBytes();
+
+    /**
+     * Gets the number of sends observed per track, applied when the extension is next started.
+     *
+     * @return The number of sends per track
+     */
+    int getSendsPerTrack();
+
     /**
      * Sets the MCP server host.
      *
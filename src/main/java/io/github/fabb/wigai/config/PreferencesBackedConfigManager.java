@@ -2,6 +2,7 @@ package io.github.fabb.wigai.config;
 
 import com.bitwig.extension.controller.api.ControllerHost;
 import com.bitwig.extension.controller.api.Preferences;
+import com.bitwig.extension.controller.api.SettableBooleanValue;
 import com.bitwig.extension.controller.api.SettableRangedValue;
 import com.bitwig.extension.controller.api.SettableStringValue;
 import io.github.fabb.wigai.common.AppConstants;
@@ -22,9 +23,41 @@ public class PreferencesBackedConfigManager implements ConfigManager {
 
     private final SettableStringValue hostSetting;
     private final SettableRangedValue portSetting;
+    private final SettableStringValue socketPathSetting;
+    private final SettableRangedValue minThreadsSetting;
+    private final SettableRangedValue maxThreadsSetting;
+    private final SettableBooleanValue virtualThreadsSetting;
+    private final SettableBooleanValue asyncModeSetting;
+    private final SettableBooleanValue http2Setting;
+    private final SettableBooleanValue gzipSetting;
+    private final SettableRangedValue gzipMinSizeSetting;
+    private final SettableRangedValue responseCacheSizeSetting;
+    private final SettableRangedValue sendsPerTrackSetting;
+    private final SettableBooleanValue admissionControlSetting;
+    private final SettableRangedValue toolCallsPerSecondSetting;
+    private final SettableRangedValue toolCallBurstSetting;
+    private final SettableRangedValue maxConcurrentToolCallsSetting;
+    private final SettableRangedValue defaultSessionWeightSetting;
+    private final SettableStringValue clientWeightsSetting;
 
     private String currentHost;
     private int currentPort;
+    private volatile String currentSocketPath;
+    private volatile int currentMinThreads;
+    private volatile int currentMaxThreads;
+    private volatile boolean currentVirtualThreads;
+    private volatile boolean currentAsyncMode;
+    private volatile boolean currentHttp2;
+    private volatile boolean currentGzip;
+    private volatile int currentGzipMinSize;
+    private volatile int currentResponseCacheKb;
+    private volatile int currentSendsPerTrack;
+    private volatile boolean currentAdmissionControl;
+    private volatile int currentToolCallsPerSecond;
+    private volatile int currentToolCallBurst;
+    private volatile int currentMaxConcurrentToolCalls;
+    private volatile double currentDefaultSessionWeight;
+    private volatile String currentClientWeights;
 
     /**
      * Creates a new PreferencesBackedConfigManager instance.
@@ -59,10 +92,164 @@ public class PreferencesBackedConfigManager implements ConfigManager {
             AppConstants.DEFAULT_MCP_PORT
         );
 
+        // Optional Unix domain socket for local agents; empty disables it
+        this.socketPathSetting = preferences.getStringSetting(
+            "MCP Socket Path",
+            "Network Settings",
+            256,
+            ""
+        );
+
+        // Create thread pool settings in "Performance Settings" category, applied on the next server start
+        this.minThreadsSetting = preferences.getNumberSetting(
+            "Server Min Threads",
+            "Performance Settings",
+            1,
+            256,
+            1,
+            "",
+            AppConstants.DEFAULT_SERVER_MIN_THREADS
+        );
+
+        this.maxThreadsSetting = preferences.getNumberSetting(
+            "Server Max Threads",
+            "Performance Settings",
+            8,
+            1024,
+            1,
+            "",
+            AppConstants.DEFAULT_SERVER_MAX_THREADS
+        );
+
+        this.virtualThreadsSetting = preferences.getBooleanSetting(
+            "Use Virtual Threads",
+            "Performance Settings",
+            true
+        );
+
+        this.asyncModeSetting = preferences.getBooleanSetting(
+            "Async Tool Execution",
+            "Performance Settings",
+            false
+        );
+
+        this.http2Setting = preferences.getBooleanSetting(
+            "HTTP/2 Cleartext (h2c)",
+            "Performance Settings",
+            false
+        );
+
+        this.gzipSetting = preferences.getBooleanSetting(
+            "Gzip Compression",
+            "Performance Settings",
+            true
+        );
+
+        this.gzipMinSizeSetting = preferences.getNumberSetting(
+            "Gzip Min Size",
+            "Performance Settings",
+            0,
+            1048576,
+            1,
+            "bytes",
+            AppConstants.DEFAULT_GZIP_MIN_SIZE
+        );
+
+        this.responseCacheSizeSetting = preferences.getNumberSetting(
+            "Response Cache Size",
+            "Performance Settings",
+            0,
+            262144,
+            1,
+            "KB",
+            AppConstants.DEFAULT_RESPONSE_CACHE_KB
+        );
+
+        // The send banks are created once during extension initialization, so this applies on the next extension start
+        this.sendsPerTrackSetting = preferences.getNumberSetting(
+            "Sends Per Track",
+            "Performance Settings",
+            0,
+            AppConstants.MAX_SENDS_PER_TRACK,
+            1,
+            "",
+            AppConstants.DEFAULT_SENDS_PER_TRACK
+        );
+
+        // Create admission control settings in "Rate Limiting" category, applied on the next server start
+        this.admissionControlSetting = preferences.getBooleanSetting(
+            "Limit Tool Calls Per Session",
+            "Rate Limiting",
+            true
+        );
+
+        this.toolCallsPerSecondSetting = preferences.getNumberSetting(
+            "Tool Calls Per Second",
+            "Rate Limiting",
+            1,
+            1000,
+            1,
+            "",
+            AppConstants.DEFAULT_TOOL_CALLS_PER_SECOND
+        );
+
+        this.toolCallBurstSetting = preferences.getNumberSetting(
+            "Tool Call Burst",
+            "Rate Limiting",
+            1,
+            1000,
+            1,
+            "",
+            AppConstants.DEFAULT_TOOL_CALL_BURST
+        );
+
+        this.maxConcurrentToolCallsSetting = preferences.getNumberSetting(
+            "Max Concurrent Tool Calls",
+            "Rate Limiting",
+            1,
+            64,
+            1,
+            "",
+            AppConstants.DEFAULT_MAX_CONCURRENT_TOOL_CALLS
+        );
+
+        this.defaultSessionWeightSetting = preferences.getNumberSetting(
+            "Default Session Weight",
+            "Rate Limiting",
+            0.1,
+            10,
+            0.1,
+            "",
+            AppConstants.DEFAULT_SESSION_WEIGHT
+        );
+
+        // Comma separated "client=weight" entries matched against the client name sent on initialize
+        this.clientWeightsSetting = preferences.getStringSetting(
+            "Client Weights",
+            "Rate Limiting",
+            256,
+            ""
+        );
+
         // Initialize current values from settings
         this.currentHost = hostSetting.get();
         this.currentPort = (int) portSetting.getRaw();
-
+        this.currentSocketPath = socketPathSetting.get();
+        this.currentMinThreads = (int) minThreadsSetting.getRaw();
+        this.currentMaxThreads = (int) maxThreadsSetting.getRaw();
+        this.currentVirtualThreads = virtualThreadsSetting.get();
+        this.currentAsyncMode = asyncModeSetting.get();
+        this.currentHttp2 = http2Setting.get();
+        this.currentGzip = gzipSetting.get();
+        this.currentGzipMinSize = (int) gzipMinSizeSetting.getRaw();
+        this.currentResponseCacheKb = (int) responseCacheSizeSetting.getRaw();
+        this.currentSendsPerTrack = (int) sendsPerTrackSetting.getRaw();
+        this.currentAdmissionControl = admissionControlSetting.get();
+        this.currentToolCallsPerSecond = (int) toolCallsPerSecondSetting.getRaw();
+        this.currentToolCallBurst = (int) toolCallBurstSetting.getRaw();
+        this.currentMaxConcurrentToolCalls = (int) maxConcurrentToolCallsSetting.getRaw();
+        this.currentDefaultSessionWeight = defaultSessionWeightSetting.getRaw();
+        this.currentClientWeights = clientWeightsSetting.get();
 
         // Set up change listeners
         setupChangeListeners();
@@ -94,6 +281,24 @@ public class PreferencesBackedConfigManager implements ConfigManager {
                 logger.info("PreferencesBackedConfigManager: Port changed from " + oldPort + " to " + currentPort);
             }
         });
+
+        // The socket path and performance settings take effect when the server is next started, so no observers are notified
+        socketPathSetting.addValueObserver(newSocketPath -> currentSocketPath = newSocketPath);
+        minThreadsSetting.addRawValueObserver(newMinThreads -> currentMinThreads = (int) newMinThreads);
+        maxThreadsSetting.addRawValueObserver(newMaxThreads -> currentMaxThreads = (int) newMaxThreads);
+        virtualThreadsSetting.addValueObserver(enabled -> currentVirtualThreads = enabled);
+        asyncModeSetting.addValueObserver(enabled -> currentAsyncMode = enabled);
+        http2Setting.addValueObserver(enabled -> currentHttp2 = enabled);
+        gzipSetting.addValueObserver(enabled -> currentGzip = enabled);
+        gzipMinSizeSetting.addRawValueObserver(newMinSize -> currentGzipMinSize = (int) newMinSize);
+        responseCacheSizeSetting.addRawValueObserver(newSizeKb -> currentResponseCacheKb = (int) newSizeKb);
+        sendsPerTrackSetting.addRawValueObserver(newSends -> currentSendsPerTrack = (int) newSends);
+        admissionControlSetting.addValueObserver(enabled -> currentAdmissionControl = enabled);
+        toolCallsPerSecondSetting.addRawValueObserver(newRate -> currentToolCallsPerSecond = (int) newRate);
+        toolCallBurstSetting.addRawValueObserver(newBurst -> currentToolCallBurst = (int) newBurst);
+        maxConcurrentToolCallsSetting.addRawValueObserver(newMax -> currentMaxConcurrentToolCalls = (int) newMax);
+        defaultSessionWeightSetting.addRawValueObserver(newWeight -> currentDefaultSessionWeight = newWeight);
+        clientWeightsSetting.addValueObserver(newWeights -> currentClientWeights = newWeights);
     }
 
     /**
@@ -138,6 +343,167 @@ public class PreferencesBackedConfigManager implements ConfigManager {
         return currentPort;
     }
 
+    /**
+     * Gets the path of the Unix domain socket the server additionally listens on.
+     *
+     * @return The socket path, or null if the Unix domain socket is disabled
+     */
+    @Override
+    public String getUnixSocketPath() {
+        String socketPath = currentSocketPath;
+        return socketPath == null || socketPath.trim().isEmpty() ? null : socketPath.trim();
+    }
+
+    /**
+     * Gets the minimum number of threads kept by the server thread pool.
+     *
+     * @return The minimum server thread count
+     */
+    @Override
+    public int getServerMinThreads() {
+        return Math.max(1, currentMinThreads);
+    }
+
+    /**
+     * Gets the maximum number of threads in the server thread pool, never below the minimum.
+     *
+     * @return The maximum server thread count
+     */
+    @Override
+    public int getServerMaxThreads() {
+        return Math.max(getServerMinThreads(), currentMaxThreads);
+    }
+
+    /**
+     * Checks whether server requests should be executed on virtual threads.
+     *
+     * @return true if virtual threads are enabled
+     */
+    @Override
+    public boolean isVirtualThreadsEnabled() {
+        return currentVirtualThreads;
+    }
+
+    /**
+     * Checks whether the server accepts HTTP/2 over cleartext (h2c) in addition to HTTP/1.1.
+     *
+     * @return true if h2c is enabled
+     */
+    @Override
+    public boolean isHttp2Enabled() {
+        return currentHttp2;
+    }
+
+    /**
+     * Checks whether responses are gzip-compressed for clients that accept it.
+     *
+     * @return true if gzip compression is enabled
+     */
+    @Override
+    public boolean isGzipEnabled() {
+        return currentGzip;
+    }
+
+    /**
+     * Gets the minimum response size in bytes before gzip compression is applied.
+     *
+     * @return The gzip size threshold in bytes
+     */
+    @Override
+    public int getGzipMinSize() {
+        return Math.max(0, currentGzipMinSize);
+    }
+
+    /**
+     * Checks whether per-session rate limiting and fair scheduling of tool calls is enabled.
+     *
+     * @return true if admission control is enabled
+     */
+    @Override
+    public boolean isAdmissionControlEnabled() {
+        return currentAdmissionControl;
+    }
+
+    /**
+     * Gets the sustained number of tool calls per second allowed for each client session.
+     *
+     * @return The per-session call rate
+     */
+    @Override
+    public int getToolCallsPerSecond() {
+        return Math.max(1, currentToolCallsPerSecond);
+    }
+
+    /**
+     * Gets the number of tool calls a client session may make at once after being idle.
+     *
+     * @return The per-session burst size
+     */
+    @Override
+    public int getToolCallBurst() {
+        return Math.max(1, currentToolCallBurst);
+    }
+
+    /**
+     * Gets the maximum number of tool calls running at the same time across all sessions.
+     *
+     * @return The maximum number of concurrent tool calls
+     */
+    @Override
+    public int getMaxConcurrentToolCalls() {
+        return Math.max(1, currentMaxConcurrentToolCalls);
+    }
+
+    /**
+     * Gets the fair-queue weight of client sessions without a per-client override.
+     *
+     * @return The default session weight
+     */
+    @Override
+    public double getDefaultSessionWeight() {
+        return currentDefaultSessionWeight > 0 ? currentDefaultSessionWeight : AppConstants.DEFAULT_SESSION_WEIGHT;
+    }
+
+    /**
+     * Gets the per-client session weight overrides, as comma separated "client=weight" entries.
+     *
+     * @return The client weight overrides, empty if there are none
+     */
+    @Override
+    public String getClientWeights() {
+        return currentClientWeights != null ? currentClientWeights : "";
+    }
+
+    /**
+     * Checks whether tool calls should be served by the async MCP server, completing on the Bitwig host thread.
+     *
+     * @return true if async mode is enabled
+     */
+    @Override
+    public boolean isAsyncModeEnabled() {
+        return currentAsyncMode;
+    }
+
+    /**
+     * Gets the size limit of the response cache for read-only tools, in bytes.
+     *
+     * @return The response cache size in bytes, 0 if the cache is disabled
+     */
+    @Override
+    public long getResponseCacheBytes() {
+        return Math.max(0, currentResponseCacheKb) * 1024L;
+    }
+
+    /**
+     * Gets the number of sends observed per track, applied when the extension is next started.
+     *
+     * @return The number of sends per track
+     */
+    @Override
+    public int getSendsPerTrack() {
+        return Math.max(0, Math.min(AppConstants.MAX_SENDS_PER_TRACK, currentSendsPerTrack));
+    }
+
     /**
      * Sets the MCP server host.
      * This will update the preferences UI and trigger change notifications.
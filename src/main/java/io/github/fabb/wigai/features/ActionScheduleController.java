@@ -0,0 +1,273 @@
+package io.github.fabb.wigai.features;
+
+import io.github.fabb.wigai.bitwig.BeatScheduler;
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.error.ErrorCode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for actions that run at a musical position instead of immediately, e.g. on the next bar.
+ * Positions are resolved against the transport position once per call, so that a batch of actions keeps
+ * its relative timing; the actions themselves run on the host thread through the facade's beat scheduler.
+ */
+public class ActionScheduleController {
+
+    /**
+     * Actions that can be scheduled.
+     */
+    public enum ActionType {
+        LAUNCH_CLIP("launch_clip"),
+        LAUNCH_SCENE("launch_scene"),
+        STOP_TRANSPORT("stop_transport"),
+        SET_DEVICE_PARAMETER("set_device_parameter");
+
+        private final String toolName;
+
+        ActionType(String toolName) {
+            this.toolName = toolName;
+        }
+
+        public String getToolName() {
+            return toolName;
+        }
+
+        /**
+         * Returns the action type with the given tool name, or null if there is none.
+         */
+        public static ActionType fromToolName(String toolName) {
+            for (ActionType type : values()) {
+                if (type.toolName.equals(toolName)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Grid that a position is quantized to.
+     */
+    public enum Quantize {
+        NEXT_BAR("next_bar"),
+        NEXT_BEAT("next_beat");
+
+        private final String toolName;
+
+        Quantize(String toolName) {
+            this.toolName = toolName;
+        }
+
+        public String getToolName() {
+            return toolName;
+        }
+
+        /**
+         * Returns the grid with the given tool name, or null if there is none.
+         */
+        public static Quantize fromToolName(String toolName) {
+            for (Quantize quantize : values()) {
+                if (quantize.toolName.equals(toolName)) {
+                    return quantize;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * When an action runs: at an absolute position, or on the next bar or beat plus an offset.
+     *
+     * @param atBeat      Absolute position in beats, or null to quantize
+     * @param quantize    The grid to quantize the current position to, used when atBeat is null
+     * @param offsetBeats Beats added to the quantized position
+     */
+    public record Timing(Double atBeat, Quantize quantize, double offsetBeats) {}
+
+    /**
+     * An action to schedule.
+     *
+     * @param type      The action
+     * @param timing    When the action runs
+     * @param trackName The track of a clip to launch, null otherwise
+     * @param index     The clip, scene or parameter index; unused for stop_transport
+     * @param value     The parameter value for set_device_parameter
+     */
+    public record ActionRequest(ActionType type, Timing timing, String trackName, int index, double value) {}
+
+    private final BitwigApiFacade bitwigApiFacade;
+    private final ClipSceneController clipSceneController;
+    private final TransportController transportController;
+    private final DeviceController deviceController;
+    private final Logger logger;
+
+    /**
+     * Creates a new ActionScheduleController instance.
+     *
+     * @param bitwigApiFacade     The facade owning the beat scheduler
+     * @param clipSceneController The controller launching clips and scenes
+     * @param transportController The controller for transport operations
+     * @param deviceController    The controller for device parameters
+     * @param logger              The logger for logging operations
+     */
+    public ActionScheduleController(BitwigApiFacade bitwigApiFacade, ClipSceneController clipSceneController,
+                                    TransportController transportController, DeviceController deviceController, Logger logger) {
+        this.bitwigApiFacade = bitwigApiFacade;
+        this.clipSceneController = clipSceneController;
+        this.transportController = transportController;
+        this.deviceController = deviceController;
+        this.logger = logger;
+    }
+
+    /**
+     * Schedules a batch of actions. Either all actions are scheduled or none.
+     *
+     * @param requests The actions to schedule
+     * @return The transport position and the scheduled actions with their ids
+     * @throws BitwigApiException if a position has already passed, lies beyond the end of the active arranger loop,
+     *                            or too many actions are pending
+     */
+    public Map<String, Object> schedule(List<ActionRequest> requests) throws BitwigApiException {
+        final String operation = "scheduleActions";
+        double position = bitwigApiFacade.getTransportBeatPosition();
+        double beatsPerBar = bitwigApiFacade.getBeatsPerBar();
+        double loopEnd = bitwigApiFacade.getArrangerLoopEnd();
+
+        List<BeatScheduler.Request> scheduled = new ArrayList<>(requests.size());
+        for (ActionRequest request : requests) {
+            double beat = resolveBeat(request.timing(), position, beatsPerBar);
+            if (beat < position) {
+                throw new BitwigApiException(ErrorCode.INVALID_RANGE, operation,
+                    "at_beat " + beat + " has already passed, the transport is at beat " + position);
+            }
+            if (loopEnd >= 0 && position < loopEnd && beat >= loopEnd) {
+                // The transport jumps back to the loop start before it gets there
+                throw new BitwigApiException(ErrorCode.INVALID_RANGE, operation,
+                    describe(request) + " at beat " + beat + " would never run, the arranger loop ends at beat " + loopEnd);
+            }
+            String description = describe(request);
+            scheduled.add(new BeatScheduler.Request(beat, description, () -> run(request, description)));
+        }
+
+        List<BeatScheduler.Action> actions = bitwigApiFacade.scheduleActions(scheduled);
+        logger.info("ActionScheduleController: Scheduled " + actions.size() + " actions from beat " + position);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", "actions_scheduled");
+        result.put("current_beat", position);
+        result.put("scheduled", toMaps(actions));
+        return result;
+    }
+
+    /**
+     * Lists the pending actions ordered by position.
+     *
+     * @return The transport position and the pending actions
+     */
+    public Map<String, Object> list() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("current_beat", bitwigApiFacade.getTransportBeatPosition());
+        result.put("actions", toMaps(bitwigApiFacade.getScheduledActions()));
+        return result;
+    }
+
+    /**
+     * Cancels pending actions.
+     *
+     * @param ids The ids of the actions to cancel, or null to cancel all
+     * @return The number of cancelled actions and the ids that were no longer pending
+     */
+    public Map<String, Object> cancel(List<Long> ids) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", "scheduled_actions_cancelled");
+        if (ids == null) {
+            result.put("cancelled", bitwigApiFacade.cancelAllScheduledActions());
+            return result;
+        }
+
+        int cancelled = 0;
+        List<Long> notPending = new ArrayList<>();
+        for (long id : ids) {
+            if (bitwigApiFacade.cancelScheduledAction(id)) {
+                cancelled++;
+            } else {
+                notPending.add(id);
+            }
+        }
+        result.put("cancelled", cancelled);
+        result.put("not_pending", notPending);
+        return result;
+    }
+
+    /**
+     * Resolves the timing of an action to a position in beats.
+     *
+     * @param timing      The timing
+     * @param position    The current transport position in beats
+     * @param beatsPerBar The bar length in beats
+     * @return The position at which the action runs
+     */
+    static double resolveBeat(Timing timing, double position, double beatsPerBar) {
+        if (timing.atBeat() != null) {
+            return timing.atBeat();
+        }
+        double grid = timing.quantize() == Quantize.NEXT_BEAT ? 1.0 : beatsPerBar;
+        return (Math.floor(position / grid) + 1) * grid + timing.offsetBeats();
+    }
+
+    private static String describe(ActionRequest request) {
+        return switch (request.type()) {
+            case LAUNCH_CLIP -> "launch_clip " + request.trackName() + "[" + request.index() + "]";
+            case LAUNCH_SCENE -> "launch_scene " + request.index();
+            case STOP_TRANSPORT -> "stop_transport";
+            case SET_DEVICE_PARAMETER -> "set_device_parameter " + request.index() + " = " + request.value();
+        };
+    }
+
+    /**
+     * Runs a scheduled action on the host thread. Failures are only logged, as no caller is waiting.
+     * Clips and scenes launch unquantized, since the action already runs at its quantized position.
+     */
+    private void run(ActionRequest request, String description) {
+        try {
+            logger.info("ActionScheduleController: Running scheduled " + description);
+            switch (request.type()) {
+                case LAUNCH_CLIP -> {
+                    ClipSceneController.ClipLaunchResult result = clipSceneController.launchClip(request.trackName(), request.index(), true);
+                    if (!result.isSuccess()) {
+                        logger.warn("ActionScheduleController: Scheduled " + description + " failed: " + result.getMessage());
+                    }
+                }
+                case LAUNCH_SCENE -> {
+                    ClipSceneController.SceneLaunchResult result = clipSceneController.launchSceneByIndex(request.index(), true);
+                    if (!result.isSuccess()) {
+                        logger.warn("ActionScheduleController: Scheduled " + description + " failed: " + result.getMessage());
+                    }
+                }
+                case STOP_TRANSPORT -> transportController.stopTransport();
+                case SET_DEVICE_PARAMETER -> deviceController.setSelectedDeviceParameter(request.index(), request.value());
+            }
+        } catch (Exception e) {
+            logger.error("ActionScheduleController: Scheduled " + description + " failed: " + e.getMessage());
+        }
+    }
+
+    private List<Map<String, Object>> toMaps(List<BeatScheduler.Action> actions) {
+        List<Map<String, Object>> maps = new ArrayList<>(actions.size());
+        for (BeatScheduler.Action action : actions) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", action.id());
+            map.put("beat", action.beat());
+            map.put("position", bitwigApiFacade.formatBeatPosition(action.beat()));
+            map.put("description", action.description());
+            map.put("dispatched", action.dispatched());
+            maps.add(map);
+        }
+        return maps;
+    }
+}
@@ -38,6 +38,17 @@ public class ClipSceneController {
      * @return SceneLaunchResult indicating success/failure and any error details
      */
     public SceneLaunchResult launchSceneByIndex(int sceneIndex) {
+        return launchSceneByIndex(sceneIndex, false);
+    }
+
+    /**
+     * Launches all clips in the specified scene index across all tracks, optionally bypassing the launch quantization.
+     *
+     * @param sceneIndex  The zero-based index of the scene to launch
+     * @param unquantized Whether to launch right away instead of on the next launch quantization boundary
+     * @return SceneLaunchResult indicating success/failure and any error details
+     */
+    public SceneLaunchResult launchSceneByIndex(int sceneIndex, boolean unquantized) {
         try {
             logger.info("Attempting to launch scene at index: " + sceneIndex);
 
@@ -47,7 +58,7 @@ public class ClipSceneController {
                 return SceneLaunchResult.error("SCENE_NOT_FOUND", "Scene index must be non-negative");
             }
 
-            int trackCount = bitwigApiFacade.getTrackBankSize();
+            int trackCount = bitwigApiFacade.getTrackCount();
             int launchedCount = 0;
             boolean anyTrack = false;
 
@@ -57,7 +68,7 @@ public class ClipSceneController {
                     anyTrack = true;
                     int clipCount = bitwigApiFacade.getTrackClipCount(trackName);
                     if (sceneIndex < clipCount) {
-                        bitwigApiFacade.launchClip(trackName, sceneIndex);
+                        launchOnFacade(trackName, sceneIndex, unquantized);
                         launchedCount++;
                     }
                 } catch (BitwigApiException e) {
@@ -168,7 +179,7 @@ public class ClipSceneController {
 
             // Get clips from all tracks at the target scene index
             List<Map<String, Object>> clipSlots = new ArrayList<>();
-            int trackCount = bitwigApiFacade.getTrackBankSize();
+            int trackCount = bitwigApiFacade.getTrackCount();
 
             for (int trackIndex = 0; trackIndex < trackCount; trackIndex++) {
                 try {
@@ -252,6 +263,18 @@ public class ClipSceneController {
      * @return ClipLaunchResult indicating success/failure and any error details
      */
     public ClipLaunchResult launchClip(String trackName, int clipIndex) {
+        return launchClip(trackName, clipIndex, false);
+    }
+
+    /**
+     * Launches a clip at the specified track and clip index, optionally bypassing the launch quantization.
+     *
+     * @param trackName   The name of the track containing the clip (case-sensitive)
+     * @param clipIndex   The zero-based index of the clip slot to launch
+     * @param unquantized Whether to launch right away instead of on the next launch quantization boundary
+     * @return ClipLaunchResult indicating success/failure and any error details
+     */
+    public ClipLaunchResult launchClip(String trackName, int clipIndex, boolean unquantized) {
         try {
             logger.info("Attempting to launch clip - Track: '" + trackName + "', Index: " + clipIndex);
 
@@ -268,7 +291,7 @@ public class ClipSceneController {
                 }
 
                 // Launch the clip
-                bitwigApiFacade.launchClip(trackName, clipIndex);
+                launchOnFacade(trackName, clipIndex, unquantized);
                 logger.info("Successfully launched clip at " + trackName + "[" + clipIndex + "]");
                 return ClipLaunchResult.success("Clip at " + trackName + "[" + clipIndex + "] launched.");
 
@@ -288,6 +311,17 @@ public class ClipSceneController {
         }
     }
 
+    /**
+     * Launches a clip through the facade, keeping the regular quantized launch unless asked otherwise.
+     */
+    private void launchOnFacade(String trackName, int clipIndex, boolean unquantized) {
+        if (unquantized) {
+            bitwigApiFacade.launchClip(trackName, clipIndex, true);
+        } else {
+            bitwigApiFacade.launchClip(trackName, clipIndex);
+        }
+    }
+
     /**
      * Result class for clip launch operations.
      */
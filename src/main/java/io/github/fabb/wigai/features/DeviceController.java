@@ -1,7 +1,10 @@
 package io.github.fabb.wigai.features;
 
 import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.ParameterWriteTracker;
+import io.github.fabb.wigai.bitwig.RemoteControlCatalog;
 import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.data.DeviceDetailsResult;
 import io.github.fabb.wigai.common.data.ParameterInfo;
 import io.github.fabb.wigai.common.data.ParameterSetting;
 import io.github.fabb.wigai.common.data.ParameterSettingResult;
@@ -12,12 +15,18 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller class for device parameter control features.
  * Bridges between MCP tools and Bitwig API operations for device parameter control.
  */
 public class DeviceController {
+    /**
+     * How long a parameter write may wait for the host thread to start it.
+     */
+    public static final long HOST_WRITE_TIMEOUT_MS = 5000;
+
     private final BitwigApiFacade bitwigApiFacade;
     private final Logger logger;
 
@@ -84,6 +93,62 @@ public class DeviceController {
         }
     }
 
+    /**
+     * Sets a parameter value for the currently selected device and waits until Bitwig reports the
+     * value it applied, which may differ from the requested one for stepped or clamped parameters.
+     *
+     * @param parameterIndex The index of the parameter to set (0-7)
+     * @param value          The value to set (0.0-1.0)
+     * @param timeoutMs      How long to wait for Bitwig to report the applied value
+     * @return The applied and displayed value; not confirmed if Bitwig did not report it in time
+     * @throws BitwigApiException if parameterIndex is out of range, value is out of range, no device is selected, or Bitwig API error occurs
+     */
+    public ParameterWriteTracker.Applied setSelectedDeviceParameterConfirmed(int parameterIndex, double value, long timeoutMs) throws BitwigApiException {
+        ParameterWriteTracker.Pending pending = writeSelectedDeviceParameter(parameterIndex, value);
+        return confirmSelectedDeviceParameterWrite(parameterIndex, value, pending, timeoutMs);
+    }
+
+    /**
+     * Sets a parameter value for the currently selected device in one host task, capturing its state first
+     * so that the write can be confirmed afterwards.
+     *
+     * @param parameterIndex The index of the parameter to set (0-7)
+     * @param value          The value to set (0.0-1.0)
+     * @return The pending write, or null if the parameter cannot be tracked
+     * @throws BitwigApiException if parameterIndex is out of range, value is out of range, no device is selected, or Bitwig API error occurs
+     */
+    public ParameterWriteTracker.Pending writeSelectedDeviceParameter(int parameterIndex, double value) throws BitwigApiException {
+        return bitwigApiFacade.runOnHostThread("setSelectedDeviceParameter", () -> {
+            ParameterWriteTracker.Pending pending = bitwigApiFacade.expectSelectedDeviceParameterWrite(-1, parameterIndex, value);
+            setSelectedDeviceParameter(parameterIndex, value);
+            return pending;
+        }, HOST_WRITE_TIMEOUT_MS);
+    }
+
+    /**
+     * Waits until Bitwig reports the value it applied for a write made by {@link #writeSelectedDeviceParameter}.
+     * Must not be called on the host thread, where the value observer fires only after the calling task.
+     *
+     * @param parameterIndex The index of the written parameter
+     * @param value          The requested value
+     * @param pending        The pending write, or null if the parameter could not be tracked
+     * @param timeoutMs      How long to wait for Bitwig to report the applied value
+     * @return The applied and displayed value; not confirmed if Bitwig did not report it in time
+     */
+    public ParameterWriteTracker.Applied confirmSelectedDeviceParameterWrite(int parameterIndex, double value,
+                                                                             ParameterWriteTracker.Pending pending, long timeoutMs) {
+        if (pending == null) {
+            return new ParameterWriteTracker.Applied(value, null, false);
+        }
+
+        ParameterWriteTracker.Applied applied = bitwigApiFacade.awaitSelectedDeviceParameterWrite(
+            pending, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+        if (!applied.confirmed()) {
+            logger.warn("DeviceController: Parameter " + parameterIndex + " was not confirmed within " + timeoutMs + " ms");
+        }
+        return applied;
+    }
+
     /**
      * Sets multiple parameter values for the currently selected device.
      * Processes each parameter independently, returning structured results for each.
@@ -94,73 +159,316 @@ public class DeviceController {
      * @throws RuntimeException if no device is selected (top-level error)
      */
     public List<ParameterSettingResult> setMultipleSelectedDeviceParameters(List<ParameterSetting> parameters) {
+        return setMultipleSelectedDeviceParameters(parameters, 0);
+    }
+
+    /**
+     * Sets multiple parameter values for the currently selected device, optionally confirming them.
+     * With a confirmation timeout, all values are written first and then awaited against one shared
+     * deadline, so the batch waits at most once for Bitwig to report the applied values.
+     *
+     * @param parameters       List of parameter settings to apply
+     * @param confirmTimeoutMs How long to wait for the applied values; 0 reports the requested values without waiting
+     * @return List of results indicating success/failure for each parameter
+     * @throws RuntimeException if no device is selected (top-level error)
+     */
+    public List<ParameterSettingResult> setMultipleSelectedDeviceParameters(List<ParameterSetting> parameters, long confirmTimeoutMs) {
+        ParameterWrites writes = writeSelectedDeviceParameters(parameters, confirmTimeoutMs > 0);
+        return confirmSelectedDeviceParameterWrites(writes, confirmTimeoutMs);
+    }
+
+    /**
+     * Parameter values of a batch that have been written but not confirmed yet.
+     *
+     * @param results       The result of each parameter, holding the requested value
+     * @param pendingWrites The pending write of each result, null where nothing was written or tracked
+     */
+    public record ParameterWrites(List<ParameterSettingResult> results, List<ParameterWriteTracker.Pending> pendingWrites) {}
+
+    /**
+     * Writes multiple parameter values for the currently selected device without waiting for Bitwig to report
+     * them. The device check, the name resolution and all writes run as one task on the host thread, so the
+     * selection cannot change halfway through the batch and Bitwig applies all values in the same update.
+     *
+     * @param parameters List of parameter settings to apply
+     * @param track      Whether to capture the state before each write, so that the writes can be confirmed
+     * @return The results and pending writes of the batch
+     * @throws BitwigApiException if no device is selected or the host thread did not run the batch in time
+     */
+    public ParameterWrites writeSelectedDeviceParameters(List<ParameterSetting> parameters, boolean track) throws BitwigApiException {
+        final String operation = "setMultipleSelectedDeviceParameters";
         logger.info("DeviceController: Setting " + parameters.size() + " parameters");
 
-        // First, validate device selection (top-level validation)
+        return bitwigApiFacade.runOnHostThread(operation, () -> {
+            // First, validate device selection (top-level validation)
+            try {
+                bitwigApiFacade.getSelectedDeviceName(); // This will throw BitwigApiException if no device selected
+            } catch (BitwigApiException e) {
+                logger.error("DeviceController: No device selected for batch parameter setting");
+                throw e; // Re-throw as-is
+            } catch (Exception e) {
+                logger.error("DeviceController: Unexpected error checking device selection for batch parameter setting");
+                throw new BitwigApiException(ErrorCode.INTERNAL_ERROR, operation, e.getMessage(), e);
+            }
+
+            // Resolve all parameter names in a single pass over the observed remote control pages
+            List<String> names = new ArrayList<>();
+            for (ParameterSetting param : parameters) {
+                if (param.parameter_name() != null) {
+                    names.add(param.parameter_name());
+                }
+            }
+            Map<String, RemoteControlCatalog.Match> resolvedNames = names.isEmpty()
+                ? Map.of()
+                : bitwigApiFacade.resolveSelectedDeviceParameterNames(names);
+
+            List<ParameterSettingResult> results = new ArrayList<>();
+            List<ParameterWriteTracker.Pending> pendingWrites = new ArrayList<>();
+
+            for (ParameterSetting param : parameters) {
+                if (param.parameter_name() != null) {
+                    RemoteControlCatalog.Match match = resolvedNames.get(param.parameter_name());
+                    pendingWrites.add(track && match != null
+                        ? bitwigApiFacade.expectSelectedDeviceParameterWrite(match.pageIndex(), match.parameterIndex(), param.value())
+                        : null);
+                    results.add(setNamedParameter(param, match));
+                    continue;
+                }
+                pendingWrites.add(track
+                    ? bitwigApiFacade.expectSelectedDeviceParameterWrite(-1, param.parameter_index(), param.value())
+                    : null);
+                results.add(setIndexedParameter(param));
+            }
+            return new ParameterWrites(results, pendingWrites);
+        }, HOST_WRITE_TIMEOUT_MS);
+    }
+
+    /**
+     * Completes a batch written by {@link #writeSelectedDeviceParameters}, optionally replacing the requested
+     * values with the values Bitwig applied. Must not be called on the host thread when confirming, since
+     * Bitwig reports the applied values there only after the calling task has finished.
+     *
+     * @param writes           The written batch
+     * @param confirmTimeoutMs How long to wait for the applied values; 0 reports the requested values without waiting
+     * @return List of results indicating success/failure for each parameter
+     */
+    public List<ParameterSettingResult> confirmSelectedDeviceParameterWrites(ParameterWrites writes, long confirmTimeoutMs) {
+        List<ParameterSettingResult> results = new ArrayList<>(writes.results());
+        if (confirmTimeoutMs > 0) {
+            confirmWrites(results, writes.pendingWrites(), confirmTimeoutMs);
+        }
+
+        long successCount = results.stream().filter(r -> "success".equals(r.status())).count();
+        long errorCount = results.size() - successCount;
+        logger.info("DeviceController: Batch operation completed - " + successCount + " succeeded, " + errorCount + " failed");
+
+        return results;
+    }
+
+    /**
+     * Sets one parameter of a batch that is addressed by its index on the shown page.
+     *
+     * @param param The parameter setting
+     * @return The result for this parameter
+     */
+    private ParameterSettingResult setIndexedParameter(ParameterSetting param) {
         try {
-            bitwigApiFacade.getSelectedDeviceName(); // This will throw BitwigApiException if no device selected
+            logger.info("DeviceController: Processing parameter " + param.parameter_index() + " = " + param.value());
+
+            // Use existing single parameter setting method which handles validation
+            bitwigApiFacade.setSelectedDeviceParameter(param.parameter_index(), param.value());
+
+            logger.info("DeviceController: Successfully set parameter " + param.parameter_index() + " to " + param.value());
+
+            // Create success result
+            return new ParameterSettingResult(
+                param.parameter_index(),
+                "success",
+                param.value(),
+                null,
+                null
+            );
+
         } catch (BitwigApiException e) {
-            logger.error("DeviceController: No device selected for batch parameter setting");
-            throw e; // Re-throw as-is
+            // Structured error handling
+            logger.error("DeviceController: BitwigApi error for parameter " + param.parameter_index() + ": " + e.getMessage());
+            return new ParameterSettingResult(
+                param.parameter_index(),
+                "error",
+                null,
+                e.getErrorCode().getCode(),
+                e.getMessage()
+            );
+
         } catch (Exception e) {
-            logger.error("DeviceController: Unexpected error checking device selection for batch parameter setting");
-            throw new BitwigApiException(ErrorCode.INTERNAL_ERROR, "setMultipleSelectedDeviceParameters", e.getMessage(), e);
+            // Other unexpected errors
+            logger.error("DeviceController: Unexpected error setting parameter " + param.parameter_index() + ": " + e.getMessage());
+            return new ParameterSettingResult(
+                param.parameter_index(),
+                "error",
+                null,
+                "INTERNAL_ERROR",
+                "Unexpected error setting parameter: " + e.getMessage()
+            );
         }
+    }
 
-        List<ParameterSettingResult> results = new ArrayList<>();
+    /**
+     * Replaces the requested values of successful results with the values Bitwig applied.
+     *
+     * @param results       The batch results, updated in place
+     * @param pendingWrites The pending write of each result, null where nothing was written
+     * @param timeoutMs     The time the whole batch may wait
+     */
+    private void confirmWrites(List<ParameterSettingResult> results, List<ParameterWriteTracker.Pending> pendingWrites, long timeoutMs) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        int unconfirmed = 0;
+        for (int i = 0; i < results.size(); i++) {
+            ParameterSettingResult result = results.get(i);
+            ParameterWriteTracker.Pending pending = pendingWrites.get(i);
+            if (pending == null || !"success".equals(result.status())) {
+                continue;
+            }
+            ParameterWriteTracker.Applied applied = bitwigApiFacade.awaitSelectedDeviceParameterWrite(pending, deadlineNanos);
+            results.set(i, result.withAppliedValue(applied.value(), applied.displayedValue(), applied.confirmed()));
+            if (!applied.confirmed()) {
+                unconfirmed++;
+            }
+        }
+        if (unconfirmed > 0) {
+            logger.warn("DeviceController: " + unconfirmed + " parameter writes were not confirmed within " + timeoutMs + " ms");
+        }
+    }
 
-        for (ParameterSetting param : parameters) {
-            try {
-                logger.info("DeviceController: Processing parameter " + param.parameter_index() + " = " + param.value());
+    /**
+     * Sets one parameter of a batch that is addressed by name.
+     *
+     * @param param The parameter setting
+     * @param match The resolved page and index of the name, or null if the name was not found
+     * @return The result for this parameter
+     */
+    private ParameterSettingResult setNamedParameter(ParameterSetting param, RemoteControlCatalog.Match match) {
+        String name = param.parameter_name();
+        if (match == null) {
+            logger.error("DeviceController: No parameter named '" + name + "' on the selected device");
+            return new ParameterSettingResult(-1, "error", null, ErrorCode.INVALID_PARAMETER.getCode(),
+                "No parameter named '" + name + "' on the selected device", name, null);
+        }
 
-                // Use existing single parameter setting method which handles validation
-                bitwigApiFacade.setSelectedDeviceParameter(param.parameter_index(), param.value());
+        try {
+            logger.info("DeviceController: Processing parameter '" + name + "' (page " + match.pageIndex()
+                + ", index " + match.parameterIndex() + ") = " + param.value());
+            bitwigApiFacade.setSelectedDeviceParameterOnPage(match.pageIndex(), match.parameterIndex(), param.value());
+            return new ParameterSettingResult(match.parameterIndex(), "success", param.value(), null, null,
+                name, match.pageIndex());
 
-                // Create success result
-                ParameterSettingResult result = new ParameterSettingResult(
-                    param.parameter_index(),
-                    "success",
-                    param.value(),
-                    null,
-                    null
-                );
-                results.add(result);
+        } catch (BitwigApiException e) {
+            logger.error("DeviceController: BitwigApi error for parameter '" + name + "': " + e.getMessage());
+            return new ParameterSettingResult(match.parameterIndex(), "error", null, e.getErrorCode().getCode(),
+                e.getMessage(), name, match.pageIndex());
 
-                logger.info("DeviceController: Successfully set parameter " + param.parameter_index() + " to " + param.value());
+        } catch (Exception e) {
+            logger.error("DeviceController: Unexpected error setting parameter '" + name + "': " + e.getMessage());
+            return new ParameterSettingResult(match.parameterIndex(), "error", null, "INTERNAL_ERROR",
+                "Unexpected error setting parameter: " + e.getMessage(), name, match.pageIndex());
+        }
+    }
 
-            } catch (BitwigApiException e) {
-                // Structured error handling
-                ParameterSettingResult result = new ParameterSettingResult(
-                    param.parameter_index(),
-                    "error",
-                    null,
-                    e.getErrorCode().getCode(),
-                    e.getMessage()
-                );
-                results.add(result);
-
-                logger.error("DeviceController: BitwigApi error for parameter " + param.parameter_index() + ": " + e.getMessage());
+    /**
+     * Finds parameters of the currently selected device by name across all remote control pages,
+     * selecting the page of the best match when it is not already shown.
+     *
+     * @param name       The parameter name to look for
+     * @param selectPage Whether to select the page of the best match
+     * @return The matches with their page and parameter index
+     * @throws BitwigApiException if no device is selected or the lookup fails
+     */
+    public Map<String, Object> findSelectedDeviceParameter(String name, boolean selectPage) throws BitwigApiException {
+        logger.info("DeviceController: Finding parameter '" + name + "'");
 
-            } catch (Exception e) {
-                // Other unexpected errors
-                ParameterSettingResult result = new ParameterSettingResult(
-                    param.parameter_index(),
-                    "error",
-                    null,
-                    "INTERNAL_ERROR",
-                    "Unexpected error setting parameter: " + e.getMessage()
-                );
-                results.add(result);
-
-                logger.error("DeviceController: Unexpected error setting parameter " + param.parameter_index() + ": " + e.getMessage());
-            }
+        try {
+            return bitwigApiFacade.findSelectedDeviceParameter(name, selectPage);
+
+        } catch (BitwigApiException e) {
+            logger.error("DeviceController: Error finding parameter '" + name + "': " + e.getMessage());
+            throw e; // Re-throw BitwigApiException as-is
+        } catch (Exception e) {
+            logger.error("DeviceController: Unexpected error finding parameter '" + name + "': " + e.getMessage());
+            throw new BitwigApiException(ErrorCode.INTERNAL_ERROR, "findSelectedDeviceParameter", e.getMessage(), e);
         }
+    }
 
-        long successCount = results.stream().filter(r -> "success".equals(r.status())).count();
-        long errorCount = results.size() - successCount;
-        logger.info("DeviceController: Batch operation completed - " + successCount + " succeeded, " + errorCount + " failed");
+    /**
+     * Leases a device cursor that stays on the given device independently of the user's selection.
+     *
+     * @param trackIndex  The track index, or null to use the track name
+     * @param trackName   The track name, used when trackIndex is null
+     * @param deviceIndex The index of the device on the track
+     * @param sessionId   The MCP session taking the lease
+     * @return The lease id and the track and device the cursor points at
+     * @throws BitwigApiException if the track or device is not found or all cursors are leased
+     */
+    public Map<String, Object> leaseDeviceCursor(Integer trackIndex, String trackName, int deviceIndex, String sessionId) throws BitwigApiException {
+        logger.info("DeviceController: Leasing a device cursor for device " + deviceIndex);
 
-        return results;
+        try {
+            int resolvedTrackIndex = trackIndex != null ? trackIndex : bitwigApiFacade.findTrackIndexByName(trackName);
+            return bitwigApiFacade.leaseDeviceCursor(resolvedTrackIndex, deviceIndex, sessionId);
+
+        } catch (BitwigApiException e) {
+            logger.error("DeviceController: Error leasing a device cursor: " + e.getMessage());
+            throw e; // Re-throw BitwigApiException as-is
+        } catch (Exception e) {
+            logger.error("DeviceController: Unexpected error leasing a device cursor: " + e.getMessage());
+            throw new BitwigApiException(ErrorCode.INTERNAL_ERROR, "leaseDeviceCursor", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the parameters of the device a leased cursor points at.
+     *
+     * @param leaseId   The lease id
+     * @param sessionId The MCP session using the lease
+     * @return The device name, whether the cursor reached the device, and the parameters
+     * @throws BitwigApiException if the lease is not active or belongs to another session
+     */
+    public Map<String, Object> getLeasedDeviceParameters(long leaseId, String sessionId) throws BitwigApiException {
+        return bitwigApiFacade.getLeasedDeviceParameters(leaseId, sessionId);
+    }
+
+    /**
+     * Sets parameters of the device a leased cursor points at.
+     *
+     * @param leaseId   The lease id
+     * @param settings  The parameters to set, addressed by index
+     * @param sessionId The MCP session using the lease
+     * @return Summary of the write
+     * @throws BitwigApiException if the lease is not active or belongs to another session, or the cursor has not reached the device yet
+     */
+    public Map<String, Object> setLeasedDeviceParameters(long leaseId, List<ParameterSetting> settings, String sessionId) throws BitwigApiException {
+        int written = bitwigApiFacade.setLeasedDeviceParameters(leaseId, settings, sessionId);
+        logger.info("DeviceController: Set " + written + " parameters through device cursor lease " + leaseId);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", "leased_device_parameters_set");
+        result.put("lease_id", leaseId);
+        result.put("parameters_set", written);
+        return result;
+    }
+
+    /**
+     * Releases a leased device cursor so that another client can lease it.
+     *
+     * @param leaseId   The lease id
+     * @param sessionId The MCP session releasing the lease
+     * @return Whether the lease was still active
+     */
+    public Map<String, Object> releaseDeviceCursor(long leaseId, String sessionId) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", "device_cursor_released");
+        result.put("lease_id", leaseId);
+        result.put("was_active", bitwigApiFacade.releaseDeviceCursor(leaseId, sessionId));
+        return result;
     }
 
     /**
@@ -198,57 +506,4 @@ public class DeviceController {
         String deviceName,           // Nullable
         List<ParameterInfo> parameters
     ) {}
-
-    /**
-     * Result record for device details queries including remote controls and pages.
-     */
-    public static class DeviceDetailsResult {
-        private final int trackIndex;
-        private final String trackName;
-        private final int index;
-        private final String name;
-        private final String type;
-        private final boolean isBypassed;
-        private final boolean isSelected;
-        private final List<ParameterInfo> remoteControls;
-
-        public DeviceDetailsResult(int trackIndex, String trackName, int index, String name, String type,
-                                 boolean isBypassed, boolean isSelected,
-                                 List<ParameterInfo> remoteControls) {
-            this.trackIndex = trackIndex;
-            this.trackName = trackName;
-            this.index = index;
-            this.name = name;
-            this.type = type;
-            this.isBypassed = isBypassed;
-            this.isSelected = isSelected;
-            this.remoteControls = remoteControls;
-        }
-
-        public Map<String, Object> toMap() {
-            Map<String, Object> result = new LinkedHashMap<>();
-            result.put("track_index", trackIndex);
-            result.put("track_name", trackName);
-            result.put("index", index);
-            result.put("name", name);
-            result.put("type", type);
-            result.put("is_bypassed", isBypassed);
-            result.put("is_selected", isSelected);
-
-            List<Map<String, Object>> controlsArray = new ArrayList<>();
-            for (ParameterInfo control : remoteControls) {
-                Map<String, Object> controlMap = new LinkedHashMap<>();
-                controlMap.put("index", control.index());
-                controlMap.put("exists", true); // Always true since only existing parameters are included
-                controlMap.put("name", control.name());
-                controlMap.put("value", control.value());
-                controlMap.put("raw_value", null); // Not available from ParameterInfo
-                controlMap.put("display_value", control.display_value());
-                controlsArray.add(controlMap);
-            }
-            result.put("remote_controls", controlsArray);
-
-            return result;
-        }
-    }
 }
@@ -0,0 +1,81 @@
+package io.github.fabb.wigai.features;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.TrackAddress;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for writing mixer channel values of several tracks at once.
+ */
+public class MixerController {
+    public static final int MAX_SEND_WRITES = 1024;
+
+    /**
+     * A send level to set on one track.
+     *
+     * @param trackKind  The kind of track that trackIndex counts in
+     * @param trackIndex The track index, or null if the track is addressed by name
+     * @param trackName  The track name, used when trackIndex is null
+     * @param sendIndex  The send index
+     * @param value      The send level, from 0.0 to 1.0
+     */
+    public record SendLevel(TrackAddress.Kind trackKind, Integer trackIndex, String trackName, int sendIndex, double value) {
+
+        /**
+         * Creates a send level whose track index, if any, counts in the track bank.
+         */
+        public SendLevel(Integer trackIndex, String trackName, int sendIndex, double value) {
+            this(TrackAddress.Kind.TRACK, trackIndex, trackName, sendIndex, value);
+        }
+    }
+
+    private final BitwigApiFacade bitwigApiFacade;
+    private final Logger logger;
+
+    /**
+     * Creates a new MixerController instance.
+     *
+     * @param bitwigApiFacade The facade for Bitwig API interactions
+     * @param logger          The logger for logging operations
+     */
+    public MixerController(BitwigApiFacade bitwigApiFacade, Logger logger) {
+        this.bitwigApiFacade = bitwigApiFacade;
+        this.logger = logger;
+    }
+
+    /**
+     * Sets the send levels of several tracks. Track names are resolved and every level is validated
+     * before any send is written.
+     *
+     * @param levels The send levels to set
+     * @return Summary of the writes, including the names of the effect tracks the sends feed
+     * @throws BitwigApiException if a track or send does not exist or a value is out of range
+     */
+    public Map<String, Object> setSends(List<SendLevel> levels) throws BitwigApiException {
+        TrackAddress[] tracks = new TrackAddress[levels.size()];
+        int[] sendIndices = new int[levels.size()];
+        double[] values = new double[levels.size()];
+        for (int i = 0; i < levels.size(); i++) {
+            SendLevel level = levels.get(i);
+            tracks[i] = level.trackIndex() != null
+                ? new TrackAddress(level.trackKind(), level.trackIndex())
+                : bitwigApiFacade.findTrackAddressByName(level.trackName());
+            sendIndices[i] = level.sendIndex();
+            values[i] = level.value();
+        }
+
+        Map<String, Object> writes = bitwigApiFacade.applySendValues(tracks, sendIndices, values);
+        logger.info("MixerController: Set " + levels.size() + " send levels");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", "sends_set");
+        result.putAll(writes);
+        result.put("send_names", bitwigApiFacade.getSendNames());
+        return result;
+    }
+}
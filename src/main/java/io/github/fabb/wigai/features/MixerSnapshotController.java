@@ -0,0 +1,141 @@
+package io.github.fabb.wigai.features;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.MixerSnapshot;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.error.ErrorCode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Controller for capturing and recalling mixer snapshots.
+ * Snapshots are kept in a bounded in-memory store that evicts the least recently used entry when full.
+ */
+public class MixerSnapshotController {
+    public static final int MAX_SNAPSHOTS = 32;
+    public static final int MAX_MORPH_DURATION_MS = 60_000;
+    static final int MORPH_STEP_MS = 50;
+
+    private final BitwigApiFacade bitwigApiFacade;
+    private final Logger logger;
+    private final Map<String, MixerSnapshot> snapshots;
+    // Incremented by every recall; batches of an earlier recall see a newer generation and are dropped
+    private final AtomicLong recallGeneration = new AtomicLong();
+
+    /**
+     * Creates a new MixerSnapshotController instance.
+     *
+     * @param bitwigApiFacade The facade for Bitwig API interactions
+     * @param logger          The logger for logging operations
+     */
+    public MixerSnapshotController(BitwigApiFacade bitwigApiFacade, Logger logger) {
+        this.bitwigApiFacade = bitwigApiFacade;
+        this.logger = logger;
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MixerSnapshot> eldest) {
+                if (size() > MAX_SNAPSHOTS) {
+                    logger.info("MixerSnapshotController: Evicting least recently used snapshot '" + eldest.getKey() + "'");
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Captures the current mixer state under the given name, replacing any snapshot with the same name.
+     *
+     * @param name The snapshot name
+     * @return Summary of the captured snapshot
+     */
+    public Map<String, Object> captureSnapshot(String name) {
+        MixerSnapshot snapshot = bitwigApiFacade.getMixerState().snapshot();
+        List<String> names;
+        synchronized (snapshots) {
+            snapshots.put(name, snapshot);
+            names = new ArrayList<>(snapshots.keySet());
+        }
+        logger.info("MixerSnapshotController: Captured snapshot '" + name + "' with " + snapshot.getTrackCount() + " tracks");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", "mixer_snapshot_captured");
+        result.put("name", name);
+        result.put("track_count", snapshot.getTrackCount());
+        result.put("send_count", snapshot.getSendCount());
+        result.put("stored_snapshots", names);
+        return result;
+    }
+
+    /**
+     * Recalls a stored snapshot. Without a duration all differences are applied at once in a single
+     * host-thread batch; with a duration the continuous values are morphed from the start state
+     * (another snapshot or the current mixer state) to the target in steps of {@value #MORPH_STEP_MS} ms.
+     * A recall supersedes any morph still running, whose remaining steps are then skipped.
+     *
+     * @param name       The name of the snapshot to recall
+     * @param fromName   Optional name of the snapshot to morph from, or null for the current mixer state
+     * @param durationMs The morph duration in milliseconds, or 0 to recall immediately
+     * @return Summary of the recall
+     * @throws BitwigApiException if a snapshot is not found or the recall fails
+     */
+    public Map<String, Object> recallSnapshot(String name, String fromName, int durationMs) throws BitwigApiException {
+        final String operation = "recallMixerSnapshot";
+        MixerSnapshot target = getSnapshot(name, operation);
+        MixerSnapshot from = fromName != null
+            ? getSnapshot(fromName, operation)
+            : bitwigApiFacade.getMixerState().snapshot();
+
+        long generation = recallGeneration.incrementAndGet();
+        BooleanSupplier isCurrent = () -> recallGeneration.get() == generation;
+
+        // Schedule one batch per morph step, starting at the start state; the last batch writes the exact target values
+        int intervals = Math.max(0, durationMs) / MORPH_STEP_MS;
+        for (int step = 0; step < intervals; step++) {
+            double fraction = (double) step / intervals;
+            bitwigApiFacade.applyMixerSnapshot(MixerSnapshot.interpolate(from, target, fraction), (long) step * MORPH_STEP_MS, isCurrent);
+        }
+        int changes = bitwigApiFacade.applyMixerSnapshot(target, (long) intervals * MORPH_STEP_MS, isCurrent);
+        int steps = intervals + 1;
+
+        logger.info("MixerSnapshotController: Recalling snapshot '" + name + "' (" + changes + " changes, " + steps + " steps)");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", "mixer_snapshot_recalled");
+        result.put("name", name);
+        if (fromName != null) {
+            result.put("from", fromName);
+        }
+        result.put("changes", changes);
+        result.put("steps", steps);
+        result.put("duration_ms", intervals * MORPH_STEP_MS);
+        return result;
+    }
+
+    /**
+     * Returns the names of all stored snapshots, least recently used first.
+     */
+    public List<String> getSnapshotNames() {
+        synchronized (snapshots) {
+            return new ArrayList<>(snapshots.keySet());
+        }
+    }
+
+    private MixerSnapshot getSnapshot(String name, String operation) {
+        MixerSnapshot snapshot;
+        synchronized (snapshots) {
+            snapshot = snapshots.get(name);
+        }
+        if (snapshot == null) {
+            throw new BitwigApiException(ErrorCode.SNAPSHOT_NOT_FOUND, operation,
+                "Mixer snapshot '" + name + "' not found", Map.of("snapshot_name", name));
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.fabb.wigai.features;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.TrackAddress;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.error.ErrorCode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for action scripts: lists of steps that run as one batch on the host thread.
+ * All steps are checked against the project state before the first one runs, so a script with an
+ * unknown track or scene changes nothing, and no other client can interleave between the steps.
+ */
+public class ScriptController {
+
+    /**
+     * Time to wait for the host thread to start a script.
+     */
+    public static final long SCRIPT_TIMEOUT_MS = 5000;
+
+    /**
+     * Operations a script step can run.
+     */
+    public enum StepType {
+        SET_TRACK_MUTE("set_track_mute"),
+        SET_TRACK_SOLO("set_track_solo"),
+        SET_TRACK_VOLUME("set_track_volume"),
+        SET_TRACK_PAN("set_track_pan"),
+        LAUNCH_CLIP("launch_clip"),
+        LAUNCH_SCENE("launch_scene"),
+        START_TRANSPORT("start_transport"),
+        STOP_TRANSPORT("stop_transport"),
+        SET_DEVICE_PARAMETER("set_device_parameter");
+
+        private final String toolName;
+
+        StepType(String toolName) {
+            this.toolName = toolName;
+        }
+
+        public String getToolName() {
+            return toolName;
+        }
+
+        /**
+         * Returns whether steps of this type address a track by index or name.
+         */
+        public boolean targetsTrack() {
+            return this == SET_TRACK_MUTE || this == SET_TRACK_SOLO || this == SET_TRACK_VOLUME || this == SET_TRACK_PAN;
+        }
+
+        /**
+         * Returns the step type with the given tool name, or null if there is none.
+         */
+        public static StepType fromToolName(String toolName) {
+            for (StepType type : values()) {
+                if (type.toolName.equals(toolName)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A script step.
+     *
+     * @param type       The operation
+     * @param trackKind  The kind of track that trackIndex counts in
+     * @param trackIndex The track of a mixer step, or null if it is addressed by name
+     * @param trackName  The track of a mixer step or of a clip to launch, null otherwise
+     * @param index      The clip, scene or parameter index; unused otherwise
+     * @param value      The volume, pan or parameter value; 1.0 or 0.0 to switch mute and solo on or off
+     */
+    public record Step(StepType type, TrackAddress.Kind trackKind, Integer trackIndex, String trackName, int index, double value) {
+
+        /**
+         * Creates a step whose track index, if any, counts in the track bank.
+         */
+        public Step(StepType type, Integer trackIndex, String trackName, int index, double value) {
+            this(type, TrackAddress.Kind.TRACK, trackIndex, trackName, index, value);
+        }
+
+        /**
+         * Returns the address of the track of a mixer step, or null if it is addressed by name.
+         */
+        public TrackAddress track() {
+            return trackIndex != null ? new TrackAddress(trackKind, trackIndex) : null;
+        }
+    }
+
+    private final BitwigApiFacade bitwigApiFacade;
+    private final ClipSceneController clipSceneController;
+    private final TransportController transportController;
+    private final DeviceController deviceController;
+    private final Logger logger;
+
+    /**
+     * Creates a new ScriptController instance.
+     *
+     * @param bitwigApiFacade     The facade running the script on the host thread
+     * @param clipSceneController The controller launching clips and scenes
+     * @param transportController The controller for transport operations
+     * @param deviceController    The controller for device parameters
+     * @param logger              The logger for logging operations
+     */
+    public ScriptController(BitwigApiFacade bitwigApiFacade, ClipSceneController clipSceneController,
+                            TransportController transportController, DeviceController deviceController, Logger logger) {
+        this.bitwigApiFacade = bitwigApiFacade;
+        this.clipSceneController = clipSceneController;
+        this.transportController = transportController;
+        this.deviceController = deviceController;
+        this.logger = logger;
+    }
+
+    /**
+     * Checks and runs a script in one host-thread batch. If any step fails the check, no step runs.
+     * Steps that fail while running are reported in the result and do not stop the remaining steps.
+     *
+     * @param steps The steps in execution order
+     * @return The number of completed and failed steps and a result per step
+     * @throws BitwigApiException if a step fails the check, or the host thread did not start the script in time
+     */
+    public Map<String, Object> execute(List<Step> steps) throws BitwigApiException {
+        final String operation = "executeScript";
+        return bitwigApiFacade.runOnHostThread(operation, () -> {
+            List<Step> resolved = new ArrayList<>(steps.size());
+            for (int i = 0; i < steps.size(); i++) {
+                resolved.add(check(steps.get(i), i, operation));
+            }
+
+            List<Map<String, Object>> results = new ArrayList<>(resolved.size());
+            int failed = 0;
+            for (int i = 0; i < resolved.size(); i++) {
+                Map<String, Object> stepResult = run(resolved.get(i), i);
+                if (!"ok".equals(stepResult.get("status"))) {
+                    failed++;
+                }
+                results.add(stepResult);
+            }
+            logger.info("ScriptController: Ran script with " + resolved.size() + " steps, " + failed + " failed");
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("action", "script_executed");
+            result.put("completed", resolved.size() - failed);
+            result.put("failed", failed);
+            result.put("steps", results);
+            return result;
+        }, SCRIPT_TIMEOUT_MS);
+    }
+
+    /**
+     * Checks a step against the project state and resolves its track name to an address.
+     */
+    private Step check(Step step, int stepIndex, String operation) {
+        try {
+            if (step.type().targetsTrack()) {
+                TrackAddress track = step.trackIndex() != null
+                    ? step.track()
+                    : bitwigApiFacade.findTrackAddressByName(step.trackName());
+                if (!bitwigApiFacade.hasTrack(track)) {
+                    throw new BitwigApiException(ErrorCode.TRACK_NOT_FOUND, operation, "No " + track.describe());
+                }
+                return new Step(step.type(), track.kind(), track.index(), step.trackName(), step.index(), step.value());
+            }
+
+            switch (step.type()) {
+                case LAUNCH_CLIP -> {
+                    bitwigApiFacade.findTrackIndexByName(step.trackName());
+                    if (step.index() >= bitwigApiFacade.getTrackClipCount(step.trackName())) {
+                        throw new BitwigApiException(ErrorCode.CLIP_NOT_FOUND, operation,
+                            "Track '" + step.trackName() + "' has no clip slot " + step.index());
+                    }
+                }
+                case LAUNCH_SCENE -> {
+                    if (step.index() >= bitwigApiFacade.getSceneCount()) {
+                        throw new BitwigApiException(ErrorCode.SCENE_NOT_FOUND, operation, "No scene at index " + step.index());
+                    }
+                }
+                case SET_DEVICE_PARAMETER -> {
+                    if (!bitwigApiFacade.isDeviceSelected()) {
+                        throw new BitwigApiException(ErrorCode.DEVICE_NOT_SELECTED, operation, "No device is currently selected");
+                    }
+                }
+                default -> {
+                }
+            }
+            return step;
+        } catch (BitwigApiException e) {
+            throw new BitwigApiException(e.getErrorCode(), operation,
+                "Step " + stepIndex + " (" + step.type().getToolName() + "): " + e.getMessage() + "; no step was run");
+        }
+    }
+
+    /**
+     * Runs a checked step and reports its outcome.
+     */
+    private Map<String, Object> run(Step step, int stepIndex) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("step", stepIndex);
+        result.put("action", step.type().getToolName());
+        try {
+            String error = null;
+            switch (step.type()) {
+                case SET_TRACK_MUTE -> bitwigApiFacade.setTrackMute(step.track(), step.value() != 0.0);
+                case SET_TRACK_SOLO -> bitwigApiFacade.setTrackSolo(step.track(), step.value() != 0.0);
+                case SET_TRACK_VOLUME -> bitwigApiFacade.setTrackVolume(step.track(), step.value());
+                case SET_TRACK_PAN -> bitwigApiFacade.setTrackPan(step.track(), step.value());
+                case LAUNCH_CLIP -> {
+                    ClipSceneController.ClipLaunchResult launch = clipSceneController.launchClip(step.trackName(), step.index());
+                    error = launch.isSuccess() ? null : launch.getMessage();
+                }
+                case LAUNCH_SCENE -> {
+                    ClipSceneController.SceneLaunchResult launch = clipSceneController.launchSceneByIndex(step.index());
+                    error = launch.isSuccess() ? null : launch.getMessage();
+                }
+                case START_TRANSPORT -> transportController.startTransport();
+                case STOP_TRANSPORT -> transportController.stopTransport();
+                case SET_DEVICE_PARAMETER -> deviceController.setSelectedDeviceParameter(step.index(), step.value());
+            }
+            if (error != null) {
+                result.put("status", "error");
+                result.put("message", error);
+            } else {
+                result.put("status", "ok");
+            }
+        } catch (Exception e) {
+            logger.warn("ScriptController: Step " + stepIndex + " (" + step.type().getToolName() + ") failed: " + e.getMessage());
+            result.put("status", "error");
+            result.put("message", e.getMessage());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.fabb.wigai.mcp;
+
+import io.github.fabb.wigai.bitwig.HostTaskRunner;
+import io.github.fabb.wigai.common.error.ErrorCode;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapts synchronous tool specifications for the async MCP server.
+ *
+ * No thread waits while a call is with Bitwig. Argument validation happens when the call is subscribed to, the
+ * tool operation itself is submitted as one task on the Bitwig host thread, and once that task's future completes
+ * the response is serialized on a worker thread rather than on the host thread. An operation the host does not
+ * start in time is withdrawn and answered with a BITWIG_TIMEOUT error, so it never runs after the client was told
+ * that it timed out.
+ */
+public class AsyncToolAdapter {
+
+    /**
+     * Default time to wait for the host thread to start a tool operation.
+     */
+    public static final long DEFAULT_TIMEOUT_MS = 10000;
+
+    private AsyncToolAdapter() {} // Prevent instantiation
+
+    /**
+     * Adapts a list of synchronous tool specifications using the default timeout.
+     *
+     * @param syncTools The synchronous tool specifications
+     * @param hostTasks The runner executing tool operations on the Bitwig host thread
+     * @return The async tool specifications, in the same order
+     */
+    public static List<McpServerFeatures.AsyncToolSpecification> toAsync(
+            List<McpServerFeatures.SyncToolSpecification> syncTools, HostTaskRunner hostTasks) {
+        List<McpServerFeatures.AsyncToolSpecification> asyncTools = new ArrayList<>(syncTools.size());
+        for (McpServerFeatures.SyncToolSpecification syncTool : syncTools) {
+            asyncTools.add(toAsync(syncTool, hostTasks, DEFAULT_TIMEOUT_MS));
+        }
+        return asyncTools;
+    }
+
+    /**
+     * Adapts a synchronous tool specification so that its operation runs on the host thread.
+     *
+     * @param syncTool  The synchronous tool specification
+     * @param hostTasks The runner executing tool operations on the Bitwig host thread
+     * @param timeoutMs The time to wait for the host to start the operation before answering with a timeout error
+     * @return The async tool specification
+     */
+    public static McpServerFeatures.AsyncToolSpecification toAsync(
+            McpServerFeatures.SyncToolSpecification syncTool, HostTaskRunner hostTasks, long timeoutMs) {
+        String toolName = syncTool.tool().name();
+        // The host task's outcome is handed to a worker, which serializes the response
+        McpErrorHandler.TaskRunner onHostThread = (operation, task) ->
+            Mono.fromFuture(hostTasks.submit(operation, task::execute, timeoutMs))
+                .publishOn(Schedulers.boundedElastic())
+                .toFuture();
+
+        return McpServerFeatures.AsyncToolSpecification.builder()
+            .tool(syncTool.tool())
+            .callHandler((exchange, request) -> Mono.fromFuture(() -> McpErrorHandler.callWithTaskRunner(onHostThread,
+                    () -> syncTool.callHandler().apply(new McpSyncServerExchange(exchange), request)))
+                .onErrorResume(Exception.class, e -> {
+                    // Tool handlers convert their own errors; this only guards the adapter itself
+                    String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                    return Mono.just(McpErrorHandler.createErrorResponse(ErrorCode.fromException(e), message, toolName));
+                }))
+            .build();
+    }
+}
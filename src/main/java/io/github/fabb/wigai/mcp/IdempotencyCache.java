@@ -0,0 +1,193 @@
+package io.github.fabb.wigai.mcp;
+
+import io.modelcontextprotocol.spec.McpSchema;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-expiring cache of tool results keyed by client-supplied request ids.
+ *
+ * The first call for a key executes and its result is remembered for the time-to-live; repeats receive the
+ * remembered result without executing again. A repeat that arrives while the first call is still running
+ * waits for it instead of executing in parallel. Error results are not kept, so a failed call can be retried
+ * with the same request id.
+ */
+public class IdempotencyCache {
+
+    /**
+     * Outcome of a lookup.
+     *
+     * @param result   The tool result
+     * @param replayed Whether the result was served from the cache
+     */
+    public record Outcome(McpSchema.CallToolResult result, boolean replayed) {}
+
+    /**
+     * Thrown when a request id is reused with different arguments.
+     */
+    public static class ConflictException extends RuntimeException {
+        public ConflictException(String message) {
+            super(message);
+        }
+    }
+
+    private record Entry(int argumentsHash, long expiresAtNanos, CompletableFuture<McpSchema.CallToolResult> result) {}
+
+    // The entry for a key, and whether this call created it and has to execute
+    private record Claim(Entry entry, boolean owner) {}
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxEntries The maximum number of remembered results; the oldest are dropped first
+     * @param ttlMs      How long a result is remembered
+     */
+    public IdempotencyCache(int maxEntries, long ttlMs) {
+        this(maxEntries, ttlMs, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxEntries, long ttlMs, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the remembered result for a key, or executes the call and remembers its result.
+     *
+     * @param key       The idempotency key, including the tool name
+     * @param arguments The tool arguments, used to detect a key reused for a different call
+     * @param call      The call to execute on a miss
+     * @return The result and whether it was replayed
+     * @throws ConflictException if the key was already used with different arguments
+     */
+    public Outcome execute(String key, Map<String, Object> arguments, Supplier<McpSchema.CallToolResult> call) {
+        Claim claim = claim(key, arguments);
+
+        if (!claim.owner()) {
+            try {
+                return new Outcome(claim.entry().result().join(), true);
+            } catch (CompletionException e) {
+                // The original call failed without a result; run this one instead
+                return execute(key, arguments, call);
+            }
+        }
+
+        McpSchema.CallToolResult result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            fail(key, claim.entry(), e);
+            throw e;
+        }
+
+        settle(key, claim.entry(), result);
+        return new Outcome(result, false);
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute}: the call returns a future, and a repeat that arrives while the
+     * first call is still running completes together with it instead of waiting for it.
+     *
+     * @param key       The idempotency key, including the tool name
+     * @param arguments The tool arguments, used to detect a key reused for a different call
+     * @param call      The call to start on a miss
+     * @return The future result and whether it was replayed
+     * @throws ConflictException if the key was already used with different arguments
+     */
+    public CompletableFuture<Outcome> executeAsync(String key, Map<String, Object> arguments,
+                                                   Supplier<CompletableFuture<McpSchema.CallToolResult>> call) {
+        Claim claim = claim(key, arguments);
+
+        if (!claim.owner()) {
+            return claim.entry().result()
+                .handle((result, failure) -> failure == null
+                    ? CompletableFuture.completedFuture(new Outcome(result, true))
+                    // The original call failed without a result; run this one instead
+                    : executeAsync(key, arguments, call))
+                .thenCompose(outcome -> outcome);
+        }
+
+        CompletableFuture<McpSchema.CallToolResult> pending;
+        try {
+            pending = call.get();
+        } catch (RuntimeException e) {
+            fail(key, claim.entry(), e);
+            throw e;
+        }
+
+        return pending
+            .whenComplete((result, failure) -> {
+                if (failure != null) {
+                    fail(key, claim.entry(), failure);
+                } else {
+                    settle(key, claim.entry(), result);
+                }
+            })
+            .thenApply(result -> new Outcome(result, false));
+    }
+
+    /**
+     * Returns the number of remembered keys, including expired ones not yet dropped.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Claim claim(String key, Map<String, Object> arguments) {
+        int argumentsHash = arguments != null ? arguments.hashCode() : 0;
+        synchronized (entries) {
+            long now = clock.getAsLong();
+            Entry existing = entries.get(key);
+            if (existing != null && now - existing.expiresAtNanos() < 0) {
+                if (existing.argumentsHash() != argumentsHash) {
+                    throw new ConflictException("request_id was already used for a call with different arguments");
+                }
+                return new Claim(existing, false);
+            }
+            Entry entry = new Entry(argumentsHash, now + ttlNanos, new CompletableFuture<>());
+            entries.remove(key);
+            entries.put(key, entry);
+            return new Claim(entry, true);
+        }
+    }
+
+    private void settle(String key, Entry entry, McpSchema.CallToolResult result) {
+        if (Boolean.TRUE.equals(result.isError())) {
+            forget(key, entry);
+        }
+        entry.result().complete(result);
+    }
+
+    private void fail(String key, Entry entry, Throwable failure) {
+        forget(key, entry);
+        entry.result().completeExceptionally(failure);
+    }
+
+    private void forget(String key, Entry entry) {
+        synchronized (entries) {
+            if (entries.get(key) == entry) {
+                entries.remove(key);
+            }
+        }
+    }
+}
@@ -2,12 +2,16 @@ package io.github.fabb.wigai.mcp;
 
 import io.github.fabb.wigai.common.error.BitwigApiException;
 import io.github.fabb.wigai.common.error.ErrorCode;
-import io.github.fabb.wigai.common.error.WigAIErrorHandler;
 import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.serialization.ResponseSerializer;
 import io.modelcontextprotocol.spec.McpSchema;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Centralized MCP error handling utility for consistent tool response formatting.
@@ -15,6 +19,29 @@ import java.util.Map;
  */
 public class McpErrorHandler {
 
+    /**
+     * Name of the optional idempotency key argument accepted by write tools.
+     */
+    public static final String REQUEST_ID_PARAMETER = "request_id";
+
+    /**
+     * How long the result of a call with a request_id is remembered.
+     */
+    public static final long IDEMPOTENCY_TTL_MS = 5 * 60 * 1000;
+
+    private static final int IDEMPOTENCY_MAX_ENTRIES = 1024;
+    private static final IdempotencyCache IDEMPOTENCY_CACHE = new IdempotencyCache(IDEMPOTENCY_MAX_ENTRIES, IDEMPOTENCY_TTL_MS);
+
+    // Runs the Bitwig part of tool operations; set per call by the async server, otherwise tasks run in place
+    private static final ThreadLocal<TaskRunner> TASK_RUNNER = new ThreadLocal<>();
+
+    // Response of a call whose operation was handed to the task runner; the handler returns DEFERRED instead
+    private static final ThreadLocal<CompletableFuture<McpSchema.CallToolResult>> DEFERRED_RESPONSE = new ThreadLocal<>();
+    private static final McpSchema.CallToolResult DEFERRED = new McpSchema.CallToolResult(List.of(), false);
+
+    // MCP session of the tool call being handled, which scopes request_ids
+    private static final ThreadLocal<String> SESSION_ID = new ThreadLocal<>();
+
     /**
      * Creates a standardized MCP success response.
      *
@@ -24,11 +51,7 @@ public class McpErrorHandler {
     public static McpSchema.CallToolResult createSuccessResponse(Object data) {
         // For MCP tools, return the data directly as per API specification
         // The response format should match the API reference exactly
-        Map<String, Object> response = Map.of(
-            "status", "success",
-            "data", data
-        );
-        String jsonResponse = WigAIErrorHandler.toJsonString(response);
+        String jsonResponse = ResponseSerializer.successEnvelope(data);
         McpSchema.TextContent textContent = new McpSchema.TextContent(jsonResponse);
         return new McpSchema.CallToolResult(List.of(textContent), false);
     }
@@ -42,15 +65,8 @@ public class McpErrorHandler {
      */
     public static McpSchema.CallToolResult createErrorResponse(BitwigApiException exception, StructuredLogger logger) {
         // For MCP tools, return the error in the API format directly
-        Map<String, Object> response = Map.of(
-            "status", "error",
-            "error", Map.of(
-                "code", exception.getErrorCode().getCode(),
-                "message", exception.getMessage(),
-                "operation", exception.getOperation()
-            )
-        );
-        String jsonResponse = WigAIErrorHandler.toJsonString(response);
+        String jsonResponse = ResponseSerializer.errorEnvelope(
+            exception.getErrorCode().getCode(), exception.getMessage(), exception.getOperation(), null);
         McpSchema.TextContent textContent = new McpSchema.TextContent(jsonResponse);
         return new McpSchema.CallToolResult(List.of(textContent), true);
     }
@@ -77,15 +93,24 @@ public class McpErrorHandler {
      * @return A McpSchema.CallToolResult with error response
      */
     public static McpSchema.CallToolResult createErrorResponse(ErrorCode errorCode, String message, String operation) {
-        Map<String, Object> response = Map.of(
-            "status", "error",
-            "error", Map.of(
-                "code", errorCode.getCode(),
-                "message", message,
-                "operation", operation
-            )
-        );
-        String jsonResponse = WigAIErrorHandler.toJsonString(response);
+        String jsonResponse = ResponseSerializer.errorEnvelope(errorCode.getCode(), message, operation, null);
+        McpSchema.TextContent textContent = new McpSchema.TextContent(jsonResponse);
+        return new McpSchema.CallToolResult(List.of(textContent), true);
+    }
+
+    /**
+     * Creates a RATE_LIMITED error response carrying a retry hint for the client.
+     *
+     * @param operation The operation that was rejected
+     * @param retryAfterMs How long the client should wait before retrying
+     * @return A McpSchema.CallToolResult with error response
+     */
+    public static McpSchema.CallToolResult createRateLimitedResponse(String operation, long retryAfterMs) {
+        String jsonResponse = ResponseSerializer.errorEnvelope(
+            ErrorCode.RATE_LIMITED.getCode(),
+            "Too many tool calls from this session, retry after " + retryAfterMs + " ms",
+            operation,
+            Map.of("retry_after_ms", retryAfterMs));
         McpSchema.TextContent textContent = new McpSchema.TextContent(jsonResponse);
         return new McpSchema.CallToolResult(List.of(textContent), true);
     }
@@ -102,18 +127,7 @@ public class McpErrorHandler {
         String operationId = logger.generateOperationId();
         StructuredLogger.TimedOperation timedOperation = logger.startTimedOperation(operationId, operation, null);
 
-        try {
-            Object result = task.execute();
-            timedOperation.success(result);
-            return createSuccessResponse(result);
-        } catch (BitwigApiException e) {
-            timedOperation.failure(e.getErrorCode(), e.getMessage());
-            return createErrorResponse(e, logger);
-        } catch (Exception e) {
-            ErrorCode errorCode = ErrorCode.fromException(e);
-            timedOperation.failure(errorCode, e.getMessage());
-            return createErrorResponse(e, operation, logger);
-        }
+        return runTask(operation, logger, timedOperation, task);
     }
 
     /**
@@ -136,22 +150,194 @@ public class McpErrorHandler {
         String operationId = logger.generateOperationId();
         StructuredLogger.TimedOperation timedOperation = logger.startTimedOperation(operationId, operation, arguments);
 
+        // Validate parameters
+        T validatedParams;
+        try {
+            validatedParams = validator.validate(arguments, operation);
+        } catch (Exception e) {
+            return failureResponse(operation, logger, timedOperation, e);
+        }
+
+        // Execute operation with validated parameters
+        return runTask(operation, logger, timedOperation, () -> task.execute(validatedParams));
+    }
+
+    /**
+     * Executes a write tool call at most once per client-supplied request_id.
+     * Without a request_id the call simply executes. With one, a repeat of the same call within
+     * {@link #IDEMPOTENCY_TTL_MS} receives the first result without touching Bitwig again.
+     * request_ids are scoped by the MCP session, so two clients picking the same id do not collide.
+     *
+     * @param operation The operation name, which scopes the request_id
+     * @param arguments The tool arguments, possibly containing a request_id
+     * @param call The tool call to execute
+     * @return The result of the first execution for this request_id
+     */
+    public static McpSchema.CallToolResult executeIdempotent(String operation, Map<String, Object> arguments,
+                                                             Supplier<McpSchema.CallToolResult> call) {
+        Object requestId = arguments != null ? arguments.get(REQUEST_ID_PARAMETER) : null;
+        if (requestId == null) {
+            return call.get();
+        }
+        if (!(requestId instanceof String key) || key.trim().isEmpty()) {
+            return createErrorResponse(ErrorCode.INVALID_PARAMETER_TYPE, "request_id must be a non-empty string", operation);
+        }
+
         try {
-            // Validate parameters
-            T validatedParams = validator.validate(arguments, operation);
+            String session = SESSION_ID.get();
+            String cacheKey = (session != null ? session : "") + ":" + operation + ":" + key;
+            TaskRunner runner = TASK_RUNNER.get();
+            if (runner == null) {
+                return IDEMPOTENCY_CACHE.execute(cacheKey, arguments, call).result();
+            }
+            // A repeat of a call that is still running completes with its response instead of waiting for it
+            return defer(IDEMPOTENCY_CACHE.executeAsync(cacheKey, arguments,
+                    () -> callWithTaskRunner(runner, () -> callInSession(session, call)))
+                .thenApply(IdempotencyCache.Outcome::result));
+        } catch (IdempotencyCache.ConflictException e) {
+            return createErrorResponse(ErrorCode.INVALID_PARAMETER, e.getMessage(), operation);
+        }
+    }
 
-            // Execute operation with validated parameters
-            Object result = task.execute(validatedParams);
+    /**
+     * Calls a tool handler with an asynchronous runner for the operations it executes. Parameter validation
+     * happens on the calling thread; the operation is handed to the runner, and the handler's response is
+     * completed on the thread that completes the runner's future, without any thread waiting for the operation.
+     *
+     * @param runner  The runner executing the tool operations
+     * @param handler The tool handler to call
+     * @return The response of the handler
+     */
+    public static CompletableFuture<McpSchema.CallToolResult> callWithTaskRunner(TaskRunner runner,
+                                                                                Supplier<McpSchema.CallToolResult> handler) {
+        TaskRunner previous = TASK_RUNNER.get();
+        CompletableFuture<McpSchema.CallToolResult> previousDeferred = DEFERRED_RESPONSE.get();
+        TASK_RUNNER.set(runner);
+        DEFERRED_RESPONSE.remove();
+        try {
+            McpSchema.CallToolResult result = handler.get();
+            return result == DEFERRED ? DEFERRED_RESPONSE.get() : CompletableFuture.completedFuture(result);
+        } finally {
+            restore(TASK_RUNNER, previous);
+            restore(DEFERRED_RESPONSE, previousDeferred);
+        }
+    }
 
+    /**
+     * Passes the response of a tool call to an action once it is available, e.g. to cache it. The action runs
+     * right away, or after the operation when the call was handed to an asynchronous runner.
+     *
+     * @param result The result returned by the tool handler
+     * @param action The action to run with the response
+     * @return The result to return from the tool handler
+     */
+    public static McpSchema.CallToolResult whenComplete(McpSchema.CallToolResult result,
+                                                        Consumer<McpSchema.CallToolResult> action) {
+        if (result != DEFERRED) {
+            action.accept(result);
+            return result;
+        }
+        return defer(DEFERRED_RESPONSE.get().thenApply(response -> {
+            action.accept(response);
+            return response;
+        }));
+    }
+
+    /**
+     * Calls a tool handler on behalf of an MCP session.
+     *
+     * @param sessionId The MCP session id, or null for transports without sessions
+     * @param handler   The tool handler to call
+     * @return The result of the handler
+     */
+    public static McpSchema.CallToolResult callInSession(String sessionId, Supplier<McpSchema.CallToolResult> handler) {
+        String previous = SESSION_ID.get();
+        SESSION_ID.set(sessionId);
+        try {
+            return handler.get();
+        } finally {
+            restore(SESSION_ID, previous);
+        }
+    }
+
+    /**
+     * Returns the MCP session of the tool call being handled on this thread.
+     *
+     * @return The session id, or null outside of a session
+     */
+    public static String currentSessionId() {
+        return SESSION_ID.get();
+    }
+
+    private static McpSchema.CallToolResult runTask(String operation, StructuredLogger logger,
+                                                    StructuredLogger.TimedOperation timedOperation, ToolOperation task) {
+        TaskRunner runner = TASK_RUNNER.get();
+        if (runner == null) {
+            return respond(operation, logger, timedOperation, () -> complete(task.execute()));
+        }
+
+        CompletableFuture<Object> pending;
+        try {
+            pending = runner.submit(operation, task);
+        } catch (Exception e) {
+            return failureResponse(operation, logger, timedOperation, e);
+        }
+        return defer(pending.handle((result, failure) -> respond(operation, logger, timedOperation, () -> {
+            if (failure != null) {
+                throw unwrap(failure);
+            }
+            return complete(result);
+        })));
+    }
+
+    private static Object complete(Object result) throws Exception {
+        if (result instanceof Continuation continuation) {
+            // Waits for Bitwig on the calling thread, after the runner has released the host thread
+            return continuation.complete();
+        }
+        return result;
+    }
+
+    private static McpSchema.CallToolResult respond(String operation, StructuredLogger logger,
+                                                    StructuredLogger.TimedOperation timedOperation, ToolOperation outcome) {
+        try {
+            Object result = outcome.execute();
             timedOperation.success(result);
             return createSuccessResponse(result);
-        } catch (BitwigApiException e) {
-            timedOperation.failure(e.getErrorCode(), e.getMessage());
-            return createErrorResponse(e, logger);
         } catch (Exception e) {
-            ErrorCode errorCode = ErrorCode.fromException(e);
-            timedOperation.failure(errorCode, e.getMessage());
-            return createErrorResponse(e, operation, logger);
+            return failureResponse(operation, logger, timedOperation, e);
+        }
+    }
+
+    private static McpSchema.CallToolResult failureResponse(String operation, StructuredLogger logger,
+                                                            StructuredLogger.TimedOperation timedOperation, Exception e) {
+        if (e instanceof BitwigApiException bitwigApiException) {
+            timedOperation.failure(bitwigApiException.getErrorCode(), bitwigApiException.getMessage());
+            return createErrorResponse(bitwigApiException, logger);
+        }
+        ErrorCode errorCode = ErrorCode.fromException(e);
+        timedOperation.failure(errorCode, e.getMessage());
+        return createErrorResponse(e, operation, logger);
+    }
+
+    private static Exception unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return cause instanceof Exception exception ? exception : new IllegalStateException(cause);
+    }
+
+    private static McpSchema.CallToolResult defer(CompletableFuture<McpSchema.CallToolResult> response) {
+        DEFERRED_RESPONSE.set(response);
+        return DEFERRED;
+    }
+
+    private static <T> void restore(ThreadLocal<T> threadLocal, T previous) {
+        if (previous != null) {
+            threadLocal.set(previous);
+        } else {
+            threadLocal.remove();
         }
     }
 
@@ -191,6 +377,16 @@ public class McpErrorHandler {
         Object execute() throws Exception;
     }
 
+    /**
+     * Remainder of a tool operation that waits for Bitwig to report the outcome of changes the operation made.
+     * Returned by the operation, it completes after the operation itself has returned, on the calling thread
+     * rather than in a host task, so that Bitwig's observers can fire while it waits.
+     */
+    @FunctionalInterface
+    public interface Continuation {
+        Object complete() throws Exception;
+    }
+
     /**
      * Functional interface for tool operations that take validated parameters.
      */
@@ -199,6 +395,15 @@ public class McpErrorHandler {
         Object execute(T validatedParams) throws Exception;
     }
 
+    /**
+     * Functional interface for executing tool operations asynchronously, e.g. on the Bitwig host thread.
+     * The returned future is completed with the operation's result or failure.
+     */
+    @FunctionalInterface
+    public interface TaskRunner {
+        CompletableFuture<Object> submit(String operation, ToolOperation task);
+    }
+
     /**
      * Functional interface for parameter validation.
      */
@@ -2,12 +2,18 @@ package io.github.fabb.wigai.mcp;
 
 import io.github.fabb.wigai.WigAIExtensionDefinition;
 import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.common.AppConstants;
 import io.github.fabb.wigai.common.Logger;
 import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.serialization.ResponseSerializer;
 import io.github.fabb.wigai.config.ConfigManager;
 import io.github.fabb.wigai.features.TransportController;
 import io.github.fabb.wigai.features.DeviceController;
 import io.github.fabb.wigai.features.ClipSceneController;
+import io.github.fabb.wigai.features.MixerController;
+import io.github.fabb.wigai.features.MixerSnapshotController;
+import io.github.fabb.wigai.features.ScriptController;
+import io.github.fabb.wigai.features.ActionScheduleController;
 import io.modelcontextprotocol.server.*;
 import io.modelcontextprotocol.server.transport.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,6 +21,7 @@ import org.eclipse.jetty.servlet.ServletHolder;
 import io.github.fabb.wigai.mcp.tool.StatusTool;
 import io.github.fabb.wigai.mcp.tool.TransportTool;
 import io.github.fabb.wigai.mcp.tool.DeviceParamTool;
+import io.github.fabb.wigai.mcp.tool.DeviceCursorTool;
 import io.github.fabb.wigai.mcp.tool.ClipTool;
 import io.github.fabb.wigai.mcp.tool.SceneTool;
 import io.github.fabb.wigai.mcp.tool.ListTracksTool;
@@ -23,10 +30,18 @@ import io.github.fabb.wigai.mcp.tool.GetTrackDetailsTool;
 import io.github.fabb.wigai.mcp.tool.GetDeviceDetailsTool;
 import io.github.fabb.wigai.mcp.tool.ListScenesTool;
 import io.github.fabb.wigai.mcp.tool.GetClipsInSceneTool;
+import io.github.fabb.wigai.mcp.tool.MixerTool;
+import io.github.fabb.wigai.mcp.tool.SearchProjectTool;
+import io.github.fabb.wigai.mcp.tool.ClipNotesTool;
+import io.github.fabb.wigai.mcp.tool.ListArrangerClipsTool;
+import io.github.fabb.wigai.mcp.tool.ScheduleTool;
+import io.github.fabb.wigai.mcp.tool.ScriptTool;
 import io.modelcontextprotocol.spec.McpSchema;
 import com.bitwig.extension.controller.api.ControllerHost;
 import io.github.fabb.wigai.mcp.tool.SceneByNameTool;
 
+import java.util.List;
+
 /**
  * Manages the MCP server for the WigAI extension.
  * Responsible for configuring and managing the MCP HTTP servlet
@@ -44,6 +59,7 @@ public class McpServerManager {
     private final Logger logger;
     private final WigAIExtensionDefinition extensionDefinition;
     private final ControllerHost controllerHost;
+    private final ConfigManager configManager;
 
     private HttpServletStreamableServerTransportProvider transportProvider;
 
@@ -52,12 +68,17 @@ public class McpServerManager {
     private TransportController transportController;
     private DeviceController deviceController;
     private ClipSceneController clipSceneController;
+    private MixerSnapshotController mixerSnapshotController;
+    private MixerController mixerController;
+    private ActionScheduleController actionScheduleController;
+    private ScriptController scriptController;
+    private ResponseCache responseCache;
 
     /**
      * Creates a new McpServerManager instance.
      *
      * @param logger             The logger to use for logging server events
-     * @param configManager      The configuration manager (kept for API compatibility)
+     * @param configManager      The configuration manager, used to select sync or async mode
      * @param extensionDefinition The extension definition to get version information
      */
     public McpServerManager(Logger logger, ConfigManager configManager, WigAIExtensionDefinition extensionDefinition) {
@@ -68,7 +89,7 @@ public class McpServerManager {
      * Creates a new McpServerManager instance with a controller host.
      *
      * @param logger             The logger to use for logging server events
-     * @param configManager      The configuration manager (kept for API compatibility)
+     * @param configManager      The configuration manager, used to select sync or async mode
      * @param extensionDefinition The extension definition to get version information
      * @param controllerHost     The Bitwig controller host, or null if not available
      */
@@ -76,6 +97,7 @@ public class McpServerManager {
         this.logger = logger;
         this.extensionDefinition = extensionDefinition;
         this.controllerHost = controllerHost;
+        this.configManager = configManager;
     }
 
     /**
@@ -101,8 +123,8 @@ public class McpServerManager {
      * @throws Exception if servlet creation fails
      */
     public ServletHolder createMcpServlet(String endpointPath) throws Exception {
-        // 1. Instantiate ObjectMapper
-        ObjectMapper objectMapper = new ObjectMapper();
+        // 1. Use the shared ObjectMapper, so that transport and tools share serializer caches
+        ObjectMapper objectMapper = ResponseSerializer.getMapper();
 
         // 2. Instantiate HttpServletStreamableServerTransportProvider
         this.transportProvider = HttpServletStreamableServerTransportProvider
@@ -120,10 +142,21 @@ public class McpServerManager {
         // Initialize controllers only once during first start to avoid Bitwig API restrictions
         if (bitwigApiFacade == null) {
             logger.info("McpServerManager: Initializing Bitwig API controllers");
-            bitwigApiFacade = new BitwigApiFacade(getHost(), logger);
+            int sendsPerTrack = configManager != null
+                ? configManager.getSendsPerTrack()
+                : AppConstants.DEFAULT_SENDS_PER_TRACK;
+            bitwigApiFacade = new BitwigApiFacade(getHost(), logger, sendsPerTrack);
             transportController = new TransportController(bitwigApiFacade, logger);
             deviceController = new DeviceController(bitwigApiFacade, logger);
             clipSceneController = new ClipSceneController(bitwigApiFacade, logger);
+            mixerSnapshotController = new MixerSnapshotController(bitwigApiFacade, logger);
+            mixerController = new MixerController(bitwigApiFacade, logger);
+            actionScheduleController = new ActionScheduleController(bitwigApiFacade, clipSceneController, transportController, deviceController, logger);
+            scriptController = new ScriptController(bitwigApiFacade, clipSceneController, transportController, deviceController, logger);
+            long responseCacheBytes = configManager != null
+                ? configManager.getResponseCacheBytes()
+                : AppConstants.DEFAULT_RESPONSE_CACHE_KB * 1024L;
+            responseCache = new ResponseCache(bitwigApiFacade.getStateVersions(), responseCacheBytes);
         } else {
             logger.info("McpServerManager: Reusing existing Bitwig API controllers");
         }
@@ -131,32 +164,77 @@ public class McpServerManager {
         // Create StructuredLogger for tools that have been migrated to unified error handling
         StructuredLogger structuredLogger = new StructuredLogger(logger, "MCP-Tools");
 
-        McpServer.sync(this.transportProvider)
-            .serverInfo("WigAI", extensionDefinition.getVersion())
-            .capabilities(McpSchema.ServerCapabilities.builder()
-                .tools(true)
-                .logging()
-                .build())
-            .tools(
-                StatusTool.specification(this.extensionDefinition, bitwigApiFacade, structuredLogger),
-                TransportTool.transportStartSpecification(transportController, structuredLogger),
-                TransportTool.transportStopSpecification(transportController, structuredLogger),
-                ClipTool.launchClipSpecification(clipSceneController, structuredLogger),
-                SceneTool.launchSceneByIndexSpecification(clipSceneController, structuredLogger),
-                SceneByNameTool.launchSceneByNameSpecification(clipSceneController, structuredLogger),
-                DeviceParamTool.getSelectedDeviceParametersSpecification(deviceController, structuredLogger),
-                DeviceParamTool.setSelectedDeviceParameterSpecification(deviceController, structuredLogger),
-                DeviceParamTool.setMultipleDeviceParametersSpecification(deviceController, structuredLogger),
-                GetDeviceDetailsTool.getDeviceDetailsSpecification(deviceController, structuredLogger),
-                ListTracksTool.specification(bitwigApiFacade, structuredLogger),
-                ListDevicesOnTrackTool.specification(bitwigApiFacade, structuredLogger),
-                GetTrackDetailsTool.specification(bitwigApiFacade, structuredLogger),
-                ListScenesTool.specification(bitwigApiFacade, structuredLogger),
-                GetClipsInSceneTool.getClipsInSceneSpecification(clipSceneController, structuredLogger)
-            )
+        List<McpServerFeatures.SyncToolSpecification> tools = inSession(List.of(
+            StatusTool.specification(this.extensionDefinition, bitwigApiFacade, responseCache, structuredLogger),
+            TransportTool.transportStartSpecification(transportController, structuredLogger),
+            TransportTool.transportStopSpecification(transportController, structuredLogger),
+            ClipTool.launchClipSpecification(clipSceneController, structuredLogger),
+            SceneTool.launchSceneByIndexSpecification(clipSceneController, structuredLogger),
+            SceneByNameTool.launchSceneByNameSpecification(clipSceneController, structuredLogger),
+            DeviceParamTool.getSelectedDeviceParametersSpecification(deviceController, structuredLogger),
+            DeviceParamTool.setSelectedDeviceParameterSpecification(deviceController, structuredLogger),
+            DeviceParamTool.setMultipleDeviceParametersSpecification(deviceController, structuredLogger),
+            DeviceParamTool.findDeviceParameterSpecification(deviceController, structuredLogger),
+            DeviceCursorTool.leaseDeviceCursorSpecification(deviceController, structuredLogger),
+            DeviceCursorTool.getLeasedDeviceParametersSpecification(deviceController, structuredLogger),
+            DeviceCursorTool.setLeasedDeviceParametersSpecification(deviceController, structuredLogger),
+            DeviceCursorTool.releaseDeviceCursorSpecification(deviceController, structuredLogger),
+            GetDeviceDetailsTool.getDeviceDetailsSpecification(deviceController, structuredLogger),
+            ListTracksTool.specification(bitwigApiFacade, responseCache, structuredLogger),
+            ListDevicesOnTrackTool.specification(bitwigApiFacade, structuredLogger),
+            GetTrackDetailsTool.specification(bitwigApiFacade, responseCache, structuredLogger),
+            ListScenesTool.specification(bitwigApiFacade, responseCache, structuredLogger),
+            GetClipsInSceneTool.getClipsInSceneSpecification(clipSceneController, structuredLogger),
+            MixerTool.getMixerSnapshotSpecification(bitwigApiFacade, structuredLogger),
+            MixerTool.captureMixerSnapshotSpecification(mixerSnapshotController, structuredLogger),
+            MixerTool.recallMixerSnapshotSpecification(mixerSnapshotController, structuredLogger),
+            MixerTool.setSendsSpecification(mixerController, structuredLogger),
+            SearchProjectTool.specification(bitwigApiFacade, structuredLogger),
+            ClipNotesTool.getClipNotesSpecification(bitwigApiFacade, structuredLogger),
+            ClipNotesTool.setClipNotesSpecification(bitwigApiFacade, structuredLogger),
+            ListArrangerClipsTool.specification(bitwigApiFacade, structuredLogger),
+            ScheduleTool.scheduleActionsSpecification(actionScheduleController, structuredLogger),
+            ScheduleTool.listScheduledActionsSpecification(actionScheduleController, structuredLogger),
+            ScheduleTool.cancelScheduledActionsSpecification(actionScheduleController, structuredLogger),
+            ScriptTool.executeScriptSpecification(scriptController, structuredLogger)
+        ));
+
+        McpSchema.ServerCapabilities capabilities = McpSchema.ServerCapabilities.builder()
+            .tools(true)
+            .logging()
             .build();
 
+        if (configManager != null && configManager.isAsyncModeEnabled()) {
+            // Tool calls complete on the Bitwig host thread instead of parking a request thread
+            logger.info("McpServerManager: Starting MCP server in async mode");
+            McpServer.async(this.transportProvider)
+                .serverInfo("WigAI", extensionDefinition.getVersion())
+                .capabilities(capabilities)
+                .tools(AsyncToolAdapter.toAsync(tools, bitwigApiFacade.getHostTaskRunner()))
+                .build();
+        } else {
+            McpServer.sync(this.transportProvider)
+                .serverInfo("WigAI", extensionDefinition.getVersion())
+                .capabilities(capabilities)
+                .tools(tools)
+                .build();
+        }
+
         // 4. Return the MCP servlet
         return new ServletHolder(this.transportProvider);
     }
+
+    /**
+     * Wraps tool specifications so that their handlers run on behalf of the calling MCP session.
+     */
+    private static List<McpServerFeatures.SyncToolSpecification> inSession(List<McpServerFeatures.SyncToolSpecification> tools) {
+        return tools.stream()
+            .map(tool -> McpServerFeatures.SyncToolSpecification.builder()
+                .tool(tool.tool())
+                .callHandler((exchange, request) -> McpErrorHandler.callInSession(
+                    exchange != null ? exchange.sessionId() : null,
+                    () -> tool.callHandler().apply(exchange, request)))
+                .build())
+            .toList();
+    }
 }
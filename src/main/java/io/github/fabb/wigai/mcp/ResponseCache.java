@@ -0,0 +1,219 @@
+package io.github.fabb.wigai.mcp;
+
+import io.github.fabb.wigai.bitwig.ProjectStateVersions;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of serialized results of read-only tools.
+ *
+ * Entries are keyed by tool name, normalized arguments and the change counters of the project state areas
+ * the tool reads. A repeated call between two project changes is answered from the cached JSON text
+ * without reading from Bitwig or serializing again; any change in a relevant area produces a new key, and
+ * entries for old states fall out as the least recently used. The cache is bounded by the estimated size
+ * of its keys and texts rather than by entry count, since a track listing is far larger than a scene list.
+ */
+public class ResponseCache {
+
+    /**
+     * Estimated fixed heap cost of one entry (map node, key and text objects).
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    /**
+     * Cache counters for status reporting.
+     *
+     * @param hits      Calls answered from the cache
+     * @param misses    Calls that had to be executed
+     * @param evictions Entries dropped to stay within the size limit
+     * @param entries   Entries currently cached
+     * @param bytes     Estimated size of the cached entries
+     * @param maxBytes  The size limit, 0 if caching is disabled
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, long bytes, long maxBytes) {}
+
+    private record Entry(String text, long bytes) {}
+
+    private final ProjectStateVersions versions;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a new response cache.
+     *
+     * @param versions The project state change counters; may be null if maxBytes is 0
+     * @param maxBytes The maximum estimated size of all entries; 0 disables caching
+     */
+    public ResponseCache(ProjectStateVersions versions, long maxBytes) {
+        if (maxBytes > 0 && versions == null) {
+            throw new IllegalArgumentException("State versions are required when caching is enabled");
+        }
+        this.versions = versions;
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Creates a cache that executes every call.
+     *
+     * @return A disabled response cache
+     */
+    public static ResponseCache disabled() {
+        return new ResponseCache(null, 0);
+    }
+
+    /**
+     * Returns the cached result for a call in the current project state, or executes the call and caches
+     * its result. Error results are returned but never cached.
+     *
+     * @param toolName  The tool name
+     * @param arguments The tool arguments
+     * @param domains   The project state areas the tool reads
+     * @param call      The call to execute on a miss
+     * @return The tool result
+     */
+    public McpSchema.CallToolResult execute(String toolName, Map<String, Object> arguments,
+                                            Set<ProjectStateVersions.Domain> domains,
+                                            Supplier<McpSchema.CallToolResult> call) {
+        if (maxBytes == 0) {
+            return call.get();
+        }
+
+        // Read the counters before executing, so that a change during the call leaves its result under an old key
+        String key = buildKey(toolName, arguments, domains);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return toResult(entry.text());
+            }
+            misses++;
+        }
+
+        return McpErrorHandler.whenComplete(call.get(), result -> {
+            String text = cacheableText(result);
+            if (text != null) {
+                store(key, text);
+            }
+        });
+    }
+
+    /**
+     * Returns the current cache counters.
+     *
+     * @return The cache statistics
+     */
+    public Stats getStats() {
+        synchronized (entries) {
+            return new Stats(hits, misses, evictions, entries.size(), currentBytes, maxBytes);
+        }
+    }
+
+    private void store(String key, String text) {
+        long bytes = estimateBytes(key, text);
+        if (bytes > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, new Entry(text, bytes));
+            if (previous != null) {
+                currentBytes -= previous.bytes();
+            }
+            currentBytes += bytes;
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                currentBytes -= eldest.next().bytes();
+                eldest.remove();
+                evictions++;
+            }
+        }
+    }
+
+    private String buildKey(String toolName, Map<String, Object> arguments, Set<ProjectStateVersions.Domain> domains) {
+        StringBuilder key = new StringBuilder(toolName).append('|');
+        appendNormalized(key, arguments);
+        key.append('|');
+        for (ProjectStateVersions.Domain domain : domains) {
+            key.append(domain.ordinal()).append(':').append(versions.get(domain)).append(';');
+        }
+        return key.toString();
+    }
+
+    /**
+     * Appends a canonical form of an argument value: map keys sorted, null map values dropped,
+     * strings quoted so that "1" and 1 differ.
+     */
+    static void appendNormalized(StringBuilder out, Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getValue() != null) {
+                    sorted.put(String.valueOf(entry.getKey()), entry.getValue());
+                }
+            }
+            out.append('{');
+            for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+                appendQuoted(out, entry.getKey());
+                out.append('=');
+                appendNormalized(out, entry.getValue());
+                out.append(',');
+            }
+            out.append('}');
+        } else if (value instanceof List<?> list) {
+            out.append('[');
+            for (Object item : list) {
+                appendNormalized(out, item);
+                out.append(',');
+            }
+            out.append(']');
+        } else if (value instanceof String string) {
+            appendQuoted(out, string);
+        } else if (value instanceof Number number && number.doubleValue() == Math.rint(number.doubleValue())
+                && !Double.isInfinite(number.doubleValue())) {
+            // 2 and 2.0 select the same item
+            out.append(number.longValue());
+        } else {
+            out.append(value);
+        }
+    }
+
+    private static void appendQuoted(StringBuilder out, String string) {
+        out.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    private static String cacheableText(McpSchema.CallToolResult result) {
+        if (result == null || Boolean.TRUE.equals(result.isError()) || result.content() == null
+                || result.content().size() != 1 || !(result.content().get(0) instanceof McpSchema.TextContent textContent)) {
+            return null;
+        }
+        return textContent.text();
+    }
+
+    private static McpSchema.CallToolResult toResult(String text) {
+        return new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(text)), false);
+    }
+
+    private static long estimateBytes(String key, String text) {
+        // Strings hold at most two bytes per character
+        return ENTRY_OVERHEAD_BYTES + 2L * (key.length() + text.length());
+    }
+}
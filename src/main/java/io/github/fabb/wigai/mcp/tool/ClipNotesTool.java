@@ -0,0 +1,251 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.ClipNoteBuffer;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.validation.ParameterValidator;
+import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * MCP tools for reading and writing the notes of the clip selected in the clip launcher.
+ */
+public class ClipNotesTool {
+
+    private static final String GET_CLIP_NOTES_TOOL = "get_clip_notes";
+    private static final String SET_CLIP_NOTES_TOOL = "set_clip_notes";
+    private static final int DEFAULT_LIMIT = 256;
+    private static final int DEFAULT_VELOCITY = 100;
+    private static final int MAX_NOTES_PER_WRITE = 4096;
+    private static final double MIN_DURATION_BEATS = 1.0 / 128;
+    private static final double MAX_DURATION_BEATS = ClipNoteBuffer.GRID_STEPS * ClipNoteBuffer.STEP_SIZE_BEATS;
+
+    /**
+     * Creates a "get_clip_notes" tool specification.
+     *
+     * @param bitwigApiFacade The BitwigApiFacade providing the clip note buffer
+     * @param logger          The structured logger for logging operations
+     * @return A SyncToolSpecification for the "get_clip_notes" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification getClipNotesSpecification(
+            BitwigApiFacade bitwigApiFacade, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "offset": {
+                  "type": "integer",
+                  "minimum": 0,
+                  "description": "Number of notes to skip (default: 0). Pass next_offset of the previous page to continue."
+                },
+                "limit": {
+                  "type": "integer",
+                  "minimum": 1,
+                  "maximum": %d,
+                  "description": "Maximum number of notes to return (default: %d)"
+                }
+              },
+              "additionalProperties": false
+            }""".formatted(ClipNoteBuffer.MAX_PAGE_SIZE, DEFAULT_LIMIT);
+        var tool = McpSchema.Tool.builder()
+            .name(GET_CLIP_NOTES_TOOL)
+            .description("Get the notes of the clip selected in the clip launcher, one page at a time in step then pitch order. " +
+                "Notes are placed on a grid of " + ClipNoteBuffer.GRID_STEPS + " steps of " + ClipNoteBuffer.STEP_SIZE_BEATS +
+                " beats; duration is in beats. next_offset is null on the last page.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeWithValidation(
+                GET_CLIP_NOTES_TOOL,
+                req.arguments(),
+                logger,
+                ClipNotesTool::parseGetArguments,
+                (params) -> bitwigApiFacade.getCursorClipNotes(params.offset(), params.limit())
+            );
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "set_clip_notes" tool specification.
+     *
+     * @param bitwigApiFacade The BitwigApiFacade providing the clip note buffer
+     * @param logger          The structured logger for logging operations
+     * @return A SyncToolSpecification for the "set_clip_notes" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification setClipNotesSpecification(
+            BitwigApiFacade bitwigApiFacade, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "notes": {
+                  "type": "array",
+                  "maxItems": %d,
+                  "items": {
+                    "type": "object",
+                    "properties": {
+                      "pitch": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "maximum": 127,
+                        "description": "MIDI pitch"
+                      },
+                      "step": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "maximum": %d,
+                        "description": "Grid step of the note start"
+                      },
+                      "velocity": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "maximum": 127,
+                        "description": "MIDI velocity (default: %d). 0 removes the note starting at this step and pitch."
+                      },
+                      "duration": {
+                        "type": "number",
+                        "description": "Length in beats (default: one step)"
+                      }
+                    },
+                    "required": ["pitch", "step"],
+                    "additionalProperties": false
+                  },
+                  "description": "Notes to write"
+                },
+                "mode": {
+                  "type": "string",
+                  "enum": ["merge", "replace"],
+                  "description": "'merge' (default) only changes the given notes; 'replace' also removes every other note in the grid. To write more than %d notes, send the first chunk with 'replace' and the rest with 'merge'."
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
+                }
+              },
+              "required": ["notes"],
+              "additionalProperties": false
+            }""".formatted(MAX_NOTES_PER_WRITE, ClipNoteBuffer.GRID_STEPS - 1, DEFAULT_VELOCITY, MAX_NOTES_PER_WRITE);
+        var tool = McpSchema.Tool.builder()
+            .name(SET_CLIP_NOTES_TOOL)
+            .description("Write notes to the clip selected in the clip launcher. The notes are compared with the clip's current content " +
+                "and only the differences are applied, in a single batch. Uses the same step grid as get_clip_notes.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeIdempotent(SET_CLIP_NOTES_TOOL, req.arguments(), () -> McpErrorHandler.executeWithValidation(
+                SET_CLIP_NOTES_TOOL,
+                req.arguments(),
+                logger,
+                ClipNotesTool::parseSetArguments,
+                (params) -> {
+                    ClipNoteBuffer.Diff diff = bitwigApiFacade.setCursorClipNotes(params.notes(), params.replace());
+                    Map<String, Object> response = new LinkedHashMap<>();
+                    response.put("action", "clip_notes_set");
+                    response.put("mode", params.replace() ? "replace" : "merge");
+                    response.put("notes_set", diff.set());
+                    response.put("notes_cleared", diff.cleared());
+                    response.put("notes_unchanged", diff.unchanged());
+                    return response;
+                }
+            ));
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Parses the arguments of the get_clip_notes tool.
+     */
+    private static GetArguments parseGetArguments(Map<String, Object> arguments, String operation) {
+        int offset = 0;
+        if (arguments.get("offset") != null) {
+            offset = ParameterValidator.validateRequiredInteger(arguments, "offset", operation);
+            ParameterValidator.validateRange(offset, 0, Integer.MAX_VALUE, "offset", operation);
+        }
+
+        int limit = DEFAULT_LIMIT;
+        if (arguments.get("limit") != null) {
+            limit = ParameterValidator.validateRequiredInteger(arguments, "limit", operation);
+            ParameterValidator.validateRange(limit, 1, ClipNoteBuffer.MAX_PAGE_SIZE, "limit", operation);
+        }
+        return new GetArguments(offset, limit);
+    }
+
+    /**
+     * Parses the arguments of the set_clip_notes tool.
+     */
+    private static SetArguments parseSetArguments(Map<String, Object> arguments, String operation) {
+        Object notesObj = ParameterValidator.validateRequired(arguments, "notes", operation);
+        if (!(notesObj instanceof List<?> noteList)) {
+            throw new IllegalArgumentException("'notes' must be an array");
+        }
+        if (noteList.size() > MAX_NOTES_PER_WRITE) {
+            throw new IllegalArgumentException("'notes' can hold at most " + MAX_NOTES_PER_WRITE + " notes per call");
+        }
+
+        List<ClipNoteBuffer.Note> notes = new ArrayList<>(noteList.size());
+        for (Object noteObj : noteList) {
+            if (!(noteObj instanceof Map)) {
+                throw new IllegalArgumentException("Each note must be an object");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> note = (Map<String, Object>) noteObj;
+
+            int pitch = ParameterValidator.validateRequiredInteger(note, "pitch", operation);
+            ParameterValidator.validateRange(pitch, 0, ClipNoteBuffer.KEYS - 1, "pitch", operation);
+            int step = ParameterValidator.validateRequiredInteger(note, "step", operation);
+            ParameterValidator.validateRange(step, 0, ClipNoteBuffer.GRID_STEPS - 1, "step", operation);
+
+            int velocity = DEFAULT_VELOCITY;
+            if (note.get("velocity") != null) {
+                velocity = ParameterValidator.validateRequiredInteger(note, "velocity", operation);
+                ParameterValidator.validateRange(velocity, 0, 127, "velocity", operation);
+            }
+
+            double duration = ClipNoteBuffer.STEP_SIZE_BEATS;
+            if (note.get("duration") != null) {
+                duration = ParameterValidator.validateRequiredDouble(note, "duration", operation);
+                ParameterValidator.validateRange(duration, MIN_DURATION_BEATS, MAX_DURATION_BEATS, "duration", operation);
+            }
+            notes.add(new ClipNoteBuffer.Note(pitch, step, velocity, duration));
+        }
+
+        boolean replace = false;
+        if (arguments.get("mode") != null) {
+            String mode = ParameterValidator.validateRequiredString(arguments, "mode", operation).trim();
+            switch (mode) {
+                case "merge" -> replace = false;
+                case "replace" -> replace = true;
+                default -> throw new IllegalArgumentException("'mode' must be 'merge' or 'replace'");
+            }
+        }
+        return new SetArguments(notes, replace);
+    }
+
+    /**
+     * Record to hold validated parameters for the get_clip_notes tool.
+     */
+    private record GetArguments(int offset, int limit) {}
+
+    /**
+     * Record to hold validated parameters for the set_clip_notes tool.
+     */
+    private record SetArguments(List<ClipNoteBuffer.Note> notes, boolean replace) {}
+}
@@ -44,6 +44,10 @@ public class ClipTool {
                   "type": "integer",
                   "minimum": 0,
                   "description": "Zero-based index of the clip slot to launch"
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
                 }
               },
               "required": ["track_name", "clip_index"]
@@ -56,7 +60,7 @@ public class ClipTool {
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+            (exchange, req) -> McpErrorHandler.executeIdempotent(TOOL_NAME, req.arguments(), () -> McpErrorHandler.executeWithErrorHandling(
                 TOOL_NAME,
                 logger,
                 () -> {
@@ -77,7 +81,7 @@ public class ClipTool {
                         throw new BitwigApiException(ErrorCode.OPERATION_FAILED, TOOL_NAME, result.getMessage());
                     }
                 }
-            );
+            ));
 
         return McpServerFeatures.SyncToolSpecification.builder()
             .tool(tool)
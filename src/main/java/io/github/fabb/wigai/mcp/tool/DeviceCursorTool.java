@@ -0,0 +1,338 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.common.data.ParameterSetting;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.validation.ParameterValidator;
+import io.github.fabb.wigai.features.DeviceController;
+import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * MCP tools for leased device cursors, which stay on one device independently of the user's selection
+ * so that several clients can work on different devices at the same time.
+ */
+public class DeviceCursorTool {
+
+    private static final String LEASE_DEVICE_CURSOR_TOOL = "lease_device_cursor";
+    private static final String GET_LEASED_PARAMETERS_TOOL = "get_leased_device_parameters";
+    private static final String SET_LEASED_PARAMETERS_TOOL = "set_leased_device_parameters";
+    private static final String RELEASE_DEVICE_CURSOR_TOOL = "release_device_cursor";
+    private static final int DEVICE_PARAMETER_COUNT = 8;
+
+    private static final String LEASE_ID_SCHEMA = """
+                "lease_id": {
+                  "type": "integer",
+                  "minimum": 1,
+                  "description": "Lease id returned by lease_device_cursor"
+                }""";
+
+    /**
+     * Creates a "lease_device_cursor" tool specification.
+     *
+     * @param deviceController The controller for device operations
+     * @param logger           The structured logger for logging operations
+     * @return A SyncToolSpecification for the "lease_device_cursor" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification leaseDeviceCursorSpecification(
+            DeviceController deviceController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "track_index": {
+                  "type": "integer",
+                  "minimum": 0,
+                  "description": "Index of the track containing the device. Use either track_index or track_name."
+                },
+                "track_name": {
+                  "type": "string",
+                  "description": "Name of the track containing the device"
+                },
+                "device_index": {
+                  "type": "integer",
+                  "minimum": 0,
+                  "description": "Index of the device on the track"
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
+                }
+              },
+              "required": ["device_index"],
+              "additionalProperties": false
+            }""";
+        var tool = McpSchema.Tool.builder()
+            .name(LEASE_DEVICE_CURSOR_TOOL)
+            .description("Lease a device cursor that stays on one device without changing the device selected in Bitwig. " +
+                "Use it with get_leased_device_parameters and set_leased_device_parameters to work on a device while other clients work on others. " +
+                "Only a few cursors exist: release the lease when done; unused leases expire after idle_timeout_ms. " +
+                "A lease can only be used by the session that took it.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> {
+                // Read on the calling thread, since the operation itself may run on the host thread
+                String sessionId = McpErrorHandler.currentSessionId();
+                return McpErrorHandler.executeIdempotent(LEASE_DEVICE_CURSOR_TOOL, req.arguments(), () -> McpErrorHandler.executeWithValidation(
+                    LEASE_DEVICE_CURSOR_TOOL,
+                    req.arguments(),
+                    logger,
+                    DeviceCursorTool::parseLeaseArguments,
+                    (params) -> deviceController.leaseDeviceCursor(params.trackIndex(), params.trackName(), params.deviceIndex(), sessionId)
+                ));
+            };
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "get_leased_device_parameters" tool specification.
+     *
+     * @param deviceController The controller for device operations
+     * @param logger           The structured logger for logging operations
+     * @return A SyncToolSpecification for the "get_leased_device_parameters" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification getLeasedDeviceParametersSpecification(
+            DeviceController deviceController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+            %s
+              },
+              "required": ["lease_id"],
+              "additionalProperties": false
+            }""".formatted(LEASE_ID_SCHEMA);
+        var tool = McpSchema.Tool.builder()
+            .name(GET_LEASED_PARAMETERS_TOOL)
+            .description("Get the remote control parameters of the device a leased cursor points at. " +
+                "'ready' is false until the cursor has moved to the device, which happens right after leasing.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> {
+                String sessionId = McpErrorHandler.currentSessionId();
+                return McpErrorHandler.executeWithValidation(
+                    GET_LEASED_PARAMETERS_TOOL,
+                    req.arguments(),
+                    logger,
+                    DeviceCursorTool::parseLeaseId,
+                    (leaseId) -> deviceController.getLeasedDeviceParameters(leaseId, sessionId)
+                );
+            };
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "set_leased_device_parameters" tool specification.
+     *
+     * @param deviceController The controller for device operations
+     * @param logger           The structured logger for logging operations
+     * @return A SyncToolSpecification for the "set_leased_device_parameters" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification setLeasedDeviceParametersSpecification(
+            DeviceController deviceController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+            %s,
+                "parameters": {
+                  "type": "array",
+                  "minItems": 1,
+                  "maxItems": %d,
+                  "items": {
+                    "type": "object",
+                    "properties": {
+                      "parameter_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "maximum": 7,
+                        "description": "Index of the remote control parameter"
+                      },
+                      "value": {
+                        "type": "number",
+                        "minimum": 0.0,
+                        "maximum": 1.0,
+                        "description": "Normalized value to set"
+                      }
+                    },
+                    "required": ["parameter_index", "value"],
+                    "additionalProperties": false
+                  },
+                  "description": "Parameters to set; each index may appear once"
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
+                }
+              },
+              "required": ["lease_id", "parameters"],
+              "additionalProperties": false
+            }""".formatted(LEASE_ID_SCHEMA, DEVICE_PARAMETER_COUNT);
+        var tool = McpSchema.Tool.builder()
+            .name(SET_LEASED_PARAMETERS_TOOL)
+            .description("Set remote control parameters of the device a leased cursor points at, in one batch. " +
+                "The device selected in Bitwig is not changed.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> {
+                String sessionId = McpErrorHandler.currentSessionId();
+                return McpErrorHandler.executeIdempotent(SET_LEASED_PARAMETERS_TOOL, req.arguments(), () -> McpErrorHandler.executeWithValidation(
+                    SET_LEASED_PARAMETERS_TOOL,
+                    req.arguments(),
+                    logger,
+                    DeviceCursorTool::parseSetArguments,
+                    (params) -> deviceController.setLeasedDeviceParameters(params.leaseId(), params.settings(), sessionId)
+                ));
+            };
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "release_device_cursor" tool specification.
+     *
+     * @param deviceController The controller for device operations
+     * @param logger           The structured logger for logging operations
+     * @return A SyncToolSpecification for the "release_device_cursor" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification releaseDeviceCursorSpecification(
+            DeviceController deviceController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+            %s
+              },
+              "required": ["lease_id"],
+              "additionalProperties": false
+            }""".formatted(LEASE_ID_SCHEMA);
+        var tool = McpSchema.Tool.builder()
+            .name(RELEASE_DEVICE_CURSOR_TOOL)
+            .description("Release a leased device cursor so that other clients can lease it.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> {
+                String sessionId = McpErrorHandler.currentSessionId();
+                return McpErrorHandler.executeWithValidation(
+                    RELEASE_DEVICE_CURSOR_TOOL,
+                    req.arguments(),
+                    logger,
+                    DeviceCursorTool::parseLeaseId,
+                    (leaseId) -> deviceController.releaseDeviceCursor(leaseId, sessionId)
+                );
+            };
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Parses the arguments of the lease_device_cursor tool.
+     */
+    private static LeaseArguments parseLeaseArguments(Map<String, Object> arguments, String operation) {
+        boolean hasIndex = arguments.get("track_index") != null;
+        boolean hasName = arguments.get("track_name") != null;
+        if (hasIndex == hasName) {
+            throw new IllegalArgumentException("Exactly one of 'track_index' or 'track_name' is required");
+        }
+
+        Integer trackIndex = null;
+        String trackName = null;
+        if (hasIndex) {
+            trackIndex = ParameterValidator.validateRequiredInteger(arguments, "track_index", operation);
+            ParameterValidator.validateRange(trackIndex, 0, Integer.MAX_VALUE, "track_index", operation);
+        } else {
+            trackName = ParameterValidator.validateRequiredString(arguments, "track_name", operation);
+            trackName = ParameterValidator.validateNotEmpty(trackName, "track_name", operation);
+        }
+
+        int deviceIndex = ParameterValidator.validateRequiredInteger(arguments, "device_index", operation);
+        ParameterValidator.validateRange(deviceIndex, 0, Integer.MAX_VALUE, "device_index", operation);
+        return new LeaseArguments(trackIndex, trackName, deviceIndex);
+    }
+
+    /**
+     * Parses the lease id shared by the tools that use a lease.
+     */
+    private static long parseLeaseId(Map<String, Object> arguments, String operation) {
+        Object leaseIdObj = ParameterValidator.validateRequired(arguments, "lease_id", operation);
+        if (!(leaseIdObj instanceof Number number) || number.doubleValue() != number.longValue() || number.longValue() < 1) {
+            throw new IllegalArgumentException("'lease_id' must be a positive integer");
+        }
+        return number.longValue();
+    }
+
+    /**
+     * Parses the arguments of the set_leased_device_parameters tool.
+     */
+    @SuppressWarnings("unchecked")
+    private static SetArguments parseSetArguments(Map<String, Object> arguments, String operation) {
+        long leaseId = parseLeaseId(arguments, operation);
+
+        Object parametersObj = ParameterValidator.validateRequired(arguments, "parameters", operation);
+        if (!(parametersObj instanceof List<?> parameters)) {
+            throw new IllegalArgumentException("'parameters' must be an array");
+        }
+        if (parameters.isEmpty()) {
+            throw new IllegalArgumentException("'parameters' array cannot be empty");
+        }
+
+        List<ParameterSetting> settings = new ArrayList<>(parameters.size());
+        Set<Integer> seenIndices = new HashSet<>();
+        for (Object parameterObj : parameters) {
+            if (!(parameterObj instanceof Map)) {
+                throw new IllegalArgumentException("Each parameter must be an object");
+            }
+            Map<String, Object> parameter = (Map<String, Object>) parameterObj;
+            int parameterIndex = ParameterValidator.validateRequiredInteger(parameter, "parameter_index", operation);
+            ParameterValidator.validateParameterIndex(parameterIndex, DEVICE_PARAMETER_COUNT, operation);
+            double value = ParameterValidator.validateRequiredDouble(parameter, "value", operation);
+            ParameterValidator.validateParameterValue(value, operation);
+            if (!seenIndices.add(parameterIndex)) {
+                throw new IllegalArgumentException("Duplicate parameter_index " + parameterIndex);
+            }
+            settings.add(new ParameterSetting(parameterIndex, value));
+        }
+        return new SetArguments(leaseId, settings);
+    }
+
+    /**
+     * Record to hold validated parameters for the lease_device_cursor tool.
+     */
+    private record LeaseArguments(Integer trackIndex, String trackName, int deviceIndex) {}
+
+    /**
+     * Record to hold validated parameters for the set_leased_device_parameters tool.
+     */
+    private record SetArguments(long leaseId, List<ParameterSetting> settings) {}
+}
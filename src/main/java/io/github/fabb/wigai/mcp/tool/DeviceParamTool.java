@@ -1,6 +1,6 @@
 package io.github.fabb.wigai.mcp.tool;
 
-import io.github.fabb.wigai.common.data.ParameterInfo;
+import io.github.fabb.wigai.bitwig.ParameterWriteTracker;
 import io.github.fabb.wigai.common.data.ParameterSetting;
 import io.github.fabb.wigai.common.data.ParameterSettingResult;
 import io.github.fabb.wigai.common.logging.StructuredLogger;
@@ -27,6 +27,9 @@ public class DeviceParamTool {
     private static final String GET_PARAMETERS_TOOL = "get_selected_device_parameters";
     private static final String SET_PARAMETER_TOOL = "set_selected_device_parameter";
     private static final String SET_MULTIPLE_PARAMETERS_TOOL = "set_selected_device_parameters";
+    private static final String FIND_PARAMETER_TOOL = "find_device_parameter";
+    private static final int DEFAULT_CONFIRM_TIMEOUT_MS = 500;
+    private static final int MAX_CONFIRM_TIMEOUT_MS = 5000;
 
     /**
      * Creates a "get_selected_device_parameters" tool specification.
@@ -58,16 +61,7 @@ public class DeviceParamTool {
                         DeviceController.DeviceParametersResult result = deviceController.getSelectedDeviceParameters();
                         Map<String, Object> responseData = new LinkedHashMap<>();
                         responseData.put("device_name", result.deviceName());
-                        List<Map<String, Object>> parametersArray = new ArrayList<>();
-                        for (ParameterInfo param : result.parameters()) {
-                            Map<String, Object> paramMap = new LinkedHashMap<>();
-                            paramMap.put("index", param.index());
-                            paramMap.put("name", param.name());
-                            paramMap.put("value", param.value());
-                            paramMap.put("display_value", param.display_value());
-                            parametersArray.add(paramMap);
-                        }
-                        responseData.put("parameters", parametersArray);
+                        responseData.put("parameters", result.parameters());
                         return responseData;
                     }
                 }
@@ -102,6 +96,20 @@ public class DeviceParamTool {
                   "minimum": 0.0,
                   "maximum": 1.0,
                   "description": "The value to set (0.0-1.0)"
+                },
+                "confirm": {
+                  "type": "boolean",
+                  "description": "Wait until Bitwig reports the applied value and return it with its displayed_value, instead of echoing the requested value. A stepped parameter that already holds the step the value snaps to is confirmed right away (default: false)"
+                },
+                "confirm_timeout_ms": {
+                  "type": "integer",
+                  "minimum": 1,
+                  "maximum": 5000,
+                  "description": "How long to wait for the applied value when confirm is true (default: 500)"
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
                 }
               },
               "required": ["parameter_index", "value"]
@@ -113,23 +121,32 @@ public class DeviceParamTool {
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+            (exchange, req) -> McpErrorHandler.executeIdempotent(SET_PARAMETER_TOOL, req.arguments(), () -> McpErrorHandler.executeWithErrorHandling(
                 SET_PARAMETER_TOOL,
                 logger,
                 new McpErrorHandler.ToolOperation() {
                     @Override
                     public Object execute() throws Exception {
                         SetParameterArguments args = parseSetParameterArguments(req.arguments());
-                        deviceController.setSelectedDeviceParameter(args.parameterIndex(), args.value());
-                        return Map.of(
-                            "action", "parameter_set",
-                            "parameter_index", args.parameterIndex(),
-                            "new_value", args.value(),
-                            "message", "Parameter " + args.parameterIndex() + " set to " + args.value() + "."
-                        );
+                        if (args.confirmTimeoutMs() == 0) {
+                            deviceController.setSelectedDeviceParameter(args.parameterIndex(), args.value());
+                            return Map.of(
+                                "action", "parameter_set",
+                                "parameter_index", args.parameterIndex(),
+                                "new_value", args.value(),
+                                "message", "Parameter " + args.parameterIndex() + " set to " + args.value() + "."
+                            );
+                        }
+
+                        // Write in the host task, but wait for the applied value after it has returned
+                        ParameterWriteTracker.Pending pending = deviceController.writeSelectedDeviceParameter(
+                            args.parameterIndex(), args.value());
+                        return (McpErrorHandler.Continuation) () -> confirmedParameterResponse(
+                            args, deviceController.confirmSelectedDeviceParameterWrite(
+                                args.parameterIndex(), args.value(), pending, args.confirmTimeoutMs()));
                     }
                 }
-            );
+            ));
 
         return McpServerFeatures.SyncToolSpecification.builder()
             .tool(tool)
@@ -159,7 +176,11 @@ public class DeviceParamTool {
                       "parameter_index": {
                         "type": "integer",
                         "minimum": 0,
-                        "description": "The index of the parameter to set (0-based)"
+                        "description": "The index of the parameter on the shown remote control page (0-based)"
+                      },
+                      "parameter_name": {
+                        "type": "string",
+                        "description": "The parameter name, matched case-insensitively on any remote control page without changing the shown page. Used instead of parameter_index."
                       },
                       "value": {
                         "type": "number",
@@ -168,48 +189,100 @@ public class DeviceParamTool {
                         "description": "The value to set (0.0-1.0)"
                       }
                     },
-                    "required": ["parameter_index", "value"]
+                    "required": ["value"]
                   },
                   "description": "List of parameter settings to apply"
+                },
+                "confirm": {
+                  "type": "boolean",
+                  "description": "Wait until Bitwig reports the applied value and return it with its displayed_value, instead of echoing the requested value. A stepped parameter that already holds the step the value snaps to is confirmed right away (default: false)"
+                },
+                "confirm_timeout_ms": {
+                  "type": "integer",
+                  "minimum": 1,
+                  "maximum": 5000,
+                  "description": "How long to wait for the applied value when confirm is true (default: 500)"
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
                 }
               },
               "required": ["parameters"]
             }""";
         var tool = McpSchema.Tool.builder()
             .name(SET_MULTIPLE_PARAMETERS_TOOL)
-            .description("Set multiple parameter values (by index) of the user-selected device in Bitwig simultaneously.")
+            .description("Set multiple parameter values of the user-selected device in Bitwig simultaneously. " +
+                "Each entry addresses a parameter by parameter_index or by parameter_name, so no prior lookup of indices is needed.")
             .inputSchema(schema)
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+            (exchange, req) -> McpErrorHandler.executeIdempotent(SET_MULTIPLE_PARAMETERS_TOOL, req.arguments(), () -> McpErrorHandler.executeWithErrorHandling(
                 SET_MULTIPLE_PARAMETERS_TOOL,
                 logger,
                 new McpErrorHandler.ToolOperation() {
                     @Override
                     public Object execute() throws Exception {
                         SetMultipleParametersArguments args = parseSetMultipleParametersArguments(req.arguments());
-                        List<ParameterSettingResult> results = deviceController.setMultipleSelectedDeviceParameters(args.parameters());
-                        List<Map<String, Object>> resultsArray = new ArrayList<>();
-                        for (ParameterSettingResult result : results) {
-                            Map<String, Object> resultMap = new LinkedHashMap<>();
-                            resultMap.put("parameter_index", result.parameter_index());
-                            resultMap.put("status", result.status());
-                            if ("success".equals(result.status())) {
-                                resultMap.put("new_value", result.new_value());
-                            } else {
-                                resultMap.put("error_code", result.error_code());
-                                resultMap.put("message", result.message());
-                            }
-                            resultsArray.add(resultMap);
+                        if (args.confirmTimeoutMs() == 0) {
+                            return batchResponse(deviceController.setMultipleSelectedDeviceParameters(args.parameters(), 0));
                         }
-                        long successCount = results.stream().filter(r -> "success".equals(r.status())).count();
-                        long errorCount = results.size() - successCount;
-                        return Map.of(
-                            "action", "multiple_parameters_set",
-                            "results", resultsArray,
-                            "message", "Batch operation completed: " + successCount + " succeeded, " + errorCount + " failed"
-                        );
+
+                        // Write in the host task, but wait for the applied values after it has returned
+                        DeviceController.ParameterWrites writes = deviceController.writeSelectedDeviceParameters(args.parameters(), true);
+                        return (McpErrorHandler.Continuation) () -> batchResponse(
+                            deviceController.confirmSelectedDeviceParameterWrites(writes, args.confirmTimeoutMs()));
+                    }
+                }
+            ));
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "find_device_parameter" tool specification.
+     *
+     * @param deviceController The controller for device operations
+     * @param logger           The structured logger for logging operations
+     * @return A SyncToolSpecification for the "find_device_parameter" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification findDeviceParameterSpecification(
+            DeviceController deviceController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "name": {
+                  "type": "string",
+                  "description": "The parameter name to look for, case-insensitive. Exact names rank above partial matches."
+                },
+                "select_page": {
+                  "type": "boolean",
+                  "description": "Whether to show the remote control page of the best match, so that its parameter_index can be used with set_selected_device_parameter (default: true)"
+                }
+              },
+              "required": ["name"]
+            }""";
+        var tool = McpSchema.Tool.builder()
+            .name(FIND_PARAMETER_TOOL)
+            .description("Find a parameter of the user-selected device by name across all of its remote control pages. " +
+                "Returns the page and parameter_index of each match and switches to the page of the best match only if it is not already shown.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+                FIND_PARAMETER_TOOL,
+                logger,
+                new McpErrorHandler.ToolOperation() {
+                    @Override
+                    public Object execute() throws Exception {
+                        FindParameterArguments args = parseFindParameterArguments(req.arguments());
+                        return deviceController.findSelectedDeviceParameter(args.name(), args.selectPage());
                     }
                 }
             );
@@ -220,6 +293,52 @@ public class DeviceParamTool {
             .build();
     }
 
+    /**
+     * Builds the response of a confirmed single parameter write.
+     */
+    private static Map<String, Object> confirmedParameterResponse(SetParameterArguments args, ParameterWriteTracker.Applied applied) {
+        Map<String, Object> responseData = new LinkedHashMap<>();
+        responseData.put("action", "parameter_set");
+        responseData.put("parameter_index", args.parameterIndex());
+        responseData.put("new_value", applied.value());
+        responseData.put("displayed_value", applied.displayedValue());
+        responseData.put("confirmed", applied.confirmed());
+        responseData.put("message", applied.confirmed()
+            ? "Parameter " + args.parameterIndex() + " set to " + applied.value() + "."
+            : "Parameter " + args.parameterIndex() + " set to " + args.value()
+                + ", but Bitwig did not report the applied value within " + args.confirmTimeoutMs() + " ms.");
+        return responseData;
+    }
+
+    /**
+     * Builds the response of a parameter batch.
+     */
+    private static Map<String, Object> batchResponse(List<ParameterSettingResult> results) {
+        long successCount = results.stream().filter(r -> "success".equals(r.status())).count();
+        long errorCount = results.size() - successCount;
+        return Map.of(
+            "action", "multiple_parameters_set",
+            "results", results,
+            "message", "Batch operation completed: " + successCount + " succeeded, " + errorCount + " failed"
+        );
+    }
+
+    /**
+     * Parses the arguments for finding a parameter by name.
+     */
+    private static FindParameterArguments parseFindParameterArguments(Map<String, Object> arguments) {
+        String name = ParameterValidator.validateRequiredString(arguments, "name", FIND_PARAMETER_TOOL);
+        name = ParameterValidator.validateNotEmpty(name, "name", FIND_PARAMETER_TOOL);
+
+        boolean selectPage = true;
+        Object selectPageObj = arguments.get("select_page");
+        if (selectPageObj != null) {
+            selectPage = ParameterValidator.validateType(selectPageObj, Boolean.class, "select_page", FIND_PARAMETER_TOOL);
+        }
+
+        return new FindParameterArguments(name, selectPage);
+    }
+
     /**
      * Parses the arguments for setting a single parameter.
      */
@@ -229,7 +348,24 @@ public class DeviceParamTool {
         double value = ParameterValidator.validateRequiredDouble(arguments, "value", SET_PARAMETER_TOOL);
         value = ParameterValidator.validateParameterValue(value, SET_PARAMETER_TOOL);
 
-        return new SetParameterArguments(parameterIndex, value);
+        return new SetParameterArguments(parameterIndex, value, parseConfirmTimeout(arguments, SET_PARAMETER_TOOL));
+    }
+
+    /**
+     * Parses the optional confirm and confirm_timeout_ms arguments.
+     *
+     * @return The confirmation timeout in milliseconds, 0 if the write is not to be confirmed
+     */
+    private static long parseConfirmTimeout(Map<String, Object> arguments, String operation) {
+        Object confirmObj = arguments.get("confirm");
+        if (confirmObj == null || !ParameterValidator.validateType(confirmObj, Boolean.class, "confirm", operation)) {
+            return 0;
+        }
+        if (arguments.get("confirm_timeout_ms") == null) {
+            return DEFAULT_CONFIRM_TIMEOUT_MS;
+        }
+        int timeoutMs = ParameterValidator.validateRequiredInteger(arguments, "confirm_timeout_ms", operation);
+        return ParameterValidator.validateRange(timeoutMs, 1, MAX_CONFIRM_TIMEOUT_MS, "confirm_timeout_ms", operation);
     }
 
     /**
@@ -256,15 +392,20 @@ public class DeviceParamTool {
 
             Map<String, Object> paramMap = (Map<String, Object>) paramObj;
 
-            int parameterIndex = ParameterValidator.validateRequiredInteger(paramMap, "parameter_index", SET_MULTIPLE_PARAMETERS_TOOL);
-
             double value = ParameterValidator.validateRequiredDouble(paramMap, "value", SET_MULTIPLE_PARAMETERS_TOOL);
             value = ParameterValidator.validateParameterValue(value, SET_MULTIPLE_PARAMETERS_TOOL);
 
-            parameterSettings.add(new ParameterSetting(parameterIndex, value));
+            if (paramMap.get("parameter_name") != null) {
+                String parameterName = ParameterValidator.validateRequiredString(paramMap, "parameter_name", SET_MULTIPLE_PARAMETERS_TOOL);
+                parameterName = ParameterValidator.validateNotEmpty(parameterName, "parameter_name", SET_MULTIPLE_PARAMETERS_TOOL);
+                parameterSettings.add(ParameterSetting.byName(parameterName.trim(), value));
+            } else {
+                int parameterIndex = ParameterValidator.validateRequiredInteger(paramMap, "parameter_index", SET_MULTIPLE_PARAMETERS_TOOL);
+                parameterSettings.add(new ParameterSetting(parameterIndex, value));
+            }
         }
 
-        return new SetMultipleParametersArguments(parameterSettings);
+        return new SetMultipleParametersArguments(parameterSettings, parseConfirmTimeout(arguments, SET_MULTIPLE_PARAMETERS_TOOL));
     }
 
     /**
@@ -272,13 +413,23 @@ public class DeviceParamTool {
      */
     public record SetParameterArguments(
         @JsonProperty("parameter_index") int parameterIndex,
-        @JsonProperty("value") double value
+        @JsonProperty("value") double value,
+        @JsonProperty("confirm_timeout_ms") long confirmTimeoutMs
+    ) {}
+
+    /**
+     * Data record for validated find parameter arguments.
+     */
+    public record FindParameterArguments(
+        @JsonProperty("name") String name,
+        @JsonProperty("select_page") boolean selectPage
     ) {}
 
     /**
      * Data record for validated set multiple parameters arguments.
      */
     public record SetMultipleParametersArguments(
-        @JsonProperty("parameters") List<ParameterSetting> parameters
+        @JsonProperty("parameters") List<ParameterSetting> parameters,
+        @JsonProperty("confirm_timeout_ms") long confirmTimeoutMs
     ) {}
 }
@@ -88,7 +88,7 @@ public class GetDeviceDetailsTool {
                             args.getForSelectedDevice()
                         );
 
-                        return result.toMap();
+                        return result;
                     }
                 }
             );
@@ -1,15 +1,20 @@
 package io.github.fabb.wigai.mcp.tool;
 
 import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.ProjectStateVersions;
+import io.github.fabb.wigai.bitwig.TrackAddress;
 import io.github.fabb.wigai.common.error.BitwigApiException;
 import io.github.fabb.wigai.common.error.ErrorCode;
 import io.github.fabb.wigai.common.logging.StructuredLogger;
 import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.github.fabb.wigai.mcp.ResponseCache;
 import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 /**
@@ -20,8 +25,11 @@ public class GetTrackDetailsTool {
 
     private static final String TOOL_NAME = "get_track_details";
 
+    // Details include channel controls, sends and clip slots labelled with scene names
+    private static final Set<ProjectStateVersions.Domain> STATE = EnumSet.allOf(ProjectStateVersions.Domain.class);
+
     /**
-     * Creates a "get_track_details" tool specification using the unified error handling system.
+     * Creates a "get_track_details" tool specification without response caching.
      *
      * @param bitwigApiFacade The BitwigApiFacade for track operations
      * @param logger          The structured logger for logging operations
@@ -29,6 +37,19 @@ public class GetTrackDetailsTool {
      */
     public static McpServerFeatures.SyncToolSpecification specification(
             BitwigApiFacade bitwigApiFacade, StructuredLogger logger) {
+        return specification(bitwigApiFacade, ResponseCache.disabled(), logger);
+    }
+
+    /**
+     * Creates a "get_track_details" tool specification using the unified error handling system.
+     *
+     * @param bitwigApiFacade The BitwigApiFacade for track operations
+     * @param responseCache   The cache answering repeated calls between project changes
+     * @param logger          The structured logger for logging operations
+     * @return A SyncToolSpecification for the "get_track_details" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification specification(
+            BitwigApiFacade bitwigApiFacade, ResponseCache responseCache, StructuredLogger logger) {
 
         var schema = """
             {
@@ -37,11 +58,16 @@ public class GetTrackDetailsTool {
                 "track_index": {
                   "type": "integer",
                   "minimum": 0,
-                  "description": "0-based index of the track"
+                  "description": "0-based index of the track within its kind"
+                },
+                "track_kind": {
+                  "type": "string",
+                  "enum": ["track", "effect", "master"],
+                  "description": "The kind of track that track_index counts in, as listed by list_tracks (default: track)"
                 },
                 "track_name": {
                   "type": "string",
-                  "description": "Name of the track (case-sensitive)"
+                  "description": "Name of the track (case-sensitive). Also finds effect tracks and the master track."
                 },
                 "get_selected": {
                   "type": "boolean",
@@ -53,31 +79,36 @@ public class GetTrackDetailsTool {
 
         var tool = McpSchema.Tool.builder()
             .name(TOOL_NAME)
-            .description("Retrieve detailed information for a specific track by index, name, or the currently selected track.")
+            .description("Retrieve detailed information for a specific track by kind and index, name, or the currently selected track.")
             .inputSchema(schema)
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithValidation(
+            (exchange, req) -> responseCache.execute(
                 TOOL_NAME,
                 req.arguments(),
-                logger,
-                GetTrackDetailsTool::validateParameters,
-                (validated) -> switch (validated.target()) {
-                    case INDEX -> bitwigApiFacade.getTrackDetailsByIndex(validated.trackIndex());
-                    case NAME -> bitwigApiFacade.getTrackDetailsByName(validated.trackName());
-                    case SELECTED -> {
-                        Map<String, Object> details = bitwigApiFacade.getSelectedTrackDetails();
-                        if (details == null) {
-                            throw new BitwigApiException(
-                                ErrorCode.TRACK_NOT_FOUND,
-                                TOOL_NAME,
-                                "No track is currently selected"
-                            );
+                STATE,
+                () -> McpErrorHandler.executeWithValidation(
+                    TOOL_NAME,
+                    req.arguments(),
+                    logger,
+                    GetTrackDetailsTool::validateParameters,
+                    (validated) -> switch (validated.target()) {
+                        case INDEX -> bitwigApiFacade.getTrackDetails(new TrackAddress(validated.trackKind(), validated.trackIndex()));
+                        case NAME -> bitwigApiFacade.getTrackDetailsByName(validated.trackName());
+                        case SELECTED -> {
+                            Map<String, Object> details = bitwigApiFacade.getSelectedTrackDetails();
+                            if (details == null) {
+                                throw new BitwigApiException(
+                                    ErrorCode.TRACK_NOT_FOUND,
+                                    TOOL_NAME,
+                                    "No track is currently selected"
+                                );
+                            }
+                            yield details;
                         }
-                        yield details;
                     }
-                }
+                )
             );
 
         return McpServerFeatures.SyncToolSpecification.builder()
@@ -88,11 +119,11 @@ public class GetTrackDetailsTool {
 
     private enum Target { INDEX, NAME, SELECTED }
 
-    private record ValidatedParams(Target target, int trackIndex, String trackName) {}
+    private record ValidatedParams(Target target, TrackAddress.Kind trackKind, int trackIndex, String trackName) {}
 
     /**
-     * Validates that exactly one of track_index, track_name, or get_selected is provided.
-     * If none are provided, defaults to SELECTED.
+     * Validates that exactly one of track_index, track_name, or get_selected is provided,
+     * and that track_kind only comes with track_index. If none are provided, defaults to SELECTED.
      */
     static ValidatedParams validateParameters(Map<String, Object> arguments, String operation) {
         boolean hasIndex = arguments.containsKey("track_index");
@@ -103,10 +134,13 @@ public class GetTrackDetailsTool {
         if (provided > 1) {
             throw new IllegalArgumentException("Provide exactly one of 'track_index', 'track_name', or 'get_selected'");
         }
+        if (arguments.containsKey("track_kind") && !hasIndex) {
+            throw new IllegalArgumentException("Parameter 'track_kind' only applies to 'track_index'");
+        }
 
         // Default behavior: if none provided, act as get_selected=true
         if (provided == 0) {
-            return new ValidatedParams(Target.SELECTED, -1, null);
+            return new ValidatedParams(Target.SELECTED, TrackAddress.Kind.TRACK, -1, null);
         }
 
         if (hasIndex) {
@@ -118,7 +152,14 @@ public class GetTrackDetailsTool {
             if (index < 0) {
                 throw new IllegalArgumentException("Parameter 'track_index' must be >= 0");
             }
-            return new ValidatedParams(Target.INDEX, index, null);
+            TrackAddress.Kind kind = TrackAddress.Kind.TRACK;
+            if (arguments.containsKey("track_kind")) {
+                if (!(arguments.get("track_kind") instanceof String kindName)) {
+                    throw new IllegalArgumentException("Parameter 'track_kind' must be a string");
+                }
+                kind = TrackAddress.Kind.fromName(kindName);
+            }
+            return new ValidatedParams(Target.INDEX, kind, index, null);
         }
 
         if (hasName) {
@@ -130,7 +171,7 @@ public class GetTrackDetailsTool {
             if (name.isEmpty()) {
                 throw new IllegalArgumentException("Parameter 'track_name' cannot be empty");
             }
-            return new ValidatedParams(Target.NAME, -1, name);
+            return new ValidatedParams(Target.NAME, TrackAddress.Kind.TRACK, -1, name);
         }
 
         // get_selected path
@@ -141,9 +182,9 @@ public class GetTrackDetailsTool {
                 // Explicit false is invalid (no target specified)
                 throw new IllegalArgumentException("If 'get_selected' is provided, it must be true");
             }
-            return new ValidatedParams(Target.SELECTED, -1, null);
+            return new ValidatedParams(Target.SELECTED, TrackAddress.Kind.TRACK, -1, null);
         } else if (selObj == null) {
-            return new ValidatedParams(Target.SELECTED, -1, null);
+            return new ValidatedParams(Target.SELECTED, TrackAddress.Kind.TRACK, -1, null);
         } else {
             throw new IllegalArgumentException("Parameter 'get_selected' must be a boolean");
         }
@@ -0,0 +1,121 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.validation.ParameterValidator;
+import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * MCP tool for listing the clips on the arranger timeline within a time range.
+ */
+public class ListArrangerClipsTool {
+
+    private static final String TOOL_NAME = "list_arranger_clips";
+
+    /**
+     * Creates a "list_arranger_clips" tool specification.
+     *
+     * @param bitwigApiFacade The BitwigApiFacade providing the arranger clip index
+     * @param logger          The structured logger for logging operations
+     * @return A SyncToolSpecification for the "list_arranger_clips" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification specification(
+            BitwigApiFacade bitwigApiFacade, StructuredLogger logger) {
+
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "start": {
+                  "type": "number",
+                  "minimum": 0,
+                  "description": "Range start in beats (quarter notes) from the project start (default: 0)"
+                },
+                "end": {
+                  "type": "number",
+                  "minimum": 0,
+                  "description": "Range end in beats (default: end of the arrangement)"
+                },
+                "track_name": {
+                  "type": "string",
+                  "description": "Optional track to restrict the result to"
+                }
+              },
+              "additionalProperties": false
+            }""";
+
+        var tool = McpSchema.Tool.builder()
+            .name(TOOL_NAME)
+            .description("List arranger clips overlapping a time range, with track, start, end and length in beats. " +
+                "Bitwig only reports the position of the clip selected in the arranger, so the index contains the clips " +
+                "that have been selected since the extension started. Only the clip currently selected has " +
+                "'last_observed' true; other entries were seen earlier and may be stale if those clips were moved or " +
+                "deleted since. Inserting, removing or reordering tracks resets the index.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeWithValidation(
+                TOOL_NAME,
+                req.arguments(),
+                logger,
+                ListArrangerClipsTool::validateParameters,
+                (params) -> {
+                    List<Map<String, Object>> clips = bitwigApiFacade.getArrangerClips(params.start(), params.end(), params.trackName());
+                    Map<String, Object> response = new LinkedHashMap<>();
+                    response.put("indexed_clip_count", bitwigApiFacade.getIndexedArrangerClipCount());
+                    response.put("clip_count", clips.size());
+                    response.put("clips", clips);
+                    return response;
+                }
+            );
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Validates the parameters for the list_arranger_clips tool.
+     *
+     * @param arguments The raw arguments map
+     * @param operation The operation name for error context
+     * @return Validated parameters
+     */
+    private static ValidatedParams validateParameters(Map<String, Object> arguments, String operation) {
+        double start = 0.0;
+        if (arguments.get("start") != null) {
+            start = ParameterValidator.validateRequiredDouble(arguments, "start", operation);
+            ParameterValidator.validateRange(start, 0.0, Double.MAX_VALUE, "start", operation);
+        }
+
+        double end = Double.POSITIVE_INFINITY;
+        if (arguments.get("end") != null) {
+            end = ParameterValidator.validateRequiredDouble(arguments, "end", operation);
+            ParameterValidator.validateRange(end, start, Double.MAX_VALUE, "end", operation);
+        }
+
+        String trackName = null;
+        if (arguments.get("track_name") != null) {
+            trackName = ParameterValidator.validateRequiredString(arguments, "track_name", operation);
+            trackName = ParameterValidator.validateNotEmpty(trackName, "track_name", operation);
+        }
+
+        return new ValidatedParams(start, end, trackName);
+    }
+
+    /**
+     * Record to hold validated parameters for the list_arranger_clips tool.
+     */
+    private record ValidatedParams(double start, double end, String trackName) {}
+}
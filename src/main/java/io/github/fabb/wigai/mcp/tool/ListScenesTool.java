@@ -1,14 +1,18 @@
 package io.github.fabb.wigai.mcp.tool;
 
 import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.ProjectStateVersions;
 import io.github.fabb.wigai.common.logging.StructuredLogger;
 import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.github.fabb.wigai.mcp.ResponseCache;
 import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
 
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 /**
@@ -16,8 +20,10 @@ import java.util.function.BiFunction;
  */
 public class ListScenesTool {
 
+    private static final Set<ProjectStateVersions.Domain> STATE = EnumSet.of(ProjectStateVersions.Domain.SCENES);
+
     /**
-     * Creates a "list_scenes" tool specification using the unified error handling system.
+     * Creates a "list_scenes" tool specification without response caching.
      *
      * @param bitwigApiFacade The BitwigApiFacade for scene operations
      * @param logger The structured logger for logging operations
@@ -25,6 +31,19 @@ public class ListScenesTool {
      */
     public static McpServerFeatures.SyncToolSpecification specification(
             BitwigApiFacade bitwigApiFacade, StructuredLogger logger) {
+        return specification(bitwigApiFacade, ResponseCache.disabled(), logger);
+    }
+
+    /**
+     * Creates a "list_scenes" tool specification using the unified error handling system.
+     *
+     * @param bitwigApiFacade The BitwigApiFacade for scene operations
+     * @param responseCache The cache answering repeated calls between project changes
+     * @param logger The structured logger for logging operations
+     * @return A SyncToolSpecification for the "list_scenes" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification specification(
+            BitwigApiFacade bitwigApiFacade, ResponseCache responseCache, StructuredLogger logger) {
 
         var schema = """
             {
@@ -40,12 +59,17 @@ public class ListScenesTool {
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithValidation(
+            (exchange, req) -> responseCache.execute(
                 "list_scenes",
                 req.arguments(),
-                logger,
-                ListScenesTool::validateParameters,
-                (validatedParams) -> bitwigApiFacade.getAllScenesInfo()
+                STATE,
+                () -> McpErrorHandler.executeWithValidation(
+                    "list_scenes",
+                    req.arguments(),
+                    logger,
+                    ListScenesTool::validateParameters,
+                    (validatedParams) -> bitwigApiFacade.getAllScenesInfo()
+                )
             );
 
         return McpServerFeatures.SyncToolSpecification.builder()
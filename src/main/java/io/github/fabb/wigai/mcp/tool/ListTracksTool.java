@@ -1,25 +1,36 @@
 package io.github.fabb.wigai.mcp.tool;
 
 import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.ProjectStateVersions;
+import io.github.fabb.wigai.common.filter.TrackFilter;
 import io.github.fabb.wigai.common.logging.StructuredLogger;
 import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.github.fabb.wigai.mcp.ResponseCache;
 import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 /**
  * MCP tool for listing all tracks in the current project with summary information.
- * Supports optional filtering by track type.
+ * Supports optional filtering by track type and by a filter expression.
  */
 public class ListTracksTool {
 
+    private static final Set<ProjectStateVersions.Domain> STATE = EnumSet.of(ProjectStateVersions.Domain.TRACKS);
+
+    // A 'where' filter may test channel states, so its results also depend on the mixer
+    private static final Set<ProjectStateVersions.Domain> FILTERED_STATE =
+        EnumSet.of(ProjectStateVersions.Domain.TRACKS, ProjectStateVersions.Domain.MIXER);
+
     /**
-     * Creates a "list_tracks" tool specification using the unified error handling system.
+     * Creates a "list_tracks" tool specification without response caching.
      *
      * @param bitwigApiFacade The BitwigApiFacade for track operations
      * @param logger The structured logger for logging operations
@@ -27,6 +38,19 @@ public class ListTracksTool {
      */
     public static McpServerFeatures.SyncToolSpecification specification(
             BitwigApiFacade bitwigApiFacade, StructuredLogger logger) {
+        return specification(bitwigApiFacade, ResponseCache.disabled(), logger);
+    }
+
+    /**
+     * Creates a "list_tracks" tool specification using the unified error handling system.
+     *
+     * @param bitwigApiFacade The BitwigApiFacade for track operations
+     * @param responseCache The cache answering repeated calls between project changes
+     * @param logger The structured logger for logging operations
+     * @return A SyncToolSpecification for the "list_tracks" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification specification(
+            BitwigApiFacade bitwigApiFacade, ResponseCache responseCache, StructuredLogger logger) {
 
         var schema = """
             {
@@ -36,6 +60,10 @@ public class ListTracksTool {
                   "type": "string",
                   "description": "Optional filter by track type (e.g., 'audio', 'instrument', 'group', 'effect', 'master')",
                   "enum": ["audio", "instrument", "group", "effect", "master", "hybrid"]
+                },
+                "where": {
+                  "type": "string",
+                  "description": "Optional filter expression, e.g. 'type=audio and muted and name~\\"Drum\\"'. Fields: name, type, kind (=, !=, ~ for case-insensitive contains), index, volume, pan (=, !=, <, <=, >, >=); index counts within the kind, e.g. 'kind=effect and index=0'. Flags: muted, soloed, armed, activated, group, selected. Combine with and, or, not and parentheses."
                 }
               },
               "additionalProperties": false
@@ -43,17 +71,22 @@ public class ListTracksTool {
 
         var tool = McpSchema.Tool.builder()
             .name("list_tracks")
-            .description("List all tracks in the current project with summary information (name, type, selection state, parent group, basic device list). Supports optional filtering by track type.")
+            .description("List all tracks in the current project with summary information (name, type, selection state, parent group, basic device list). Effect tracks and the master track are listed after the other tracks; every track has a kind (track, effect or master) and an index within that kind, which together address it in get_track_details, execute_script and set_sends. Supports optional filtering by track type and by a 'where' filter expression.")
             .inputSchema(schema)
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithValidation(
+            (exchange, req) -> responseCache.execute(
                 "list_tracks",
                 req.arguments(),
-                logger,
-                ListTracksTool::validateParameters,
-                (validatedParams) -> bitwigApiFacade.getAllTracksInfo(validatedParams.typeFilter())
+                req.arguments() != null && req.arguments().get("where") != null ? FILTERED_STATE : STATE,
+                () -> McpErrorHandler.executeWithValidation(
+                    "list_tracks",
+                    req.arguments(),
+                    logger,
+                    ListTracksTool::validateParameters,
+                    (validatedParams) -> bitwigApiFacade.getAllTracksInfo(validatedParams.typeFilter(), validatedParams.where())
+                )
             );
 
         return McpServerFeatures.SyncToolSpecification.builder()
@@ -93,11 +126,24 @@ public class ListTracksTool {
             }
         }
 
-        return new ValidatedParams(typeFilter);
+        TrackFilter where = null;
+        if (arguments.containsKey("where")) {
+            Object whereObj = arguments.get("where");
+            if (whereObj instanceof String whereExpression) {
+                // Compile once up front so that syntax errors are reported before any track is read
+                if (!whereExpression.trim().isEmpty()) {
+                    where = TrackFilter.compile(whereExpression.trim());
+                }
+            } else if (whereObj != null) {
+                throw new IllegalArgumentException("Parameter 'where' must be a string");
+            }
+        }
+
+        return new ValidatedParams(typeFilter, where);
     }
 
     /**
      * Record to hold validated parameters for the list_tracks tool.
      */
-    private record ValidatedParams(String typeFilter) {}
+    private record ValidatedParams(String typeFilter, TrackFilter where) {}
 }
@@ -0,0 +1,338 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.TrackAddress;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.validation.ParameterValidator;
+import io.github.fabb.wigai.features.MixerController;
+import io.github.fabb.wigai.features.MixerController.SendLevel;
+import io.github.fabb.wigai.features.MixerSnapshotController;
+import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * MCP tools for reading the mixer state of all tracks in the project,
+ * for capturing and recalling mixer snapshots and for setting send levels in bulk.
+ */
+public class MixerTool {
+
+    private static final String GET_MIXER_SNAPSHOT_TOOL = "get_mixer_snapshot";
+    private static final String CAPTURE_MIXER_SNAPSHOT_TOOL = "capture_mixer_snapshot";
+    private static final String RECALL_MIXER_SNAPSHOT_TOOL = "recall_mixer_snapshot";
+    private static final String SET_SENDS_TOOL = "set_sends";
+
+    /**
+     * Creates a "get_mixer_snapshot" tool specification.
+     *
+     * @param bitwigApiFacade The BitwigApiFacade providing the mixer state store
+     * @param logger          The structured logger for logging operations
+     * @return A SyncToolSpecification for the "get_mixer_snapshot" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification getMixerSnapshotSpecification(
+            BitwigApiFacade bitwigApiFacade, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {},
+              "additionalProperties": false
+            }""";
+        var tool = McpSchema.Tool.builder()
+            .name(GET_MIXER_SNAPSHOT_TOOL)
+            .description("Get the mixer state (volume, pan, mute, solo, arm and send levels) of all tracks in one compact, columnar response. " +
+                "Each array is indexed by track position; volume, pan and sends are normalized values (0.0-1.0).")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+                GET_MIXER_SNAPSHOT_TOOL,
+                logger,
+                bitwigApiFacade::getMixerState
+            );
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "capture_mixer_snapshot" tool specification.
+     *
+     * @param snapshotController The controller managing the mixer snapshot store
+     * @param logger             The structured logger for logging operations
+     * @return A SyncToolSpecification for the "capture_mixer_snapshot" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification captureMixerSnapshotSpecification(
+            MixerSnapshotController snapshotController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "name": {
+                  "type": "string",
+                  "description": "Name to store the snapshot under. An existing snapshot with the same name is replaced."
+                }
+              },
+              "required": ["name"],
+              "additionalProperties": false
+            }""";
+        var tool = McpSchema.Tool.builder()
+            .name(CAPTURE_MIXER_SNAPSHOT_TOOL)
+            .description("Capture volume, pan, mute, solo and send levels of all tracks into a named in-memory mixer snapshot. " +
+                "Up to " + MixerSnapshotController.MAX_SNAPSHOTS + " snapshots are kept; the least recently used one is evicted first.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeWithValidation(
+                CAPTURE_MIXER_SNAPSHOT_TOOL,
+                req.arguments(),
+                logger,
+                MixerTool::parseCaptureArguments,
+                snapshotController::captureSnapshot
+            );
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "recall_mixer_snapshot" tool specification.
+     *
+     * @param snapshotController The controller managing the mixer snapshot store
+     * @param logger             The structured logger for logging operations
+     * @return A SyncToolSpecification for the "recall_mixer_snapshot" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification recallMixerSnapshotSpecification(
+            MixerSnapshotController snapshotController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "name": {
+                  "type": "string",
+                  "description": "Name of the snapshot to recall"
+                },
+                "from": {
+                  "type": "string",
+                  "description": "Optional name of a snapshot to morph from. Defaults to the current mixer state."
+                },
+                "duration_ms": {
+                  "type": "integer",
+                  "minimum": 0,
+                  "maximum": 60000,
+                  "description": "Optional morph duration in milliseconds. 0 (default) applies the snapshot immediately."
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
+                }
+              },
+              "required": ["name"],
+              "additionalProperties": false
+            }""";
+        var tool = McpSchema.Tool.builder()
+            .name(RECALL_MIXER_SNAPSHOT_TOOL)
+            .description("Recall a named mixer snapshot. All differing channel values are applied in a single batch; " +
+                "with duration_ms, volume, pan and sends are morphed gradually and mute/solo switch at the end.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeIdempotent(RECALL_MIXER_SNAPSHOT_TOOL, req.arguments(), () -> McpErrorHandler.executeWithValidation(
+                RECALL_MIXER_SNAPSHOT_TOOL,
+                req.arguments(),
+                logger,
+                MixerTool::parseRecallArguments,
+                (params) -> snapshotController.recallSnapshot(params.name(), params.from(), params.durationMs())
+            ));
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "set_sends" tool specification.
+     *
+     * @param mixerController The controller writing the send levels
+     * @param logger          The structured logger for logging operations
+     * @return A SyncToolSpecification for the "set_sends" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification setSendsSpecification(
+            MixerController mixerController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "sends": {
+                  "type": "array",
+                  "minItems": 1,
+                  "maxItems": %d,
+                  "description": "Send levels to set. All entries are validated before any send is written.",
+                  "items": {
+                    "type": "object",
+                    "properties": {
+                      "track_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "description": "The track position within its kind. Use either track_index or track_name."
+                      },
+                      "track_kind": {
+                        "type": "string",
+                        "enum": ["track", "effect", "master"],
+                        "description": "The kind of track that track_index counts in, as listed by list_tracks (default: track). Only tracks of kind 'track' have sends."
+                      },
+                      "track_name": {
+                        "type": "string",
+                        "description": "The track name. Use either track_index or track_name."
+                      },
+                      "send_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "description": "The send position, matching the effect track it feeds"
+                      },
+                      "value": {
+                        "type": "number",
+                        "minimum": 0.0,
+                        "maximum": 1.0,
+                        "description": "The normalized send level"
+                      }
+                    },
+                    "required": ["send_index", "value"],
+                    "additionalProperties": false
+                  }
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
+                }
+              },
+              "required": ["sends"],
+              "additionalProperties": false
+            }""".formatted(MixerController.MAX_SEND_WRITES);
+        var tool = McpSchema.Tool.builder()
+            .name(SET_SENDS_TOOL)
+            .description("Set the send levels of any number of tracks in one call. Sends that already have the requested level are skipped, " +
+                "the rest are written in batches on the Bitwig host thread. The number of sends per track is set in the extension preferences.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeIdempotent(SET_SENDS_TOOL, req.arguments(), () -> McpErrorHandler.executeWithValidation(
+                SET_SENDS_TOOL,
+                req.arguments(),
+                logger,
+                MixerTool::parseSetSendsArguments,
+                mixerController::setSends
+            ));
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Parses the arguments of the capture_mixer_snapshot tool.
+     */
+    private static String parseCaptureArguments(Map<String, Object> arguments, String operation) {
+        return parseSnapshotName(arguments, "name", operation);
+    }
+
+    /**
+     * Parses the arguments of the recall_mixer_snapshot tool.
+     */
+    private static RecallArguments parseRecallArguments(Map<String, Object> arguments, String operation) {
+        String name = parseSnapshotName(arguments, "name", operation);
+        String from = arguments.get("from") != null ? parseSnapshotName(arguments, "from", operation) : null;
+
+        int durationMs = 0;
+        if (arguments.get("duration_ms") != null) {
+            durationMs = ParameterValidator.validateRequiredInteger(arguments, "duration_ms", operation);
+            ParameterValidator.validateRange(durationMs, 0, MixerSnapshotController.MAX_MORPH_DURATION_MS, "duration_ms", operation);
+        }
+        return new RecallArguments(name, from, durationMs);
+    }
+
+    /**
+     * Parses the arguments of the set_sends tool.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<SendLevel> parseSetSendsArguments(Map<String, Object> arguments, String operation) {
+        Object sendsObj = ParameterValidator.validateRequired(arguments, "sends", operation);
+        if (!(sendsObj instanceof List<?> sends)) {
+            throw new IllegalArgumentException("'sends' must be an array");
+        }
+        if (sends.isEmpty()) {
+            throw new IllegalArgumentException("'sends' array cannot be empty");
+        }
+        if (sends.size() > MixerController.MAX_SEND_WRITES) {
+            throw new IllegalArgumentException("'sends' can hold at most " + MixerController.MAX_SEND_WRITES + " entries");
+        }
+
+        List<SendLevel> levels = new ArrayList<>(sends.size());
+        for (int i = 0; i < sends.size(); i++) {
+            if (!(sends.get(i) instanceof Map)) {
+                throw new IllegalArgumentException("Send " + i + " must be an object");
+            }
+            try {
+                levels.add(parseSendLevel((Map<String, Object>) sends.get(i), operation));
+            } catch (BitwigApiException e) {
+                throw new BitwigApiException(e.getErrorCode(), operation, "Send " + i + ": " + e.getMessage());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Send " + i + ": " + e.getMessage(), e);
+            }
+        }
+        return levels;
+    }
+
+    private static SendLevel parseSendLevel(Map<String, Object> send, String operation) {
+        boolean hasIndex = send.get("track_index") != null;
+        boolean hasName = send.get("track_name") != null;
+        if (hasIndex == hasName) {
+            throw new IllegalArgumentException("Exactly one of 'track_index' or 'track_name' is required");
+        }
+        int sendIndex = ParameterValidator.validateRequiredInteger(send, "send_index", operation);
+        ParameterValidator.validateRange(sendIndex, 0, Integer.MAX_VALUE, "send_index", operation);
+        double value = ParameterValidator.validateRequiredDouble(send, "value", operation);
+        ParameterValidator.validateRange(value, 0.0, 1.0, "value", operation);
+
+        if (hasIndex) {
+            int trackIndex = ParameterValidator.validateRequiredInteger(send, "track_index", operation);
+            ParameterValidator.validateRange(trackIndex, 0, Integer.MAX_VALUE, "track_index", operation);
+            TrackAddress.Kind trackKind = send.get("track_kind") != null
+                ? TrackAddress.Kind.fromName(ParameterValidator.validateRequiredString(send, "track_kind", operation))
+                : TrackAddress.Kind.TRACK;
+            return new SendLevel(trackKind, trackIndex, null, sendIndex, value);
+        }
+        if (send.get("track_kind") != null) {
+            throw new IllegalArgumentException("'track_kind' only applies to 'track_index'; names are matched across all kinds");
+        }
+        String trackName = ParameterValidator.validateRequiredString(send, "track_name", operation);
+        return new SendLevel(null, ParameterValidator.validateNotEmpty(trackName, "track_name", operation), sendIndex, value);
+    }
+
+    private static String parseSnapshotName(Map<String, Object> arguments, String parameterName, String operation) {
+        String name = ParameterValidator.validateRequiredString(arguments, parameterName, operation);
+        return ParameterValidator.validateNotEmpty(name, parameterName, operation).trim();
+    }
+
+    /**
+     * Record to hold validated parameters for the recall_mixer_snapshot tool.
+     */
+    private record RecallArguments(String name, String from, int durationMs) {}
+}
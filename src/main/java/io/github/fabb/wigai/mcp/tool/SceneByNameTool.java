@@ -37,6 +37,10 @@ public class SceneByNameTool {
                   "type": "string",
                   "minLength": 1,
                   "description": "Case-sensitive name of the scene to launch"
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
                 }
               },
               "required": ["scene_name"]
@@ -49,7 +53,7 @@ public class SceneByNameTool {
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+            (exchange, req) -> McpErrorHandler.executeIdempotent(TOOL_NAME, req.arguments(), () -> McpErrorHandler.executeWithErrorHandling(
                 TOOL_NAME,
                 logger,
                 new McpErrorHandler.ToolOperation() {
@@ -70,7 +74,7 @@ public class SceneByNameTool {
                         }
                     }
                 }
-            );
+            ));
 
         return McpServerFeatures.SyncToolSpecification.builder()
             .tool(tool)
@@ -39,6 +39,10 @@ public class SceneTool {
                   "type": "integer",
                   "minimum": 0,
                   "description": "Zero-based index of the scene to launch"
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
                 }
               },
               "required": ["scene_index"]
@@ -51,7 +55,7 @@ public class SceneTool {
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+            (exchange, req) -> McpErrorHandler.executeIdempotent(TOOL_NAME, req.arguments(), () -> McpErrorHandler.executeWithErrorHandling(
                 TOOL_NAME,
                 logger,
                 new McpErrorHandler.ToolOperation() {
@@ -74,7 +78,7 @@ public class SceneTool {
                         }
                     }
                 }
-            );
+            ));
 
         return McpServerFeatures.SyncToolSpecification.builder()
             .tool(tool)
@@ -0,0 +1,327 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.validation.ParameterValidator;
+import io.github.fabb.wigai.features.ActionScheduleController;
+import io.github.fabb.wigai.features.ActionScheduleController.ActionRequest;
+import io.github.fabb.wigai.features.ActionScheduleController.ActionType;
+import io.github.fabb.wigai.features.ActionScheduleController.Quantize;
+import io.github.fabb.wigai.features.ActionScheduleController.Timing;
+import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * MCP tools for scheduling actions at musical positions, and for listing and cancelling them.
+ */
+public class ScheduleTool {
+
+    private static final String SCHEDULE_ACTIONS_TOOL = "schedule_actions";
+    private static final String LIST_SCHEDULED_ACTIONS_TOOL = "list_scheduled_actions";
+    private static final String CANCEL_SCHEDULED_ACTIONS_TOOL = "cancel_scheduled_actions";
+    private static final int MAX_ACTIONS_PER_CALL = 64;
+    private static final int DEVICE_PARAMETER_COUNT = 8;
+
+    /**
+     * Creates a "schedule_actions" tool specification.
+     *
+     * @param scheduleController The controller scheduling the actions
+     * @param logger             The structured logger for logging operations
+     * @return A SyncToolSpecification for the "schedule_actions" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification scheduleActionsSpecification(
+            ActionScheduleController scheduleController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "actions": {
+                  "type": "array",
+                  "minItems": 1,
+                  "maxItems": %d,
+                  "items": {
+                    "type": "object",
+                    "properties": {
+                      "action": {
+                        "type": "string",
+                        "enum": ["launch_clip", "launch_scene", "stop_transport", "set_device_parameter"],
+                        "description": "The action to run"
+                      },
+                      "at_beat": {
+                        "type": "number",
+                        "minimum": 0,
+                        "description": "Absolute position in beats (quarter notes) from the project start. Used instead of quantize."
+                      },
+                      "quantize": {
+                        "type": "string",
+                        "enum": ["next_bar", "next_beat"],
+                        "description": "Run on the next bar or beat after the current transport position (default: next_bar)"
+                      },
+                      "offset_beats": {
+                        "type": "number",
+                        "minimum": 0,
+                        "description": "Beats added to the quantized position, e.g. 16 for four bars after the next bar in 4/4 (default: 0)"
+                      },
+                      "track_name": {
+                        "type": "string",
+                        "description": "launch_clip: the track of the clip"
+                      },
+                      "clip_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "description": "launch_clip: the clip slot index"
+                      },
+                      "scene_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "description": "launch_scene: the scene index"
+                      },
+                      "parameter_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "maximum": 7,
+                        "description": "set_device_parameter: the parameter on the shown remote control page of the selected device"
+                      },
+                      "value": {
+                        "type": "number",
+                        "minimum": 0.0,
+                        "maximum": 1.0,
+                        "description": "set_device_parameter: the value to set"
+                      }
+                    },
+                    "required": ["action"],
+                    "additionalProperties": false
+                  },
+                  "description": "Actions to schedule. Quantized positions of all actions are computed from the same transport position."
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
+                }
+              },
+              "required": ["actions"],
+              "additionalProperties": false
+            }""".formatted(MAX_ACTIONS_PER_CALL);
+        var tool = McpSchema.Tool.builder()
+            .name(SCHEDULE_ACTIONS_TOOL)
+            .description("Schedule actions to run at a musical position, e.g. launch a scene on the next bar and stop the transport eight bars later. " +
+                "Actions run inside Bitwig when the playing transport reaches their position, so their timing does not depend on the connection. " +
+                "Clips and scenes launch exactly there, without another launch quantization. " +
+                "Positions at or beyond the end of an active arranger loop are rejected, since the transport would never reach them. " +
+                "Returns an id per action for cancel_scheduled_actions.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeIdempotent(SCHEDULE_ACTIONS_TOOL, req.arguments(), () -> McpErrorHandler.executeWithValidation(
+                SCHEDULE_ACTIONS_TOOL,
+                req.arguments(),
+                logger,
+                ScheduleTool::parseScheduleArguments,
+                scheduleController::schedule
+            ));
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "list_scheduled_actions" tool specification.
+     *
+     * @param scheduleController The controller scheduling the actions
+     * @param logger             The structured logger for logging operations
+     * @return A SyncToolSpecification for the "list_scheduled_actions" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification listScheduledActionsSpecification(
+            ActionScheduleController scheduleController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {},
+              "additionalProperties": false
+            }""";
+        var tool = McpSchema.Tool.builder()
+            .name(LIST_SCHEDULED_ACTIONS_TOOL)
+            .description("List the scheduled actions that have not run yet, ordered by position, together with the current transport position.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+                LIST_SCHEDULED_ACTIONS_TOOL,
+                logger,
+                scheduleController::list
+            );
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Creates a "cancel_scheduled_actions" tool specification.
+     *
+     * @param scheduleController The controller scheduling the actions
+     * @param logger             The structured logger for logging operations
+     * @return A SyncToolSpecification for the "cancel_scheduled_actions" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification cancelScheduledActionsSpecification(
+            ActionScheduleController scheduleController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "ids": {
+                  "type": "array",
+                  "items": {
+                    "type": "integer"
+                  },
+                  "description": "Ids of the actions to cancel. Omit to cancel all scheduled actions."
+                }
+              },
+              "additionalProperties": false
+            }""";
+        var tool = McpSchema.Tool.builder()
+            .name(CANCEL_SCHEDULED_ACTIONS_TOOL)
+            .description("Cancel scheduled actions by id, or all of them. Actions that already ran are reported as not pending.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeWithValidation(
+                CANCEL_SCHEDULED_ACTIONS_TOOL,
+                req.arguments(),
+                logger,
+                ScheduleTool::parseCancelArguments,
+                (params) -> scheduleController.cancel(params.ids())
+            );
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Parses the arguments of the schedule_actions tool.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<ActionRequest> parseScheduleArguments(Map<String, Object> arguments, String operation) {
+        Object actionsObj = ParameterValidator.validateRequired(arguments, "actions", operation);
+        if (!(actionsObj instanceof List<?> actions)) {
+            throw new IllegalArgumentException("'actions' must be an array");
+        }
+        if (actions.isEmpty()) {
+            throw new IllegalArgumentException("'actions' array cannot be empty");
+        }
+        if (actions.size() > MAX_ACTIONS_PER_CALL) {
+            throw new IllegalArgumentException("'actions' can hold at most " + MAX_ACTIONS_PER_CALL + " actions per call");
+        }
+
+        List<ActionRequest> requests = new ArrayList<>(actions.size());
+        for (Object actionObj : actions) {
+            if (!(actionObj instanceof Map)) {
+                throw new IllegalArgumentException("Each action must be an object");
+            }
+            requests.add(parseAction((Map<String, Object>) actionObj, operation));
+        }
+        return requests;
+    }
+
+    private static ActionRequest parseAction(Map<String, Object> action, String operation) {
+        String typeName = ParameterValidator.validateRequiredString(action, "action", operation);
+        ActionType type = ActionType.fromToolName(typeName);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown action '" + typeName
+                + "', expected launch_clip, launch_scene, stop_transport or set_device_parameter");
+        }
+        Timing timing = parseTiming(action, operation);
+
+        return switch (type) {
+            case LAUNCH_CLIP -> {
+                String trackName = ParameterValidator.validateRequiredString(action, "track_name", operation);
+                trackName = ParameterValidator.validateNotEmpty(trackName, "track_name", operation);
+                int clipIndex = ParameterValidator.validateRequiredInteger(action, "clip_index", operation);
+                ParameterValidator.validateClipIndex(clipIndex, operation);
+                yield new ActionRequest(type, timing, trackName, clipIndex, 0.0);
+            }
+            case LAUNCH_SCENE -> {
+                int sceneIndex = ParameterValidator.validateRequiredInteger(action, "scene_index", operation);
+                ParameterValidator.validateSceneIndex(sceneIndex, operation);
+                yield new ActionRequest(type, timing, null, sceneIndex, 0.0);
+            }
+            case STOP_TRANSPORT -> new ActionRequest(type, timing, null, 0, 0.0);
+            case SET_DEVICE_PARAMETER -> {
+                int parameterIndex = ParameterValidator.validateRequiredInteger(action, "parameter_index", operation);
+                ParameterValidator.validateParameterIndex(parameterIndex, DEVICE_PARAMETER_COUNT, operation);
+                double value = ParameterValidator.validateRequiredDouble(action, "value", operation);
+                ParameterValidator.validateParameterValue(value, operation);
+                yield new ActionRequest(type, timing, null, parameterIndex, value);
+            }
+        };
+    }
+
+    private static Timing parseTiming(Map<String, Object> action, String operation) {
+        if (action.get("at_beat") != null) {
+            if (action.get("quantize") != null || action.get("offset_beats") != null) {
+                throw new IllegalArgumentException("'at_beat' cannot be combined with 'quantize' or 'offset_beats'");
+            }
+            double atBeat = ParameterValidator.validateRequiredDouble(action, "at_beat", operation);
+            ParameterValidator.validateRange(atBeat, 0.0, Double.MAX_VALUE, "at_beat", operation);
+            return new Timing(atBeat, null, 0.0);
+        }
+
+        Quantize quantize = Quantize.NEXT_BAR;
+        if (action.get("quantize") != null) {
+            String quantizeName = ParameterValidator.validateRequiredString(action, "quantize", operation);
+            quantize = Quantize.fromToolName(quantizeName);
+            if (quantize == null) {
+                throw new IllegalArgumentException("'quantize' must be 'next_bar' or 'next_beat'");
+            }
+        }
+
+        double offsetBeats = 0.0;
+        if (action.get("offset_beats") != null) {
+            offsetBeats = ParameterValidator.validateRequiredDouble(action, "offset_beats", operation);
+            ParameterValidator.validateRange(offsetBeats, 0.0, Double.MAX_VALUE, "offset_beats", operation);
+        }
+        return new Timing(null, quantize, offsetBeats);
+    }
+
+    /**
+     * Parses the arguments of the cancel_scheduled_actions tool.
+     */
+    private static CancelArguments parseCancelArguments(Map<String, Object> arguments, String operation) {
+        Object idsObj = arguments.get("ids");
+        if (idsObj == null) {
+            return new CancelArguments(null);
+        }
+        if (!(idsObj instanceof List<?> idList)) {
+            throw new IllegalArgumentException("'ids' must be an array");
+        }
+
+        List<Long> ids = new ArrayList<>(idList.size());
+        for (Object id : idList) {
+            if (!(id instanceof Number number) || number.doubleValue() != number.longValue()) {
+                throw new IllegalArgumentException("'ids' must only contain integers");
+            }
+            ids.add(number.longValue());
+        }
+        return new CancelArguments(ids);
+    }
+
+    /**
+     * Record to hold validated parameters for the cancel_scheduled_actions tool.
+     */
+    private record CancelArguments(List<Long> ids) {}
+}
@@ -0,0 +1,233 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.bitwig.TrackAddress;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.validation.ParameterValidator;
+import io.github.fabb.wigai.features.ScriptController;
+import io.github.fabb.wigai.features.ScriptController.Step;
+import io.github.fabb.wigai.features.ScriptController.StepType;
+import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * MCP tool for running a list of steps as one batch on the Bitwig host thread.
+ */
+public class ScriptTool {
+
+    private static final String EXECUTE_SCRIPT_TOOL = "execute_script";
+    private static final int MAX_STEPS_PER_SCRIPT = 64;
+    private static final int DEVICE_PARAMETER_COUNT = 8;
+
+    /**
+     * Creates an "execute_script" tool specification.
+     *
+     * @param scriptController The controller running the script
+     * @param logger           The structured logger for logging operations
+     * @return A SyncToolSpecification for the "execute_script" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification executeScriptSpecification(
+            ScriptController scriptController, StructuredLogger logger) {
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "steps": {
+                  "type": "array",
+                  "minItems": 1,
+                  "maxItems": %d,
+                  "items": {
+                    "type": "object",
+                    "properties": {
+                      "action": {
+                        "type": "string",
+                        "enum": ["set_track_mute", "set_track_solo", "set_track_volume", "set_track_pan", "launch_clip",
+                                 "launch_scene", "start_transport", "stop_transport", "set_device_parameter"],
+                        "description": "The operation to run"
+                      },
+                      "track_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "description": "set_track_*: the track position within its kind. Use either track_index or track_name."
+                      },
+                      "track_kind": {
+                        "type": "string",
+                        "enum": ["track", "effect", "master"],
+                        "description": "set_track_*: the kind of track that track_index counts in, as listed by list_tracks (default: track)"
+                      },
+                      "track_name": {
+                        "type": "string",
+                        "description": "set_track_*: the track name, also of effect tracks and the master track. launch_clip: the track of the clip."
+                      },
+                      "enabled": {
+                        "type": "boolean",
+                        "description": "set_track_mute, set_track_solo: switch on or off (default: true)"
+                      },
+                      "clip_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "description": "launch_clip: the clip slot index"
+                      },
+                      "scene_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "description": "launch_scene: the scene index"
+                      },
+                      "parameter_index": {
+                        "type": "integer",
+                        "minimum": 0,
+                        "maximum": 7,
+                        "description": "set_device_parameter: the parameter on the shown remote control page of the selected device"
+                      },
+                      "value": {
+                        "type": "number",
+                        "minimum": 0.0,
+                        "maximum": 1.0,
+                        "description": "set_track_volume, set_track_pan, set_device_parameter: the normalized value (pan 0.5 is center)"
+                      }
+                    },
+                    "required": ["action"],
+                    "additionalProperties": false
+                  },
+                  "description": "Steps in execution order"
+                },
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
+                }
+              },
+              "required": ["steps"],
+              "additionalProperties": false
+            }""".formatted(MAX_STEPS_PER_SCRIPT);
+        var tool = McpSchema.Tool.builder()
+            .name(EXECUTE_SCRIPT_TOOL)
+            .description("Run several operations in one call, e.g. mute tracks 3 to 7, launch scene 4 and set a device parameter. " +
+                "All steps are checked before the first one runs; if any step refers to a missing track, clip, scene or device, nothing is changed. " +
+                "The steps then run back to back inside Bitwig without interleaving with other requests. Returns one result per step.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeIdempotent(EXECUTE_SCRIPT_TOOL, req.arguments(), () -> McpErrorHandler.executeWithValidation(
+                EXECUTE_SCRIPT_TOOL,
+                req.arguments(),
+                logger,
+                ScriptTool::parseScriptArguments,
+                scriptController::execute
+            ));
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Parses the arguments of the execute_script tool.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Step> parseScriptArguments(Map<String, Object> arguments, String operation) {
+        Object stepsObj = ParameterValidator.validateRequired(arguments, "steps", operation);
+        if (!(stepsObj instanceof List<?> steps)) {
+            throw new IllegalArgumentException("'steps' must be an array");
+        }
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("'steps' array cannot be empty");
+        }
+        if (steps.size() > MAX_STEPS_PER_SCRIPT) {
+            throw new IllegalArgumentException("'steps' can hold at most " + MAX_STEPS_PER_SCRIPT + " steps per script");
+        }
+
+        List<Step> parsed = new ArrayList<>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            if (!(steps.get(i) instanceof Map)) {
+                throw new IllegalArgumentException("Step " + i + " must be an object");
+            }
+            try {
+                parsed.add(parseStep((Map<String, Object>) steps.get(i), operation));
+            } catch (BitwigApiException e) {
+                throw new BitwigApiException(e.getErrorCode(), operation, "Step " + i + ": " + e.getMessage());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Step " + i + ": " + e.getMessage(), e);
+            }
+        }
+        return parsed;
+    }
+
+    private static Step parseStep(Map<String, Object> step, String operation) {
+        String typeName = ParameterValidator.validateRequiredString(step, "action", operation);
+        StepType type = StepType.fromToolName(typeName);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown action '" + typeName + "'");
+        }
+
+        return switch (type) {
+            case SET_TRACK_MUTE, SET_TRACK_SOLO -> {
+                Object enabledObj = step.get("enabled");
+                boolean enabled = enabledObj == null || ParameterValidator.validateType(enabledObj, Boolean.class, "enabled", operation);
+                yield trackStep(type, step, enabled ? 1.0 : 0.0, operation);
+            }
+            case SET_TRACK_VOLUME, SET_TRACK_PAN -> {
+                double value = ParameterValidator.validateRequiredDouble(step, "value", operation);
+                ParameterValidator.validateRange(value, 0.0, 1.0, "value", operation);
+                yield trackStep(type, step, value, operation);
+            }
+            case LAUNCH_CLIP -> {
+                String trackName = ParameterValidator.validateRequiredString(step, "track_name", operation);
+                trackName = ParameterValidator.validateNotEmpty(trackName, "track_name", operation);
+                int clipIndex = ParameterValidator.validateRequiredInteger(step, "clip_index", operation);
+                ParameterValidator.validateClipIndex(clipIndex, operation);
+                yield new Step(type, null, trackName, clipIndex, 0.0);
+            }
+            case LAUNCH_SCENE -> {
+                int sceneIndex = ParameterValidator.validateRequiredInteger(step, "scene_index", operation);
+                ParameterValidator.validateSceneIndex(sceneIndex, operation);
+                yield new Step(type, null, null, sceneIndex, 0.0);
+            }
+            case START_TRANSPORT, STOP_TRANSPORT -> new Step(type, null, null, 0, 0.0);
+            case SET_DEVICE_PARAMETER -> {
+                int parameterIndex = ParameterValidator.validateRequiredInteger(step, "parameter_index", operation);
+                ParameterValidator.validateParameterIndex(parameterIndex, DEVICE_PARAMETER_COUNT, operation);
+                double value = ParameterValidator.validateRequiredDouble(step, "value", operation);
+                ParameterValidator.validateParameterValue(value, operation);
+                yield new Step(type, null, null, parameterIndex, value);
+            }
+        };
+    }
+
+    /**
+     * Parses the track of a mixer step, given either by kind and index or by name.
+     */
+    private static Step trackStep(StepType type, Map<String, Object> step, double value, String operation) {
+        boolean hasIndex = step.get("track_index") != null;
+        boolean hasName = step.get("track_name") != null;
+        if (hasIndex == hasName) {
+            throw new IllegalArgumentException("Exactly one of 'track_index' or 'track_name' is required");
+        }
+        if (hasIndex) {
+            int trackIndex = ParameterValidator.validateRequiredInteger(step, "track_index", operation);
+            ParameterValidator.validateRange(trackIndex, 0, Integer.MAX_VALUE, "track_index", operation);
+            return new Step(type, parseTrackKind(step, operation), trackIndex, null, 0, value);
+        }
+        if (step.get("track_kind") != null) {
+            throw new IllegalArgumentException("'track_kind' only applies to 'track_index'; names are matched across all kinds");
+        }
+        String trackName = ParameterValidator.validateRequiredString(step, "track_name", operation);
+        return new Step(type, null, ParameterValidator.validateNotEmpty(trackName, "track_name", operation), 0, value);
+    }
+
+    private static TrackAddress.Kind parseTrackKind(Map<String, Object> step, String operation) {
+        if (step.get("track_kind") == null) {
+            return TrackAddress.Kind.TRACK;
+        }
+        return TrackAddress.Kind.fromName(ParameterValidator.validateRequiredString(step, "track_kind", operation));
+    }
+}
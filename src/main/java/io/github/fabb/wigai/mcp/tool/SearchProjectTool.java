@@ -0,0 +1,134 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.ProjectSearchIndex;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.validation.ParameterValidator;
+import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * MCP tool for searching the names of tracks, devices, scenes and clips across the whole project.
+ */
+public class SearchProjectTool {
+
+    private static final String TOOL_NAME = "search_project";
+    private static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * Creates a "search_project" tool specification.
+     *
+     * @param bitwigApiFacade The BitwigApiFacade providing the search index
+     * @param logger          The structured logger for logging operations
+     * @return A SyncToolSpecification for the "search_project" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification specification(
+            BitwigApiFacade bitwigApiFacade, StructuredLogger logger) {
+
+        var schema = """
+            {
+              "type": "object",
+              "properties": {
+                "query": {
+                  "type": "string",
+                  "description": "Search text, e.g. 'reverb on the vocal bus'. Whole words rank above partial words."
+                },
+                "kinds": {
+                  "type": "array",
+                  "items": {
+                    "type": "string",
+                    "enum": ["track", "device", "scene", "clip"]
+                  },
+                  "description": "Optional kinds of items to return (default: all kinds)"
+                },
+                "limit": {
+                  "type": "integer",
+                  "minimum": 1,
+                  "maximum": 100,
+                  "description": "Maximum number of results (default: 20)"
+                }
+              },
+              "required": ["query"],
+              "additionalProperties": false
+            }""";
+
+        var tool = McpSchema.Tool.builder()
+            .name(TOOL_NAME)
+            .description("Search the names of tracks, devices, scenes and clips across the whole project. " +
+                "Returns ranked matches with their indices, so a single call replaces listing tracks and then devices or clips per track.")
+            .inputSchema(schema)
+            .build();
+
+        BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
+            (exchange, req) -> McpErrorHandler.executeWithValidation(
+                TOOL_NAME,
+                req.arguments(),
+                logger,
+                SearchProjectTool::validateParameters,
+                (params) -> {
+                    List<Map<String, Object>> results = bitwigApiFacade.searchProject(params.query(), params.kinds(), params.limit());
+                    Map<String, Object> response = new LinkedHashMap<>();
+                    response.put("query", params.query());
+                    response.put("result_count", results.size());
+                    response.put("results", results);
+                    return response;
+                }
+            );
+
+        return McpServerFeatures.SyncToolSpecification.builder()
+            .tool(tool)
+            .callHandler(handler)
+            .build();
+    }
+
+    /**
+     * Validates the parameters for the search_project tool.
+     *
+     * @param arguments The raw arguments map
+     * @param operation The operation name for error context
+     * @return Validated parameters
+     */
+    private static ValidatedParams validateParameters(Map<String, Object> arguments, String operation) {
+        String query = ParameterValidator.validateRequiredString(arguments, "query", operation);
+        query = ParameterValidator.validateNotEmpty(query, "query", operation);
+
+        Set<ProjectSearchIndex.Kind> kinds = null;
+        Object kindsObj = arguments.get("kinds");
+        if (kindsObj instanceof List<?> kindList) {
+            if (!kindList.isEmpty()) {
+                kinds = EnumSet.noneOf(ProjectSearchIndex.Kind.class);
+                for (Object kind : kindList) {
+                    if (!(kind instanceof String kindName)) {
+                        throw new IllegalArgumentException("Parameter 'kinds' must be an array of strings");
+                    }
+                    kinds.add(ProjectSearchIndex.Kind.fromName(kindName.trim()));
+                }
+            }
+        } else if (kindsObj != null) {
+            throw new IllegalArgumentException("Parameter 'kinds' must be an array of strings");
+        }
+
+        int limit = DEFAULT_LIMIT;
+        if (arguments.get("limit") != null) {
+            limit = ParameterValidator.validateRequiredInteger(arguments, "limit", operation);
+            ParameterValidator.validateRange(limit, 1, ProjectSearchIndex.MAX_RESULTS, "limit", operation);
+        }
+
+        return new ValidatedParams(query, kinds, limit);
+    }
+
+    /**
+     * Record to hold validated parameters for the search_project tool.
+     */
+    private record ValidatedParams(String query, Set<ProjectSearchIndex.Kind> kinds, int limit) {}
+}
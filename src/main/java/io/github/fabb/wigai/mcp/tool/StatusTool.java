@@ -4,6 +4,7 @@ import io.github.fabb.wigai.WigAIExtensionDefinition;
 import io.github.fabb.wigai.bitwig.BitwigApiFacade;
 import io.github.fabb.wigai.common.logging.StructuredLogger;
 import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.github.fabb.wigai.mcp.ResponseCache;
 import io.modelcontextprotocol.server.McpServerFeatures;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -22,6 +23,19 @@ import java.util.function.BiFunction;
 public class StatusTool {
 
     public static McpServerFeatures.SyncToolSpecification specification(WigAIExtensionDefinition extensionDefinition, BitwigApiFacade bitwigApiFacade, StructuredLogger logger) {
+        return specification(extensionDefinition, bitwigApiFacade, null, logger);
+    }
+
+    /**
+     * Creates the "status" tool specification, additionally reporting response cache statistics.
+     *
+     * @param extensionDefinition The extension definition providing the version
+     * @param bitwigApiFacade The BitwigApiFacade for project and transport state
+     * @param responseCache The response cache of the read-only tools, or null to omit cache statistics
+     * @param logger The structured logger for logging operations
+     * @return A SyncToolSpecification for the "status" tool
+     */
+    public static McpServerFeatures.SyncToolSpecification specification(WigAIExtensionDefinition extensionDefinition, BitwigApiFacade bitwigApiFacade, ResponseCache responseCache, StructuredLogger logger) {
         var schema = """
             {
               "type": "object",
@@ -47,21 +61,21 @@ public class StatusTool {
                         try { responseData.put("project_name", bitwigApiFacade.getProjectName()); } catch (Exception e) { responseData.put("project_name", "Unknown Project"); partialFailures.add("project_name: " + e.getMessage()); }
                         try { responseData.put("audio_engine_active", bitwigApiFacade.isAudioEngineActive()); } catch (Exception e) { responseData.put("audio_engine_active", false); partialFailures.add("audio_engine_active: " + e.getMessage()); }
                         try { responseData.put("transport", bitwigApiFacade.getTransportStatus()); } catch (Exception e) { responseData.put("transport", Map.of("error", "Transport status unavailable")); partialFailures.add("transport: " + e.getMessage()); }
-                        try {
-                            List<io.github.fabb.wigai.common.data.ParameterInfo> projectParams = bitwigApiFacade.getProjectParameters();
-                            List<Map<String, Object>> projectParametersArray = new ArrayList<>();
-                            for (io.github.fabb.wigai.common.data.ParameterInfo param : projectParams) {
-                                Map<String, Object> paramMap = new LinkedHashMap<>();
-                                paramMap.put("index", param.index());
-                                paramMap.put("name", param.name());
-                                paramMap.put("value", param.value());
-                                paramMap.put("display_value", param.display_value());
-                                projectParametersArray.add(paramMap);
-                            }
-                            responseData.put("project_parameters", projectParametersArray);
-                        } catch (Exception e) { responseData.put("project_parameters", new ArrayList<>()); partialFailures.add("project_parameters: " + e.getMessage()); }
+                        // ParameterInfo is written by the shared response serializer
+                        try { responseData.put("project_parameters", bitwigApiFacade.getProjectParameters()); } catch (Exception e) { responseData.put("project_parameters", new ArrayList<>()); partialFailures.add("project_parameters: " + e.getMessage()); }
                         try { responseData.put("selected_track", bitwigApiFacade.getSelectedTrackInfo()); } catch (Exception e) { responseData.put("selected_track", null); partialFailures.add("selected_track: " + e.getMessage()); }
                         try { responseData.put("selected_device", bitwigApiFacade.getSelectedDeviceInfo()); } catch (Exception e) { responseData.put("selected_device", null); partialFailures.add("selected_device: " + e.getMessage()); }
+                        if (responseCache != null) {
+                            ResponseCache.Stats cacheStats = responseCache.getStats();
+                            Map<String, Object> cacheData = new LinkedHashMap<>();
+                            cacheData.put("hits", cacheStats.hits());
+                            cacheData.put("misses", cacheStats.misses());
+                            cacheData.put("evictions", cacheStats.evictions());
+                            cacheData.put("entries", cacheStats.entries());
+                            cacheData.put("bytes", cacheStats.bytes());
+                            cacheData.put("max_bytes", cacheStats.maxBytes());
+                            responseData.put("response_cache", cacheData);
+                        }
                         if (!partialFailures.isEmpty()) { responseData.put("partial_failures", partialFailures); responseData.put("status_note", "Status retrieved with " + partialFailures.size() + " partial failures"); }
                         return responseData;
                     }
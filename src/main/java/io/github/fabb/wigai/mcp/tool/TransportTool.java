@@ -29,7 +29,12 @@ public class TransportTool {
         var schema = """
             {
               "type": "object",
-              "properties": {}
+              "properties": {
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
+                }
+              }
             }""";
         var tool = McpSchema.Tool.builder()
             .name("transport_start")
@@ -38,7 +43,7 @@ public class TransportTool {
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+            (exchange, req) -> McpErrorHandler.executeIdempotent("transport_start", req.arguments(), () -> McpErrorHandler.executeWithErrorHandling(
                 "transport_start",
                 logger,
                 () -> {
@@ -48,7 +53,7 @@ public class TransportTool {
                         "message", resultMessage
                     );
                 }
-            );
+            ));
 
         return McpServerFeatures.SyncToolSpecification.builder()
             .tool(tool)
@@ -69,7 +74,12 @@ public class TransportTool {
         var schema = """
             {
               "type": "object",
-              "properties": {}
+              "properties": {
+                "request_id": {
+                  "type": "string",
+                  "description": "Optional idempotency key. Retrying with the same request_id within 5 minutes returns the first result without repeating the action."
+                }
+              }
             }""";
         var tool = McpSchema.Tool.builder()
             .name("transport_stop")
@@ -78,7 +88,7 @@ public class TransportTool {
             .build();
 
         BiFunction<McpSyncServerExchange, CallToolRequest, McpSchema.CallToolResult> handler =
-            (exchange, req) -> McpErrorHandler.executeWithErrorHandling(
+            (exchange, req) -> McpErrorHandler.executeIdempotent("transport_stop", req.arguments(), () -> McpErrorHandler.executeWithErrorHandling(
                 "transport_stop",
                 logger,
                 () -> {
@@ -88,7 +98,7 @@ public class TransportTool {
                         "message", resultMessage
                     );
                 }
-            );
+            ));
 
         return McpServerFeatures.SyncToolSpecification.builder()
             .tool(tool)
@@ -0,0 +1,327 @@
+package io.github.fabb.wigai.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for MCP tool calls, applied per client session.
+ *
+ * Each session has a token bucket that limits its sustained call rate and burst size. Admitted calls then
+ * pass a fair gate that bounds how many tool calls run at once. When the gate is full, waiting calls are
+ * granted in order of their virtual start tags: every session's tag advances by the inverse of its weight per
+ * queued call, so a session with many queued calls (a batch job) queues behind itself, while a session that
+ * calls only occasionally (an interactive agent) is served next, and a session with twice the weight gets twice
+ * the share of a contended gate.
+ *
+ * Sessions are tracked by the ids the transport issued, registered through {@link #registerSession}; callers
+ * attribute calls with any other id to a fallback key such as the client address, so made-up session ids
+ * cannot grow the session table. At most {@value #MAX_ISSUED_SESSIONS} issued sessions are remembered.
+ */
+public class AdmissionController {
+
+    /**
+     * Retry hint returned when a call waited for the gate longer than allowed.
+     */
+    static final long GATE_RETRY_AFTER_MS = 250;
+
+    private static final long IDLE_SESSION_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final int SWEEP_INTERVAL = 256;
+
+    /**
+     * Maximum number of issued session ids remembered; the oldest registration is dropped first.
+     */
+    static final int MAX_ISSUED_SESSIONS = 1024;
+
+    /**
+     * Outcome of an admission request.
+     *
+     * @param admitted     Whether the call may proceed; admitted calls must be followed by {@link #release}
+     * @param retryAfterMs When not admitted, how long the client should wait before retrying
+     */
+    public record Decision(boolean admitted, long retryAfterMs) {
+        private static final Decision ADMITTED = new Decision(true, 0);
+    }
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final int maxConcurrent;
+    private final long maxQueueWaitMs;
+    private final SessionWeights weights;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Session> sessions = new HashMap<>();
+    // Weights of the session ids the transport issued, in order of registration
+    private final Map<String, Double> issuedSessions = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+            return size() > MAX_ISSUED_SESSIONS;
+        }
+    };
+    private final List<Waiter> waiters = new ArrayList<>();
+    private int available;
+    private double virtualTime;
+    private long waiterSequence;
+    private int callsSinceSweep;
+
+    /**
+     * Creates an admission controller in which all sessions have the same weight.
+     *
+     * @param ratePerSecond  The sustained number of calls per second allowed for each session
+     * @param burst          The number of calls a session may make at once after being idle
+     * @param maxConcurrent  The maximum number of tool calls running at the same time across all sessions
+     * @param maxQueueWaitMs The maximum time a call waits for the gate before it is rejected
+     */
+    public AdmissionController(double ratePerSecond, int burst, int maxConcurrent, long maxQueueWaitMs) {
+        this(ratePerSecond, burst, maxConcurrent, maxQueueWaitMs, SessionWeights.uniform());
+    }
+
+    /**
+     * Creates an admission controller.
+     *
+     * @param ratePerSecond  The sustained number of calls per second allowed for each session
+     * @param burst          The number of calls a session may make at once after being idle
+     * @param maxConcurrent  The maximum number of tool calls running at the same time across all sessions
+     * @param maxQueueWaitMs The maximum time a call waits for the gate before it is rejected
+     * @param weights        The fair-queue weights of sessions, resolved when a session is registered
+     */
+    public AdmissionController(double ratePerSecond, int burst, int maxConcurrent, long maxQueueWaitMs,
+                               SessionWeights weights) {
+        this(ratePerSecond, burst, maxConcurrent, maxQueueWaitMs, weights, System::nanoTime);
+    }
+
+    AdmissionController(double ratePerSecond, int burst, int maxConcurrent, long maxQueueWaitMs, LongSupplier clock) {
+        this(ratePerSecond, burst, maxConcurrent, maxQueueWaitMs, SessionWeights.uniform(), clock);
+    }
+
+    AdmissionController(double ratePerSecond, int burst, int maxConcurrent, long maxQueueWaitMs,
+                        SessionWeights weights, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst < 1 || maxConcurrent < 1 || maxQueueWaitMs < 0) {
+            throw new IllegalArgumentException("Invalid admission limits: rate=" + ratePerSecond + ", burst=" + burst
+                + ", maxConcurrent=" + maxConcurrent + ", maxQueueWaitMs=" + maxQueueWaitMs);
+        }
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueueWaitMs = maxQueueWaitMs;
+        this.weights = weights;
+        this.clock = clock;
+        this.available = maxConcurrent;
+    }
+
+    /**
+     * Registers a session id issued by the transport, with the weight of the client that opened it.
+     *
+     * @param sessionId  The issued session id
+     * @param clientName The client name from the initialize request, may be null
+     */
+    public void registerSession(String sessionId, String clientName) {
+        lock.lock();
+        try {
+            issuedSessions.put(sessionId, weights.weightFor(clientName));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether a session id was issued by the transport and is still registered.
+     *
+     * @param sessionId The session id sent by a client
+     * @return true if calls may be attributed to this session id
+     */
+    public boolean isRegistered(String sessionId) {
+        lock.lock();
+        try {
+            return issuedSessions.containsKey(sessionId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets a session that the client ended. Calls of the session that are still waiting keep their place.
+     *
+     * @param sessionId The ended session id
+     */
+    public void removeSession(String sessionId) {
+        lock.lock();
+        try {
+            issuedSessions.remove(sessionId);
+            Session session = sessions.get(sessionId);
+            if (session != null && session.waiting == 0) {
+                sessions.remove(sessionId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Requests admission for one tool call of a session, waiting for the gate if needed.
+     *
+     * @param sessionId The registered session id, or a fallback key for calls without one
+     * @return The admission decision
+     * @throws InterruptedException if interrupted while waiting for the gate
+     */
+    public Decision acquire(String sessionId) throws InterruptedException {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            sweepIdleSessions(now);
+
+            Session session = sessions.computeIfAbsent(sessionId, id -> new Session(burst, now));
+            session.weight = issuedSessions.getOrDefault(sessionId, weights.defaultWeight());
+            session.refill(now, tokensPerNano, burst);
+            session.lastSeen = now;
+            if (session.tokens < 1.0) {
+                long retryAfterNanos = (long) Math.ceil((1.0 - session.tokens) / tokensPerNano);
+                return new Decision(false, Math.max(1, TimeUnit.NANOSECONDS.toMillis(retryAfterNanos)));
+            }
+            session.tokens -= 1.0;
+
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                session.finishTag = Math.max(session.finishTag, virtualTime) + 1.0 / session.weight;
+                return Decision.ADMITTED;
+            }
+
+            Waiter waiter = new Waiter(Math.max(session.finishTag, virtualTime), waiterSequence++);
+            session.finishTag = waiter.startTag + 1.0 / session.weight;
+            session.waiting++;
+            waiters.add(waiter);
+            try {
+                long remainingNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs);
+                while (!waiter.granted && remainingNanos > 0) {
+                    remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // Granted just before the interrupt; pass the slot on instead of leaking it
+                    release();
+                }
+                throw e;
+            } finally {
+                session.waiting--;
+                if (!waiter.granted) {
+                    waiters.remove(waiter);
+                    // The call never ran, so give its token back
+                    session.tokens = Math.min(burst, session.tokens + 1.0);
+                }
+            }
+            return waiter.granted ? Decision.ADMITTED : new Decision(false, GATE_RETRY_AFTER_MS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the gate slot of an admitted call and hands it to the next waiting call, if any.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            Waiter next = null;
+            for (Waiter waiter : waiters) {
+                if (next == null || waiter.startTag < next.startTag
+                    || (waiter.startTag == next.startTag && waiter.sequence < next.sequence)) {
+                    next = waiter;
+                }
+            }
+            if (next == null) {
+                available = Math.min(maxConcurrent, available + 1);
+                return;
+            }
+            waiters.remove(next);
+            virtualTime = Math.max(virtualTime, next.startTag);
+            next.granted = true;
+            next.condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of sessions currently tracked.
+     */
+    public int getSessionCount() {
+        lock.lock();
+        try {
+            return sessions.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of calls currently waiting for a gate slot.
+     */
+    int getWaitingCount() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sweepIdleSessions(long now) {
+        if (++callsSinceSweep < SWEEP_INTERVAL) {
+            return;
+        }
+        callsSinceSweep = 0;
+        Iterator<Session> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+            if (session.waiting == 0 && now - session.lastSeen > IDLE_SESSION_NANOS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Per-session token bucket and fair-queue position.
+     */
+    private static final class Session {
+        private double tokens;
+        private long lastRefill;
+        private long lastSeen;
+        private double finishTag;
+        private double weight = 1.0;
+        private int waiting;
+
+        Session(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+            this.lastSeen = now;
+        }
+
+        void refill(long now, double tokensPerNano, double burst) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+
+    /**
+     * A call waiting for a gate slot.
+     */
+    private final class Waiter {
+        private final double startTag;
+        private final long sequence;
+        private final Condition condition = lock.newCondition();
+        private boolean granted;
+
+        Waiter(double startTag, long sequence) {
+            this.startTag = startTag;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package io.github.fabb.wigai.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.ErrorCode;
+import io.github.fabb.wigai.common.serialization.ResponseSerializer;
+import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servlet filter that applies {@link AdmissionController} to MCP tool calls before they reach the MCP servlet.
+ *
+ * Only JSON-RPC "tools/call" requests are subject to admission; initialization, listing and notifications
+ * always pass. The session id the transport issues in response to an initialize request is registered with
+ * the client's name, which selects the session's weight, and is forgotten when the client ends the session.
+ * Calls are attributed to a registered Mcp-Session-Id header, or to the client's remote address when the header
+ * is absent or names no registered session. Rejected calls are answered with a regular tool result carrying a RATE_LIMITED error and
+ * a retry hint, plus a Retry-After header. JSON-RPC batches containing tool calls are refused, since a batch
+ * would otherwise run several calls on a single admission.
+ */
+public class AdmissionFilter implements Filter {
+    private static final String SESSION_HEADER = "Mcp-Session-Id";
+    private static final String TOOLS_CALL_METHOD = "tools/call";
+    private static final String INITIALIZE_METHOD = "initialize";
+
+    private final AdmissionController admissionController;
+    private final Logger logger;
+    private final ObjectMapper objectMapper = ResponseSerializer.getMapper();
+
+    /**
+     * Creates a new AdmissionFilter.
+     *
+     * @param admissionController The admission controller deciding which calls may run
+     * @param logger The logger for rejected calls
+     */
+    public AdmissionFilter(AdmissionController admissionController, Logger logger) {
+        this.admissionController = admissionController;
+        this.logger = logger;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if ("DELETE".equals(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            String endedSession = httpRequest.getHeader(SESSION_HEADER);
+            if (endedSession != null) {
+                admissionController.removeSession(endedSession);
+            }
+            return;
+        }
+        if (!"POST".equals(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Buffer the body so that it can be inspected here and still be read by the MCP servlet
+        byte[] body = httpRequest.getInputStream().readAllBytes();
+        HttpServletRequest bufferedRequest = new BufferedBodyRequest(httpRequest, body);
+
+        JsonNode message = parseMessage(body);
+        if (message != null && message.isArray()) {
+            if (containsToolCall(message)) {
+                logger.info("AdmissionFilter: Rejected batch with tool calls for session " + admissionKey(httpRequest));
+                writeBatchRejected((HttpServletResponse) response);
+                return;
+            }
+            chain.doFilter(bufferedRequest, response);
+            return;
+        }
+        if (message != null && INITIALIZE_METHOD.equals(message.path("method").asText())) {
+            chain.doFilter(bufferedRequest, response);
+            String issuedSession = ((HttpServletResponse) response).getHeader(SESSION_HEADER);
+            if (issuedSession != null && !issuedSession.isBlank()) {
+                JsonNode clientName = message.path("params").path("clientInfo").path("name");
+                admissionController.registerSession(issuedSession, clientName.isTextual() ? clientName.asText() : null);
+            }
+            return;
+        }
+        if (message == null || !isToolCall(message)) {
+            chain.doFilter(bufferedRequest, response);
+            return;
+        }
+
+        String sessionId = admissionKey(httpRequest);
+        String toolName = message.path("params").path("name").asText("tools/call");
+        AdmissionController.Decision decision;
+        try {
+            decision = admissionController.acquire(sessionId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            McpSchema.CallToolResult result = McpErrorHandler.createErrorResponse(
+                ErrorCode.OPERATION_FAILED, "Interrupted while waiting for admission", toolName);
+            writeToolResult((HttpServletResponse) response, message.get("id"), result);
+            return;
+        }
+
+        if (!decision.admitted()) {
+            logger.info("AdmissionFilter: Rejected '" + toolName + "' for session " + sessionId
+                + ", retry after " + decision.retryAfterMs() + " ms");
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setHeader("Retry-After", String.valueOf(Math.max(1, (decision.retryAfterMs() + 999) / 1000)));
+            writeToolResult(httpResponse, message.get("id"), McpErrorHandler.createRateLimitedResponse(toolName, decision.retryAfterMs()));
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                admissionController.release();
+            }
+        };
+        try {
+            chain.doFilter(bufferedRequest, response);
+        } finally {
+            if (bufferedRequest.isAsyncStarted()) {
+                // The response completes later; keep the slot until it does
+                bufferedRequest.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private JsonNode parseMessage(byte[] body) {
+        try {
+            JsonNode message = objectMapper.readTree(body);
+            return message != null && (message.isObject() || message.isArray()) ? message : null;
+        } catch (IOException e) {
+            // Leave malformed requests to the MCP servlet, which reports them to the client
+            return null;
+        }
+    }
+
+    private String admissionKey(HttpServletRequest request) {
+        String sessionId = request.getHeader(SESSION_HEADER);
+        if (sessionId != null && admissionController.isRegistered(sessionId)) {
+            return sessionId;
+        }
+        String remoteAddress = request.getRemoteAddr();
+        return remoteAddress != null ? remoteAddress : "local";
+    }
+
+    private static boolean isToolCall(JsonNode message) {
+        return TOOLS_CALL_METHOD.equals(message.path("method").asText());
+    }
+
+    private static boolean containsToolCall(JsonNode batch) {
+        for (JsonNode message : batch) {
+            if (isToolCall(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeToolResult(HttpServletResponse response, JsonNode id, McpSchema.CallToolResult result)
+            throws IOException {
+        Object requestId = id != null ? objectMapper.treeToValue(id, Object.class) : null;
+        McpSchema.JSONRPCResponse rpcResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, requestId, result, null);
+        writeJson(response, HttpServletResponse.SC_OK, rpcResponse);
+    }
+
+    private void writeBatchRejected(HttpServletResponse response) throws IOException {
+        McpSchema.JSONRPCResponse.JSONRPCError error = new McpSchema.JSONRPCResponse.JSONRPCError(
+            McpSchema.ErrorCodes.INVALID_REQUEST, "Batched tool calls are not supported, send each tools/call as its own request", null);
+        writeJson(response, HttpServletResponse.SC_BAD_REQUEST,
+            new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, null, null, error));
+    }
+
+    private void writeJson(HttpServletResponse response, int status, Object body) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(body));
+    }
+
+    /**
+     * Request wrapper that serves an already read body.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Non-blocking reads are not supported for buffered requests");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Releases the admission slot when an asynchronous response ends.
+     */
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Still the same call; listeners are dropped on a new async cycle, so register again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
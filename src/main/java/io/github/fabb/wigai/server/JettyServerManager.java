@@ -5,19 +5,56 @@ import io.github.fabb.wigai.common.Logger;
 import io.github.fabb.wigai.config.ConfigManager;
 import io.github.fabb.wigai.WigAIExtensionDefinition;
 
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.servlet.FilterHolder;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.unixdomain.server.UnixDomainServerConnector;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 
+import jakarta.servlet.DispatcherType;
+
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.net.ConnectException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages the Jetty server lifecycle and configuration.
  * Handles starting, stopping, and restarting the Jetty server with proper error handling.
  */
 public class JettyServerManager {
+    /**
+     * Maximum time a replaced connector may spend draining in-flight requests before it is closed.
+     */
+    private static final long CONNECTOR_DRAIN_TIMEOUT_MS = 5000;
+
+    /**
+     * Maximum time a tool call waits for a free execution slot before it is rejected as rate limited.
+     */
+    private static final long ADMISSION_QUEUE_WAIT_MS = 2000;
+
+    private static final Set<PosixFilePermission> OWNER_PERMISSIONS = EnumSet.of(
+        PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE);
+
     private final Logger logger;
     private final ConfigManager configManager;
     private final WigAIExtensionDefinition extensionDefinition;
@@ -25,8 +62,10 @@ public class JettyServerManager {
 
     // Jetty server management
     private Server jettyServer;
+    private ServerConnector tcpConnector;
     private ServletContextHandler contextHandler;
     private String currentEndpointPath;
+    private Path currentSocketPath;
 
     /**
      * Creates a new JettyServerManager instance.
@@ -57,29 +96,330 @@ public class JettyServerManager {
         }
 
         // Create and configure Jetty server
-        jettyServer = new Server();
-        ServerConnector connector = new ServerConnector(jettyServer);
-        connector.setHost(configManager.getMcpHost());
-        connector.setPort(configManager.getMcpPort());
-        jettyServer.addConnector(connector);
+        jettyServer = new Server(createThreadPool());
+        tcpConnector = createTcpConnector();
+        jettyServer.addConnector(tcpConnector);
+
+        // Optionally listen on a Unix domain socket as well, so local agents can skip the TCP stack
+        currentSocketPath = null;
+        String socketPath = configManager.getUnixSocketPath();
+        if (socketPath != null) {
+            addUnixDomainConnector(Path.of(socketPath));
+        }
 
         // Create servlet context handler
         contextHandler = new ServletContextHandler();
         contextHandler.setContextPath("/");
-        jettyServer.setHandler(contextHandler);
+        if (configManager.isGzipEnabled()) {
+            jettyServer.setHandler(createGzipHandler(contextHandler));
+        } else {
+            jettyServer.setHandler(contextHandler);
+        }
 
         // Register servlet if provided
         if (mcpServlet != null && endpointPath != null) {
             contextHandler.addServlet(mcpServlet, endpointPath);
             this.currentEndpointPath = endpointPath;
+
+            if (configManager.isAdmissionControlEnabled()) {
+                AdmissionController admissionController = new AdmissionController(
+                    configManager.getToolCallsPerSecond(),
+                    configManager.getToolCallBurst(),
+                    configManager.getMaxConcurrentToolCalls(),
+                    ADMISSION_QUEUE_WAIT_MS,
+                    SessionWeights.parse(configManager.getDefaultSessionWeight(), configManager.getClientWeights()));
+                contextHandler.addFilter(new FilterHolder(new AdmissionFilter(admissionController, logger)),
+                    endpointPath, EnumSet.of(DispatcherType.REQUEST));
+            }
         }
 
         // Start the Jetty server
         jettyServer.start();
+        restrictSocketPermissions();
 
         notifyServerStarted();
     }
 
+    /**
+     * Moves the TCP connector to the currently configured host and port while the server keeps running.
+     * The new connector is started before the old one stops accepting, and the old one is closed once its
+     * in-flight requests have drained, so the servlet context and MCP sessions stay alive throughout.
+     * Only when the new address overlaps the old one is the old connector closed first. If the new
+     * connector cannot be started, the old one keeps serving.
+     *
+     * @throws Exception if the new connector cannot be started
+     */
+    public void rebindConnector() throws Exception {
+        if (jettyServer == null || !jettyServer.isRunning()) {
+            throw new IllegalStateException("Cannot rebind connector: server is not running");
+        }
+
+        ServerConnector oldConnector = tcpConnector;
+        ServerConnector newConnector = createTcpConnector();
+        boolean overlapping = addressesOverlap(oldConnector.getHost(), oldConnector.getPort(),
+            newConnector.getHost(), newConnector.getPort());
+        if (overlapping) {
+            // The old connector still holds the address (e.g. 0.0.0.0 -> localhost on the same port),
+            // so it has to release it first
+            logger.info("WigAI Extension: New address overlaps the current one, closing the current connector first");
+            closeConnector(oldConnector);
+        }
+
+        jettyServer.addConnector(newConnector);
+        try {
+            newConnector.start();
+        } catch (Exception e) {
+            jettyServer.removeConnector(newConnector);
+            if (overlapping) {
+                // The old address was released for nothing, so listen on it again
+                try {
+                    tcpConnector = createTcpConnector(oldConnector.getHost(), oldConnector.getPort());
+                    jettyServer.addConnector(tcpConnector);
+                    tcpConnector.start();
+                } catch (Exception restoreError) {
+                    e.addSuppressed(restoreError);
+                    logger.error("WigAI Extension: Could not listen on the previous address again", restoreError);
+                }
+            }
+            notifyRebindFailed(e);
+            throw e;
+        }
+        tcpConnector = newConnector;
+
+        if (!overlapping) {
+            drainConnector(oldConnector);
+        }
+        notifyServerRebound();
+    }
+
+    /**
+     * Checks whether two listening addresses compete for the same socket: they share a port, and either
+     * the hosts are the same or one of them listens on all interfaces.
+     */
+    static boolean addressesOverlap(String oldHost, int oldPort, String newHost, int newPort) {
+        if (oldPort != newPort || newPort == 0) {
+            return false;
+        }
+        return isWildcardHost(oldHost) || isWildcardHost(newHost) || oldHost.equalsIgnoreCase(newHost);
+    }
+
+    private static boolean isWildcardHost(String host) {
+        return host == null || host.isEmpty() || host.equals("0.0.0.0") || host.equals("::") || host.equals("[::]");
+    }
+
+    /**
+     * Creates the TCP connector for the configured host and port.
+     */
+    private ServerConnector createTcpConnector() {
+        return createTcpConnector(configManager.getMcpHost(), configManager.getMcpPort());
+    }
+
+    /**
+     * Creates a TCP connector for the given host and port.
+     */
+    private ServerConnector createTcpConnector(String host, int port) {
+        ServerConnector connector = new ServerConnector(jettyServer, createConnectionFactories());
+        connector.setHost(host);
+        connector.setPort(port);
+        return connector;
+    }
+
+    /**
+     * Stops a connector from accepting new connections and closes it asynchronously once its
+     * open connections are done or the drain timeout expires.
+     */
+    private void drainConnector(ServerConnector connector) {
+        connector.shutdown()
+            .orTimeout(CONNECTOR_DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .whenComplete((ignored, error) -> {
+                if (error != null) {
+                    logger.info("WigAI Extension: Closing previous connector with requests still in flight after "
+                        + CONNECTOR_DRAIN_TIMEOUT_MS + " ms");
+                }
+                closeConnector(connector);
+            });
+    }
+
+    /**
+     * Stops a connector immediately and removes it from the server.
+     */
+    private void closeConnector(ServerConnector connector) {
+        try {
+            connector.stop();
+        } catch (Exception e) {
+            logger.error("WigAI Extension: Error closing previous connector", e);
+        }
+        if (jettyServer != null) {
+            jettyServer.removeConnector(connector);
+        }
+    }
+
+    /**
+     * Adds a Unix domain socket connector next to the TCP connector.
+     * The socket is only created in a directory that no other user can access, so nobody else can connect
+     * in the moment between binding and restricting the socket's own permissions. A missing directory is
+     * created with owner-only permissions. A stale socket left behind by an unclean shutdown is removed
+     * first; sockets another process still listens on and other files are never replaced.
+     *
+     * @param socketPath The path of the socket file
+     */
+    private void addUnixDomainConnector(Path socketPath) {
+        Path parent = socketPath.toAbsolutePath().getParent();
+        if (parent == null) {
+            logger.warn("WigAI Extension: Socket path '" + socketPath + "' has no directory, Unix domain socket disabled");
+            return;
+        }
+        try {
+            ensurePrivateDirectory(parent);
+        } catch (IOException e) {
+            logger.warn("WigAI Extension: " + e.getMessage() + ", Unix domain socket disabled");
+            return;
+        }
+        if (Files.exists(socketPath, LinkOption.NOFOLLOW_LINKS)) {
+            if (!Files.isOther(socketPath)) {
+                logger.warn("WigAI Extension: Socket path '" + socketPath + "' is not a socket, Unix domain socket disabled");
+                return;
+            }
+            try {
+                if (isSocketListening(socketPath)) {
+                    logger.warn("WigAI Extension: Socket '" + socketPath + "' is in use by another process, Unix domain socket disabled");
+                    return;
+                }
+                Files.delete(socketPath);
+            } catch (IOException e) {
+                logger.warn("WigAI Extension: Could not remove stale socket '" + socketPath + "': " + e.getMessage());
+                return;
+            }
+        }
+
+        UnixDomainServerConnector unixConnector = new UnixDomainServerConnector(jettyServer, createConnectionFactories());
+        unixConnector.setUnixDomainPath(socketPath);
+        jettyServer.addConnector(unixConnector);
+        currentSocketPath = socketPath;
+    }
+
+    /**
+     * Creates the socket directory with owner-only permissions if it does not exist, and otherwise checks
+     * that neither group nor others have any access to it. File systems without POSIX permissions are
+     * accepted as they are.
+     *
+     * @param directory The socket directory
+     * @throws IOException if the directory cannot be created or is accessible by other users
+     */
+    static void ensurePrivateDirectory(Path directory) throws IOException {
+        boolean posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (!Files.exists(directory)) {
+            if (posix) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } else {
+                Files.createDirectories(directory);
+            }
+            return;
+        }
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Socket directory '" + directory + "' is not a directory");
+        }
+        if (posix) {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory);
+            if (permissions.stream().anyMatch(permission -> !OWNER_PERMISSIONS.contains(permission))) {
+                throw new IOException("Socket directory '" + directory + "' is accessible by other users");
+            }
+        }
+    }
+
+    /**
+     * Checks whether a process is accepting connections on a socket file. A refused connection means the
+     * socket was left behind by a process that is gone.
+     *
+     * @param socketPath The path of the socket file
+     * @return true if a connection could be established
+     * @throws IOException if the socket cannot be probed for another reason
+     */
+    static boolean isSocketListening(Path socketPath) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketPath));
+            return true;
+        } catch (ConnectException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the connection factories for one connector: HTTP/1.1, plus h2c when enabled.
+     * With h2c, clients may either upgrade from HTTP/1.1 or start with HTTP/2 prior knowledge.
+     *
+     * @return The connection factories
+     */
+    private ConnectionFactory[] createConnectionFactories() {
+        HttpConfiguration httpConfig = new HttpConfiguration();
+        httpConfig.setSendServerVersion(false);
+        HttpConnectionFactory http1 = new HttpConnectionFactory(httpConfig);
+        if (!configManager.isHttp2Enabled()) {
+            return new ConnectionFactory[] {http1};
+        }
+        return new ConnectionFactory[] {http1, new HTTP2CServerConnectionFactory(httpConfig)};
+    }
+
+    /**
+     * Wraps the servlet context in a gzip handler. Compression is negotiated per request through
+     * the Accept-Encoding header, and responses below the configured size are sent uncompressed.
+     * Event streams are excluded so that streamed events are not held back in the compressor.
+     *
+     * @param handler The handler to wrap
+     * @return The gzip handler
+     */
+    private GzipHandler createGzipHandler(ServletContextHandler handler) {
+        GzipHandler gzipHandler = new GzipHandler();
+        gzipHandler.setMinGzipSize(configManager.getGzipMinSize());
+        // MCP tool calls are POST requests, which GzipHandler does not compress by default
+        gzipHandler.setIncludedMethods("GET", "POST");
+        gzipHandler.addExcludedMimeTypes("text/event-stream");
+        gzipHandler.setHandler(handler);
+        return gzipHandler;
+    }
+
+    /**
+     * Restricts the Unix domain socket itself to the current user, where the file system supports POSIX
+     * permissions. Until then the private socket directory keeps other users out.
+     */
+    private void restrictSocketPermissions() {
+        if (currentSocketPath == null) {
+            return;
+        }
+        try {
+            Files.setPosixFilePermissions(currentSocketPath, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Non-POSIX file systems rely on the permissions of the socket directory
+        } catch (IOException e) {
+            logger.warn("WigAI Extension: Could not restrict permissions of socket '" + currentSocketPath + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the server thread pool from the configured bounds.
+     * When virtual threads are enabled, requests are dispatched to virtual threads, so handlers that block
+     * on work scheduled on the Bitwig host thread do not tie up pooled platform threads.
+     *
+     * @return The configured thread pool
+     */
+    private QueuedThreadPool createThreadPool() {
+        QueuedThreadPool threadPool = new QueuedThreadPool(configManager.getServerMaxThreads(), configManager.getServerMinThreads());
+        threadPool.setName("wigai-server");
+
+        if (configManager.isVirtualThreadsEnabled()) {
+            if (VirtualThreads.areSupported()) {
+                threadPool.setVirtualThreadsExecutor(VirtualThreads.getDefaultVirtualThreadsExecutor());
+                logger.info("WigAI Extension: Executing server requests on virtual threads");
+            } else {
+                logger.warn("WigAI Extension: Virtual threads are not supported by this JVM, using platform threads");
+            }
+        }
+
+        logger.info("WigAI Extension: Server thread pool configured with min=" + threadPool.getMinThreads()
+            + ", max=" + threadPool.getMaxThreads());
+        return threadPool;
+    }
+
     /**
      * Stops the Jetty server and all servlets.
      */
@@ -104,38 +444,21 @@ public class JettyServerManager {
     }
 
     /**
-     * Gracefully restarts the server with new configuration and registers the provided servlet.
+     * Checks if the Jetty server is currently running.
      *
-     * @param mcpServlet The MCP servlet to register, or null to restart without servlet
-     * @param endpointPath The endpoint path for the servlet, or null if no servlet provided
-     * @throws Exception if the server fails to restart
+     * @return true if the server is running, false otherwise
      */
-    public void restartServer(ServletHolder mcpServlet, String endpointPath) throws Exception {
-        logger.info("WigAI Extension: Beginning graceful server restart");
-
-        // Stop the current server if running
-        if (jettyServer != null && jettyServer.isRunning()) {
-            logger.info("WigAI Extension: Stopping current server for restart");
-            stopServer();
-        }
-
-        // Small delay to ensure clean shutdown
-        Thread.sleep(500);
-
-        // Start the server with new configuration
-        logger.info("WigAI Extension: Starting server with updated configuration");
-        startServer(mcpServlet, endpointPath);
-
-        logger.info("WigAI Extension: Server restart completed successfully");
+    public boolean isRunning() {
+        return jettyServer != null && jettyServer.isRunning();
     }
 
     /**
-     * Checks if the Jetty server is currently running.
+     * Gets the port the TCP connector is bound to, which differs from the configured port when that is 0.
      *
-     * @return true if the server is running, false otherwise
+     * @return The local port, or -1 if the server is not running
      */
-    public boolean isRunning() {
-        return jettyServer != null && jettyServer.isRunning();
+    public int getLocalPort() {
+        return isRunning() ? tcpConnector.getLocalPort() : -1;
     }
 
     /**
@@ -156,6 +479,9 @@ public class JettyServerManager {
             configManager.getMcpHost(), configManager.getMcpPort(), endpointPath);
         String message = String.format("WigAI MCP Server v%s started. Connect AI agents to: %s",
             extensionDefinition.getVersion(), connectionUrl);
+        if (currentSocketPath != null) {
+            message += " (or Unix domain socket " + currentSocketPath + ")";
+        }
         logger.info(message);
 
         try {
@@ -165,6 +491,40 @@ public class JettyServerManager {
         }
     }
 
+    /**
+     * Notifies that the server moved to a new TCP address.
+     */
+    private void notifyServerRebound() {
+        String endpointPath = currentEndpointPath != null ? currentEndpointPath : "";
+        String connectionUrl = String.format("http://%s:%d%s",
+            configManager.getMcpHost(), configManager.getMcpPort(), endpointPath);
+        String message = String.format("WigAI MCP Server v%s now listening on: %s",
+            extensionDefinition.getVersion(), connectionUrl);
+        logger.info(message);
+
+        try {
+            host.showPopupNotification(message);
+        } catch (Exception e) {
+            logger.error("WigAI Extension: Error showing rebind notification", e);
+        }
+    }
+
+    /**
+     * Notifies that the server could not move to the new TCP address and keeps listening on the old one.
+     */
+    private void notifyRebindFailed(Exception error) {
+        String message = String.format("WigAI MCP Server v%s could not listen on %s:%d (%s), still listening on %s:%d",
+            extensionDefinition.getVersion(), configManager.getMcpHost(), configManager.getMcpPort(), error.getMessage(),
+            tcpConnector.getHost(), tcpConnector.getPort());
+        logger.warn(message);
+
+        try {
+            host.showPopupNotification(message);
+        } catch (Exception e) {
+            logger.error("WigAI Extension: Error showing rebind notification", e);
+        }
+    }
+
     /**
      * Notifies that the server stopped.
      */
@@ -0,0 +1,97 @@
+package io.github.fabb.wigai.server;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fair-queue weights of client sessions, resolved from the MCP client name a session reports when it initializes.
+ *
+ * A session with weight 2 is served twice as often as a session with weight 1 while both have calls queued.
+ * Overrides are given as a comma separated list of client names and weights, e.g. "batch-runner=0.25, claude=2";
+ * names are matched case-insensitively, and entries that cannot be parsed are ignored.
+ */
+public final class SessionWeights {
+
+    /**
+     * Smallest accepted weight, so that no session can be starved completely.
+     */
+    public static final double MIN_WEIGHT = 0.01;
+
+    /**
+     * Largest accepted weight.
+     */
+    public static final double MAX_WEIGHT = 100;
+
+    private final double defaultWeight;
+    private final Map<String, Double> clientWeights;
+
+    private SessionWeights(double defaultWeight, Map<String, Double> clientWeights) {
+        this.defaultWeight = defaultWeight;
+        this.clientWeights = clientWeights;
+    }
+
+    /**
+     * Returns weights that treat every session the same.
+     */
+    public static SessionWeights uniform() {
+        return new SessionWeights(1.0, Map.of());
+    }
+
+    /**
+     * Creates weights from a default and a list of per-client overrides.
+     *
+     * @param defaultWeight The weight of sessions whose client has no override
+     * @param overrides     Comma separated "client=weight" entries, may be null or empty
+     * @return The session weights
+     * @throws IllegalArgumentException if the default weight is not positive
+     */
+    public static SessionWeights parse(double defaultWeight, String overrides) {
+        if (!(defaultWeight > 0)) {
+            throw new IllegalArgumentException("Invalid default session weight: " + defaultWeight);
+        }
+        Map<String, Double> clientWeights = new HashMap<>();
+        if (overrides != null) {
+            for (String entry : overrides.split(",")) {
+                int separator = entry.lastIndexOf('=');
+                if (separator <= 0) {
+                    continue;
+                }
+                String client = entry.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+                try {
+                    double weight = Double.parseDouble(entry.substring(separator + 1).trim());
+                    if (!client.isEmpty() && weight > 0) {
+                        clientWeights.put(client, clamp(weight));
+                    }
+                } catch (NumberFormatException e) {
+                    // Ignored, see the class description
+                }
+            }
+        }
+        return new SessionWeights(clamp(defaultWeight), Map.copyOf(clientWeights));
+    }
+
+    /**
+     * Returns the weight of sessions whose client is unknown or has no override.
+     */
+    public double defaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Returns the weight of a session opened by the given client.
+     *
+     * @param clientName The client name from the initialize request, may be null
+     * @return The client's override, or the default weight
+     */
+    public double weightFor(String clientName) {
+        if (clientName == null) {
+            return defaultWeight;
+        }
+        return clientWeights.getOrDefault(clientName.trim().toLowerCase(Locale.ROOT), defaultWeight);
+    }
+
+    private static double clamp(double weight) {
+        return Math.max(MIN_WEIGHT, Math.min(MAX_WEIGHT, weight));
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.fabb.wigai.bitwig;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ArrangerClipIndex class.
+ */
+class ArrangerClipIndexTest {
+    private static final int DRUMS = 0;
+    private static final int BASS = 1;
+    private static final int PAD = 2;
+
+    private final ArrangerClipIndex index = new ArrangerClipIndex();
+
+    @Test
+    void testQueryReturnsOverlappingClipsInStartOrder() {
+        index.observe(BASS, 16.0, 32.0);
+        index.observe(DRUMS, 0.0, 64.0);
+        index.observe(BASS, 0.0, 8.0);
+
+        assertEquals(List.of(
+            new ArrangerClipIndex.Interval(DRUMS, 0.0, 64.0),
+            new ArrangerClipIndex.Interval(BASS, 16.0, 32.0)
+        ), index.query(12.0, 20.0));
+    }
+
+    @Test
+    void testQueryBoundariesAreExclusive() {
+        index.observe(BASS, 8.0, 16.0);
+
+        assertTrue(index.query(0.0, 8.0).isEmpty());
+        assertTrue(index.query(16.0, 24.0).isEmpty());
+        assertEquals(1, index.query(15.5, 16.0).size());
+    }
+
+    @Test
+    void testLongClipIsFoundFromLateRange() {
+        index.observe(PAD, 0.0, 256.0);
+        for (int bar = 0; bar < 32; bar++) {
+            index.observe(BASS, bar * 4.0, bar * 4.0 + 2.0);
+        }
+
+        List<ArrangerClipIndex.Interval> result = index.query(200.0, 201.0);
+
+        assertEquals(List.of(new ArrangerClipIndex.Interval(PAD, 0.0, 256.0)), result);
+    }
+
+    @Test
+    void testOverlappingObservationReplacesOutdatedClip() {
+        index.observe(BASS, 0.0, 8.0);
+        index.observe(BASS, 16.0, 24.0);
+
+        // The first clip was moved by two beats
+        assertTrue(index.observe(BASS, 2.0, 10.0));
+
+        assertEquals(List.of(
+            new ArrangerClipIndex.Interval(BASS, 2.0, 10.0),
+            new ArrangerClipIndex.Interval(BASS, 16.0, 24.0)
+        ), index.query(0.0, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void testNonOverlappingClipsOnOneTrackAreKept() {
+        index.observe(BASS, 0.0, 8.0);
+        index.observe(BASS, 32.0, 40.0);
+
+        assertEquals(List.of(
+            new ArrangerClipIndex.Interval(BASS, 0.0, 8.0),
+            new ArrangerClipIndex.Interval(BASS, 32.0, 40.0)
+        ), index.query(0.0, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void testReorderedTracksClearTheIndex() {
+        index.trackNamed(DRUMS, "Drums");
+        index.trackNamed(BASS, "Bass");
+        index.observe(BASS, 0.0, 8.0);
+
+        // Bass moved up to the position Drums had
+        assertTrue(index.trackNamed(DRUMS, "Bass"));
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRenamedTrackKeepsItsClips() {
+        index.trackNamed(DRUMS, "Drums");
+        index.trackNamed(BASS, "Bass");
+        index.observe(BASS, 0.0, 8.0);
+
+        assertFalse(index.trackNamed(BASS, "Bass 2"));
+
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testOverlapOnOtherTrackIsKept() {
+        index.observe(BASS, 0.0, 8.0);
+        index.observe(DRUMS, 4.0, 12.0);
+
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testRepeatedObservationDoesNotChangeIndex() {
+        assertTrue(index.observe(BASS, 0.0, 8.0));
+        assertFalse(index.observe(BASS, 0.0, 8.0));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testInvalidObservationsAreIgnored() {
+        assertFalse(index.observe(-1, 0.0, 8.0));
+        assertFalse(index.observe(BASS, 8.0, 8.0));
+        assertFalse(index.observe(BASS, 8.0, 4.0));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testClearRemovesAllClips() {
+        index.observe(BASS, 0.0, 8.0);
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertTrue(index.query(0.0, 100.0).isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.fabb.wigai.bitwig;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BeatScheduler class.
+ */
+class BeatSchedulerTest {
+
+    private static final double TEMPO = 120.0; // 500 ms per beat
+
+    private final BeatScheduler scheduler = new BeatScheduler(4);
+    private final List<String> ran = new ArrayList<>();
+    private final List<Runnable> dispatchedTasks = new ArrayList<>();
+    private final List<Long> dispatchedDelays = new ArrayList<>();
+    private final BeatScheduler.Dispatcher dispatcher = (task, delayMs) -> {
+        dispatchedTasks.add(task);
+        dispatchedDelays.add(delayMs);
+    };
+
+    @Test
+    void testActionsWithinLookaheadAreDispatchedWithDelayToTheirPosition() {
+        schedule(8.0, "a");
+        schedule(8.5, "b");
+
+        // 150 ms lookahead at 120 BPM is 0.3 beats
+        scheduler.onPosition(7.5, TEMPO, dispatcher);
+        assertTrue(dispatchedTasks.isEmpty());
+
+        scheduler.onPosition(7.8, TEMPO, dispatcher);
+        assertEquals(List.of(100L), dispatchedDelays);
+
+        runDispatched();
+        assertEquals(List.of("a"), ran);
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    void testActionsRunInPositionOrder() {
+        schedule(4.0, "late");
+        schedule(2.0, "early");
+        schedule(2.0, "early-second");
+
+        scheduler.onPosition(5.0, TEMPO, dispatcher);
+        runDispatched();
+
+        assertEquals(List.of("early", "early-second", "late"), ran);
+        assertEquals(List.of(0L, 0L, 0L), dispatchedDelays);
+    }
+
+    @Test
+    void testCancelledDispatchedActionDoesNotRun() {
+        BeatScheduler.Action action = schedule(1.0, "a");
+        scheduler.onPosition(0.9, TEMPO, dispatcher);
+        assertTrue(scheduler.list().get(0).dispatched());
+
+        assertTrue(scheduler.cancel(action.id()));
+        runDispatched();
+
+        assertTrue(ran.isEmpty());
+        assertFalse(scheduler.cancel(action.id()));
+    }
+
+    @Test
+    void testRecallRequeuesDispatchedActions() {
+        schedule(1.0, "a");
+        scheduler.onPosition(0.9, TEMPO, dispatcher);
+
+        // The transport stopped before the action was due
+        scheduler.recall();
+        runDispatched();
+        assertTrue(ran.isEmpty());
+        assertFalse(scheduler.list().get(0).dispatched());
+
+        scheduler.onPosition(0.95, TEMPO, dispatcher);
+        runDispatched();
+        assertEquals(List.of("a"), ran);
+    }
+
+    @Test
+    void testBatchBeyondCapacityIsRejectedWhole() {
+        schedule(1.0, "a");
+        schedule(2.0, "b");
+
+        List<BeatScheduler.Request> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batch.add(new BeatScheduler.Request(4.0 + i, "c" + i, () -> {}));
+        }
+
+        assertThrows(IllegalStateException.class, () -> scheduler.scheduleAll(batch));
+        assertEquals(2, scheduler.size());
+    }
+
+    @Test
+    void testListIsOrderedByPosition() {
+        schedule(16.0, "b");
+        schedule(4.0, "a");
+
+        List<BeatScheduler.Action> actions = scheduler.list();
+
+        assertEquals("a", actions.get(0).description());
+        assertEquals("b", actions.get(1).description());
+    }
+
+    @Test
+    void testCancelAllAndInvalidTempo() {
+        schedule(1.0, "a");
+        scheduler.onPosition(1.0, 0.0, dispatcher);
+        assertTrue(dispatchedTasks.isEmpty());
+
+        assertEquals(1, scheduler.cancelAll());
+        assertEquals(0, scheduler.size());
+    }
+
+    private BeatScheduler.Action schedule(double beat, String name) {
+        return scheduler.scheduleAll(List.of(new BeatScheduler.Request(beat, name, () -> ran.add(name)))).get(0);
+    }
+
+    private void runDispatched() {
+        List<Runnable> tasks = new ArrayList<>(dispatchedTasks);
+        dispatchedTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
@@ -1,14 +1,30 @@
 package io.github.fabb.wigai.bitwig;
 
+import com.bitwig.extension.callback.BooleanValueChangedCallback;
+import com.bitwig.extension.callback.DoubleValueChangedCallback;
 import com.bitwig.extension.controller.api.*;
+import io.github.fabb.wigai.common.AppConstants;
 import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.data.ParameterSetting;
 import io.github.fabb.wigai.common.error.BitwigApiException;
 import io.github.fabb.wigai.common.error.ErrorCode;
+import io.github.fabb.wigai.common.filter.TrackFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -56,7 +72,7 @@ public class BitwigApiFacadeTest {
     @Mock
     private Application mockApplication;
 
-    @Mock
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     private MasterTrack mockMasterTrack;
 
     @Mock
@@ -80,6 +96,14 @@ public class BitwigApiFacadeTest {
     @Mock
     private Send mockSend;
 
+    private IntegerValue mockTrackItemCount;
+
+    private CursorTrack mockPooledCursorTrack;
+    private PinnableCursorDevice mockPooledCursorDevice;
+    private CursorRemoteControlsPage mockPooledParameterPage;
+    private Clip mockArrangerCursorClip;
+    private Track mockArrangerClipTrack;
+
     private BitwigApiFacade bitwigApiFacade;
 
     @BeforeEach
@@ -93,12 +117,22 @@ public class BitwigApiFacadeTest {
         when(mockCursorTrack.createCursorDevice()).thenReturn(mockCursorDevice);
         when(mockCursorDevice.createCursorRemoteControlsPage(8)).thenReturn(mockParameterBank);
 
+        // Pooled cursors; all pool slots share these mocks
+        mockPooledCursorTrack = mock(CursorTrack.class, RETURNS_DEEP_STUBS);
+        mockPooledCursorDevice = mock(PinnableCursorDevice.class, RETURNS_DEEP_STUBS);
+        mockPooledParameterPage = mock(CursorRemoteControlsPage.class, RETURNS_DEEP_STUBS);
+        when(mockHost.createCursorTrack(anyString(), anyString(), anyInt(), anyInt(), anyBoolean())).thenReturn(mockPooledCursorTrack);
+        when(mockPooledCursorTrack.createCursorDevice(anyString(), anyString(), anyInt(), any(CursorDeviceFollowMode.class)))
+            .thenReturn(mockPooledCursorDevice);
+        when(mockPooledCursorDevice.createCursorRemoteControlsPage(8)).thenReturn(mockPooledParameterPage);
+
         // Setup new mocks for story 5.2
         when(mockHost.createMasterTrack(0)).thenReturn(mockMasterTrack);
         when(mockMasterTrack.createCursorRemoteControlsPage(8)).thenReturn(mockProjectParameterBank);
 
         // Setup TrackBank mocks (new for clip launching) - use smaller sizes for testing
-        when(mockHost.createTrackBank(128, 0, 128)).thenReturn(mockTrackBank);
+        when(mockHost.createTrackBank(128, AppConstants.DEFAULT_SENDS_PER_TRACK, 128)).thenReturn(mockTrackBank);
+        when(mockHost.createEffectTrackBank(AppConstants.MAX_SENDS_PER_TRACK, 0)).thenReturn(mock(TrackBank.class, RETURNS_DEEP_STUBS));
         when(mockTrackBank.getSizeOfBank()).thenReturn(8); // Reduced from 128 to 8 for testing
         when(mockTrackBank.getItemAt(anyInt())).thenReturn(mockTrack);
         when(mockTrack.clipLauncherSlotBank()).thenReturn(mockClipLauncherSlotBank);
@@ -115,6 +149,11 @@ public class BitwigApiFacadeTest {
         when(mockSceneBank.getItemAt(anyInt())).thenReturn(mockScene);
         when(mockSceneBank.getSizeOfBank()).thenReturn(8); // Reduced from 128 to 8 for testing
 
+        // Setup live item count mocks - observers never fire, so the facade falls back to the bank sizes
+        mockTrackItemCount = mock(IntegerValue.class);
+        lenient().when(mockTrackBank.itemCount()).thenReturn(mockTrackItemCount);
+        lenient().when(mockSceneBank.itemCount()).thenReturn(mock(IntegerValue.class));
+
         // Setup parameter mocks with lenient stubbing to avoid NPEs
         lenient().when(mockParameterBank.getParameter(anyInt())).thenReturn(mockRemoteControl);
         lenient().when(mockProjectParameterBank.getParameter(anyInt())).thenReturn(mockProjectRemoteControl);
@@ -128,6 +167,7 @@ public class BitwigApiFacadeTest {
         lenient().when(mockRemoteControl.name()).thenReturn(mock(com.bitwig.extension.controller.api.SettableStringValue.class));
         lenient().when(mockRemoteControl.value()).thenReturn(mock(com.bitwig.extension.controller.api.SettableRangedValue.class));
         lenient().when(mockRemoteControl.displayedValue()).thenReturn(mock(com.bitwig.extension.controller.api.SettableStringValue.class));
+        lenient().when(mockRemoteControl.discreteValueCount()).thenReturn(mock(com.bitwig.extension.controller.api.IntegerValue.class));
 
         // Setup project parameter mocks
         lenient().when(mockProjectRemoteControl.exists()).thenReturn(mock(com.bitwig.extension.controller.api.BooleanValue.class));
@@ -147,6 +187,7 @@ public class BitwigApiFacadeTest {
         lenient().when(mockTrack.createDeviceBank(128)).thenReturn(mockDeviceBank);
         lenient().when(mockDeviceBank.getSizeOfBank()).thenReturn(8);
         lenient().when(mockDeviceBank.getItemAt(anyInt())).thenReturn(mockDevice);
+        lenient().when(mockDeviceBank.itemCount()).thenReturn(mock(IntegerValue.class));
         lenient().when(mockDevice.exists()).thenReturn(mock(com.bitwig.extension.controller.api.BooleanValue.class));
         lenient().when(mockDevice.name()).thenReturn(mock(com.bitwig.extension.controller.api.SettableStringValue.class));
         lenient().when(mockDevice.isEnabled()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBooleanValue.class));
@@ -168,14 +209,47 @@ public class BitwigApiFacadeTest {
         lenient().when(mockTransport.isPlaying()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBooleanValue.class));
         lenient().when(mockTransport.isArrangerRecordEnabled()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBooleanValue.class));
         lenient().when(mockTransport.isArrangerLoopEnabled()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBooleanValue.class));
+        lenient().when(mockTransport.arrangerLoopStart()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBeatTimeValue.class));
+        lenient().when(mockTransport.arrangerLoopDuration()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBeatTimeValue.class));
         lenient().when(mockTransport.isMetronomeEnabled()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBooleanValue.class));
         com.bitwig.extension.controller.api.Parameter mockTempo = mock(com.bitwig.extension.controller.api.Parameter.class);
         lenient().when(mockTempo.value()).thenReturn(mock(com.bitwig.extension.controller.api.SettableRangedValue.class));
         lenient().when(mockTransport.tempo()).thenReturn(mockTempo);
-        lenient().when(mockTransport.timeSignature()).thenReturn(mock(com.bitwig.extension.controller.api.TimeSignatureValue.class));
+        com.bitwig.extension.controller.api.TimeSignatureValue mockTimeSignature = mock(com.bitwig.extension.controller.api.TimeSignatureValue.class);
+        lenient().when(mockTimeSignature.numerator()).thenReturn(mock(com.bitwig.extension.controller.api.SettableIntegerValue.class));
+        lenient().when(mockTimeSignature.denominator()).thenReturn(mock(com.bitwig.extension.controller.api.SettableIntegerValue.class));
+        lenient().when(mockTransport.timeSignature()).thenReturn(mockTimeSignature);
         lenient().when(mockTransport.getPosition()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBeatTimeValue.class));
         lenient().when(mockTransport.playPositionInSeconds()).thenReturn(mock(com.bitwig.extension.controller.api.SettableDoubleValue.class));
 
+        // Setup remote control page mocks for the parameter catalogue
+        lenient().when(mockParameterBank.selectedPageIndex()).thenReturn(mock(com.bitwig.extension.controller.api.SettableIntegerValue.class));
+        lenient().when(mockParameterBank.pageNames()).thenReturn(mock(com.bitwig.extension.controller.api.StringArrayValue.class));
+        CursorRemoteControlsPage mockCatalogPage = mock(CursorRemoteControlsPage.class);
+        lenient().when(mockCatalogPage.selectedPageIndex()).thenReturn(mock(com.bitwig.extension.controller.api.SettableIntegerValue.class));
+        lenient().when(mockCatalogPage.pageCount()).thenReturn(mock(com.bitwig.extension.controller.api.IntegerValue.class));
+        RemoteControl mockCatalogParameter = mock(RemoteControl.class);
+        lenient().when(mockCatalogParameter.name()).thenReturn(mock(com.bitwig.extension.controller.api.SettableStringValue.class));
+        lenient().when(mockCatalogParameter.value()).thenReturn(mock(com.bitwig.extension.controller.api.SettableRangedValue.class));
+        lenient().when(mockCatalogParameter.displayedValue()).thenReturn(mock(com.bitwig.extension.controller.api.SettableStringValue.class));
+        lenient().when(mockCatalogParameter.discreteValueCount()).thenReturn(mock(com.bitwig.extension.controller.api.IntegerValue.class));
+        lenient().when(mockCatalogPage.getParameter(anyInt())).thenReturn(mockCatalogParameter);
+        lenient().when(mockCursorDevice.createCursorRemoteControlsPage(anyString(), anyInt(), anyString())).thenReturn(mockCatalogPage);
+
+        // Setup launcher cursor clip mocks for the clip note buffer
+        com.bitwig.extension.controller.api.Clip mockCursorClip = mock(com.bitwig.extension.controller.api.Clip.class);
+        lenient().when(mockCursorClip.exists()).thenReturn(mock(com.bitwig.extension.controller.api.BooleanValue.class));
+        lenient().when(mockCursorClip.getLoopLength()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBeatTimeValue.class));
+        lenient().when(mockHost.createLauncherCursorClip(anyInt(), anyInt())).thenReturn(mockCursorClip);
+        mockArrangerCursorClip = mock(com.bitwig.extension.controller.api.Clip.class);
+        lenient().when(mockArrangerCursorClip.exists()).thenReturn(mock(com.bitwig.extension.controller.api.BooleanValue.class));
+        lenient().when(mockArrangerCursorClip.getPlayStart()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBeatTimeValue.class));
+        lenient().when(mockArrangerCursorClip.getPlayStop()).thenReturn(mock(com.bitwig.extension.controller.api.SettableBeatTimeValue.class));
+        mockArrangerClipTrack = mock(com.bitwig.extension.controller.api.Track.class);
+        lenient().when(mockArrangerClipTrack.position()).thenReturn(mock(com.bitwig.extension.controller.api.IntegerValue.class));
+        lenient().when(mockArrangerCursorClip.getTrack()).thenReturn(mockArrangerClipTrack);
+        lenient().when(mockHost.createArrangerCursorClip(anyInt(), anyInt())).thenReturn(mockArrangerCursorClip);
+
         // Setup CursorTrack mocks for story 5.2
         lenient().when(mockCursorTrack.exists()).thenReturn(mock(com.bitwig.extension.controller.api.BooleanValue.class));
         lenient().when(mockCursorTrack.name()).thenReturn(mock(com.bitwig.extension.controller.api.SettableStringValue.class));
@@ -789,4 +863,282 @@ public class BitwigApiFacadeTest {
         // Verify logging
         verify(mockLogger).info("BitwigApiFacade: Getting all scenes info");
     }
+
+    @Test
+    void testTrackCount_FallsBackToBankSizeUntilObserved() {
+        assertEquals(8, bitwigApiFacade.getTrackCount());
+    }
+
+    @Test
+    void testTrackCount_StopsLoopsAtLiveItemCount() {
+        // Arrange - capture the item count observer registered in the constructor and report 2 tracks
+        org.mockito.ArgumentCaptor<IntegerValueChangedCallback> observer =
+            org.mockito.ArgumentCaptor.forClass(IntegerValueChangedCallback.class);
+        verify(mockTrackItemCount).addValueObserver(observer.capture());
+        observer.getValue().valueChanged(2);
+
+        com.bitwig.extension.controller.api.BooleanValue mockExists = mock(com.bitwig.extension.controller.api.BooleanValue.class);
+        when(mockExists.get()).thenReturn(false);
+        when(mockTrack.exists()).thenReturn(mockExists);
+        clearInvocations(mockTrackBank);
+
+        // Act
+        bitwigApiFacade.getAllTracksInfo(null);
+
+        // Assert - only the first two track bank slots are visited
+        assertEquals(2, bitwigApiFacade.getTrackCount());
+        verify(mockTrackBank, never()).getItemAt(2);
+    }
+
+    @Test
+    void testDeviceCursorLease_WritesThroughLeasedCursorOnly() {
+        BooleanValue exists = mock(BooleanValue.class);
+        when(exists.get()).thenReturn(true);
+        SettableStringValue deviceName = mock(SettableStringValue.class);
+        when(deviceName.get()).thenReturn("Filter");
+        when(mockTrack.exists()).thenReturn(exists);
+        when(mockDevice.exists()).thenReturn(exists);
+        when(mockDevice.name()).thenReturn(deviceName);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(mockHost).scheduleTask(any(Runnable.class), anyLong());
+
+        long leaseId = (Long) bitwigApiFacade.leaseDeviceCursor(1, 0, "session-a").get("lease_id");
+
+        verify(mockPooledCursorTrack).selectChannel(mockTrack);
+        verify(mockPooledCursorDevice).selectDevice(mockDevice);
+
+        // Not written before the cursor has reached the device
+        BitwigApiException notReady = assertThrows(BitwigApiException.class, () ->
+            bitwigApiFacade.setLeasedDeviceParameters(leaseId, List.of(new ParameterSetting(2, 0.75)), "session-a"));
+        assertEquals(ErrorCode.DEVICE_UNAVAILABLE, notReady.getErrorCode());
+
+        when(mockPooledCursorDevice.exists().get()).thenReturn(true);
+        when(mockPooledCursorDevice.name().get()).thenReturn("Filter");
+        when(mockPooledCursorTrack.position().get()).thenReturn(1);
+        assertEquals(true, bitwigApiFacade.getLeasedDeviceParameters(leaseId, "session-a").get("ready"));
+        bitwigApiFacade.setLeasedDeviceParameters(leaseId, List.of(new ParameterSetting(2, 0.75)), "session-a");
+
+        verify(mockPooledParameterPage.getParameter(2).value()).set(0.75);
+        verify(mockRemoteControl.value(), never()).set(anyDouble());
+
+        // Another session cannot use or release the lease
+        assertThrows(BitwigApiException.class, () -> bitwigApiFacade.getLeasedDeviceParameters(leaseId, "session-b"));
+        assertFalse(bitwigApiFacade.releaseDeviceCursor(leaseId, "session-b"));
+
+        assertTrue(bitwigApiFacade.releaseDeviceCursor(leaseId, "session-a"));
+        BitwigApiException released = assertThrows(BitwigApiException.class, () -> bitwigApiFacade.getLeasedDeviceParameters(leaseId, "session-a"));
+        assertEquals(ErrorCode.INVALID_PARAMETER, released.getErrorCode());
+    }
+
+    @Test
+    void testDeviceCursorLease_NotReadyBeforeCursorLeavesSameNamedDevice() {
+        BooleanValue exists = mock(BooleanValue.class);
+        when(exists.get()).thenReturn(true);
+        SettableStringValue deviceName = mock(SettableStringValue.class);
+        when(deviceName.get()).thenReturn("EQ+");
+        when(mockTrack.exists()).thenReturn(exists);
+        when(mockDevice.exists()).thenReturn(exists);
+        when(mockDevice.name()).thenReturn(deviceName);
+        List<Runnable> scheduled = new ArrayList<>();
+        doAnswer(invocation -> scheduled.add(invocation.getArgument(0))).when(mockHost).scheduleTask(any(Runnable.class), anyLong());
+        // The pooled cursor still shows an "EQ+" on track 0 from an earlier lease
+        when(mockPooledCursorDevice.exists().get()).thenReturn(true);
+        when(mockPooledCursorDevice.name().get()).thenReturn("EQ+");
+        when(mockPooledCursorTrack.position().get()).thenReturn(0);
+
+        long leaseId = (Long) bitwigApiFacade.leaseDeviceCursor(1, 0, null).get("lease_id");
+
+        // Neither before the select task ran, nor before the cursor reports the leased track
+        assertEquals(false, bitwigApiFacade.getLeasedDeviceParameters(leaseId, null).get("ready"));
+        scheduled.forEach(Runnable::run);
+        assertEquals(false, bitwigApiFacade.getLeasedDeviceParameters(leaseId, null).get("ready"));
+        when(mockPooledCursorTrack.position().get()).thenReturn(1);
+        assertEquals(true, bitwigApiFacade.getLeasedDeviceParameters(leaseId, null).get("ready"));
+    }
+
+    @Test
+    void testDeviceCursorLease_FailsWhenAllCursorsAreLeased() {
+        BooleanValue exists = mock(BooleanValue.class);
+        when(exists.get()).thenReturn(true);
+        when(mockTrack.exists()).thenReturn(exists);
+        when(mockDevice.exists()).thenReturn(exists);
+
+        for (int i = 0; i < 4; i++) {
+            bitwigApiFacade.leaseDeviceCursor(0, 0, "session-a");
+        }
+
+        BitwigApiException exception = assertThrows(BitwigApiException.class, () -> bitwigApiFacade.leaseDeviceCursor(0, 0, "session-a"));
+        assertEquals(ErrorCode.RESOURCE_UNAVAILABLE, exception.getErrorCode());
+    }
+
+    @Test
+    void testApplySendValues_SkipsUnchangedSendsAndBatchesTheRest() {
+        givenAllTracksExist();
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(mockHost).scheduleTask(any(Runnable.class), anyLong());
+
+        Map<String, Object> result = bitwigApiFacade.applySendValues(
+            new int[] {0, 1, 2}, new int[] {0, 2, 1}, new double[] {0.5, 0.0, 0.25});
+
+        assertEquals(3, result.get("requested"));
+        assertEquals(2, result.get("changed"));
+        assertEquals(1, result.get("batches"));
+        verify(mockSend.value()).set(0.5);
+        verify(mockSend.value()).set(0.25);
+        verify(mockSend.value(), never()).set(0.0);
+    }
+
+    @Test
+    void testApplySendValues_RejectsUnknownSendBeforeWriting() {
+        givenAllTracksExist();
+        clearInvocations(mockHost);
+
+        BitwigApiException exception = assertThrows(BitwigApiException.class, () -> bitwigApiFacade.applySendValues(
+            new int[] {0, 1}, new int[] {0, AppConstants.DEFAULT_SENDS_PER_TRACK}, new double[] {0.5, 0.5}));
+
+        assertEquals(ErrorCode.INVALID_RANGE, exception.getErrorCode());
+        verify(mockHost, never()).scheduleTask(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    void testMasterTrack_IsListedAndDetailedFromObservedChannelState() {
+        when(mockMasterTrack.exists().get()).thenReturn(true);
+        when(mockMasterTrack.name().get()).thenReturn("Master");
+        when(mockMasterTrack.trackType().get()).thenReturn("Master");
+
+        // Report the channel state through the observers registered in the constructor
+        ArgumentCaptor<BooleanValueChangedCallback> existsObservers = ArgumentCaptor.forClass(BooleanValueChangedCallback.class);
+        verify(mockMasterTrack.exists(), atLeastOnce()).addValueObserver(existsObservers.capture());
+        existsObservers.getAllValues().forEach(observer -> observer.valueChanged(true));
+        ArgumentCaptor<DoubleValueChangedCallback> volumeObservers = ArgumentCaptor.forClass(DoubleValueChangedCallback.class);
+        verify(mockMasterTrack.volume().value(), atLeastOnce()).addValueObserver(volumeObservers.capture());
+        volumeObservers.getAllValues().forEach(observer -> observer.valueChanged(0.8));
+
+        List<Map<String, Object>> masterTracks = bitwigApiFacade.getAllTracksInfo("master");
+        Map<String, Object> details = bitwigApiFacade.getTrackDetailsByName("Master");
+
+        assertEquals(1, masterTracks.size());
+        assertEquals(0, masterTracks.get(0).get("index"));
+        assertEquals("master", masterTracks.get(0).get("kind"));
+        assertEquals("Master", masterTracks.get(0).get("name"));
+        assertEquals("master", details.get("type"));
+        assertEquals(0.8, details.get("volume"));
+        assertTrue(bitwigApiFacade.getAllTracksInfo("effect").isEmpty());
+    }
+
+    @Test
+    void testMasterTrack_IsAddressedByKindAndIndex() {
+        when(mockMasterTrack.exists().get()).thenReturn(true);
+        when(mockMasterTrack.name().get()).thenReturn("Master");
+        when(mockMasterTrack.trackType().get()).thenReturn("Master");
+        TrackAddress master = new TrackAddress(TrackAddress.Kind.MASTER, 0);
+
+        assertEquals(master, bitwigApiFacade.findTrackAddressByName("Master"));
+        assertTrue(bitwigApiFacade.hasTrack(master));
+        assertEquals("Master", bitwigApiFacade.getTrackDetails(master).get("name"));
+        assertEquals(1, bitwigApiFacade.getAllTracksInfo(null, TrackFilter.compile("kind = master and index = 0")).size());
+
+        bitwigApiFacade.setTrackVolume(master, 0.6);
+        verify(mockMasterTrack.volume().value()).set(0.6);
+
+        // Effect tracks are counted from 0 among themselves; none exist here
+        TrackAddress firstEffect = new TrackAddress(TrackAddress.Kind.EFFECT, 0);
+        assertFalse(bitwigApiFacade.hasTrack(firstEffect));
+        assertEquals(ErrorCode.TRACK_NOT_FOUND,
+            assertThrows(BitwigApiException.class, () -> bitwigApiFacade.setTrackMute(firstEffect, true)).getErrorCode());
+        // The master track has no sends
+        assertEquals(ErrorCode.INVALID_RANGE, assertThrows(BitwigApiException.class, () -> bitwigApiFacade.applySendValues(
+            new TrackAddress[] {master}, new int[] {0}, new double[] {0.5})).getErrorCode());
+    }
+
+    @Test
+    void testRunOnHostThread_RunsDirectlyOnHostThread() {
+        // The facade is created on the test thread, which therefore acts as the host thread
+        clearInvocations(mockHost);
+
+        assertEquals("done", bitwigApiFacade.runOnHostThread("test", () -> "done", 1000));
+        verify(mockHost, never()).scheduleTask(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    void testRunOnHostThread_SchedulesFromOtherThreads() throws Exception {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(mockHost).scheduleTask(any(Runnable.class), anyLong());
+
+        CompletableFuture<String> result = CompletableFuture.supplyAsync(() ->
+            bitwigApiFacade.runOnHostThread("test", () -> "done", 1000));
+
+        assertEquals("done", result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRunOnHostThread_WithdrawsTaskThatDidNotStartInTime() throws Exception {
+        AtomicReference<Runnable> scheduled = new AtomicReference<>();
+        doAnswer(invocation -> {
+            scheduled.set(invocation.getArgument(0));
+            return null;
+        }).when(mockHost).scheduleTask(any(Runnable.class), anyLong());
+        AtomicBoolean ran = new AtomicBoolean();
+
+        CompletableFuture<String> result = CompletableFuture.supplyAsync(() ->
+            bitwigApiFacade.runOnHostThread("test", () -> {
+                ran.set(true);
+                return "done";
+            }, 10));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals(ErrorCode.BITWIG_TIMEOUT, ((BitwigApiException) exception.getCause()).getErrorCode());
+
+        // The host thread gets to the task late; it must not run anymore
+        scheduled.get().run();
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void testArrangerClipIndex_KeepsEarlierSelectionsAndFollowsRenamedTrack() {
+        givenAllTracksExist();
+        SettableStringValue trackName = mock(SettableStringValue.class);
+        when(trackName.get()).thenReturn("Bass");
+        when(mockTrack.name()).thenReturn(trackName);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(mockHost).scheduleTask(any(Runnable.class), anyLong());
+        when(mockArrangerCursorClip.exists().get()).thenReturn(true);
+        when(mockArrangerClipTrack.position().get()).thenReturn(1);
+        ArgumentCaptor<BooleanValueChangedCallback> existsObserver = ArgumentCaptor.forClass(BooleanValueChangedCallback.class);
+        verify(mockArrangerCursorClip.exists()).addValueObserver(existsObserver.capture());
+
+        selectArrangerClip(existsObserver.getValue(), 0.0, 8.0);
+        // Another clip of the same length on the same track; it may as well be a different clip, so both are kept
+        selectArrangerClip(existsObserver.getValue(), 32.0, 40.0);
+        selectArrangerClip(existsObserver.getValue(), 48.0, 52.0);
+
+        List<Map<String, Object>> clips = bitwigApiFacade.getArrangerClips(0.0, Double.POSITIVE_INFINITY, null);
+        assertEquals(List.of(0.0, 32.0, 48.0), clips.stream().map(clip -> clip.get("start")).toList());
+        // Only the selected clip is known to be current
+        assertEquals(List.of(false, false, true), clips.stream().map(clip -> clip.get("last_observed")).toList());
+
+        when(trackName.get()).thenReturn("Bass 2");
+        assertEquals(3, bitwigApiFacade.getArrangerClips(0.0, Double.POSITIVE_INFINITY, "Bass 2").size());
+        assertTrue(bitwigApiFacade.getArrangerClips(0.0, Double.POSITIVE_INFINITY, "Bass").isEmpty());
+    }
+
+    private void selectArrangerClip(BooleanValueChangedCallback existsObserver, double start, double stop) {
+        when(mockArrangerCursorClip.getPlayStart().get()).thenReturn(start);
+        when(mockArrangerCursorClip.getPlayStop().get()).thenReturn(stop);
+        existsObserver.valueChanged(true);
+    }
+
+    private void givenAllTracksExist() {
+        BooleanValue trackExists = mock(BooleanValue.class);
+        when(trackExists.get()).thenReturn(true);
+        when(mockTrack.exists()).thenReturn(trackExists);
+    }
 }
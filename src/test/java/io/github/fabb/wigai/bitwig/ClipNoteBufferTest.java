@@ -0,0 +1,204 @@
+package io.github.fabb.wigai.bitwig;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ClipNoteBuffer class.
+ */
+class ClipNoteBufferTest {
+
+    private final ClipNoteBuffer buffer = new ClipNoteBuffer(64);
+
+    @Test
+    void testPageReturnsNotesInStepThenPitchOrder() {
+        buffer.put(4, 60, 0, 100, 0.5);
+        buffer.put(0, 64, 0, 90, 0.25);
+        buffer.put(0, 48, 0, 80, 1.0);
+
+        ClipNoteBuffer.Page page = buffer.page(0, 10);
+
+        assertEquals(3, page.total());
+        assertEquals(List.of(
+            new ClipNoteBuffer.Note(48, 0, 80, 1.0),
+            new ClipNoteBuffer.Note(64, 0, 90, 0.25),
+            new ClipNoteBuffer.Note(60, 4, 100, 0.5)
+        ), page.notes());
+    }
+
+    @Test
+    void testPagingSplitsNotesWithoutGaps() {
+        for (int step = 0; step < 10; step++) {
+            buffer.put(step, 60, 0, 100, 0.25);
+        }
+
+        ClipNoteBuffer.Page first = buffer.page(0, 4);
+        ClipNoteBuffer.Page last = buffer.page(8, 4);
+
+        assertEquals(4, first.notes().size());
+        assertEquals(3, first.notes().get(3).step());
+        assertEquals(2, last.notes().size());
+        assertEquals(8, last.notes().get(0).step());
+        assertEquals(10, last.total());
+        assertTrue(buffer.page(10, 4).notes().isEmpty());
+    }
+
+    @Test
+    void testPutReplacesNoteInSameCell() {
+        buffer.put(2, 60, 0, 100, 0.25);
+        buffer.put(2, 60, 0, 50, 2.0);
+
+        assertEquals(1, buffer.size());
+        assertEquals(new ClipNoteBuffer.Note(60, 2, 50, 2.0), buffer.page(0, 1).notes().get(0));
+    }
+
+    @Test
+    void testRemoveKeepsRemainingNotesAddressable() {
+        buffer.put(0, 60, 0, 100, 0.25);
+        buffer.put(1, 61, 0, 100, 0.25);
+        buffer.put(2, 62, 0, 100, 0.25);
+
+        buffer.remove(0, 60);
+        buffer.remove(2, 62);
+
+        assertEquals(1, buffer.size());
+        assertEquals(61, buffer.page(0, 10).notes().get(0).pitch());
+
+        buffer.remove(1, 61);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testOutOfGridNotesAreIgnored() {
+        buffer.put(64, 60, 0, 100, 0.25);
+        buffer.put(0, 128, 0, 100, 0.25);
+        buffer.put(-1, 60, 0, 100, 0.25);
+
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testClearRemovesAllNotes() {
+        buffer.put(0, 60, 0, 100, 0.25);
+        buffer.put(1, 60, 0, 100, 0.25);
+
+        buffer.clear();
+
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.page(0, 10).notes().isEmpty());
+        buffer.put(0, 60, 0, 100, 0.25);
+        assertEquals(1, buffer.size());
+    }
+
+    @Test
+    void testBufferGrowsBeyondInitialCapacity() {
+        for (int step = 0; step < 64; step++) {
+            for (int pitch = 0; pitch < 8; pitch++) {
+                buffer.put(step, pitch, 0, 100, 0.25);
+            }
+        }
+
+        assertEquals(512, buffer.size());
+        assertEquals(new ClipNoteBuffer.Note(7, 63, 100, 0.25), buffer.page(511, 1).notes().get(0));
+    }
+
+    @Test
+    void testMergeOnlyWritesDifferences() {
+        buffer.put(0, 60, 0, 100, 0.25);
+        buffer.put(4, 62, 0, 100, 0.25);
+        RecordingWriter writer = new RecordingWriter();
+
+        ClipNoteBuffer.Diff diff = buffer.applyDiff(List.of(
+            new ClipNoteBuffer.Note(60, 0, 100, 0.25),
+            new ClipNoteBuffer.Note(62, 4, 80, 0.25),
+            new ClipNoteBuffer.Note(64, 8, 100, 0.5)
+        ), false, writer);
+
+        assertEquals(new ClipNoteBuffer.Diff(2, 0, 1), diff);
+        assertEquals(List.of("set 4/62 v80 ch0", "set 8/64 v100 ch0"), writer.operations);
+    }
+
+    @Test
+    void testMergeWithZeroVelocityClearsNote() {
+        buffer.put(0, 60, 3, 100, 0.25);
+        RecordingWriter writer = new RecordingWriter();
+
+        ClipNoteBuffer.Diff diff = buffer.applyDiff(List.of(
+            new ClipNoteBuffer.Note(60, 0, 0, 0.25),
+            new ClipNoteBuffer.Note(61, 0, 0, 0.25)
+        ), false, writer);
+
+        assertEquals(new ClipNoteBuffer.Diff(0, 1, 0), diff);
+        assertEquals(List.of("clear 0/60 ch3"), writer.operations);
+    }
+
+    @Test
+    void testReplaceClearsNotesThatAreNotRequested() {
+        buffer.put(0, 60, 0, 100, 0.25);
+        buffer.put(4, 62, 0, 100, 0.25);
+        buffer.put(8, 64, 0, 100, 0.25);
+        RecordingWriter writer = new RecordingWriter();
+
+        ClipNoteBuffer.Diff diff = buffer.applyDiff(List.of(
+            new ClipNoteBuffer.Note(62, 4, 100, 0.25),
+            new ClipNoteBuffer.Note(65, 12, 100, 0.25)
+        ), true, writer);
+
+        assertEquals(new ClipNoteBuffer.Diff(1, 2, 1), diff);
+        assertTrue(writer.operations.containsAll(List.of("set 12/65 v100 ch0", "clear 0/60 ch0", "clear 8/64 ch0")));
+        assertEquals(3, writer.operations.size());
+    }
+
+    @Test
+    void testApplyDiffWritesThroughToBuffer() {
+        buffer.put(0, 60, 0, 100, 0.25);
+
+        buffer.applyDiff(List.of(new ClipNoteBuffer.Note(61, 1, 100, 0.25)), true, new RecordingWriter());
+
+        // The issued operations are visible before the clip's observer reports them back
+        assertEquals(List.of(new ClipNoteBuffer.Note(61, 1, 100, 0.25)), buffer.page(0, 10).notes());
+    }
+
+    @Test
+    void testChunkedWriteSeesNotesClearedByEarlierChunk() {
+        buffer.put(0, 60, 0, 100, 0.25);
+        buffer.put(4, 62, 0, 100, 0.25);
+        RecordingWriter writer = new RecordingWriter();
+
+        buffer.applyDiff(List.of(new ClipNoteBuffer.Note(62, 4, 100, 0.25)), true, writer);
+        ClipNoteBuffer.Diff secondChunk = buffer.applyDiff(List.of(new ClipNoteBuffer.Note(60, 0, 100, 0.25)), false, writer);
+
+        // The first chunk cleared 0/60, so the second chunk has to write it again
+        assertEquals(new ClipNoteBuffer.Diff(1, 0, 0), secondChunk);
+        assertEquals(List.of("clear 0/60 ch0", "set 0/60 v100 ch0"), writer.operations);
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    void testChangedNoteKeepsItsChannel() {
+        buffer.put(0, 60, 5, 100, 0.25);
+        RecordingWriter writer = new RecordingWriter();
+
+        buffer.applyDiff(List.of(new ClipNoteBuffer.Note(60, 0, 64, 0.5)), false, writer);
+
+        assertEquals(List.of("set 0/60 v64 ch5"), writer.operations);
+    }
+
+    private static final class RecordingWriter implements ClipNoteBuffer.StepWriter {
+        final List<String> operations = new ArrayList<>();
+
+        @Override
+        public void setStep(int channel, int step, int pitch, int velocity, double duration) {
+            operations.add("set " + step + "/" + pitch + " v" + velocity + " ch" + channel);
+        }
+
+        @Override
+        public void clearStep(int channel, int step, int pitch) {
+            operations.add("clear " + step + "/" + pitch + " ch" + channel);
+        }
+    }
+}
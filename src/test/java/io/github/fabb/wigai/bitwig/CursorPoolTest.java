@@ -0,0 +1,97 @@
+package io.github.fabb.wigai.bitwig;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CursorPool class.
+ */
+class CursorPoolTest {
+
+    private static final String SESSION = "session-a";
+
+    private long now = 0;
+    private final CursorPool pool = new CursorPool(2, 1000, () -> now);
+
+    @Test
+    void testLeasesDistinctSlotsUntilFull() {
+        CursorPool.Lease first = pool.lease(SESSION);
+        CursorPool.Lease second = pool.lease(SESSION);
+
+        assertNotEquals(first.slot(), second.slot());
+        assertNotEquals(first.id(), second.id());
+        assertNull(pool.lease(SESSION));
+        assertEquals(2, pool.activeCount());
+    }
+
+    @Test
+    void testReleasedSlotIsLeasedUnderNewId() {
+        CursorPool.Lease first = pool.lease(SESSION);
+        pool.lease(SESSION);
+
+        assertTrue(pool.release(first.id(), SESSION));
+        CursorPool.Lease third = pool.lease(SESSION);
+
+        assertEquals(first.slot(), third.slot());
+        assertNotEquals(first.id(), third.id());
+        assertEquals(-1, pool.use(first.id(), SESSION));
+        assertEquals(third.slot(), pool.use(third.id(), SESSION));
+        assertFalse(pool.release(first.id(), SESSION));
+    }
+
+    @Test
+    void testIdleLeaseExpiresAndUseKeepsLeaseAlive() {
+        CursorPool.Lease idle = pool.lease(SESSION);
+        CursorPool.Lease busy = pool.lease(SESSION);
+
+        now += ms(800);
+        assertEquals(busy.slot(), pool.use(busy.id(), SESSION));
+        now += ms(800);
+
+        // The idle lease expired, the used one did not
+        assertEquals(1, pool.activeCount());
+        CursorPool.Lease reclaimed = pool.lease(SESSION);
+        assertEquals(idle.slot(), reclaimed.slot());
+        assertEquals(-1, pool.use(idle.id(), SESSION));
+        assertEquals(busy.slot(), pool.use(busy.id(), SESSION));
+    }
+
+    @Test
+    void testExpiredLeaseIsRejectedOnUse() {
+        CursorPool.Lease lease = pool.lease(SESSION);
+
+        now += ms(1001);
+
+        assertEquals(-1, pool.use(lease.id(), SESSION));
+        assertEquals(0, pool.activeCount());
+        assertEquals(-1, pool.use(0, SESSION));
+    }
+
+    @Test
+    void testLeaseIsBoundToItsSession() {
+        CursorPool.Lease lease = pool.lease(SESSION);
+
+        assertEquals(-1, pool.use(lease.id(), "session-b"));
+        assertEquals(-1, pool.use(lease.id(), null));
+        assertFalse(pool.release(lease.id(), "session-b"));
+        assertEquals(lease.slot(), pool.use(lease.id(), SESSION));
+    }
+
+    @Test
+    void testLeaseIdsAreNotSequential() {
+        CursorPool.Lease first = pool.lease(SESSION);
+        assertTrue(pool.release(first.id(), SESSION));
+        CursorPool.Lease second = pool.lease(SESSION);
+
+        assertNotEquals(first.id() + 1, second.id());
+        assertTrue(first.id() > 0 && first.id() < CursorPool.MAX_LEASE_ID);
+        assertTrue(second.id() > 0 && second.id() < CursorPool.MAX_LEASE_ID);
+    }
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.fabb.wigai.bitwig;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the MixerState store.
+ */
+class MixerStateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testTrackCountFollowsHighestExistingTrack() {
+        MixerState state = new MixerState(128, 0);
+        assertEquals(0, state.getTrackCount());
+
+        state.setExists(0, true);
+        state.setExists(1, true);
+        assertEquals(2, state.getTrackCount());
+
+        state.setExists(100, true);
+        assertEquals(101, state.getTrackCount());
+
+        state.setExists(100, false);
+        assertEquals(2, state.getTrackCount());
+    }
+
+    @Test
+    void testBitsetsAcrossWordBoundaries() {
+        MixerState state = new MixerState(128, 0);
+
+        state.setMuted(63, true);
+        state.setSoloed(64, true);
+        state.setArmed(127, true);
+
+        assertTrue(state.isMuted(63));
+        assertFalse(state.isMuted(64));
+        assertTrue(state.isSoloed(64));
+        assertFalse(state.isSoloed(63));
+        assertTrue(state.isArmed(127));
+
+        state.setArmed(127, false);
+        assertFalse(state.isArmed(127));
+    }
+
+    @Test
+    void testVersionChangesOnEveryUpdate() {
+        MixerState state = new MixerState(8, 2);
+        long initial = state.getVersion();
+
+        state.setVolume(0, 0.5);
+        long afterVolume = state.getVersion();
+        assertNotEquals(initial, afterVolume);
+
+        state.setSend(0, 1, 0.25);
+        assertNotEquals(afterVolume, state.getVersion());
+    }
+
+    @Test
+    void testSerializesColumnarSnapshotOfExistingTracks() throws Exception {
+        MixerState state = new MixerState(8, 2);
+        state.setExists(0, true);
+        state.setExists(1, true);
+        state.setVolume(0, 0.8);
+        state.setVolume(1, 0.5);
+        state.setPan(1, 0.25);
+        state.setMuted(1, true);
+        state.setArmed(0, true);
+        state.setSend(1, 0, 0.75);
+        // Values of tracks beyond the last existing one must not be serialized
+        state.setVolume(5, 0.9);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(state));
+
+        assertEquals(2, json.get("track_count").asInt());
+        assertEquals(2, json.get("send_count").asInt());
+        assertEquals(2, json.get("volume").size());
+        assertEquals(0.8, json.get("volume").get(0).asDouble());
+        assertEquals(0.25, json.get("pan").get(1).asDouble());
+        assertFalse(json.get("muted").get(0).asBoolean());
+        assertTrue(json.get("muted").get(1).asBoolean());
+        assertTrue(json.get("armed").get(0).asBoolean());
+        assertFalse(json.get("soloed").get(0).asBoolean());
+        assertEquals(2, json.get("sends").size());
+        assertEquals(0.75, json.get("sends").get(1).get(0).asDouble());
+    }
+
+    @Test
+    void testToStringIsCompact() {
+        MixerState state = new MixerState(8, 0);
+        state.setExists(0, true);
+
+        assertTrue(state.toString().startsWith("MixerState[tracks=1"));
+    }
+}
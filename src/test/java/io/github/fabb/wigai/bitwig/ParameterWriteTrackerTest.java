@@ -0,0 +1,99 @@
+package io.github.fabb.wigai.bitwig;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ParameterWriteTracker class.
+ */
+class ParameterWriteTrackerTest {
+
+    private final ParameterWriteTracker tracker = new ParameterWriteTracker(8);
+
+    @Test
+    void testAppliedValueIsReportedInsteadOfRequestedValue() throws Exception {
+        tracker.setValue(1, 0.2);
+        ParameterWriteTracker.Pending pending = tracker.expect(1, 0.33);
+
+        // A stepped parameter snaps to the nearest step
+        tracker.setValue(1, 0.3333);
+        tracker.setDisplayedValue(1, "Saw");
+
+        ParameterWriteTracker.Applied applied = tracker.await(pending, deadline(1000));
+        assertEquals(new ParameterWriteTracker.Applied(0.3333, "Saw", true), applied);
+    }
+
+    @Test
+    void testWaitsForObserverOnAnotherThread() throws Exception {
+        ParameterWriteTracker.Pending pending = tracker.expect(3, 0.75);
+
+        Thread hostThread = new Thread(() -> {
+            tracker.setValue(3, 0.75);
+            tracker.setDisplayedValue(3, "75.0 %");
+        });
+        hostThread.start();
+
+        ParameterWriteTracker.Applied applied = tracker.await(pending, deadline(5000));
+        hostThread.join();
+
+        assertTrue(applied.confirmed());
+        assertEquals(0.75, applied.value());
+    }
+
+    @Test
+    void testUnchangedValueIsConfirmedWithoutWaiting() throws Exception {
+        tracker.setValue(0, 0.5);
+        tracker.setDisplayedValue(0, "50.0 %");
+
+        ParameterWriteTracker.Applied applied = tracker.await(tracker.expect(0, 0.5), System.nanoTime());
+
+        assertEquals(new ParameterWriteTracker.Applied(0.5, "50.0 %", true), applied);
+    }
+
+    @Test
+    void testSteppedValueSnappingToHeldStepIsConfirmedWithoutWaiting() throws Exception {
+        // A parameter with 4 steps holds the second one; 0.4 snaps to it as well
+        tracker.setDiscreteValueCount(5, 4);
+        tracker.setValue(5, 1.0 / 3);
+        tracker.setDisplayedValue(5, "Saw");
+
+        ParameterWriteTracker.Applied applied = tracker.await(tracker.expect(5, 0.4), System.nanoTime());
+
+        assertEquals(new ParameterWriteTracker.Applied(1.0 / 3, "Saw", true), applied);
+        assertFalse(tracker.await(tracker.expect(5, 0.6), System.nanoTime()).confirmed());
+    }
+
+    @Test
+    void testTimeoutReportsLastObservedValue() throws Exception {
+        tracker.setValue(2, 0.1);
+        tracker.setDisplayedValue(2, "10.0 %");
+
+        ParameterWriteTracker.Applied applied = tracker.await(tracker.expect(2, 0.9), deadline(10));
+
+        assertEquals(new ParameterWriteTracker.Applied(0.1, "10.0 %", false), applied);
+    }
+
+    @Test
+    void testObservationBeforeExpectDoesNotConfirm() throws Exception {
+        tracker.setValue(4, 0.4);
+        ParameterWriteTracker.Pending pending = tracker.expect(4, 0.6);
+
+        assertFalse(tracker.await(pending, deadline(10)).confirmed());
+    }
+
+    @Test
+    void testUntrackedSlotsAreIgnored() {
+        assertNull(tracker.expect(8, 0.5));
+        assertNull(tracker.expect(-1, 0.5));
+
+        tracker.setValue(8, 0.5);
+        tracker.setDisplayedValue(-1, "ignored");
+    }
+
+    private static long deadline(long timeoutMs) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.fabb.wigai.bitwig;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PositionFormatter class.
+ */
+class PositionFormatterTest {
+
+    private final PositionFormatter formatter = new PositionFormatter();
+
+    @Test
+    void testFourFourPositions() {
+        assertEquals("1.1.1:0", formatter.formatBeatPosition(0.0));
+        assertEquals("1.2.1:0", formatter.formatBeatPosition(1.0));
+        assertEquals("1.1.2:0", formatter.formatBeatPosition(0.25));
+        assertEquals("1.1.1:120", formatter.formatBeatPosition(0.125));
+        assertEquals("2.1.1:0", formatter.formatBeatPosition(4.0));
+        assertEquals("3.4.4:0", formatter.formatBeatPosition(11.75));
+    }
+
+    @Test
+    void testSevenEightCountsEighthNoteBeats() {
+        formatter.setNumerator(7);
+        formatter.setDenominator(8);
+
+        assertEquals("1.2.1:0", formatter.formatBeatPosition(0.5));
+        assertEquals("1.7.2:0", formatter.formatBeatPosition(3.25));
+        assertEquals("2.1.1:0", formatter.formatBeatPosition(3.5));
+    }
+
+    @Test
+    void testThreeFourAndCutTime() {
+        formatter.setNumerator(3);
+        assertEquals("2.1.1:0", formatter.formatBeatPosition(3.0));
+
+        formatter.setNumerator(2);
+        formatter.setDenominator(2);
+        assertEquals("1.2.1:0", formatter.formatBeatPosition(2.0));
+        assertEquals("1.1.8:0", formatter.formatBeatPosition(1.75));
+    }
+
+    @Test
+    void testInvalidTimeSignatureValuesAreIgnored() {
+        formatter.setNumerator(0);
+        formatter.setDenominator(-4);
+
+        assertEquals(4, formatter.getNumerator());
+        assertEquals(4, formatter.getDenominator());
+    }
+
+    @Test
+    void testPositionsBeforeProjectStart() {
+        assertEquals("0.4.1:0", formatter.formatBeatPosition(-1.0));
+    }
+
+    @Test
+    void testTimeFormatting() {
+        assertEquals("0:00.000", formatter.formatTime(0.0));
+        assertEquals("0:05.250", formatter.formatTime(5.25));
+        assertEquals("1:05.007", formatter.formatTime(65.007));
+        assertEquals("1:00.000", formatter.formatTime(59.9996));
+        assertEquals("1:01:01.500", formatter.formatTime(3661.5));
+    }
+
+    @Test
+    void testAppendsIntoCallerBuffer() {
+        StringBuilder out = new StringBuilder("pos=");
+
+        formatter.appendBeatPosition(4.5, out);
+        out.append(" time=");
+        PositionFormatter.appendTime(12.5, out);
+
+        assertEquals("pos=2.1.3:0 time=0:12.500", out.toString());
+    }
+}
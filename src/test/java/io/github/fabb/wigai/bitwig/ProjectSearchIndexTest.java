@@ -0,0 +1,79 @@
+package io.github.fabb.wigai.bitwig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ProjectSearchIndex class.
+ */
+class ProjectSearchIndexTest {
+
+    private ProjectSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProjectSearchIndex();
+        index.update(ProjectSearchIndex.Kind.TRACK, 0, -1, "Drums");
+        index.update(ProjectSearchIndex.Kind.TRACK, 1, -1, "Vocal Bus");
+        index.update(ProjectSearchIndex.Kind.DEVICE, 0, 0, "Reverb");
+        index.update(ProjectSearchIndex.Kind.DEVICE, 1, 0, "EQ+");
+        index.update(ProjectSearchIndex.Kind.DEVICE, 1, 1, "Reverb");
+        index.update(ProjectSearchIndex.Kind.CLIP, 0, 2, "Drum Loop");
+        index.update(ProjectSearchIndex.Kind.SCENE, -1, 3, "Chorus");
+    }
+
+    @Test
+    void testTrackContextRanksDeviceOnMatchingTrackFirst() {
+        List<Map<String, Object>> results = index.search("the reverb on the vocal bus", null, 10);
+
+        Map<String, Object> first = results.get(0);
+        assertEquals("device", first.get("kind"));
+        assertEquals("Reverb", first.get("name"));
+        assertEquals(1, first.get("track_index"));
+        assertEquals("Vocal Bus", first.get("track_name"));
+        assertEquals(1, first.get("device_index"));
+    }
+
+    @Test
+    void testPartialWordsMatchBelowWholeWords() {
+        List<Map<String, Object>> results = index.search("drum", null, 10);
+
+        assertEquals(2, results.size());
+        assertEquals("Drum Loop", results.get(0).get("name"));
+        assertEquals(2, results.get(0).get("slot_index"));
+        assertEquals("Drums", results.get(1).get("name"));
+    }
+
+    @Test
+    void testKindFilterAndLimit() {
+        List<Map<String, Object>> scenes = index.search("chorus", Set.of(ProjectSearchIndex.Kind.SCENE), 10);
+        assertEquals(1, scenes.size());
+        assertEquals(3, scenes.get(0).get("scene_index"));
+
+        assertTrue(index.search("chorus", Set.of(ProjectSearchIndex.Kind.TRACK), 10).isEmpty());
+        assertEquals(1, index.search("reverb", null, 1).size());
+    }
+
+    @Test
+    void testRenameAndRemovalUpdateIndex() {
+        index.update(ProjectSearchIndex.Kind.SCENE, -1, 3, "Bridge");
+        assertTrue(index.search("chorus", null, 10).isEmpty());
+        assertEquals("Bridge", index.search("bridge", null, 10).get(0).get("name"));
+
+        index.update(ProjectSearchIndex.Kind.SCENE, -1, 3, "");
+        assertTrue(index.search("bridge", null, 10).isEmpty());
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void testKindFromNameRejectsUnknownKinds() {
+        assertEquals(ProjectSearchIndex.Kind.CLIP, ProjectSearchIndex.Kind.fromName("Clip"));
+        assertThrows(IllegalArgumentException.class, () -> ProjectSearchIndex.Kind.fromName("bus"));
+    }
+}
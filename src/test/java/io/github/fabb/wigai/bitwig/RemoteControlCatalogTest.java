@@ -0,0 +1,124 @@
+package io.github.fabb.wigai.bitwig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RemoteControlCatalog class.
+ */
+class RemoteControlCatalogTest {
+
+    private final RemoteControlCatalog catalog = new RemoteControlCatalog(4, 8);
+
+    @BeforeEach
+    void setUp() {
+        catalog.setPageNames(new String[] {"Main", "Filter", "Envelope"});
+        for (int page = 0; page < 3; page++) {
+            catalog.setPinned(page, true);
+        }
+        catalog.setParameterName(0, 0, "Volume");
+        catalog.setParameterName(0, 1, "Filter Mix");
+        catalog.setParameterName(1, 0, "Cutoff");
+        catalog.setParameterName(1, 1, "Resonance");
+        catalog.setParameterName(1, 2, "Cutoff Env");
+        catalog.setParameterName(2, 0, "Env Cutoff Amount");
+        catalog.setParameterName(2, 1, "Attack");
+    }
+
+    @Test
+    void testExactMatchRanksFirst() {
+        List<RemoteControlCatalog.Match> matches = catalog.find("cutoff", 10);
+
+        assertEquals(new RemoteControlCatalog.Match(1, "Filter", 0, "Cutoff"), matches.get(0));
+        assertEquals(new RemoteControlCatalog.Match(1, "Filter", 2, "Cutoff Env"), matches.get(1));
+        assertEquals(new RemoteControlCatalog.Match(2, "Envelope", 0, "Env Cutoff Amount"), matches.get(2));
+        assertEquals(3, matches.size());
+    }
+
+    @Test
+    void testWordPrefixRanksAboveSubstring() {
+        catalog.setParameterName(2, 2, "Gain");
+        catalog.setParameterName(2, 3, "Out Gain");
+
+        List<RemoteControlCatalog.Match> matches = catalog.find("ain", 10);
+        assertEquals(2, matches.size());
+
+        matches = catalog.find("gain", 10);
+        assertEquals("Gain", matches.get(0).parameterName());
+        assertEquals("Out Gain", matches.get(1).parameterName());
+    }
+
+    @Test
+    void testLimitAndEmptyQuery() {
+        assertEquals(1, catalog.find("cutoff", 1).size());
+        assertTrue(catalog.find("  ", 10).isEmpty());
+        assertTrue(catalog.find("sustain", 10).isEmpty());
+    }
+
+    @Test
+    void testUnpinnedPagesAreSkipped() {
+        // A cursor that clamped to another page reports that page's parameters
+        catalog.setPinned(2, false);
+
+        List<RemoteControlCatalog.Match> matches = catalog.find("attack", 10);
+
+        assertTrue(matches.isEmpty());
+        assertEquals(2, catalog.getCataloguedPageCount());
+    }
+
+    @Test
+    void testPagesBeyondDevicePageCountAreSkipped() {
+        catalog.setPinned(3, true);
+        catalog.setParameterName(3, 0, "Stale");
+
+        assertTrue(catalog.find("stale", 10).isEmpty());
+        assertEquals(3, catalog.getPageCount());
+    }
+
+    @Test
+    void testParameterRenameIsReflected() {
+        catalog.setParameterName(1, 1, "Q");
+
+        assertTrue(catalog.find("resonance", 10).isEmpty());
+        assertEquals(1, catalog.find("q", 10).size());
+    }
+
+    @Test
+    void testResolveMatchesWholeNamesCaseInsensitively() {
+        Map<String, RemoteControlCatalog.Match> resolved = catalog.resolve(List.of("cutoff", "ATTACK", "Cut", "Sustain"), 0);
+
+        assertEquals(new RemoteControlCatalog.Match(1, "Filter", 0, "Cutoff"), resolved.get("cutoff"));
+        assertEquals(new RemoteControlCatalog.Match(2, "Envelope", 1, "Attack"), resolved.get("ATTACK"));
+        assertFalse(resolved.containsKey("Cut"));
+        assertFalse(resolved.containsKey("Sustain"));
+    }
+
+    @Test
+    void testResolvePrefersShownPage() {
+        catalog.setParameterName(0, 2, "Cutoff");
+
+        assertEquals(0, catalog.resolve(List.of("Cutoff"), 0).get("Cutoff").pageIndex());
+        assertEquals(1, catalog.resolve(List.of("Cutoff"), 1).get("Cutoff").pageIndex());
+        assertEquals(0, catalog.resolve(List.of("Cutoff"), 2).get("Cutoff").pageIndex());
+    }
+
+    @Test
+    void testResolveKeepsEveryRequestedSpelling() {
+        Map<String, RemoteControlCatalog.Match> resolved = catalog.resolve(List.of("Volume", " volume "), 0);
+
+        assertEquals(2, resolved.size());
+        assertEquals(resolved.get("Volume"), resolved.get(" volume "));
+    }
+
+    @Test
+    void testResolveSkipsUnpinnedPages() {
+        catalog.setPinned(2, false);
+
+        assertTrue(catalog.resolve(List.of("Attack"), 0).isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.fabb.wigai.common.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrackFilter expression parsing and evaluation.
+ */
+class TrackFilterTest {
+
+    private record Row(int index, String kind, String name, String type, boolean isMuted, boolean isSoloed, boolean isArmed,
+                       boolean isActivated, boolean isGroup, boolean isSelected, double volume, double pan)
+        implements TrackFilter.TrackView {}
+
+    private static final Row DRUMS = new Row(0, "track", "Drum Bus", "group", true, false, false, true, true, false, 0.7, 0.5);
+    private static final Row BASS = new Row(1, "track", "Bass", "instrument", false, true, true, true, false, true, 0.5, 0.25);
+    private static final Row REVERB = new Row(0, "effect", "Reverb", "effect", false, false, false, true, false, false, 0.6, 0.5);
+    private static final Row VOX = new Row(2, "track", "Lead Vox", "audio", true, false, false, false, false, false, 0.9, 0.5);
+
+    @Test
+    void testTypeFlagAndSubstringMatch() {
+        TrackFilter filter = TrackFilter.compile("type=audio and muted and name~\"vox\"");
+
+        assertFalse(filter.test(DRUMS));
+        assertFalse(filter.test(BASS));
+        assertTrue(filter.test(VOX));
+    }
+
+    @Test
+    void testStringComparisonsAreCaseInsensitive() {
+        assertTrue(TrackFilter.compile("name='drum bus'").test(DRUMS));
+        assertTrue(TrackFilter.compile("type = INSTRUMENT").test(BASS));
+        assertTrue(TrackFilter.compile("type != audio").test(BASS));
+    }
+
+    @Test
+    void testOperatorPrecedenceAndParentheses() {
+        // "and" binds tighter than "or"
+        TrackFilter withoutParens = TrackFilter.compile("soloed or muted and type=audio");
+        assertTrue(withoutParens.test(BASS));
+        assertFalse(withoutParens.test(DRUMS));
+        assertTrue(withoutParens.test(VOX));
+
+        TrackFilter withParens = TrackFilter.compile("(soloed or muted) and type=audio");
+        assertFalse(withParens.test(BASS));
+        assertTrue(withParens.test(VOX));
+    }
+
+    @Test
+    void testNotAndBooleanComparisons() {
+        assertTrue(TrackFilter.compile("not activated").test(VOX));
+        assertFalse(TrackFilter.compile("not activated").test(DRUMS));
+        assertTrue(TrackFilter.compile("armed=true and selected").test(BASS));
+        assertTrue(TrackFilter.compile("group != false").test(DRUMS));
+    }
+
+    @Test
+    void testNumericComparisons() {
+        assertTrue(TrackFilter.compile("volume >= 0.7 and pan = 0.5").test(DRUMS));
+        assertFalse(TrackFilter.compile("volume > 0.7").test(DRUMS));
+        assertTrue(TrackFilter.compile("index < 2 and pan < 0.5").test(BASS));
+        assertTrue(TrackFilter.compile("index != 0").test(VOX));
+    }
+
+    @Test
+    void testKindTellsEffectTracksFromTracksAtTheSameIndex() {
+        TrackFilter firstEffect = TrackFilter.compile("kind = effect and index = 0");
+
+        assertTrue(firstEffect.test(REVERB));
+        assertFalse(firstEffect.test(DRUMS));
+        assertTrue(TrackFilter.compile("kind != effect").test(DRUMS));
+    }
+
+    @Test
+    void testCompiledFiltersAreCached() {
+        assertSame(TrackFilter.compile("muted or soloed"), TrackFilter.compile("muted or soloed"));
+    }
+
+    @Test
+    void testInvalidExpressionsAreRejected() {
+        String[] invalid = {
+            "",
+            "type > 3",
+            "unknown",
+            "name =",
+            "muted and",
+            "(muted",
+            "index = abc",
+            "name ~ \"unterminated",
+            "muted = maybe",
+            "muted )",
+            "name ! bass"
+        };
+        for (String expression : invalid) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> TrackFilter.compile(expression), "Expected rejection of: " + expression);
+            assertNotNull(exception.getMessage());
+        }
+    }
+}
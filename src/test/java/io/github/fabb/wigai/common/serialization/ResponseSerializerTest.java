@@ -0,0 +1,123 @@
+package io.github.fabb.wigai.common.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fabb.wigai.common.data.DeviceDetailsResult;
+import io.github.fabb.wigai.common.data.ParameterInfo;
+import io.github.fabb.wigai.common.data.ParameterSettingResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ResponseSerializer class.
+ */
+class ResponseSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testSuccessEnvelopeWritesParameterInfo() throws Exception {
+        String json = ResponseSerializer.successEnvelope(List.of(new ParameterInfo(0, "Cutoff", 0.5, "50%")));
+
+        JsonNode root = objectMapper.readTree(json);
+        assertEquals("success", root.get("status").asText());
+        JsonNode parameter = root.get("data").get(0);
+        assertEquals(0, parameter.get("index").asInt());
+        assertEquals("Cutoff", parameter.get("name").asText());
+        assertEquals(0.5, parameter.get("value").asDouble());
+        assertEquals("50%", parameter.get("display_value").asText());
+    }
+
+    @Test
+    void testParameterSettingResultIncludesNameAndPageWhenAddressedByName() throws Exception {
+        String json = ResponseSerializer.successEnvelope(List.of(
+            new ParameterSettingResult(2, "success", 0.3, null, null, "Cutoff", 1),
+            new ParameterSettingResult(4, "success", 0.7, null, null)
+        ));
+
+        JsonNode results = objectMapper.readTree(json).get("data");
+        assertEquals("Cutoff", results.get(0).get("parameter_name").asText());
+        assertEquals(1, results.get(0).get("page_index").asInt());
+        assertFalse(results.get(1).has("parameter_name"));
+        assertFalse(results.get(1).has("page_index"));
+    }
+
+    @Test
+    void testParameterSettingResultIncludesDisplayedValueWhenConfirmed() throws Exception {
+        String json = ResponseSerializer.successEnvelope(List.of(
+            new ParameterSettingResult(2, "success", 0.33, null, null).withAppliedValue(0.3333, "Saw", true),
+            new ParameterSettingResult(4, "success", 0.7, null, null)
+        ));
+
+        JsonNode results = objectMapper.readTree(json).get("data");
+        assertEquals(0.3333, results.get(0).get("new_value").asDouble());
+        assertEquals("Saw", results.get(0).get("displayed_value").asText());
+        assertTrue(results.get(0).get("confirmed").asBoolean());
+        assertFalse(results.get(1).has("displayed_value"));
+        assertFalse(results.get(1).has("confirmed"));
+    }
+
+    @Test
+    void testParameterSettingResultOmitsFieldsOfTheOtherOutcome() throws Exception {
+        String json = ResponseSerializer.successEnvelope(List.of(
+            new ParameterSettingResult(0, "success", 0.5, null, "Parameter set"),
+            new ParameterSettingResult(1, "error", null, "INVALID_PARAMETER_INDEX", "Index out of range")
+        ));
+
+        JsonNode results = objectMapper.readTree(json).get("data");
+        assertEquals(0.5, results.get(0).get("new_value").asDouble());
+        assertFalse(results.get(0).has("error_code"));
+        assertEquals("INVALID_PARAMETER_INDEX", results.get(1).get("error_code").asText());
+        assertEquals("Index out of range", results.get(1).get("message").asText());
+        assertFalse(results.get(1).has("new_value"));
+    }
+
+    @Test
+    void testDeviceDetailsResultFormat() throws Exception {
+        DeviceDetailsResult details = new DeviceDetailsResult(
+            1, "Bass", 0, "Filter", "audio_fx", false, true,
+            List.of(new ParameterInfo(0, "Cutoff", 0.25, "25%"))
+        );
+
+        JsonNode serialized = objectMapper.readTree(ResponseSerializer.successEnvelope(details)).get("data");
+
+        assertEquals(objectMapper.readTree("""
+            {"track_index":1,"track_name":"Bass","index":0,"name":"Filter","type":"audio_fx",
+             "is_bypassed":false,"is_selected":true,
+             "remote_controls":[{"index":0,"exists":true,"name":"Cutoff","value":0.25,"raw_value":null,"display_value":"25%"}]}
+            """), serialized);
+    }
+
+    @Test
+    void testErrorEnvelopeIncludesDetails() throws Exception {
+        String json = ResponseSerializer.errorEnvelope("RATE_LIMITED", "Too many \"calls\"", "launch_clip",
+            Map.of("retry_after_ms", 250L));
+
+        JsonNode error = objectMapper.readTree(json).get("error");
+        assertEquals("RATE_LIMITED", error.get("code").asText());
+        assertEquals("Too many \"calls\"", error.get("message").asText());
+        assertEquals("launch_clip", error.get("operation").asText());
+        assertEquals(250, error.get("retry_after_ms").asLong());
+    }
+
+    @Test
+    void testBuffersAreResetBetweenResponses() throws Exception {
+        String large = "x".repeat(300_000);
+
+        assertTrue(ResponseSerializer.successEnvelope(large).length() > large.length());
+        assertEquals("{\"status\":\"success\",\"data\":\"small\"}", ResponseSerializer.successEnvelope("small"));
+        assertEquals("{\"a\":1}", ResponseSerializer.toJson(Map.of("a", 1)));
+    }
+
+    @Test
+    void testUnserializableDataProducesSerializationError() throws Exception {
+        JsonNode root = objectMapper.readTree(ResponseSerializer.successEnvelope(new Object()));
+
+        assertEquals("error", root.get("status").asText());
+        assertEquals("SERIALIZATION_ERROR", root.get("error").get("code").asText());
+    }
+}
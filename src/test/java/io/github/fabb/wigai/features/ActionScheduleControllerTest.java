@@ -0,0 +1,168 @@
+package io.github.fabb.wigai.features;
+
+import io.github.fabb.wigai.bitwig.BeatScheduler;
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.error.ErrorCode;
+import io.github.fabb.wigai.features.ActionScheduleController.ActionRequest;
+import io.github.fabb.wigai.features.ActionScheduleController.ActionType;
+import io.github.fabb.wigai.features.ActionScheduleController.Quantize;
+import io.github.fabb.wigai.features.ActionScheduleController.Timing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ActionScheduleController class.
+ */
+public class ActionScheduleControllerTest {
+
+    @Mock
+    private BitwigApiFacade mockBitwigApiFacade;
+    @Mock
+    private ClipSceneController mockClipSceneController;
+    @Mock
+    private TransportController mockTransportController;
+    @Mock
+    private DeviceController mockDeviceController;
+    @Mock
+    private Logger mockLogger;
+
+    private ActionScheduleController controller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockBitwigApiFacade.getTransportBeatPosition()).thenReturn(13.5);
+        when(mockBitwigApiFacade.getBeatsPerBar()).thenReturn(4.0);
+        when(mockBitwigApiFacade.getArrangerLoopEnd()).thenReturn(-1.0);
+        when(mockBitwigApiFacade.scheduleActions(any())).thenAnswer(invocation -> {
+            List<BeatScheduler.Request> requests = invocation.getArgument(0);
+            return requests.stream()
+                .map(request -> new BeatScheduler.Action(1, request.beat(), request.description(), false))
+                .toList();
+        });
+        controller = new ActionScheduleController(mockBitwigApiFacade, mockClipSceneController,
+            mockTransportController, mockDeviceController, mockLogger);
+    }
+
+    @Test
+    void testResolveBeatQuantizesToNextBarOrBeat() {
+        assertEquals(16.0, ActionScheduleController.resolveBeat(new Timing(null, Quantize.NEXT_BAR, 0.0), 13.5, 4.0));
+        assertEquals(48.0, ActionScheduleController.resolveBeat(new Timing(null, Quantize.NEXT_BAR, 32.0), 13.5, 4.0));
+        assertEquals(14.0, ActionScheduleController.resolveBeat(new Timing(null, Quantize.NEXT_BEAT, 0.0), 13.5, 4.0));
+        // On a bar line, the next bar is the following one
+        assertEquals(20.0, ActionScheduleController.resolveBeat(new Timing(null, Quantize.NEXT_BAR, 0.0), 16.0, 4.0));
+        // 6/8 bars are three quarter notes long
+        assertEquals(15.0, ActionScheduleController.resolveBeat(new Timing(null, Quantize.NEXT_BAR, 0.0), 13.5, 3.0));
+        assertEquals(64.0, ActionScheduleController.resolveBeat(new Timing(64.0, null, 0.0), 13.5, 4.0));
+    }
+
+    @Test
+    void testBatchIsResolvedAgainstOnePosition() {
+        Map<String, Object> result = controller.schedule(List.of(
+            new ActionRequest(ActionType.LAUNCH_SCENE, new Timing(null, Quantize.NEXT_BAR, 0.0), null, 2, 0.0),
+            new ActionRequest(ActionType.STOP_TRANSPORT, new Timing(null, Quantize.NEXT_BAR, 32.0), null, 0, 0.0)
+        ));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BeatScheduler.Request>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockBitwigApiFacade).scheduleActions(captor.capture());
+        List<BeatScheduler.Request> requests = captor.getValue();
+        assertEquals(16.0, requests.get(0).beat());
+        assertEquals("launch_scene 2", requests.get(0).description());
+        assertEquals(48.0, requests.get(1).beat());
+
+        assertEquals("actions_scheduled", result.get("action"));
+        assertEquals(13.5, result.get("current_beat"));
+        verify(mockBitwigApiFacade, times(1)).getTransportBeatPosition();
+    }
+
+    @Test
+    void testScheduledTasksRunTheActions() {
+        when(mockClipSceneController.launchClip("Bass", 1, true)).thenReturn(ClipSceneController.ClipLaunchResult.success("launched"));
+
+        controller.schedule(List.of(
+            new ActionRequest(ActionType.LAUNCH_CLIP, new Timing(null, Quantize.NEXT_BAR, 0.0), "Bass", 1, 0.0),
+            new ActionRequest(ActionType.SET_DEVICE_PARAMETER, new Timing(null, Quantize.NEXT_BEAT, 0.0), null, 3, 0.25),
+            new ActionRequest(ActionType.STOP_TRANSPORT, new Timing(20.0, null, 0.0), null, 0, 0.0)
+        ));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BeatScheduler.Request>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockBitwigApiFacade).scheduleActions(captor.capture());
+        verifyNoInteractions(mockClipSceneController, mockDeviceController, mockTransportController);
+
+        captor.getValue().forEach(request -> request.task().run());
+
+        verify(mockClipSceneController).launchClip("Bass", 1, true);
+        verify(mockDeviceController).setSelectedDeviceParameter(3, 0.25);
+        verify(mockTransportController).stopTransport();
+    }
+
+    @Test
+    void testFailingActionIsLogged() {
+        doThrow(new BitwigApiException(ErrorCode.DEVICE_NOT_SELECTED, "setSelectedDeviceParameter", "No device is currently selected"))
+            .when(mockDeviceController).setSelectedDeviceParameter(0, 0.5);
+
+        controller.schedule(List.of(
+            new ActionRequest(ActionType.SET_DEVICE_PARAMETER, new Timing(null, Quantize.NEXT_BAR, 0.0), null, 0, 0.5)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BeatScheduler.Request>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mockBitwigApiFacade).scheduleActions(captor.capture());
+        captor.getValue().get(0).task().run();
+
+        verify(mockLogger).error("ActionScheduleController: Scheduled set_device_parameter 0 = 0.5 failed: No device is currently selected");
+    }
+
+    @Test
+    void testPassedAbsolutePositionIsRejected() {
+        BitwigApiException exception = assertThrows(BitwigApiException.class, () -> controller.schedule(List.of(
+            new ActionRequest(ActionType.STOP_TRANSPORT, new Timing(8.0, null, 0.0), null, 0, 0.0))));
+
+        assertEquals(ErrorCode.INVALID_RANGE, exception.getErrorCode());
+        verify(mockBitwigApiFacade, never()).scheduleActions(any());
+    }
+
+    @Test
+    void testPositionBeyondActiveLoopIsRejected() {
+        when(mockBitwigApiFacade.getArrangerLoopEnd()).thenReturn(16.0);
+
+        BitwigApiException exception = assertThrows(BitwigApiException.class, () -> controller.schedule(List.of(
+            new ActionRequest(ActionType.LAUNCH_SCENE, new Timing(null, Quantize.NEXT_BAR, 0.0), null, 1, 0.0),
+            new ActionRequest(ActionType.STOP_TRANSPORT, new Timing(null, Quantize.NEXT_BAR, 4.0), null, 0, 0.0))));
+
+        assertEquals(ErrorCode.INVALID_RANGE, exception.getErrorCode());
+        assertTrue(exception.getMessage().contains("the arranger loop ends at beat 16.0"));
+        verify(mockBitwigApiFacade, never()).scheduleActions(any());
+    }
+
+    @Test
+    void testCancelReportsIdsThatAreNoLongerPending() {
+        when(mockBitwigApiFacade.cancelScheduledAction(1)).thenReturn(true);
+        when(mockBitwigApiFacade.cancelScheduledAction(2)).thenReturn(false);
+
+        Map<String, Object> result = controller.cancel(List.of(1L, 2L));
+
+        assertEquals(1, result.get("cancelled"));
+        assertEquals(List.of(2L), result.get("not_pending"));
+    }
+
+    @Test
+    void testCancelWithoutIdsCancelsAll() {
+        when(mockBitwigApiFacade.cancelAllScheduledActions()).thenReturn(3);
+
+        assertEquals(3, controller.cancel(null).get("cancelled"));
+    }
+}
@@ -1,12 +1,15 @@
 package io.github.fabb.wigai.features;
 
 import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.ParameterWriteTracker;
+import io.github.fabb.wigai.bitwig.RemoteControlCatalog;
 import io.github.fabb.wigai.common.Logger;
 import io.github.fabb.wigai.common.data.ParameterInfo;
 import io.github.fabb.wigai.common.data.ParameterSetting;
 import io.github.fabb.wigai.common.data.ParameterSettingResult;
 import io.github.fabb.wigai.common.error.BitwigApiException;
 import io.github.fabb.wigai.common.error.ErrorCode;
+import io.github.fabb.wigai.common.error.WigAIErrorHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -35,6 +38,9 @@ public class DeviceControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // Run host tasks directly, as the facade does on the host thread
+        when(mockBitwigApiFacade.runOnHostThread(anyString(), any(), anyLong())).thenAnswer(invocation ->
+            ((WigAIErrorHandler.SupplierWithException<?>) invocation.getArgument(1)).get());
         deviceController = new DeviceController(mockBitwigApiFacade, mockLogger);
     }
 
@@ -518,4 +524,237 @@ public class DeviceControllerTest {
         verify(mockBitwigApiFacade).setSelectedDeviceParameter(0, 0.0);
         verify(mockBitwigApiFacade).setSelectedDeviceParameter(7, 1.0);
     }
+
+    @Test
+    void testSetMultipleSelectedDeviceParameters_ByName() {
+        // Arrange
+        List<ParameterSetting> parameters = Arrays.asList(
+            ParameterSetting.byName("Cutoff", 0.3),
+            new ParameterSetting(0, 0.6),
+            ParameterSetting.byName("Shimmer", 0.9)
+        );
+
+        when(mockBitwigApiFacade.getSelectedDeviceName()).thenReturn("Test Device");
+        when(mockBitwigApiFacade.resolveSelectedDeviceParameterNames(List.of("Cutoff", "Shimmer"))).thenReturn(
+            java.util.Map.of("Cutoff", new RemoteControlCatalog.Match(2, "Filter", 4, "Cutoff")));
+
+        // Act
+        List<ParameterSettingResult> results = deviceController.setMultipleSelectedDeviceParameters(parameters);
+
+        // Assert
+        assertEquals(3, results.size());
+
+        assertEquals("success", results.get(0).status());
+        assertEquals(4, results.get(0).parameter_index());
+        assertEquals("Cutoff", results.get(0).parameter_name());
+        assertEquals(2, results.get(0).page_index());
+
+        assertEquals("success", results.get(1).status());
+        assertNull(results.get(1).parameter_name());
+
+        assertEquals("error", results.get(2).status());
+        assertEquals(ErrorCode.INVALID_PARAMETER.getCode(), results.get(2).error_code());
+        assertEquals("Shimmer", results.get(2).parameter_name());
+
+        // Names are resolved once for the whole batch
+        verify(mockBitwigApiFacade, times(1)).resolveSelectedDeviceParameterNames(any());
+        verify(mockBitwigApiFacade).setSelectedDeviceParameterOnPage(2, 4, 0.3);
+        verify(mockBitwigApiFacade).setSelectedDeviceParameter(0, 0.6);
+        verify(mockLogger).info("DeviceController: Batch operation completed - 2 succeeded, 1 failed");
+    }
+
+    @Test
+    void testSetMultipleSelectedDeviceParameters_IndexOnlySkipsNameResolution() {
+        // Arrange
+        when(mockBitwigApiFacade.getSelectedDeviceName()).thenReturn("Test Device");
+
+        // Act
+        deviceController.setMultipleSelectedDeviceParameters(List.of(new ParameterSetting(1, 0.5)));
+
+        // Assert
+        verify(mockBitwigApiFacade, never()).resolveSelectedDeviceParameterNames(any());
+    }
+
+    @Test
+    void testSetSelectedDeviceParameterConfirmed_ReturnsAppliedValue() {
+        // Arrange
+        ParameterWriteTracker.Pending pending = new ParameterWriteTracker.Pending(2, 7, 7, 0.33);
+        when(mockBitwigApiFacade.expectSelectedDeviceParameterWrite(-1, 2, 0.33)).thenReturn(pending);
+        when(mockBitwigApiFacade.awaitSelectedDeviceParameterWrite(eq(pending), anyLong()))
+            .thenReturn(new ParameterWriteTracker.Applied(0.3333, "Saw", true));
+
+        // Act
+        ParameterWriteTracker.Applied applied = deviceController.setSelectedDeviceParameterConfirmed(2, 0.33, 500);
+
+        // Assert
+        assertEquals(0.3333, applied.value());
+        assertEquals("Saw", applied.displayedValue());
+        assertTrue(applied.confirmed());
+
+        // The state is captured before the write
+        var order = inOrder(mockBitwigApiFacade);
+        order.verify(mockBitwigApiFacade).expectSelectedDeviceParameterWrite(-1, 2, 0.33);
+        order.verify(mockBitwigApiFacade).setSelectedDeviceParameter(2, 0.33);
+        order.verify(mockBitwigApiFacade).awaitSelectedDeviceParameterWrite(eq(pending), anyLong());
+    }
+
+    @Test
+    void testSetSelectedDeviceParameterConfirmed_ValidationErrorSkipsWait() {
+        // Arrange
+        doThrow(new BitwigApiException(ErrorCode.INVALID_PARAMETER_INDEX, "setSelectedDeviceParameter", "Parameter index must be between 0-7, got: 8"))
+            .when(mockBitwigApiFacade).setSelectedDeviceParameter(8, 0.5);
+
+        // Act & Assert
+        assertThrows(BitwigApiException.class, () -> deviceController.setSelectedDeviceParameterConfirmed(8, 0.5, 500));
+        verify(mockBitwigApiFacade, never()).awaitSelectedDeviceParameterWrite(any(), anyLong());
+    }
+
+    @Test
+    void testSetMultipleSelectedDeviceParameters_ConfirmedSharesOneDeadline() {
+        // Arrange
+        List<ParameterSetting> parameters = Arrays.asList(
+            new ParameterSetting(0, 0.25),
+            new ParameterSetting(9, 0.5),
+            ParameterSetting.byName("Cutoff", 0.3)
+        );
+        ParameterWriteTracker.Pending first = new ParameterWriteTracker.Pending(0, 1, 1, 0.25);
+        ParameterWriteTracker.Pending named = new ParameterWriteTracker.Pending(36, 1, 1, 0.3);
+
+        when(mockBitwigApiFacade.getSelectedDeviceName()).thenReturn("Test Device");
+        when(mockBitwigApiFacade.resolveSelectedDeviceParameterNames(List.of("Cutoff"))).thenReturn(
+            java.util.Map.of("Cutoff", new RemoteControlCatalog.Match(3, "Filter", 4, "Cutoff")));
+        when(mockBitwigApiFacade.expectSelectedDeviceParameterWrite(-1, 0, 0.25)).thenReturn(first);
+        when(mockBitwigApiFacade.expectSelectedDeviceParameterWrite(3, 4, 0.3)).thenReturn(named);
+        doThrow(new BitwigApiException(ErrorCode.INVALID_PARAMETER_INDEX, "setSelectedDeviceParameter", "Parameter index must be between 0-7"))
+            .when(mockBitwigApiFacade).setSelectedDeviceParameter(9, 0.5);
+        when(mockBitwigApiFacade.awaitSelectedDeviceParameterWrite(eq(first), anyLong()))
+            .thenReturn(new ParameterWriteTracker.Applied(0.25, "25.0 %", true));
+        when(mockBitwigApiFacade.awaitSelectedDeviceParameterWrite(eq(named), anyLong()))
+            .thenReturn(new ParameterWriteTracker.Applied(0.28, "1.2 kHz", false));
+
+        // Act
+        List<ParameterSettingResult> results = deviceController.setMultipleSelectedDeviceParameters(parameters, 500);
+
+        // Assert
+        assertEquals("25.0 %", results.get(0).displayed_value());
+        assertTrue(results.get(0).confirmed());
+        assertEquals("error", results.get(1).status());
+        assertNull(results.get(1).confirmed());
+        assertEquals(0.28, results.get(2).new_value());
+        assertFalse(results.get(2).confirmed());
+        assertEquals(3, results.get(2).page_index());
+
+        // Both waits use the same deadline
+        var deadline = org.mockito.ArgumentCaptor.forClass(Long.class);
+        verify(mockBitwigApiFacade, times(2)).awaitSelectedDeviceParameterWrite(any(), deadline.capture());
+        assertEquals(deadline.getAllValues().get(0), deadline.getAllValues().get(1));
+        verify(mockLogger).warn("DeviceController: 1 parameter writes were not confirmed within 500 ms");
+    }
+
+    @Test
+    void testSetMultipleSelectedDeviceParameters_WritesBatchInOneHostTask() {
+        // Arrange
+        when(mockBitwigApiFacade.getSelectedDeviceName()).thenReturn("Test Device");
+        when(mockBitwigApiFacade.resolveSelectedDeviceParameterNames(List.of("Cutoff", "Resonance"))).thenReturn(java.util.Map.of(
+            "Cutoff", new RemoteControlCatalog.Match(3, "Filter", 4, "Cutoff"),
+            "Resonance", new RemoteControlCatalog.Match(3, "Filter", 5, "Resonance")));
+
+        // Act
+        List<ParameterSettingResult> results = deviceController.setMultipleSelectedDeviceParameters(List.of(
+            new ParameterSetting(0, 0.25),
+            ParameterSetting.byName("Cutoff", 0.3),
+            ParameterSetting.byName("Resonance", 0.6)));
+
+        // Assert
+        assertEquals(3, results.size());
+        verify(mockBitwigApiFacade, times(1)).runOnHostThread(anyString(), any(), anyLong());
+        verify(mockBitwigApiFacade).setSelectedDeviceParameterOnPage(3, 4, 0.3);
+        verify(mockBitwigApiFacade).setSelectedDeviceParameterOnPage(3, 5, 0.6);
+    }
+
+    @Test
+    void testWriteSelectedDeviceParameters_TimeoutWritesNothing() {
+        // Arrange
+        when(mockBitwigApiFacade.runOnHostThread(anyString(), any(), anyLong())).thenThrow(
+            new BitwigApiException(ErrorCode.BITWIG_TIMEOUT, "setMultipleSelectedDeviceParameters", "Bitwig did not start the operation"));
+
+        // Act & Assert
+        BitwigApiException exception = assertThrows(BitwigApiException.class,
+            () -> deviceController.setMultipleSelectedDeviceParameters(List.of(new ParameterSetting(0, 0.25)), 500));
+        assertEquals(ErrorCode.BITWIG_TIMEOUT, exception.getErrorCode());
+        verify(mockBitwigApiFacade, never()).awaitSelectedDeviceParameterWrite(any(), anyLong());
+    }
+
+    @Test
+    void testSetMultipleSelectedDeviceParameters_UnconfirmedDoesNotWait() {
+        // Arrange
+        when(mockBitwigApiFacade.getSelectedDeviceName()).thenReturn("Test Device");
+
+        // Act
+        List<ParameterSettingResult> results = deviceController.setMultipleSelectedDeviceParameters(List.of(new ParameterSetting(1, 0.5)));
+
+        // Assert
+        assertNull(results.get(0).confirmed());
+        verify(mockBitwigApiFacade, never()).expectSelectedDeviceParameterWrite(anyInt(), anyInt(), anyDouble());
+        verify(mockBitwigApiFacade, never()).awaitSelectedDeviceParameterWrite(any(), anyLong());
+    }
+
+    @Test
+    void testFindSelectedDeviceParameter_DelegatesToFacade() {
+        // Arrange
+        java.util.Map<String, Object> found = java.util.Map.of("device_name", "Test Device", "matches", List.of());
+        when(mockBitwigApiFacade.findSelectedDeviceParameter("Cutoff", true)).thenReturn(found);
+
+        // Act & Assert
+        assertSame(found, deviceController.findSelectedDeviceParameter("Cutoff", true));
+        verify(mockBitwigApiFacade).findSelectedDeviceParameter("Cutoff", true);
+    }
+
+    @Test
+    void testFindSelectedDeviceParameter_NoDevice() {
+        // Arrange
+        when(mockBitwigApiFacade.findSelectedDeviceParameter("Cutoff", false)).thenThrow(
+            new BitwigApiException(ErrorCode.DEVICE_NOT_SELECTED, "findSelectedDeviceParameter", "No device is currently selected"));
+
+        // Act & Assert
+        BitwigApiException exception = assertThrows(BitwigApiException.class,
+            () -> deviceController.findSelectedDeviceParameter("Cutoff", false));
+        assertEquals(ErrorCode.DEVICE_NOT_SELECTED, exception.getErrorCode());
+    }
+
+    @Test
+    void testLeaseDeviceCursor_ResolvesTrackName() {
+        // Arrange
+        java.util.Map<String, Object> lease = java.util.Map.of("lease_id", 1L);
+        when(mockBitwigApiFacade.findTrackIndexByName("Bass")).thenReturn(3);
+        when(mockBitwigApiFacade.leaseDeviceCursor(3, 1, "session-a")).thenReturn(lease);
+
+        // Act & Assert
+        assertSame(lease, deviceController.leaseDeviceCursor(null, "Bass", 1, "session-a"));
+        deviceController.leaseDeviceCursor(5, null, 0, "session-a");
+        verify(mockBitwigApiFacade).leaseDeviceCursor(5, 0, "session-a");
+    }
+
+    @Test
+    void testSetLeasedDeviceParameters_ReportsWriteCount() {
+        // Arrange
+        List<ParameterSetting> settings = List.of(new ParameterSetting(0, 0.2), new ParameterSetting(4, 0.9));
+        when(mockBitwigApiFacade.setLeasedDeviceParameters(7L, settings, "session-a")).thenReturn(2);
+
+        // Act
+        java.util.Map<String, Object> result = deviceController.setLeasedDeviceParameters(7L, settings, "session-a");
+
+        // Assert
+        assertEquals(7L, result.get("lease_id"));
+        assertEquals(2, result.get("parameters_set"));
+    }
+
+    @Test
+    void testReleaseDeviceCursor_ReportsWhetherLeaseWasActive() {
+        // Arrange
+        when(mockBitwigApiFacade.releaseDeviceCursor(7L, "session-a")).thenReturn(false);
+
+        // Act & Assert
+        assertEquals(false, deviceController.releaseDeviceCursor(7L, "session-a").get("was_active"));
+    }
 }
@@ -0,0 +1,71 @@
+package io.github.fabb.wigai.features;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.TrackAddress;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.error.ErrorCode;
+import io.github.fabb.wigai.features.MixerController.SendLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the MixerController class.
+ */
+public class MixerControllerTest {
+
+    @Mock
+    private BitwigApiFacade mockBitwigApiFacade;
+
+    @Mock
+    private Logger mockLogger;
+
+    private MixerController controller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        controller = new MixerController(mockBitwigApiFacade, mockLogger);
+    }
+
+    @Test
+    void testSetSendsResolvesTrackNames() {
+        when(mockBitwigApiFacade.findTrackAddressByName("Bass")).thenReturn(TrackAddress.track(3));
+        when(mockBitwigApiFacade.applySendValues(any(TrackAddress[].class), any(), any())).thenReturn(Map.of("requested", 2, "changed", 2, "batches", 1));
+        when(mockBitwigApiFacade.getSendNames()).thenReturn(Arrays.asList("Reverb", null));
+
+        Map<String, Object> result = controller.setSends(List.of(
+            new SendLevel(1, null, 0, 0.5),
+            new SendLevel(null, "Bass", 1, 0.25)));
+
+        verify(mockBitwigApiFacade).applySendValues(aryEq(new TrackAddress[] {TrackAddress.track(1), TrackAddress.track(3)}),
+            aryEq(new int[] {0, 1}), aryEq(new double[] {0.5, 0.25}));
+        assertEquals("sends_set", result.get("action"));
+        assertEquals(2, result.get("changed"));
+        assertEquals(Arrays.asList("Reverb", null), result.get("send_names"));
+    }
+
+    @Test
+    void testSetSendsWithUnknownTrackNameWritesNothing() {
+        when(mockBitwigApiFacade.findTrackAddressByName("Missing"))
+            .thenThrow(new BitwigApiException(ErrorCode.TRACK_NOT_FOUND, "findTrackAddressByName", "Track 'Missing' not found"));
+
+        BitwigApiException exception = assertThrows(BitwigApiException.class, () -> controller.setSends(List.of(
+            new SendLevel(0, null, 0, 0.5),
+            new SendLevel(null, "Missing", 0, 0.5))));
+
+        assertEquals(ErrorCode.TRACK_NOT_FOUND, exception.getErrorCode());
+        verify(mockBitwigApiFacade, never()).applySendValues(any(TrackAddress[].class), any(), any());
+    }
+}
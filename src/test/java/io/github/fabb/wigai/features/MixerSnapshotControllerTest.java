@@ -0,0 +1,132 @@
+package io.github.fabb.wigai.features;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.MixerSnapshot;
+import io.github.fabb.wigai.bitwig.MixerState;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.error.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the MixerSnapshotController class.
+ */
+public class MixerSnapshotControllerTest {
+
+    @Mock
+    private BitwigApiFacade mockBitwigApiFacade;
+
+    @Mock
+    private Logger mockLogger;
+
+    private MixerState mixerState;
+    private MixerSnapshotController controller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mixerState = new MixerState(8, 1);
+        mixerState.setExists(0, true);
+        mixerState.setExists(1, true);
+        when(mockBitwigApiFacade.getMixerState()).thenReturn(mixerState);
+        controller = new MixerSnapshotController(mockBitwigApiFacade, mockLogger);
+    }
+
+    @Test
+    void testCaptureCopiesCurrentState() {
+        mixerState.setVolume(0, 0.8);
+
+        Map<String, Object> result = controller.captureSnapshot("verse");
+        mixerState.setVolume(0, 0.1);
+
+        assertEquals("verse", result.get("name"));
+        assertEquals(2, result.get("track_count"));
+        assertEquals(List.of("verse"), result.get("stored_snapshots"));
+
+        ArgumentCaptor<MixerSnapshot> captor = ArgumentCaptor.forClass(MixerSnapshot.class);
+        controller.recallSnapshot("verse", null, 0);
+        verify(mockBitwigApiFacade).applyMixerSnapshot(captor.capture(), eq(0L), any());
+        assertEquals(0.8, captor.getValue().getVolume(0));
+    }
+
+    @Test
+    void testRecallUnknownSnapshotThrows() {
+        BitwigApiException exception = assertThrows(BitwigApiException.class,
+            () -> controller.recallSnapshot("missing", null, 0));
+
+        assertEquals(ErrorCode.SNAPSHOT_NOT_FOUND, exception.getErrorCode());
+        verify(mockBitwigApiFacade, never()).applyMixerSnapshot(any(), anyLong(), any());
+    }
+
+    @Test
+    void testRecallWithDurationSchedulesMorphSteps() {
+        mixerState.setVolume(0, 0.0);
+        controller.captureSnapshot("start");
+        mixerState.setVolume(0, 1.0);
+        controller.captureSnapshot("end");
+        when(mockBitwigApiFacade.applyMixerSnapshot(any(), anyLong(), any())).thenReturn(1);
+
+        Map<String, Object> result = controller.recallSnapshot("end", "start", 200);
+
+        assertEquals(5, result.get("steps"));
+        assertEquals(200, result.get("duration_ms"));
+
+        ArgumentCaptor<MixerSnapshot> snapshots = ArgumentCaptor.forClass(MixerSnapshot.class);
+        ArgumentCaptor<Long> delays = ArgumentCaptor.forClass(Long.class);
+        verify(mockBitwigApiFacade, times(5)).applyMixerSnapshot(snapshots.capture(), delays.capture(), any());
+        assertEquals(List.of(0L, 50L, 100L, 150L, 200L), delays.getAllValues());
+        assertEquals(0.0, snapshots.getAllValues().get(0).getVolume(0), 1e-9);
+        assertEquals(0.5, snapshots.getAllValues().get(2).getVolume(0), 1e-9);
+        assertEquals(1.0, snapshots.getAllValues().get(4).getVolume(0), 1e-9);
+    }
+
+    @Test
+    void testLaterRecallSupersedesPendingMorphSteps() {
+        mixerState.setVolume(0, 0.0);
+        controller.captureSnapshot("a");
+        mixerState.setVolume(0, 1.0);
+        controller.captureSnapshot("b");
+
+        controller.recallSnapshot("a", null, 200);
+        ArgumentCaptor<BooleanSupplier> first = ArgumentCaptor.forClass(BooleanSupplier.class);
+        verify(mockBitwigApiFacade, times(5)).applyMixerSnapshot(any(), anyLong(), first.capture());
+        assertTrue(first.getAllValues().stream().allMatch(BooleanSupplier::getAsBoolean));
+
+        controller.recallSnapshot("b", null, 0);
+        ArgumentCaptor<BooleanSupplier> all = ArgumentCaptor.forClass(BooleanSupplier.class);
+        verify(mockBitwigApiFacade, times(6)).applyMixerSnapshot(any(), anyLong(), all.capture());
+        List<BooleanSupplier> checks = all.getAllValues();
+        assertTrue(checks.subList(0, 5).stream().noneMatch(BooleanSupplier::getAsBoolean),
+            "Pending steps of the earlier morph must be dropped");
+        assertTrue(checks.get(5).getAsBoolean());
+    }
+
+    @Test
+    void testStoreEvictsLeastRecentlyUsedSnapshot() {
+        for (int i = 0; i < MixerSnapshotController.MAX_SNAPSHOTS; i++) {
+            controller.captureSnapshot("snapshot-" + i);
+        }
+        // Touch the oldest snapshot so the second oldest becomes the eviction candidate
+        controller.recallSnapshot("snapshot-0", null, 0);
+        controller.captureSnapshot("overflow");
+
+        List<String> names = controller.getSnapshotNames();
+        assertEquals(MixerSnapshotController.MAX_SNAPSHOTS, names.size());
+        assertTrue(names.contains("snapshot-0"));
+        assertFalse(names.contains("snapshot-1"));
+        assertTrue(names.contains("overflow"));
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.fabb.wigai.features;
+
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.TrackAddress;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.error.ErrorCode;
+import io.github.fabb.wigai.common.error.WigAIErrorHandler;
+import io.github.fabb.wigai.features.ScriptController.Step;
+import io.github.fabb.wigai.features.ScriptController.StepType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ScriptController class.
+ */
+public class ScriptControllerTest {
+
+    @Mock
+    private BitwigApiFacade mockBitwigApiFacade;
+    @Mock
+    private ClipSceneController mockClipSceneController;
+    @Mock
+    private TransportController mockTransportController;
+    @Mock
+    private DeviceController mockDeviceController;
+    @Mock
+    private Logger mockLogger;
+
+    private ScriptController controller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Run the batch directly, as the facade does on the host thread
+        when(mockBitwigApiFacade.runOnHostThread(anyString(), any(), anyLong())).thenAnswer(invocation ->
+            ((WigAIErrorHandler.SupplierWithException<?>) invocation.getArgument(1)).get());
+        when(mockBitwigApiFacade.hasTrack(any(TrackAddress.class))).thenAnswer(invocation -> {
+            TrackAddress track = invocation.getArgument(0);
+            return track.kind() == TrackAddress.Kind.MASTER ? track.index() == 0 : track.index() < 8;
+        });
+        when(mockBitwigApiFacade.findTrackIndexByName("Bass")).thenReturn(2);
+        when(mockBitwigApiFacade.findTrackAddressByName("Bass")).thenReturn(TrackAddress.track(2));
+        when(mockBitwigApiFacade.getTrackClipCount("Bass")).thenReturn(4);
+        when(mockBitwigApiFacade.getSceneCount()).thenReturn(8);
+        when(mockBitwigApiFacade.isDeviceSelected()).thenReturn(true);
+        when(mockClipSceneController.launchSceneByIndex(anyInt())).thenReturn(ClipSceneController.SceneLaunchResult.success("launched"));
+        controller = new ScriptController(mockBitwigApiFacade, mockClipSceneController,
+            mockTransportController, mockDeviceController, mockLogger);
+    }
+
+    @Test
+    void testStepsRunInOrderInOneBatch() {
+        Map<String, Object> result = controller.execute(List.of(
+            new Step(StepType.SET_TRACK_MUTE, 3, null, 0, 1.0),
+            new Step(StepType.SET_TRACK_MUTE, 4, null, 0, 1.0),
+            new Step(StepType.LAUNCH_SCENE, null, null, 4, 0.0),
+            new Step(StepType.SET_DEVICE_PARAMETER, null, null, 0, 0.3),
+            new Step(StepType.SET_TRACK_VOLUME, null, "Bass", 0, 0.5)
+        ));
+
+        InOrder order = inOrder(mockBitwigApiFacade, mockClipSceneController, mockDeviceController);
+        order.verify(mockBitwigApiFacade).setTrackMute(TrackAddress.track(3), true);
+        order.verify(mockBitwigApiFacade).setTrackMute(TrackAddress.track(4), true);
+        order.verify(mockClipSceneController).launchSceneByIndex(4);
+        order.verify(mockDeviceController).setSelectedDeviceParameter(0, 0.3);
+        order.verify(mockBitwigApiFacade).setTrackVolume(TrackAddress.track(2), 0.5);
+        verify(mockBitwigApiFacade, times(1)).runOnHostThread(anyString(), any(), anyLong());
+
+        assertEquals("script_executed", result.get("action"));
+        assertEquals(5, result.get("completed"));
+        assertEquals(0, result.get("failed"));
+        assertEquals(5, ((List<?>) result.get("steps")).size());
+    }
+
+    @Test
+    void testFailedCheckRunsNoStep() {
+        BitwigApiException exception = assertThrows(BitwigApiException.class, () -> controller.execute(List.of(
+            new Step(StepType.SET_TRACK_SOLO, 1, null, 0, 1.0),
+            new Step(StepType.LAUNCH_SCENE, null, null, 12, 0.0)
+        )));
+
+        assertEquals(ErrorCode.SCENE_NOT_FOUND, exception.getErrorCode());
+        assertTrue(exception.getMessage().startsWith("Step 1 (launch_scene)"));
+        verify(mockBitwigApiFacade, never()).setTrackSolo(any(TrackAddress.class), anyBoolean());
+        verifyNoInteractions(mockClipSceneController);
+    }
+
+    @Test
+    void testChecksTracksClipsAndDevice() {
+        when(mockBitwigApiFacade.findTrackAddressByName("Lead"))
+            .thenThrow(new BitwigApiException(ErrorCode.TRACK_NOT_FOUND, "findTrackAddressByName", "Track 'Lead' not found"));
+        when(mockBitwigApiFacade.isDeviceSelected()).thenReturn(false);
+
+        assertEquals(ErrorCode.TRACK_NOT_FOUND, assertThrows(BitwigApiException.class, () -> controller.execute(List.of(
+            new Step(StepType.SET_TRACK_PAN, 9, null, 0, 0.5)))).getErrorCode());
+        assertEquals(ErrorCode.TRACK_NOT_FOUND, assertThrows(BitwigApiException.class, () -> controller.execute(List.of(
+            new Step(StepType.SET_TRACK_PAN, TrackAddress.Kind.MASTER, 1, null, 0, 0.5)))).getErrorCode());
+        assertEquals(ErrorCode.TRACK_NOT_FOUND, assertThrows(BitwigApiException.class, () -> controller.execute(List.of(
+            new Step(StepType.SET_TRACK_MUTE, null, "Lead", 0, 1.0)))).getErrorCode());
+        assertEquals(ErrorCode.CLIP_NOT_FOUND, assertThrows(BitwigApiException.class, () -> controller.execute(List.of(
+            new Step(StepType.LAUNCH_CLIP, null, "Bass", 4, 0.0)))).getErrorCode());
+        assertEquals(ErrorCode.DEVICE_NOT_SELECTED, assertThrows(BitwigApiException.class, () -> controller.execute(List.of(
+            new Step(StepType.SET_DEVICE_PARAMETER, null, null, 0, 0.5)))).getErrorCode());
+
+        verifyNoInteractions(mockClipSceneController, mockDeviceController);
+    }
+
+    @Test
+    void testFailingStepIsReportedAndLaterStepsStillRun() {
+        when(mockClipSceneController.launchClip("Bass", 1)).thenReturn(ClipSceneController.ClipLaunchResult.error("CLIP_NOT_FOUND", "Slot is empty"));
+        doThrow(new BitwigApiException(ErrorCode.BITWIG_API_ERROR, "stopTransport", "Transport failed"))
+            .when(mockTransportController).stopTransport();
+
+        Map<String, Object> result = controller.execute(List.of(
+            new Step(StepType.LAUNCH_CLIP, null, "Bass", 1, 0.0),
+            new Step(StepType.STOP_TRANSPORT, null, null, 0, 0.0),
+            new Step(StepType.SET_TRACK_SOLO, 0, null, 0, 0.0)
+        ));
+
+        assertEquals(1, result.get("completed"));
+        assertEquals(2, result.get("failed"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> steps = (List<Map<String, Object>>) result.get("steps");
+        assertEquals("Slot is empty", steps.get(0).get("message"));
+        assertEquals("Transport failed", steps.get(1).get("message"));
+        assertEquals("ok", steps.get(2).get("status"));
+        verify(mockBitwigApiFacade).setTrackSolo(TrackAddress.track(0), false);
+    }
+
+    @Test
+    void testEffectAndMasterTracksAreAddressedByKind() {
+        when(mockBitwigApiFacade.findTrackAddressByName("Reverb")).thenReturn(new TrackAddress(TrackAddress.Kind.EFFECT, 1));
+
+        controller.execute(List.of(
+            new Step(StepType.SET_TRACK_VOLUME, TrackAddress.Kind.MASTER, 0, null, 0, 0.7),
+            new Step(StepType.SET_TRACK_MUTE, null, "Reverb", 0, 1.0)
+        ));
+
+        verify(mockBitwigApiFacade).setTrackVolume(new TrackAddress(TrackAddress.Kind.MASTER, 0), 0.7);
+        verify(mockBitwigApiFacade).setTrackMute(new TrackAddress(TrackAddress.Kind.EFFECT, 1), true);
+    }
+}
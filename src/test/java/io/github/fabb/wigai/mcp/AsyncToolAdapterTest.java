@@ -0,0 +1,201 @@
+package io.github.fabb.wigai.mcp;
+
+import com.bitwig.extension.controller.api.ControllerHost;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fabb.wigai.bitwig.HostTaskRunner;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the AsyncToolAdapter class.
+ */
+class AsyncToolAdapterTest {
+
+    @Mock
+    private ControllerHost host;
+    @Mock
+    private McpAsyncServerExchange exchange;
+    @Mock
+    private StructuredLogger structuredLogger;
+    @Mock
+    private StructuredLogger.TimedOperation timedOperation;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<Runnable> scheduledTask = new AtomicReference<>();
+    private final AtomicInteger operationRuns = new AtomicInteger();
+    private final AtomicReference<Thread> operationThread = new AtomicReference<>();
+    private HostTaskRunner hostTasks;
+    private McpServerFeatures.SyncToolSpecification syncTool;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            scheduledTask.set(invocation.getArgument(0));
+            return null;
+        }).when(host).scheduleTask(any(Runnable.class), anyLong());
+        when(structuredLogger.generateOperationId()).thenReturn("op-1");
+        when(structuredLogger.startTimedOperation(anyString(), anyString(), any())).thenReturn(timedOperation);
+        hostTasks = new HostTaskRunner(host, new Thread());
+
+        syncTool = McpServerFeatures.SyncToolSpecification.builder()
+            .tool(McpSchema.Tool.builder().name("echo").description("Echo").inputSchema("{\"type\":\"object\"}").build())
+            .callHandler((syncExchange, request) -> McpErrorHandler.executeWithErrorHandling("echo", structuredLogger, () -> {
+                operationRuns.incrementAndGet();
+                operationThread.set(Thread.currentThread());
+                return request.arguments();
+            }))
+            .build();
+    }
+
+    @Test
+    void testOperationCompletesFromHostTask() throws Exception {
+        McpServerFeatures.AsyncToolSpecification asyncTool = AsyncToolAdapter.toAsync(syncTool, hostTasks, 5000);
+        assertEquals("echo", asyncTool.tool().name());
+
+        var pending = asyncTool.callHandler().apply(exchange, request(Map.of("value", 42))).toFuture();
+        Runnable task = awaitScheduledTask();
+        assertFalse(pending.isDone());
+
+        task.run();
+
+        McpSchema.CallToolResult result = pending.get(5, TimeUnit.SECONDS);
+        assertFalse(result.isError());
+        assertSame(Thread.currentThread(), operationThread.get());
+        JsonNode response = objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text());
+        assertEquals(42, response.get("data").get("value").asInt());
+    }
+
+    @Test
+    void testContinuationCompletesAfterHostTask() throws Exception {
+        AtomicReference<Thread> continuationThread = new AtomicReference<>();
+        McpServerFeatures.SyncToolSpecification confirmingTool = McpServerFeatures.SyncToolSpecification.builder()
+            .tool(McpSchema.Tool.builder().name("confirm").description("Confirm").inputSchema("{\"type\":\"object\"}").build())
+            .callHandler((syncExchange, request) -> McpErrorHandler.executeWithErrorHandling("confirm", structuredLogger, () -> {
+                operationThread.set(Thread.currentThread());
+                return (McpErrorHandler.Continuation) () -> {
+                    continuationThread.set(Thread.currentThread());
+                    return Map.of("confirmed", true);
+                };
+            }))
+            .build();
+        McpServerFeatures.AsyncToolSpecification asyncTool = AsyncToolAdapter.toAsync(confirmingTool, hostTasks, 5000);
+
+        var pending = asyncTool.callHandler().apply(exchange, request(Map.of())).toFuture();
+        awaitScheduledTask().run();
+
+        McpSchema.CallToolResult result = pending.get(5, TimeUnit.SECONDS);
+        assertFalse(result.isError());
+        assertSame(Thread.currentThread(), operationThread.get());
+        // The wait runs on the worker, so the host thread is free to report the outcome meanwhile
+        assertNotNull(continuationThread.get());
+        assertNotSame(Thread.currentThread(), continuationThread.get());
+        JsonNode response = objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text());
+        assertTrue(response.get("data").get("confirmed").asBoolean());
+    }
+
+    @Test
+    void testHostThatNeverRunsTheTaskTimesOut() throws Exception {
+        McpServerFeatures.AsyncToolSpecification asyncTool = AsyncToolAdapter.toAsync(syncTool, hostTasks, 20);
+
+        McpSchema.CallToolResult result = asyncTool.callHandler().apply(exchange, request(Map.of())).block();
+
+        assertNotNull(result);
+        assertTrue(result.isError());
+        JsonNode response = objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text());
+        assertEquals("BITWIG_TIMEOUT", response.get("error").get("code").asText());
+        assertEquals("echo", response.get("error").get("operation").asText());
+    }
+
+    @Test
+    void testTimedOutOperationNeverRunsLater() {
+        McpServerFeatures.AsyncToolSpecification asyncTool = AsyncToolAdapter.toAsync(syncTool, hostTasks, 20);
+
+        McpSchema.CallToolResult result = asyncTool.callHandler().apply(exchange, request(Map.of())).block();
+        assertTrue(result.isError());
+
+        // The host thread gets to the withdrawn task after the client was told it timed out
+        scheduledTask.get().run();
+
+        assertEquals(0, operationRuns.get());
+    }
+
+    @Test
+    void testNoThreadWaitsWhileHostTasksArePending() throws Exception {
+        List<Runnable> hostQueue = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            hostQueue.add(invocation.getArgument(0));
+            return null;
+        }).when(host).scheduleTask(any(Runnable.class), anyLong());
+        McpServerFeatures.AsyncToolSpecification asyncTool = AsyncToolAdapter.toAsync(syncTool, hostTasks, 5000);
+
+        List<CompletableFuture<McpSchema.CallToolResult>> pending = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            pending.add(asyncTool.callHandler().apply(exchange, request(Map.of("value", i))).toFuture());
+        }
+
+        // Every call has been handed to the host, and none of them holds a thread meanwhile
+        assertEquals(32, hostQueue.size());
+        for (Map.Entry<Thread, StackTraceElement[]> thread : Thread.getAllStackTraces().entrySet()) {
+            if (thread.getKey() == Thread.currentThread()) {
+                continue;
+            }
+            for (StackTraceElement frame : thread.getValue()) {
+                assertFalse(frame.getClassName().startsWith("io.github.fabb.wigai"),
+                    "Thread " + thread.getKey().getName() + " is held by a pending call");
+            }
+        }
+
+        hostQueue.forEach(Runnable::run);
+        for (CompletableFuture<McpSchema.CallToolResult> call : pending) {
+            assertFalse(call.get(5, TimeUnit.SECONDS).isError());
+        }
+        assertEquals(32, operationRuns.get());
+    }
+
+    @Test
+    void testListAdaptationPreservesOrder() {
+        McpServerFeatures.SyncToolSpecification other = McpServerFeatures.SyncToolSpecification.builder()
+            .tool(McpSchema.Tool.builder().name("other").description("Other").inputSchema("{\"type\":\"object\"}").build())
+            .callHandler((syncExchange, request) -> McpErrorHandler.createSuccessResponse(Map.of()))
+            .build();
+
+        List<McpServerFeatures.AsyncToolSpecification> asyncTools = AsyncToolAdapter.toAsync(List.of(syncTool, other), hostTasks);
+
+        assertEquals(List.of("echo", "other"), asyncTools.stream().map(spec -> spec.tool().name()).toList());
+    }
+
+    private Runnable awaitScheduledTask() throws InterruptedException {
+        for (int i = 0; i < 500 && scheduledTask.get() == null; i++) {
+            Thread.sleep(10);
+        }
+        assertNotNull(scheduledTask.get(), "operation was not scheduled on the host");
+        return scheduledTask.get();
+    }
+
+    private McpSchema.CallToolRequest request(Map<String, Object> arguments) {
+        return McpSchema.CallToolRequest.builder().name("echo").arguments(arguments).build();
+    }
+}
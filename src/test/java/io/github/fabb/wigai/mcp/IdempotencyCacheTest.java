@@ -0,0 +1,119 @@
+package io.github.fabb.wigai.mcp;
+
+import io.github.fabb.wigai.common.error.ErrorCode;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the IdempotencyCache class.
+ */
+class IdempotencyCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private McpSchema.CallToolResult launch() {
+        executions.incrementAndGet();
+        return McpErrorHandler.createSuccessResponse(Map.of("action", "clip_launched"));
+    }
+
+    @Test
+    void testRepeatWithinTtlIsReplayed() {
+        IdempotencyCache cache = new IdempotencyCache(16, 1000, nanos::get);
+        Map<String, Object> arguments = Map.of("track_name", "Drums", "clip_index", 0, "request_id", "a");
+
+        IdempotencyCache.Outcome first = cache.execute("launch_clip:a", arguments, this::launch);
+        IdempotencyCache.Outcome second = cache.execute("launch_clip:a", arguments, this::launch);
+
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertSame(first.result(), second.result());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testRepeatAfterTtlExecutesAgain() {
+        IdempotencyCache cache = new IdempotencyCache(16, 1000, nanos::get);
+        Map<String, Object> arguments = Map.of("request_id", "a");
+
+        cache.execute("transport_start:a", arguments, this::launch);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        IdempotencyCache.Outcome outcome = cache.execute("transport_start:a", arguments, this::launch);
+
+        assertFalse(outcome.replayed());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testKeyReusedWithDifferentArgumentsConflicts() {
+        IdempotencyCache cache = new IdempotencyCache(16, 1000, nanos::get);
+
+        cache.execute("launch_clip:a", Map.of("track_name", "Drums", "request_id", "a"), this::launch);
+
+        assertThrows(IdempotencyCache.ConflictException.class, () ->
+            cache.execute("launch_clip:a", Map.of("track_name", "Bass", "request_id", "a"), this::launch));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testErrorResultsAreNotRemembered() {
+        IdempotencyCache cache = new IdempotencyCache(16, 1000, nanos::get);
+        Map<String, Object> arguments = Map.of("request_id", "a");
+
+        cache.execute("launch_clip:a", arguments, () -> {
+            executions.incrementAndGet();
+            return McpErrorHandler.createErrorResponse(ErrorCode.CLIP_NOT_FOUND, "Clip not found", "launch_clip");
+        });
+        IdempotencyCache.Outcome retry = cache.execute("launch_clip:a", arguments, this::launch);
+
+        assertFalse(retry.replayed());
+        assertFalse(Boolean.TRUE.equals(retry.result().isError()));
+        assertEquals(2, executions.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testAsyncRepeatCompletesWithRunningCall() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(16, 1000, nanos::get);
+        Map<String, Object> arguments = Map.of("request_id", "a");
+        CompletableFuture<McpSchema.CallToolResult> running = new CompletableFuture<>();
+
+        CompletableFuture<IdempotencyCache.Outcome> first = cache.executeAsync("launch_clip:a", arguments, () -> {
+            executions.incrementAndGet();
+            return running;
+        });
+        CompletableFuture<IdempotencyCache.Outcome> repeat = cache.executeAsync("launch_clip:a", arguments, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(launch());
+        });
+
+        // The repeat is pending on the first call rather than holding the calling thread
+        assertFalse(repeat.isDone());
+        running.complete(McpErrorHandler.createSuccessResponse(Map.of("action", "clip_launched")));
+
+        assertFalse(first.get().replayed());
+        assertTrue(repeat.get().replayed());
+        assertSame(first.get().result(), repeat.get().result());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testOldestKeysAreDroppedBeyondCapacity() {
+        IdempotencyCache cache = new IdempotencyCache(2, 1000, nanos::get);
+
+        cache.execute("k1", Map.of(), this::launch);
+        cache.execute("k2", Map.of(), this::launch);
+        cache.execute("k3", Map.of(), this::launch);
+
+        assertEquals(2, cache.size());
+        assertFalse(cache.execute("k1", Map.of(), this::launch).replayed());
+    }
+}
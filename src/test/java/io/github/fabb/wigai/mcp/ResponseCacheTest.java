@@ -0,0 +1,136 @@
+package io.github.fabb.wigai.mcp;
+
+import io.github.fabb.wigai.bitwig.ProjectStateVersions;
+import io.github.fabb.wigai.common.error.ErrorCode;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ResponseCache class.
+ */
+class ResponseCacheTest {
+
+    private static final Set<ProjectStateVersions.Domain> TRACKS = EnumSet.of(ProjectStateVersions.Domain.TRACKS);
+
+    private final ProjectStateVersions versions = new ProjectStateVersions();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private McpSchema.CallToolResult listTracks() {
+        executions.incrementAndGet();
+        return McpErrorHandler.createSuccessResponse(List.of(Map.of("index", 0, "name", "Drums")));
+    }
+
+    private static String text(McpSchema.CallToolResult result) {
+        return ((McpSchema.TextContent) result.content().get(0)).text();
+    }
+
+    @Test
+    void testRepeatedCallIsServedFromCache() {
+        ResponseCache cache = new ResponseCache(versions, 1024 * 1024);
+
+        McpSchema.CallToolResult first = cache.execute("list_tracks", Map.of(), TRACKS, this::listTracks);
+        McpSchema.CallToolResult second = cache.execute("list_tracks", Map.of(), TRACKS, this::listTracks);
+
+        assertEquals(1, executions.get());
+        assertEquals(text(first), text(second));
+        assertFalse(second.isError());
+        ResponseCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.entries());
+    }
+
+    @Test
+    void testStateChangeInvalidatesOnlyDependentEntries() {
+        ResponseCache cache = new ResponseCache(versions, 1024 * 1024);
+        Set<ProjectStateVersions.Domain> scenes = EnumSet.of(ProjectStateVersions.Domain.SCENES);
+
+        cache.execute("list_tracks", Map.of(), TRACKS, this::listTracks);
+        cache.execute("list_scenes", Map.of(), scenes, this::listTracks);
+        versions.bump(ProjectStateVersions.Domain.SCENES);
+        cache.execute("list_tracks", Map.of(), TRACKS, this::listTracks);
+        cache.execute("list_scenes", Map.of(), scenes, this::listTracks);
+
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    void testArgumentsAreNormalized() {
+        ResponseCache cache = new ResponseCache(versions, 1024 * 1024);
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("type", "audio");
+        first.put("where", "muted");
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("where", "muted");
+        reordered.put("type", "audio");
+        reordered.put("unused", null);
+
+        cache.execute("list_tracks", first, TRACKS, this::listTracks);
+        cache.execute("list_tracks", reordered, TRACKS, this::listTracks);
+        cache.execute("get_track_details", Map.of("track_index", 2), TRACKS, this::listTracks);
+        cache.execute("get_track_details", Map.of("track_index", 2.0), TRACKS, this::listTracks);
+        cache.execute("get_track_details", Map.of("track_name", "2"), TRACKS, this::listTracks);
+
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    void testErrorResultsAreNotCached() {
+        ResponseCache cache = new ResponseCache(versions, 1024 * 1024);
+
+        for (int i = 0; i < 2; i++) {
+            McpSchema.CallToolResult result = cache.execute("get_track_details", Map.of("track_index", 9), TRACKS, () -> {
+                executions.incrementAndGet();
+                return McpErrorHandler.createErrorResponse(ErrorCode.TRACK_NOT_FOUND, "Track at index 9 does not exist", "get_track_details");
+            });
+            assertTrue(result.isError());
+        }
+
+        assertEquals(2, executions.get());
+        assertEquals(0, cache.getStats().entries());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvictedByBytes() {
+        String text = text(listTracks());
+        long entryBytes = ResponseCache.ENTRY_OVERHEAD_BYTES + 2L * ("list_tracks|{\"n\"=1,}|0:0;".length() + text.length());
+        ResponseCache cache = new ResponseCache(versions, 2 * entryBytes);
+
+        cache.execute("list_tracks", Map.of("n", 1), TRACKS, this::listTracks);
+        cache.execute("list_tracks", Map.of("n", 2), TRACKS, this::listTracks);
+        cache.execute("list_tracks", Map.of("n", 1), TRACKS, this::listTracks);
+        cache.execute("list_tracks", Map.of("n", 3), TRACKS, this::listTracks);
+
+        ResponseCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.entries());
+        assertTrue(stats.bytes() <= stats.maxBytes());
+
+        // n=1 was used more recently than n=2, so n=2 was dropped
+        executions.set(0);
+        cache.execute("list_tracks", Map.of("n", 1), TRACKS, this::listTracks);
+        assertEquals(0, executions.get());
+        cache.execute("list_tracks", Map.of("n", 2), TRACKS, this::listTracks);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testDisabledCacheAlwaysExecutes() {
+        ResponseCache cache = ResponseCache.disabled();
+
+        cache.execute("list_tracks", Map.of(), TRACKS, this::listTracks);
+        cache.execute("list_tracks", Map.of(), TRACKS, this::listTracks);
+
+        assertEquals(2, executions.get());
+        assertEquals(0, cache.getStats().misses());
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.ClipNoteBuffer;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.error.BitwigApiException;
+import io.github.fabb.wigai.common.error.ErrorCode;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ClipNotesTool.
+ */
+class ClipNotesToolTest {
+
+    @Mock
+    private BitwigApiFacade bitwigApiFacade;
+    @Mock
+    private StructuredLogger structuredLogger;
+    @Mock
+    private Logger baseLogger;
+    @Mock
+    private StructuredLogger.TimedOperation timedOperation;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(structuredLogger.getBaseLogger()).thenReturn(baseLogger);
+        when(structuredLogger.generateOperationId()).thenReturn("op-123");
+        when(structuredLogger.startTimedOperation(any(), any(), any())).thenReturn(timedOperation);
+    }
+
+    @Test
+    void testSpecifications() {
+        assertEquals("get_clip_notes", ClipNotesTool.getClipNotesSpecification(bitwigApiFacade, structuredLogger).tool().name());
+        assertEquals("set_clip_notes", ClipNotesTool.setClipNotesSpecification(bitwigApiFacade, structuredLogger).tool().name());
+    }
+
+    @Test
+    void testGetUsesDefaultPage() throws Exception {
+        when(bitwigApiFacade.getCursorClipNotes(0, 256)).thenReturn(Map.of("total_notes", 0, "notes", List.of()));
+
+        McpSchema.CallToolResult result = callGet(Map.of());
+
+        assertFalse(result.isError());
+        assertEquals(0, parseData(result).get("total_notes").asInt());
+        verify(bitwigApiFacade).getCursorClipNotes(0, 256);
+    }
+
+    @Test
+    void testGetRejectsOversizedPage() {
+        McpSchema.CallToolResult result = callGet(Map.of("limit", ClipNoteBuffer.MAX_PAGE_SIZE + 1));
+
+        assertTrue(result.isError());
+        verify(bitwigApiFacade, never()).getCursorClipNotes(anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetReportsMissingClip() throws Exception {
+        when(bitwigApiFacade.getCursorClipNotes(0, 256)).thenThrow(
+            new BitwigApiException(ErrorCode.CLIP_NOT_FOUND, "getCursorClipNotes", "No clip is selected in the clip launcher"));
+
+        McpSchema.CallToolResult result = callGet(Map.of());
+
+        assertTrue(result.isError());
+        JsonNode error = objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text()).get("error");
+        assertEquals("CLIP_NOT_FOUND", error.get("code").asText());
+    }
+
+    @Test
+    void testSetAppliesDefaultsAndMode() throws Exception {
+        when(bitwigApiFacade.setCursorClipNotes(any(), anyBoolean())).thenReturn(new ClipNoteBuffer.Diff(2, 1, 0));
+
+        McpSchema.CallToolResult result = callSet(Map.of(
+            "notes", List.of(
+                Map.of("pitch", 60, "step", 0),
+                Map.of("pitch", 62, "step", 4, "velocity", 80, "duration", 1.5)
+            ),
+            "mode", "replace"
+        ));
+
+        assertFalse(result.isError());
+        verify(bitwigApiFacade).setCursorClipNotes(List.of(
+            new ClipNoteBuffer.Note(60, 0, 100, ClipNoteBuffer.STEP_SIZE_BEATS),
+            new ClipNoteBuffer.Note(62, 4, 80, 1.5)
+        ), true);
+        JsonNode data = parseData(result);
+        assertEquals("replace", data.get("mode").asText());
+        assertEquals(2, data.get("notes_set").asInt());
+        assertEquals(1, data.get("notes_cleared").asInt());
+    }
+
+    @Test
+    void testSetRejectsInvalidNotes() {
+        assertTrue(callSet(Map.of()).isError());
+        assertTrue(callSet(Map.of("notes", "C3")).isError());
+        assertTrue(callSet(Map.of("notes", List.of(Map.of("pitch", 128, "step", 0)))).isError());
+        assertTrue(callSet(Map.of("notes", List.of(Map.of("pitch", 60, "step", ClipNoteBuffer.GRID_STEPS)))).isError());
+        assertTrue(callSet(Map.of("notes", List.of(Map.of("pitch", 60, "step", 0, "duration", 0)))).isError());
+        assertTrue(callSet(Map.of("notes", List.of(), "mode", "overwrite")).isError());
+
+        verify(bitwigApiFacade, never()).setCursorClipNotes(any(), anyBoolean());
+    }
+
+    private JsonNode parseData(McpSchema.CallToolResult result) throws Exception {
+        return objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text()).get("data");
+    }
+
+    private McpSchema.CallToolResult callGet(Map<String, Object> arguments) {
+        McpServerFeatures.SyncToolSpecification spec = ClipNotesTool.getClipNotesSpecification(bitwigApiFacade, structuredLogger);
+        return spec.callHandler().apply(exchange, McpSchema.CallToolRequest.builder()
+            .name("get_clip_notes")
+            .arguments(arguments)
+            .build());
+    }
+
+    private McpSchema.CallToolResult callSet(Map<String, Object> arguments) {
+        McpServerFeatures.SyncToolSpecification spec = ClipNotesTool.setClipNotesSpecification(bitwigApiFacade, structuredLogger);
+        return spec.callHandler().apply(exchange, McpSchema.CallToolRequest.builder()
+            .name("set_clip_notes")
+            .arguments(arguments)
+            .build());
+    }
+}
@@ -207,4 +207,41 @@ class ClipToolTest {
         assertEquals("Clip at index 5 does not exist", errorNode.get("message").asText());
         assertEquals("launch_clip", errorNode.get("operation").asText());
     }
+
+    @Test
+    void testRepeatedRequestIdLaunchesClipOnce() {
+        when(clipSceneController.launchClip("Drums", 0)).thenReturn(ClipLaunchResult.success("Clip at Drums[0] launched."));
+        McpServerFeatures.SyncToolSpecification spec = ClipTool.launchClipSpecification(clipSceneController, structuredLogger);
+
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("launch_clip")
+            .arguments(Map.of("track_name", "Drums", "clip_index", 0, "request_id", "clip-tool-test-" + System.nanoTime()))
+            .build();
+
+        McpSchema.CallToolResult first = spec.callHandler().apply(null, request);
+        McpSchema.CallToolResult retry = spec.callHandler().apply(null, request);
+
+        assertFalse(Boolean.TRUE.equals(first.isError()));
+        assertEquals(first, retry);
+        verify(clipSceneController, times(1)).launchClip("Drums", 0);
+    }
+
+    @Test
+    void testSameRequestIdInTwoSessionsLaunchesTwice() {
+        when(clipSceneController.launchClip("Drums", 0)).thenReturn(ClipLaunchResult.success("Clip at Drums[0] launched."));
+        McpServerFeatures.SyncToolSpecification spec = ClipTool.launchClipSpecification(clipSceneController, structuredLogger);
+
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("launch_clip")
+            .arguments(Map.of("track_name", "Drums", "clip_index", 0, "request_id", "clip-tool-test-" + System.nanoTime()))
+            .build();
+
+        McpSchema.CallToolResult first = McpErrorHandler.callInSession("session-a", () -> spec.callHandler().apply(null, request));
+        McpSchema.CallToolResult other = McpErrorHandler.callInSession("session-b", () -> spec.callHandler().apply(null, request));
+        McpSchema.CallToolResult retry = McpErrorHandler.callInSession("session-a", () -> spec.callHandler().apply(null, request));
+
+        assertFalse(Boolean.TRUE.equals(other.isError()));
+        assertEquals(first, retry);
+        verify(clipSceneController, times(2)).launchClip("Drums", 0);
+    }
 }
@@ -0,0 +1,113 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.data.ParameterSetting;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.features.DeviceController;
+import io.github.fabb.wigai.mcp.McpErrorHandler;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DeviceCursorTool.
+ */
+class DeviceCursorToolTest {
+
+    @Mock
+    private DeviceController deviceController;
+    @Mock
+    private StructuredLogger structuredLogger;
+    @Mock
+    private Logger baseLogger;
+    @Mock
+    private StructuredLogger.TimedOperation timedOperation;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(structuredLogger.getBaseLogger()).thenReturn(baseLogger);
+        when(structuredLogger.generateOperationId()).thenReturn("op-123");
+        when(structuredLogger.startTimedOperation(any(), any(), any())).thenReturn(timedOperation);
+    }
+
+    @Test
+    void testSpecifications() {
+        assertEquals("lease_device_cursor", DeviceCursorTool.leaseDeviceCursorSpecification(deviceController, structuredLogger).tool().name());
+        assertEquals("get_leased_device_parameters", DeviceCursorTool.getLeasedDeviceParametersSpecification(deviceController, structuredLogger).tool().name());
+        assertEquals("set_leased_device_parameters", DeviceCursorTool.setLeasedDeviceParametersSpecification(deviceController, structuredLogger).tool().name());
+        assertEquals("release_device_cursor", DeviceCursorTool.releaseDeviceCursorSpecification(deviceController, structuredLogger).tool().name());
+    }
+
+    @Test
+    void testLeaseByTrackIndexOrName() {
+        when(deviceController.leaseDeviceCursor(any(), any(), anyInt(), any())).thenReturn(Map.of("lease_id", 1L));
+        McpServerFeatures.SyncToolSpecification spec = DeviceCursorTool.leaseDeviceCursorSpecification(deviceController, structuredLogger);
+
+        assertFalse(spec.callHandler().apply(exchange, request("lease_device_cursor", Map.of("track_index", 2, "device_index", 1))).isError());
+        assertFalse(spec.callHandler().apply(exchange, request("lease_device_cursor", Map.of("track_name", "Bass", "device_index", 0))).isError());
+        assertTrue(spec.callHandler().apply(exchange, request("lease_device_cursor", Map.of("device_index", 0))).isError());
+
+        verify(deviceController).leaseDeviceCursor(2, null, 1, null);
+        verify(deviceController).leaseDeviceCursor(null, "Bass", 0, null);
+    }
+
+    @Test
+    void testSetParsesParameters() {
+        when(deviceController.setLeasedDeviceParameters(anyLong(), any(), any())).thenReturn(Map.of("parameters_set", 2));
+        McpServerFeatures.SyncToolSpecification spec = DeviceCursorTool.setLeasedDeviceParametersSpecification(deviceController, structuredLogger);
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(exchange, request("set_leased_device_parameters", Map.of(
+            "lease_id", 3,
+            "parameters", List.of(Map.of("parameter_index", 0, "value", 0.2), Map.of("parameter_index", 5, "value", 1.0)))));
+
+        assertFalse(result.isError());
+        verify(deviceController).setLeasedDeviceParameters(3L, List.of(new ParameterSetting(0, 0.2), new ParameterSetting(5, 1.0)), null);
+    }
+
+    @Test
+    void testLeaseIsUsedOnBehalfOfTheCallingSession() {
+        when(deviceController.releaseDeviceCursor(anyLong(), any())).thenReturn(Map.of("was_active", true));
+        McpServerFeatures.SyncToolSpecification spec = DeviceCursorTool.releaseDeviceCursorSpecification(deviceController, structuredLogger);
+
+        McpErrorHandler.callInSession("session-a", () ->
+            spec.callHandler().apply(exchange, request("release_device_cursor", Map.of("lease_id", 3))));
+
+        verify(deviceController).releaseDeviceCursor(3L, "session-a");
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejected() {
+        McpServerFeatures.SyncToolSpecification set = DeviceCursorTool.setLeasedDeviceParametersSpecification(deviceController, structuredLogger);
+        McpServerFeatures.SyncToolSpecification release = DeviceCursorTool.releaseDeviceCursorSpecification(deviceController, structuredLogger);
+
+        assertTrue(set.callHandler().apply(exchange, request("set_leased_device_parameters", Map.of(
+            "lease_id", 3, "parameters", List.of(Map.of("parameter_index", 8, "value", 0.5))))).isError());
+        assertTrue(set.callHandler().apply(exchange, request("set_leased_device_parameters", Map.of(
+            "lease_id", 3, "parameters", List.of(Map.of("parameter_index", 1, "value", 0.5), Map.of("parameter_index", 1, "value", 0.6))))).isError());
+        assertTrue(release.callHandler().apply(exchange, request("release_device_cursor", Map.of("lease_id", 1.5))).isError());
+
+        verify(deviceController, never()).setLeasedDeviceParameters(anyLong(), any(), any());
+        verify(deviceController, never()).releaseDeviceCursor(anyLong(), any());
+    }
+
+    private static McpSchema.CallToolRequest request(String name, Map<String, Object> arguments) {
+        return McpSchema.CallToolRequest.builder()
+            .name(name)
+            .arguments(arguments)
+            .build();
+    }
+}
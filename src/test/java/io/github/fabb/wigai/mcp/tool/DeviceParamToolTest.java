@@ -1,8 +1,10 @@
 package io.github.fabb.wigai.mcp.tool;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.github.fabb.wigai.bitwig.ParameterWriteTracker;
 import io.github.fabb.wigai.common.Logger;
 import io.github.fabb.wigai.common.data.ParameterInfo;
+import io.github.fabb.wigai.common.data.ParameterSetting;
 import io.github.fabb.wigai.common.data.ParameterSettingResult;
 import io.github.fabb.wigai.common.error.BitwigApiException;
 import io.github.fabb.wigai.common.error.ErrorCode;
@@ -81,6 +83,134 @@ class DeviceParamToolTest {
         assertNotNull(spec.tool().inputSchema());
     }
 
+    @Test
+    void testFindDeviceParameterSpecification() {
+        McpServerFeatures.SyncToolSpecification spec = DeviceParamTool.findDeviceParameterSpecification(deviceController, structuredLogger);
+
+        assertNotNull(spec);
+        assertEquals("find_device_parameter", spec.tool().name());
+        assertNotNull(spec.tool().inputSchema());
+    }
+
+    @Test
+    void testSetMultipleParametersAcceptsNames() {
+        when(deviceController.setMultipleSelectedDeviceParameters(any(), anyLong())).thenReturn(List.of(
+            new ParameterSettingResult(4, "success", 0.3, null, null, "Cutoff", 2),
+            new ParameterSettingResult(1, "success", 0.6, null, null)
+        ));
+        McpServerFeatures.SyncToolSpecification spec = DeviceParamTool.setMultipleDeviceParametersSpecification(deviceController, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("set_selected_device_parameters")
+            .arguments(Map.of("parameters", List.of(
+                Map.of("parameter_name", "Cutoff", "value", 0.3),
+                Map.of("parameter_index", 1, "value", 0.6)
+            )))
+            .build();
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(null, request);
+
+        assertFalse(result.isError());
+        verify(deviceController).setMultipleSelectedDeviceParameters(List.of(
+            ParameterSetting.byName("Cutoff", 0.3),
+            new ParameterSetting(1, 0.6)
+        ), 0L);
+    }
+
+    @Test
+    void testSetParameterWithConfirmReturnsAppliedValue() throws Exception {
+        ParameterWriteTracker.Pending pending = new ParameterWriteTracker.Pending(2, 7, 7, 0.33);
+        when(deviceController.writeSelectedDeviceParameter(2, 0.33)).thenReturn(pending);
+        when(deviceController.confirmSelectedDeviceParameterWrite(2, 0.33, pending, 500))
+            .thenReturn(new ParameterWriteTracker.Applied(0.3333, "Saw", true));
+
+        McpSchema.CallToolResult result = callSet(Map.of("parameter_index", 2, "value", 0.33, "confirm", true));
+
+        JsonNode dataNode = McpResponseTestUtils.validateActionResponse(result, "parameter_set");
+        assertEquals(0.3333, dataNode.get("new_value").asDouble(), 0.0001);
+        assertEquals("Saw", dataNode.get("displayed_value").asText());
+        assertTrue(dataNode.get("confirmed").asBoolean());
+        verify(deviceController, never()).setSelectedDeviceParameter(anyInt(), anyDouble());
+    }
+
+    @Test
+    void testSetMultipleParametersWithConfirmWaitsAfterWriting() throws Exception {
+        List<ParameterSetting> parameters = List.of(new ParameterSetting(1, 0.6));
+        DeviceController.ParameterWrites writes = new DeviceController.ParameterWrites(
+            List.of(new ParameterSettingResult(1, "success", 0.6, null, null)),
+            java.util.Arrays.asList((ParameterWriteTracker.Pending) null));
+        when(deviceController.writeSelectedDeviceParameters(parameters, true)).thenReturn(writes);
+        when(deviceController.confirmSelectedDeviceParameterWrites(writes, 250)).thenReturn(List.of(
+            new ParameterSettingResult(1, "success", 0.6, null, null).withAppliedValue(0.5, "Square", true)));
+        McpServerFeatures.SyncToolSpecification spec = DeviceParamTool.setMultipleDeviceParametersSpecification(deviceController, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("set_selected_device_parameters")
+            .arguments(Map.of(
+                "parameters", List.of(Map.of("parameter_index", 1, "value", 0.6)),
+                "confirm", true,
+                "confirm_timeout_ms", 250))
+            .build();
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(null, request);
+
+        JsonNode dataNode = McpResponseTestUtils.validateActionResponse(result, "multiple_parameters_set");
+        assertEquals("Square", dataNode.get("results").get(0).get("displayed_value").asText());
+        var order = inOrder(deviceController);
+        order.verify(deviceController).writeSelectedDeviceParameters(parameters, true);
+        order.verify(deviceController).confirmSelectedDeviceParameterWrites(writes, 250);
+        verify(deviceController, never()).setMultipleSelectedDeviceParameters(any(), anyLong());
+    }
+
+    @Test
+    void testSetParameterConfirmTimeoutIsValidated() {
+        McpSchema.CallToolResult result = callSet(Map.of("parameter_index", 2, "value", 0.5, "confirm", true, "confirm_timeout_ms", 60000));
+
+        assertTrue(result.isError());
+        verifyNoInteractions(deviceController);
+    }
+
+    @Test
+    void testSetParameterWithoutConfirmDoesNotWait() {
+        McpSchema.CallToolResult result = callSet(Map.of("parameter_index", 2, "value", 0.5, "confirm_timeout_ms", 100));
+
+        assertFalse(result.isError());
+        verify(deviceController).setSelectedDeviceParameter(2, 0.5);
+        verify(deviceController, never()).setSelectedDeviceParameterConfirmed(anyInt(), anyDouble(), anyLong());
+    }
+
+    @Test
+    void testFindDeviceParameterSelectsPageByDefault() throws Exception {
+        when(deviceController.findSelectedDeviceParameter("cutoff", true)).thenReturn(Map.of(
+            "device_name", "Filter+",
+            "page_selected", true,
+            "matches", List.of(Map.of("page_index", 2, "parameter_index", 5, "name", "Cutoff"))
+        ));
+
+        McpSchema.CallToolResult result = callFind(Map.of("name", "cutoff"));
+
+        JsonNode dataNode = McpResponseTestUtils.validateObjectResponse(result);
+        assertTrue(dataNode.get("page_selected").asBoolean());
+        assertEquals(5, dataNode.get("matches").get(0).get("parameter_index").asInt());
+        verify(deviceController).findSelectedDeviceParameter("cutoff", true);
+    }
+
+    @Test
+    void testFindDeviceParameterCanLeavePageAlone() throws Exception {
+        when(deviceController.findSelectedDeviceParameter("cutoff", false)).thenReturn(Map.of("matches", List.of()));
+
+        McpSchema.CallToolResult result = callFind(Map.of("name", "cutoff", "select_page", false));
+
+        assertFalse(result.isError());
+        verify(deviceController).findSelectedDeviceParameter("cutoff", false);
+    }
+
+    @Test
+    void testFindDeviceParameterRejectsEmptyName() {
+        McpSchema.CallToolResult result = callFind(Map.of("name", " "));
+
+        assertTrue(result.isError());
+        verifyNoInteractions(deviceController);
+    }
+
     @Test
     void testGetDeviceParametersSuccessResponseFormat() throws Exception {
         // Arrange: Mock device parameters response
@@ -238,4 +368,22 @@ class DeviceParamToolTest {
         assertEquals("Test Device", dataNode.get("device_name").asText());
         assertTrue(dataNode.get("parameters").isArray());
     }
+
+    private McpSchema.CallToolResult callSet(Map<String, Object> arguments) {
+        McpServerFeatures.SyncToolSpecification spec = DeviceParamTool.setSelectedDeviceParameterSpecification(deviceController, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("set_selected_device_parameter")
+            .arguments(arguments)
+            .build();
+        return spec.callHandler().apply(null, request);
+    }
+
+        private McpSchema.CallToolResult callFind(Map<String, Object> arguments) {
+        McpServerFeatures.SyncToolSpecification spec = DeviceParamTool.findDeviceParameterSpecification(deviceController, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("find_device_parameter")
+            .arguments(arguments)
+            .build();
+        return spec.callHandler().apply(null, request);
+    }
 }
@@ -1,10 +1,14 @@
 package io.github.fabb.wigai.mcp.tool;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.data.DeviceDetailsResult;
 import io.github.fabb.wigai.common.data.ParameterInfo;
 import io.github.fabb.wigai.common.error.BitwigApiException;
 import io.github.fabb.wigai.common.error.ErrorCode;
 import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.common.serialization.ResponseSerializer;
 import io.github.fabb.wigai.features.DeviceController;
 import io.modelcontextprotocol.server.McpServerFeatures;
 
@@ -231,49 +235,48 @@ class GetDeviceDetailsToolTest {
         remoteControls.add(new ParameterInfo(1, "Ratio", 0.3, "3:1"));
         // Only include existing controls - no need to fill slots since ParameterInfo only represents existing parameters
 
-        DeviceController.DeviceDetailsResult mockResult = new DeviceController.DeviceDetailsResult(
+        DeviceDetailsResult mockResult = new DeviceDetailsResult(
             0, "Drums", 1, "Compressor", "AudioFX", false, true,
             remoteControls
         );
 
         when(deviceController.getDeviceDetails(any(), any(), any(), any(), any())).thenReturn(mockResult);
 
-        // Test response format
-        Map<String, Object> responseData = mockResult.toMap();
+        // Test response format as serialized for the client
+        JsonNode responseData = new ObjectMapper().readTree(ResponseSerializer.successEnvelope(mockResult)).get("data");
 
         // Validate response structure
         assertNotNull(responseData);
-        assertEquals(0, responseData.get("track_index"));
-        assertEquals("Drums", responseData.get("track_name"));
-        assertEquals(1, responseData.get("index"));
-        assertEquals("Compressor", responseData.get("name"));
-        assertEquals("AudioFX", responseData.get("type"));
-        assertEquals(false, responseData.get("is_bypassed"));
-        assertEquals(true, responseData.get("is_selected"));
+        assertEquals(0, responseData.get("track_index").asInt());
+        assertEquals("Drums", responseData.get("track_name").asText());
+        assertEquals(1, responseData.get("index").asInt());
+        assertEquals("Compressor", responseData.get("name").asText());
+        assertEquals("AudioFX", responseData.get("type").asText());
+        assertFalse(responseData.get("is_bypassed").asBoolean());
+        assertTrue(responseData.get("is_selected").asBoolean());
 
         // Validate remote controls array - only existing parameters
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> controlsArray = (List<Map<String, Object>>) responseData.get("remote_controls");
+        JsonNode controlsArray = responseData.get("remote_controls");
         assertNotNull(controlsArray);
         assertEquals(2, controlsArray.size()); // Only existing parameters
 
         // Check first control (exists)
-        Map<String, Object> firstControl = controlsArray.get(0);
-        assertEquals(0, firstControl.get("index"));
-        assertEquals(true, firstControl.get("exists"));
-        assertEquals("Threshold", firstControl.get("name"));
-        assertEquals(0.5, firstControl.get("value"));
-        assertEquals(null, firstControl.get("raw_value"));
-        assertEquals("-6.0 dB", firstControl.get("display_value"));
+        JsonNode firstControl = controlsArray.get(0);
+        assertEquals(0, firstControl.get("index").asInt());
+        assertTrue(firstControl.get("exists").asBoolean());
+        assertEquals("Threshold", firstControl.get("name").asText());
+        assertEquals(0.5, firstControl.get("value").asDouble());
+        assertTrue(firstControl.get("raw_value").isNull());
+        assertEquals("-6.0 dB", firstControl.get("display_value").asText());
 
         // Check second control (exists)
-        Map<String, Object> secondControl = controlsArray.get(1);
-        assertEquals(1, secondControl.get("index"));
-        assertEquals(true, secondControl.get("exists"));
-        assertEquals("Ratio", secondControl.get("name"));
-        assertEquals(0.3, secondControl.get("value"));
-        assertEquals(null, secondControl.get("raw_value"));
-        assertEquals("3:1", secondControl.get("display_value"));
+        JsonNode secondControl = controlsArray.get(1);
+        assertEquals(1, secondControl.get("index").asInt());
+        assertTrue(secondControl.get("exists").asBoolean());
+        assertEquals("Ratio", secondControl.get("name").asText());
+        assertEquals(0.3, secondControl.get("value").asDouble());
+        assertTrue(secondControl.get("raw_value").isNull());
+        assertEquals("3:1", secondControl.get("display_value").asText());
     }
 
     @Test
@@ -96,4 +96,13 @@ class GetTrackDetailsToolTest {
             GetTrackDetailsTool.validateParameters(Map.of("track_index", 1, "track_name", "X"), "get_track_details")
         );
     }
+
+    @Test
+    void testTrackKindOnlyComesWithIndex() {
+        assertNotNull(GetTrackDetailsTool.validateParameters(Map.of("track_index", 0, "track_kind", "master"), "get_track_details"));
+        assertThrows(IllegalArgumentException.class, () ->
+            GetTrackDetailsTool.validateParameters(Map.of("track_index", 0, "track_kind", "return"), "get_track_details"));
+        assertThrows(IllegalArgumentException.class, () ->
+            GetTrackDetailsTool.validateParameters(Map.of("track_name", "Reverb", "track_kind", "effect"), "get_track_details"));
+    }
 }
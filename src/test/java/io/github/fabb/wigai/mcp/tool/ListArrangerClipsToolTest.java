@@ -0,0 +1,100 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ListArrangerClipsTool.
+ */
+class ListArrangerClipsToolTest {
+
+    @Mock
+    private BitwigApiFacade bitwigApiFacade;
+    @Mock
+    private StructuredLogger structuredLogger;
+    @Mock
+    private Logger baseLogger;
+    @Mock
+    private StructuredLogger.TimedOperation timedOperation;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(structuredLogger.getBaseLogger()).thenReturn(baseLogger);
+        when(structuredLogger.generateOperationId()).thenReturn("op-123");
+        when(structuredLogger.startTimedOperation(any(), any(), any())).thenReturn(timedOperation);
+    }
+
+    @Test
+    void testSpecification() {
+        McpServerFeatures.SyncToolSpecification spec = ListArrangerClipsTool.specification(bitwigApiFacade, structuredLogger);
+
+        assertEquals("list_arranger_clips", spec.tool().name());
+        assertNotNull(spec.tool().description());
+        assertNotNull(spec.tool().inputSchema());
+    }
+
+    @Test
+    void testListPassesRangeAndTrack() throws Exception {
+        when(bitwigApiFacade.getArrangerClips(16.0, 32.0, "Bass"))
+            .thenReturn(List.of(Map.of("track_name", "Bass", "start", 16.0, "end", 24.0)));
+        when(bitwigApiFacade.getIndexedArrangerClipCount()).thenReturn(5);
+
+        McpSchema.CallToolResult result = call(Map.of("start", 16, "end", 32, "track_name", "Bass"));
+
+        assertFalse(result.isError());
+        JsonNode data = objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text()).get("data");
+        assertEquals(5, data.get("indexed_clip_count").asInt());
+        assertEquals(1, data.get("clip_count").asInt());
+        assertEquals(16.0, data.get("clips").get(0).get("start").asDouble());
+    }
+
+    @Test
+    void testListDefaultsToWholeArrangement() {
+        when(bitwigApiFacade.getArrangerClips(0.0, Double.POSITIVE_INFINITY, null)).thenReturn(List.of());
+
+        McpSchema.CallToolResult result = call(Map.of());
+
+        assertFalse(result.isError());
+        verify(bitwigApiFacade).getArrangerClips(0.0, Double.POSITIVE_INFINITY, null);
+    }
+
+    @Test
+    void testInvalidRangeIsRejected() {
+        assertTrue(call(Map.of("start", -1)).isError());
+        assertTrue(call(Map.of("start", 16, "end", 8)).isError());
+        assertTrue(call(Map.of("track_name", " ")).isError());
+
+        verify(bitwigApiFacade, never()).getArrangerClips(anyDouble(), anyDouble(), any());
+    }
+
+    private McpSchema.CallToolResult call(Map<String, Object> arguments) {
+        McpServerFeatures.SyncToolSpecification spec = ListArrangerClipsTool.specification(bitwigApiFacade, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("list_arranger_clips")
+            .arguments(arguments)
+            .build();
+        return spec.callHandler().apply(exchange, request);
+    }
+}
@@ -6,6 +6,7 @@ import io.github.fabb.wigai.bitwig.BitwigApiFacade;
 import io.github.fabb.wigai.common.Logger;
 import io.github.fabb.wigai.common.error.BitwigApiException;
 import io.github.fabb.wigai.common.error.ErrorCode;
+import io.github.fabb.wigai.common.filter.TrackFilter;
 import io.github.fabb.wigai.common.logging.StructuredLogger;
 import io.github.fabb.wigai.mcp.McpErrorHandler;
 import io.modelcontextprotocol.server.McpServerFeatures;
@@ -20,6 +21,7 @@ import org.mockito.MockitoAnnotations;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
@@ -380,4 +382,37 @@ class ListTracksToolTest {
 
         return tracks;
     }
+
+    @Test
+    void testListTracksWithWhereExpressionPassesCompiledFilter() throws Exception {
+        List<Map<String, Object>> mockTracks = createMockTrackData();
+        when(bitwigApiFacade.getAllTracksInfo(isNull(), any(TrackFilter.class))).thenReturn(mockTracks);
+
+        McpServerFeatures.SyncToolSpecification spec = ListTracksTool.specification(bitwigApiFacade, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("list_tracks")
+            .arguments(Map.of("where", "type=audio and muted"))
+            .build();
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(exchange, request);
+
+        assertFalse(result.isError());
+        verify(bitwigApiFacade).getAllTracksInfo(isNull(), argThat(filter -> "type=audio and muted".equals(filter.getExpression())));
+    }
+
+    @Test
+    void testListTracksWithInvalidWhereExpressionReturnsError() throws Exception {
+        McpServerFeatures.SyncToolSpecification spec = ListTracksTool.specification(bitwigApiFacade, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("list_tracks")
+            .arguments(Map.of("where", "type > 3"))
+            .build();
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(exchange, request);
+
+        JsonNode errorNode = McpResponseTestUtils.validateErrorResponse(result);
+        assertEquals("INVALID_PARAMETER", errorNode.get("code").asText());
+        assertTrue(errorNode.get("message").asText().contains("Invalid filter expression"));
+        verify(bitwigApiFacade, never()).getAllTracksInfo(any(), any());
+    }
 }
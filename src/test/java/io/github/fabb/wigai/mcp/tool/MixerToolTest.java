@@ -0,0 +1,204 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.MixerState;
+import io.github.fabb.wigai.bitwig.TrackAddress;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.features.MixerController;
+import io.github.fabb.wigai.features.MixerController.SendLevel;
+import io.github.fabb.wigai.features.MixerSnapshotController;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MixerTool.
+ */
+class MixerToolTest {
+
+    @Mock
+    private BitwigApiFacade bitwigApiFacade;
+    @Mock
+    private StructuredLogger structuredLogger;
+    @Mock
+    private Logger baseLogger;
+    @Mock
+    private StructuredLogger.TimedOperation timedOperation;
+    @Mock
+    private McpSyncServerExchange exchange;
+    @Mock
+    private MixerSnapshotController snapshotController;
+    @Mock
+    private MixerController mixerController;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(structuredLogger.getBaseLogger()).thenReturn(baseLogger);
+        when(structuredLogger.generateOperationId()).thenReturn("op-123");
+        when(structuredLogger.startTimedOperation(any(), any(), any())).thenReturn(timedOperation);
+    }
+
+    @Test
+    void testGetMixerSnapshotSpecification() {
+        McpServerFeatures.SyncToolSpecification spec = MixerTool.getMixerSnapshotSpecification(bitwigApiFacade, structuredLogger);
+
+        assertNotNull(spec);
+        assertEquals("get_mixer_snapshot", spec.tool().name());
+        assertNotNull(spec.tool().description());
+        assertNotNull(spec.tool().inputSchema());
+        assertNotNull(spec.callHandler());
+    }
+
+    @Test
+    void testGetMixerSnapshotReturnsColumnarData() throws Exception {
+        MixerState state = new MixerState(8, 0);
+        state.setExists(0, true);
+        state.setExists(1, true);
+        state.setVolume(1, 0.7);
+        state.setSoloed(0, true);
+        when(bitwigApiFacade.getMixerState()).thenReturn(state);
+
+        McpServerFeatures.SyncToolSpecification spec = MixerTool.getMixerSnapshotSpecification(bitwigApiFacade, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("get_mixer_snapshot")
+            .arguments(Map.of())
+            .build();
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(exchange, request);
+
+        assertFalse(result.isError());
+        JsonNode response = objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text());
+        assertEquals("success", response.get("status").asText());
+
+        JsonNode data = response.get("data");
+        assertEquals(2, data.get("track_count").asInt());
+        assertEquals(0.7, data.get("volume").get(1).asDouble());
+        assertTrue(data.get("soloed").get(0).asBoolean());
+        assertFalse(data.get("soloed").get(1).asBoolean());
+    }
+
+    @Test
+    void testGetMixerSnapshotFacadeFailure() throws Exception {
+        when(bitwigApiFacade.getMixerState()).thenThrow(new RuntimeException("Bitwig API error"));
+
+        McpServerFeatures.SyncToolSpecification spec = MixerTool.getMixerSnapshotSpecification(bitwigApiFacade, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("get_mixer_snapshot")
+            .arguments(Map.of())
+            .build();
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(exchange, request);
+
+        assertTrue(result.isError());
+        JsonNode response = objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text());
+        assertEquals("error", response.get("status").asText());
+    }
+
+    @Test
+    void testCaptureMixerSnapshotRequiresName() throws Exception {
+        McpServerFeatures.SyncToolSpecification spec = MixerTool.captureMixerSnapshotSpecification(snapshotController, structuredLogger);
+        assertEquals("capture_mixer_snapshot", spec.tool().name());
+
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("capture_mixer_snapshot")
+            .arguments(Map.of())
+            .build();
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(exchange, request);
+
+        assertTrue(result.isError());
+        verify(snapshotController, never()).captureSnapshot(any());
+    }
+
+    @Test
+    void testRecallMixerSnapshotPassesMorphArguments() throws Exception {
+        when(snapshotController.recallSnapshot("chorus", "verse", 1000))
+            .thenReturn(Map.of("action", "mixer_snapshot_recalled", "name", "chorus"));
+
+        McpServerFeatures.SyncToolSpecification spec = MixerTool.recallMixerSnapshotSpecification(snapshotController, structuredLogger);
+        assertEquals("recall_mixer_snapshot", spec.tool().name());
+
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("recall_mixer_snapshot")
+            .arguments(Map.of("name", "chorus", "from", "verse", "duration_ms", 1000))
+            .build();
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(exchange, request);
+
+        assertFalse(result.isError());
+        JsonNode response = objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text());
+        assertEquals("chorus", response.get("data").get("name").asText());
+    }
+
+    @Test
+    void testRecallMixerSnapshotRejectsTooLongMorph() {
+        McpServerFeatures.SyncToolSpecification spec = MixerTool.recallMixerSnapshotSpecification(snapshotController, structuredLogger);
+
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("recall_mixer_snapshot")
+            .arguments(Map.of("name", "chorus", "duration_ms", 120000))
+            .build();
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(exchange, request);
+
+        assertTrue(result.isError());
+        verify(snapshotController, never()).recallSnapshot(any(), any(), anyInt());
+    }
+
+    @Test
+    void testSetSendsParsesTrackIndicesAndNames() {
+        when(mixerController.setSends(any())).thenReturn(Map.of("action", "sends_set"));
+        McpServerFeatures.SyncToolSpecification spec = MixerTool.setSendsSpecification(mixerController, structuredLogger);
+
+        McpSchema.CallToolResult result = spec.callHandler().apply(exchange, setSendsRequest(List.of(
+            Map.of("track_index", 0, "send_index", 1, "value", 0.5),
+            Map.of("track_name", "Bass", "send_index", 0, "value", 1),
+            Map.of("track_index", 2, "track_kind", "effect", "send_index", 0, "value", 0.25))));
+
+        assertFalse(result.isError());
+        verify(mixerController).setSends(List.of(new SendLevel(0, null, 1, 0.5), new SendLevel(null, "Bass", 0, 1.0),
+            new SendLevel(TrackAddress.Kind.EFFECT, 2, null, 0, 0.25)));
+    }
+
+    @Test
+    void testSetSendsRejectsInvalidEntries() {
+        McpServerFeatures.SyncToolSpecification spec = MixerTool.setSendsSpecification(mixerController, structuredLogger);
+
+        assertTrue(spec.callHandler().apply(exchange, setSendsRequest(List.of())).isError());
+        assertTrue(spec.callHandler().apply(exchange, setSendsRequest(List.of(
+            Map.of("send_index", 0, "value", 0.5)))).isError());
+        assertTrue(spec.callHandler().apply(exchange, setSendsRequest(List.of(
+            Map.of("track_index", 0, "track_name", "Bass", "send_index", 0, "value", 0.5)))).isError());
+        assertTrue(spec.callHandler().apply(exchange, setSendsRequest(List.of(
+            Map.of("track_index", 0, "track_kind", "bus", "send_index", 0, "value", 0.5)))).isError());
+        assertTrue(spec.callHandler().apply(exchange, setSendsRequest(List.of(
+            Map.of("track_index", 0, "send_index", 0, "value", 0.5),
+            Map.of("track_index", 1, "send_index", 0, "value", 1.5)))).isError());
+
+        verify(mixerController, never()).setSends(any());
+    }
+
+    private static McpSchema.CallToolRequest setSendsRequest(List<Map<String, Object>> sends) {
+        return McpSchema.CallToolRequest.builder()
+            .name("set_sends")
+            .arguments(Map.of("sends", sends))
+            .build();
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.features.ActionScheduleController;
+import io.github.fabb.wigai.features.ActionScheduleController.ActionRequest;
+import io.github.fabb.wigai.features.ActionScheduleController.ActionType;
+import io.github.fabb.wigai.features.ActionScheduleController.Quantize;
+import io.github.fabb.wigai.features.ActionScheduleController.Timing;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScheduleTool.
+ */
+class ScheduleToolTest {
+
+    @Mock
+    private ActionScheduleController scheduleController;
+    @Mock
+    private StructuredLogger structuredLogger;
+    @Mock
+    private Logger baseLogger;
+    @Mock
+    private StructuredLogger.TimedOperation timedOperation;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(structuredLogger.getBaseLogger()).thenReturn(baseLogger);
+        when(structuredLogger.generateOperationId()).thenReturn("op-123");
+        when(structuredLogger.startTimedOperation(any(), any(), any())).thenReturn(timedOperation);
+    }
+
+    @Test
+    void testSpecifications() {
+        assertEquals("schedule_actions", ScheduleTool.scheduleActionsSpecification(scheduleController, structuredLogger).tool().name());
+        assertEquals("list_scheduled_actions", ScheduleTool.listScheduledActionsSpecification(scheduleController, structuredLogger).tool().name());
+        assertEquals("cancel_scheduled_actions", ScheduleTool.cancelScheduledActionsSpecification(scheduleController, structuredLogger).tool().name());
+    }
+
+    @Test
+    void testScheduleParsesActionsAndTiming() {
+        when(scheduleController.schedule(any())).thenReturn(Map.of("action", "actions_scheduled"));
+
+        McpSchema.CallToolResult result = callSchedule(Map.of("actions", List.of(
+            Map.of("action", "launch_scene", "scene_index", 2),
+            Map.of("action", "launch_clip", "track_name", "Bass", "clip_index", 1, "quantize", "next_beat"),
+            Map.of("action", "set_device_parameter", "parameter_index", 3, "value", 0.25, "at_beat", 64),
+            Map.of("action", "stop_transport", "offset_beats", 32)
+        )));
+
+        assertFalse(result.isError());
+        verify(scheduleController).schedule(List.of(
+            new ActionRequest(ActionType.LAUNCH_SCENE, new Timing(null, Quantize.NEXT_BAR, 0.0), null, 2, 0.0),
+            new ActionRequest(ActionType.LAUNCH_CLIP, new Timing(null, Quantize.NEXT_BEAT, 0.0), "Bass", 1, 0.0),
+            new ActionRequest(ActionType.SET_DEVICE_PARAMETER, new Timing(64.0, null, 0.0), null, 3, 0.25),
+            new ActionRequest(ActionType.STOP_TRANSPORT, new Timing(null, Quantize.NEXT_BAR, 32.0), null, 0, 0.0)
+        ));
+    }
+
+    @Test
+    void testInvalidActionsAreRejected() {
+        assertTrue(callSchedule(Map.of("actions", List.of())).isError());
+        assertTrue(callSchedule(Map.of("actions", List.of(Map.of("action", "record")))).isError());
+        assertTrue(callSchedule(Map.of("actions", List.of(Map.of("action", "launch_clip", "clip_index", 0)))).isError());
+        assertTrue(callSchedule(Map.of("actions", List.of(Map.of("action", "set_device_parameter", "parameter_index", 8, "value", 0.5)))).isError());
+        assertTrue(callSchedule(Map.of("actions", List.of(Map.of("action", "stop_transport", "at_beat", 8, "quantize", "next_bar")))).isError());
+        assertTrue(callSchedule(Map.of("actions", List.of(Map.of("action", "stop_transport", "quantize", "next_phrase")))).isError());
+
+        verify(scheduleController, never()).schedule(any());
+    }
+
+    @Test
+    void testCancelPassesIdsOrCancelsAll() {
+        when(scheduleController.cancel(any())).thenReturn(Map.of("cancelled", 1));
+        McpServerFeatures.SyncToolSpecification spec = ScheduleTool.cancelScheduledActionsSpecification(scheduleController, structuredLogger);
+
+        spec.callHandler().apply(exchange, request("cancel_scheduled_actions", Map.of("ids", List.of(4, 7))));
+        spec.callHandler().apply(exchange, request("cancel_scheduled_actions", Map.of()));
+
+        verify(scheduleController).cancel(List.of(4L, 7L));
+        verify(scheduleController).cancel(null);
+        assertTrue(spec.callHandler().apply(exchange, request("cancel_scheduled_actions", Map.of("ids", List.of("x")))).isError());
+    }
+
+    private McpSchema.CallToolResult callSchedule(Map<String, Object> arguments) {
+        McpServerFeatures.SyncToolSpecification spec = ScheduleTool.scheduleActionsSpecification(scheduleController, structuredLogger);
+        return spec.callHandler().apply(exchange, request("schedule_actions", arguments));
+    }
+
+    private static McpSchema.CallToolRequest request(String name, Map<String, Object> arguments) {
+        return McpSchema.CallToolRequest.builder()
+            .name(name)
+            .arguments(arguments)
+            .build();
+    }
+}
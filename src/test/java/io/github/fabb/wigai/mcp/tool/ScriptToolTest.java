@@ -0,0 +1,104 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import io.github.fabb.wigai.bitwig.TrackAddress;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.github.fabb.wigai.features.ScriptController;
+import io.github.fabb.wigai.features.ScriptController.Step;
+import io.github.fabb.wigai.features.ScriptController.StepType;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScriptTool.
+ */
+class ScriptToolTest {
+
+    @Mock
+    private ScriptController scriptController;
+    @Mock
+    private StructuredLogger structuredLogger;
+    @Mock
+    private Logger baseLogger;
+    @Mock
+    private StructuredLogger.TimedOperation timedOperation;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(structuredLogger.getBaseLogger()).thenReturn(baseLogger);
+        when(structuredLogger.generateOperationId()).thenReturn("op-123");
+        when(structuredLogger.startTimedOperation(any(), any(), any())).thenReturn(timedOperation);
+    }
+
+    @Test
+    void testSpecification() {
+        assertEquals("execute_script", ScriptTool.executeScriptSpecification(scriptController, structuredLogger).tool().name());
+    }
+
+    @Test
+    void testParsesSteps() {
+        when(scriptController.execute(any())).thenReturn(Map.of("action", "script_executed"));
+
+        McpSchema.CallToolResult result = callExecute(Map.of("steps", List.of(
+            Map.of("action", "set_track_mute", "track_index", 3),
+            Map.of("action", "set_track_solo", "track_name", "Bass", "enabled", false),
+            Map.of("action", "set_track_volume", "track_index", 1, "value", 0.7),
+            Map.of("action", "set_track_pan", "track_index", 0, "track_kind", "effect", "value", 0.5),
+            Map.of("action", "launch_clip", "track_name", "Bass", "clip_index", 2),
+            Map.of("action", "launch_scene", "scene_index", 4),
+            Map.of("action", "start_transport"),
+            Map.of("action", "set_device_parameter", "parameter_index", 0, "value", 0.3)
+        )));
+
+        assertFalse(result.isError());
+        verify(scriptController).execute(List.of(
+            new Step(StepType.SET_TRACK_MUTE, 3, null, 0, 1.0),
+            new Step(StepType.SET_TRACK_SOLO, null, "Bass", 0, 0.0),
+            new Step(StepType.SET_TRACK_VOLUME, 1, null, 0, 0.7),
+            new Step(StepType.SET_TRACK_PAN, TrackAddress.Kind.EFFECT, 0, null, 0, 0.5),
+            new Step(StepType.LAUNCH_CLIP, null, "Bass", 2, 0.0),
+            new Step(StepType.LAUNCH_SCENE, null, null, 4, 0.0),
+            new Step(StepType.START_TRANSPORT, null, null, 0, 0.0),
+            new Step(StepType.SET_DEVICE_PARAMETER, null, null, 0, 0.3)
+        ));
+    }
+
+    @Test
+    void testInvalidStepRejectsWholeScript() {
+        assertTrue(callExecute(Map.of("steps", List.of())).isError());
+        assertTrue(callExecute(Map.of("steps", List.of(Map.of("action", "delete_track")))).isError());
+        assertTrue(callExecute(Map.of("steps", List.of(Map.of("action", "set_track_mute")))).isError());
+        assertTrue(callExecute(Map.of("steps", List.of(Map.of("action", "set_track_mute", "track_index", 1, "track_name", "Bass")))).isError());
+        assertTrue(callExecute(Map.of("steps", List.of(Map.of("action", "set_track_pan", "track_index", 1, "value", 1.5)))).isError());
+        assertTrue(callExecute(Map.of("steps", List.of(Map.of("action", "set_track_mute", "track_index", 1, "track_kind", "return")))).isError());
+        assertTrue(callExecute(Map.of("steps", List.of(Map.of("action", "set_track_mute", "track_name", "Bass", "track_kind", "effect")))).isError());
+        assertTrue(callExecute(Map.of("steps", List.of(
+            Map.of("action", "launch_scene", "scene_index", 1),
+            Map.of("action", "set_device_parameter", "parameter_index", 8, "value", 0.5)))).isError());
+
+        verify(scriptController, never()).execute(any());
+    }
+
+    private McpSchema.CallToolResult callExecute(Map<String, Object> arguments) {
+        McpServerFeatures.SyncToolSpecification spec = ScriptTool.executeScriptSpecification(scriptController, structuredLogger);
+        return spec.callHandler().apply(exchange, McpSchema.CallToolRequest.builder()
+            .name("execute_script")
+            .arguments(arguments)
+            .build());
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.fabb.wigai.mcp.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fabb.wigai.bitwig.BitwigApiFacade;
+import io.github.fabb.wigai.bitwig.ProjectSearchIndex;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.common.logging.StructuredLogger;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SearchProjectTool.
+ */
+class SearchProjectToolTest {
+
+    @Mock
+    private BitwigApiFacade bitwigApiFacade;
+    @Mock
+    private StructuredLogger structuredLogger;
+    @Mock
+    private Logger baseLogger;
+    @Mock
+    private StructuredLogger.TimedOperation timedOperation;
+    @Mock
+    private McpSyncServerExchange exchange;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(structuredLogger.getBaseLogger()).thenReturn(baseLogger);
+        when(structuredLogger.generateOperationId()).thenReturn("op-123");
+        when(structuredLogger.startTimedOperation(any(), any(), any())).thenReturn(timedOperation);
+    }
+
+    @Test
+    void testSpecification() {
+        McpServerFeatures.SyncToolSpecification spec = SearchProjectTool.specification(bitwigApiFacade, structuredLogger);
+
+        assertNotNull(spec);
+        assertEquals("search_project", spec.tool().name());
+        assertNotNull(spec.tool().description());
+        assertNotNull(spec.tool().inputSchema());
+    }
+
+    @Test
+    void testSearchPassesKindsAndLimit() throws Exception {
+        when(bitwigApiFacade.searchProject("reverb", Set.of(ProjectSearchIndex.Kind.DEVICE), 5))
+            .thenReturn(List.of(Map.of("kind", "device", "name", "Reverb", "track_index", 1, "device_index", 0)));
+
+        McpSchema.CallToolResult result = call(Map.of("query", "reverb", "kinds", List.of("device"), "limit", 5));
+
+        assertFalse(result.isError());
+        JsonNode data = objectMapper.readTree(((McpSchema.TextContent) result.content().get(0)).text()).get("data");
+        assertEquals("reverb", data.get("query").asText());
+        assertEquals(1, data.get("result_count").asInt());
+        assertEquals("Reverb", data.get("results").get(0).get("name").asText());
+    }
+
+    @Test
+    void testSearchUsesDefaultLimitForAllKinds() {
+        when(bitwigApiFacade.searchProject("vocal", null, 20)).thenReturn(List.of());
+
+        McpSchema.CallToolResult result = call(Map.of("query", "vocal"));
+
+        assertFalse(result.isError());
+        verify(bitwigApiFacade).searchProject("vocal", null, 20);
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejected() {
+        assertTrue(call(Map.of()).isError());
+        assertTrue(call(Map.of("query", "  ")).isError());
+        assertTrue(call(Map.of("query", "bass", "kinds", List.of("bus"))).isError());
+        assertTrue(call(Map.of("query", "bass", "limit", 500)).isError());
+
+        verify(bitwigApiFacade, never()).searchProject(any(), any(), anyInt());
+    }
+
+    private McpSchema.CallToolResult call(Map<String, Object> arguments) {
+        McpServerFeatures.SyncToolSpecification spec = SearchProjectTool.specification(bitwigApiFacade, structuredLogger);
+        McpSchema.CallToolRequest request = McpSchema.CallToolRequest.builder()
+            .name("search_project")
+            .arguments(arguments)
+            .build();
+        return spec.callHandler().apply(exchange, request);
+    }
+}
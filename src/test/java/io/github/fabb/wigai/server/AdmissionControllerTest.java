@@ -0,0 +1,153 @@
+package io.github.fabb.wigai.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AdmissionController class.
+ */
+class AdmissionControllerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void testTokenBucketRejectsBeyondBurstWithRetryHint() throws Exception {
+        AdmissionController controller = new AdmissionController(10, 2, 4, 0, nanos::get);
+
+        assertTrue(controller.acquire("agent").admitted());
+        assertTrue(controller.acquire("agent").admitted());
+        AdmissionController.Decision rejected = controller.acquire("agent");
+
+        assertFalse(rejected.admitted());
+        assertEquals(100, rejected.retryAfterMs());
+
+        // Other sessions have their own bucket
+        assertTrue(controller.acquire("other").admitted());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(controller.acquire("agent").admitted());
+    }
+
+    @Test
+    void testFullGateRejectsAfterQueueWait() throws Exception {
+        AdmissionController controller = new AdmissionController(100, 10, 1, 20);
+
+        assertTrue(controller.acquire("batch").admitted());
+        AdmissionController.Decision rejected = controller.acquire("interactive");
+
+        assertFalse(rejected.admitted());
+        assertEquals(AdmissionController.GATE_RETRY_AFTER_MS, rejected.retryAfterMs());
+        assertEquals(0, controller.getWaitingCount());
+
+        controller.release();
+        assertTrue(controller.acquire("interactive").admitted());
+    }
+
+    @Test
+    void testInteractiveSessionOvertakesQueuedBatchCalls() throws Exception {
+        AdmissionController controller = new AdmissionController(1000, 100, 1, 5000);
+        List<String> grantOrder = new CopyOnWriteArrayList<>();
+
+        assertTrue(controller.acquire("batch").admitted());
+
+        Thread batch1 = startWaiter(controller, "batch", "batch-1", grantOrder);
+        awaitWaiting(controller, 1);
+        Thread batch2 = startWaiter(controller, "batch", "batch-2", grantOrder);
+        awaitWaiting(controller, 2);
+        Thread interactive = startWaiter(controller, "interactive", "interactive", grantOrder);
+        awaitWaiting(controller, 3);
+
+        for (int i = 0; i < 3; i++) {
+            controller.release();
+            awaitGrants(grantOrder, i + 1);
+        }
+        batch1.join(1000);
+        batch2.join(1000);
+        interactive.join(1000);
+
+        // The batch session already holds the slot, so its queued calls are scheduled behind the interactive one
+        assertEquals(List.of("interactive", "batch-1", "batch-2"), grantOrder);
+    }
+
+    @Test
+    void testHeavierSessionGetsLargerShareOfContendedGate() throws Exception {
+        AdmissionController controller = new AdmissionController(1000, 100, 1, 5000,
+            SessionWeights.parse(1.0, "studio=2"));
+        controller.registerSession("heavy", "Studio");
+        controller.registerSession("light", "other-client");
+        List<String> grantOrder = new CopyOnWriteArrayList<>();
+
+        assertTrue(controller.acquire("holder").admitted());
+
+        List<Thread> threads = new ArrayList<>();
+        String[][] calls = {{"heavy", "heavy-1"}, {"heavy", "heavy-2"}, {"heavy", "heavy-3"}, {"light", "light-1"}, {"light", "light-2"}};
+        for (int i = 0; i < calls.length; i++) {
+            threads.add(startWaiter(controller, calls[i][0], calls[i][1], grantOrder));
+            awaitWaiting(controller, i + 1);
+        }
+
+        for (int i = 0; i < calls.length; i++) {
+            controller.release();
+            awaitGrants(grantOrder, i + 1);
+        }
+        for (Thread thread : threads) {
+            thread.join(1000);
+        }
+
+        // Each heavy call advances its session's tag by half a step, so two heavy calls go per light call
+        assertEquals(List.of("heavy-1", "light-1", "heavy-2", "heavy-3", "light-2"), grantOrder);
+    }
+
+    @Test
+    void testOnlyIssuedSessionsAreRemembered() {
+        AdmissionController controller = new AdmissionController(10, 2, 4, 0, nanos::get);
+
+        for (int i = 0; i <= AdmissionController.MAX_ISSUED_SESSIONS; i++) {
+            controller.registerSession("session-" + i, null);
+        }
+
+        assertFalse(controller.isRegistered("session-0"));
+        assertTrue(controller.isRegistered("session-" + AdmissionController.MAX_ISSUED_SESSIONS));
+        assertFalse(controller.isRegistered("forged"));
+
+        controller.removeSession("session-1");
+        assertFalse(controller.isRegistered("session-1"));
+    }
+
+    private static Thread startWaiter(AdmissionController controller, String session, String label, List<String> grantOrder) {
+        Thread thread = new Thread(() -> {
+            try {
+                if (controller.acquire(session).admitted()) {
+                    grantOrder.add(label);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(AdmissionController controller, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (controller.getWaitingCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, controller.getWaitingCount());
+    }
+
+    private static void awaitGrants(List<String> grantOrder, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (grantOrder.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, grantOrder.size());
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.fabb.wigai.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.fabb.wigai.common.Logger;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the AdmissionFilter class.
+ */
+class AdmissionFilterTest {
+    private static final String TOOL_CALL =
+        "{\"jsonrpc\":\"2.0\",\"id\":7,\"method\":\"tools/call\",\"params\":{\"name\":\"get_track_details\"}}";
+
+    @Mock
+    private Logger logger;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private FilterChain chain;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                written.write(b);
+            }
+        });
+    }
+
+    @Test
+    void testAdmittedCallSeesBodyAndReleasesSlot() throws Exception {
+        AdmissionController controller = new AdmissionController(100, 10, 1, 0);
+        ArgumentCaptor<HttpServletRequest> forwarded = ArgumentCaptor.forClass(HttpServletRequest.class);
+
+        new AdmissionFilter(controller, logger).doFilter(request(TOOL_CALL, "session-a"), response, chain);
+
+        verify(chain).doFilter(forwarded.capture(), any());
+        assertEquals(TOOL_CALL, new String(forwarded.getValue().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        // The slot was released, so the next call is admitted without waiting
+        assertTrue(controller.acquire("session-b").admitted());
+    }
+
+    @Test
+    void testRateLimitedCallIsAnsweredWithRetryHint() throws Exception {
+        AdmissionController controller = new AdmissionController(1, 1, 4, 0);
+        AdmissionFilter filter = new AdmissionFilter(controller, logger);
+        filter.doFilter(request(TOOL_CALL, "session-a"), response, chain);
+
+        filter.doFilter(request(TOOL_CALL, "session-a"), response, chain);
+
+        verify(chain, times(1)).doFilter(any(), any());
+        verify(response).setHeader("Retry-After", "1");
+        JsonNode rpc = objectMapper.readTree(written.toByteArray());
+        assertEquals(7, rpc.get("id").asInt());
+        assertTrue(rpc.get("result").get("isError").asBoolean());
+        JsonNode error = objectMapper.readTree(rpc.get("result").get("content").get(0).get("text").asText()).get("error");
+        assertEquals("RATE_LIMITED", error.get("code").asText());
+        assertEquals("get_track_details", error.get("operation").asText());
+    }
+
+    @Test
+    void testBatchWithToolCallsIsRejectedWithoutConsumingTokens() throws Exception {
+        AdmissionController controller = new AdmissionController(1, 1, 1, 0);
+        String batch = "[" + TOOL_CALL + "," + TOOL_CALL.replace("\"id\":7", "\"id\":8") + "]";
+
+        new AdmissionFilter(controller, logger).doFilter(request(batch, "session-a"), response, chain);
+
+        verify(chain, never()).doFilter(any(), any());
+        verify(response).setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals(-32600, objectMapper.readTree(written.toByteArray()).get("error").get("code").asInt());
+        assertTrue(controller.acquire("session-a").admitted());
+    }
+
+    @Test
+    void testBatchWithoutToolCallsPasses() throws Exception {
+        AdmissionController controller = new AdmissionController(1, 1, 1, 0);
+        String batch = "[{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/list\"}]";
+
+        new AdmissionFilter(controller, logger).doFilter(request(batch, "session-a"), response, chain);
+
+        verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    void testInitializeRegistersIssuedSessionWithClientWeight() throws Exception {
+        AdmissionController controller = new AdmissionController(100, 10, 1, 0, SessionWeights.parse(1.0, "studio=2"));
+        String initialize = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\","
+            + "\"params\":{\"clientInfo\":{\"name\":\"studio\",\"version\":\"1.0\"}}}";
+        when(response.getHeader("Mcp-Session-Id")).thenReturn("issued-1");
+
+        new AdmissionFilter(controller, logger).doFilter(request(initialize, null), response, chain);
+
+        verify(chain).doFilter(any(), any());
+        assertTrue(controller.isRegistered("issued-1"));
+    }
+
+    @Test
+    void testUnissuedSessionIdsShareTheAddressBucket() throws Exception {
+        AdmissionController controller = new AdmissionController(1, 1, 4, 0);
+        AdmissionFilter filter = new AdmissionFilter(controller, logger);
+
+        filter.doFilter(request(TOOL_CALL, "forged-1"), response, chain);
+        filter.doFilter(request(TOOL_CALL, "forged-2"), response, chain);
+
+        // Made-up session ids neither get their own bucket nor a fresh burst
+        verify(chain, times(1)).doFilter(any(), any());
+        assertEquals(1, controller.getSessionCount());
+        assertFalse(controller.isRegistered("forged-1"));
+    }
+
+    @Test
+    void testEndedSessionIsForgotten() throws Exception {
+        AdmissionController controller = new AdmissionController(100, 10, 1, 0);
+        controller.registerSession("issued-1", null);
+        HttpServletRequest delete = mock(HttpServletRequest.class);
+        when(delete.getMethod()).thenReturn("DELETE");
+        when(delete.getHeader("Mcp-Session-Id")).thenReturn("issued-1");
+
+        new AdmissionFilter(controller, logger).doFilter(delete, response, chain);
+
+        verify(chain).doFilter(delete, response);
+        assertFalse(controller.isRegistered("issued-1"));
+    }
+
+    @Test
+    void testInterruptedWaitIsAnsweredWithError() throws Exception {
+        AdmissionController controller = new AdmissionController(100, 10, 1, 5000);
+        assertTrue(controller.acquire("batch").admitted());
+
+        Thread.currentThread().interrupt();
+        try {
+            new AdmissionFilter(controller, logger).doFilter(request(TOOL_CALL, "session-a"), response, chain);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        verify(chain, never()).doFilter(any(), any());
+        JsonNode rpc = objectMapper.readTree(written.toByteArray());
+        assertEquals(7, rpc.get("id").asInt());
+        assertTrue(rpc.get("result").get("isError").asBoolean());
+    }
+
+    private static HttpServletRequest request(String body, String sessionId) throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        ByteArrayInputStream input = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getHeader("Mcp-Session-Id")).thenReturn(sessionId);
+        when(request.getInputStream()).thenReturn(new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+        });
+        return request;
+    }
+}
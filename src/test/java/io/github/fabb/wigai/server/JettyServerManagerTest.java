@@ -0,0 +1,242 @@
+package io.github.fabb.wigai.server;
+
+import com.bitwig.extension.controller.api.ControllerHost;
+import io.github.fabb.wigai.WigAIExtensionDefinition;
+import io.github.fabb.wigai.common.Logger;
+import io.github.fabb.wigai.config.ConfigManager;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the JettyServerManager class, running a real server on an ephemeral port.
+ */
+class JettyServerManagerTest {
+
+    @Mock
+    private Logger logger;
+    @Mock
+    private ConfigManager configManager;
+    @Mock
+    private WigAIExtensionDefinition extensionDefinition;
+    @Mock
+    private ControllerHost host;
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicBoolean handledOnVirtualThread = new AtomicBoolean();
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private JettyServerManager manager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(configManager.getMcpHost()).thenReturn("localhost");
+        when(configManager.getMcpPort()).thenReturn(0);
+        when(configManager.getServerMinThreads()).thenReturn(4);
+        when(configManager.getServerMaxThreads()).thenReturn(200);
+        when(configManager.getGzipMinSize()).thenReturn(1024);
+        when(extensionDefinition.getVersion()).thenReturn("test");
+        manager = new JettyServerManager(logger, configManager, extensionDefinition, host);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.stopServer();
+    }
+
+    @Test
+    void testRequestsRunOnVirtualThreadsWhenEnabled() throws Exception {
+        when(configManager.isVirtualThreadsEnabled()).thenReturn(true);
+        start();
+
+        HttpResponse<String> response = get("/mcp?size=10", false);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(handledOnVirtualThread.get());
+    }
+
+    @Test
+    void testRequestsRunOnPlatformThreadsByDefault() throws Exception {
+        start();
+
+        get("/mcp?size=10", false);
+
+        assertFalse(handledOnVirtualThread.get());
+    }
+
+    @Test
+    void testGzipCompressesLargeResponsesOnlyWhenAccepted() throws Exception {
+        when(configManager.isGzipEnabled()).thenReturn(true);
+        start();
+
+        assertEquals("gzip", get("/mcp?size=8192", true).headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(get("/mcp?size=8192", false).headers().firstValue("Content-Encoding").isEmpty());
+        // Responses below the threshold are sent as they are
+        assertTrue(get("/mcp?size=100", true).headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    @Test
+    void testH2cUpgradeIsNegotiatedWhenEnabled() throws Exception {
+        when(configManager.isHttp2Enabled()).thenReturn(true);
+        start();
+
+        HttpClient http2Client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        HttpResponse<String> response = http2Client.send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + manager.getLocalPort() + "/mcp?size=10")).build(),
+            HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+    }
+
+    @Test
+    void testUnixSocketIsCreatedInPrivateDirectory() throws Exception {
+        Path socketPath = tempDir.resolve("sockets").resolve("wigai.sock");
+        when(configManager.getUnixSocketPath()).thenReturn(socketPath.toString());
+        start();
+
+        assertTrue(JettyServerManager.isSocketListening(socketPath));
+        assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(socketPath.getParent())));
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(socketPath)));
+    }
+
+    @Test
+    void testUnixSocketInSharedDirectoryIsDisabled() throws Exception {
+        Path directory = Files.createDirectory(tempDir.resolve("shared"),
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwxr-xr-x")));
+        Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxr-xr-x"));
+        Path socketPath = directory.resolve("wigai.sock");
+        when(configManager.getUnixSocketPath()).thenReturn(socketPath.toString());
+        start();
+
+        assertFalse(Files.exists(socketPath));
+        verify(logger).warn(contains("accessible by other users"));
+    }
+
+    @Test
+    void testStaleSocketIsReplaced() throws Exception {
+        Path socketPath = privateDirectory().resolve("wigai.sock");
+        try (ServerSocketChannel previous = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            previous.bind(UnixDomainSocketAddress.of(socketPath));
+        }
+        // Closing the channel leaves the socket file behind, as an unclean shutdown would
+        assertTrue(Files.exists(socketPath));
+        assertFalse(JettyServerManager.isSocketListening(socketPath));
+        when(configManager.getUnixSocketPath()).thenReturn(socketPath.toString());
+
+        start();
+
+        assertTrue(JettyServerManager.isSocketListening(socketPath));
+    }
+
+    @Test
+    void testSocketOfLiveProcessIsNotReplaced() throws Exception {
+        Path socketPath = privateDirectory().resolve("wigai.sock");
+        try (ServerSocketChannel other = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            other.bind(UnixDomainSocketAddress.of(socketPath));
+            when(configManager.getUnixSocketPath()).thenReturn(socketPath.toString());
+
+            start();
+
+            verify(logger).warn(contains("in use by another process"));
+            assertTrue(Files.exists(socketPath));
+            assertTrue(JettyServerManager.isSocketListening(socketPath));
+        }
+    }
+
+    @Test
+    void testRebindMovesToNewPort() throws Exception {
+        start();
+        int oldPort = manager.getLocalPort();
+        int newPort = freePort();
+        when(configManager.getMcpPort()).thenReturn(newPort);
+
+        manager.rebindConnector();
+
+        assertEquals(newPort, manager.getLocalPort());
+        assertEquals(200, get("/mcp?size=10", false).statusCode());
+        assertNotEquals(oldPort, newPort);
+    }
+
+    @Test
+    void testFailedRebindKeepsOldConnectorServing() throws Exception {
+        start();
+        int oldPort = manager.getLocalPort();
+        try (ServerSocket occupied = new ServerSocket(0, 50, InetAddress.getByName("localhost"))) {
+            when(configManager.getMcpPort()).thenReturn(occupied.getLocalPort());
+
+            assertThrows(IOException.class, () -> manager.rebindConnector());
+        }
+
+        assertEquals(oldPort, manager.getLocalPort());
+        assertEquals(200, get("/mcp?size=10", false).statusCode());
+        verify(host).showPopupNotification(contains("still listening on"));
+    }
+
+    @Test
+    void testAddressesOverlapOnSamePortWithSameOrWildcardHost() {
+        assertTrue(JettyServerManager.addressesOverlap("localhost", 61169, "localhost", 61169));
+        assertTrue(JettyServerManager.addressesOverlap("0.0.0.0", 61169, "localhost", 61169));
+        assertTrue(JettyServerManager.addressesOverlap("127.0.0.1", 61169, "::", 61169));
+        assertFalse(JettyServerManager.addressesOverlap("localhost", 61169, "localhost", 61170));
+        assertFalse(JettyServerManager.addressesOverlap("127.0.0.1", 61169, "192.168.1.2", 61169));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private Path privateDirectory() throws IOException {
+        return Files.createDirectory(tempDir.resolve("private"),
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    }
+
+    private void start() throws Exception {
+        manager.startServer(new ServletHolder(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                handledOnVirtualThread.set(Thread.currentThread().isVirtual());
+                response.setContentType("application/json");
+                response.getWriter().write("{\"padding\":\"" + "a".repeat(Integer.parseInt(request.getParameter("size"))) + "\"}");
+            }
+        }), "/mcp");
+        assertTrue(manager.isRunning());
+    }
+
+    private HttpResponse<String> get(String path, boolean acceptGzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + manager.getLocalPort() + path));
+        if (acceptGzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
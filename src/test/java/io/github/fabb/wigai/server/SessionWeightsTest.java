@@ -0,0 +1,36 @@
+package io.github.fabb.wigai.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SessionWeights class.
+ */
+class SessionWeightsTest {
+
+    @Test
+    void testClientOverridesAreMatchedIgnoringCase() {
+        SessionWeights weights = SessionWeights.parse(1.5, "batch-runner=0.25, Studio = 2");
+
+        assertEquals(0.25, weights.weightFor("batch-runner"));
+        assertEquals(2.0, weights.weightFor("studio"));
+        assertEquals(1.5, weights.weightFor("unknown"));
+        assertEquals(1.5, weights.weightFor(null));
+    }
+
+    @Test
+    void testMalformedEntriesAreIgnoredAndWeightsClamped() {
+        SessionWeights weights = SessionWeights.parse(1.0, "broken, =3, slow=abc, zero=0, huge=1e9");
+
+        assertEquals(1.0, weights.weightFor("broken"));
+        assertEquals(1.0, weights.weightFor("slow"));
+        assertEquals(1.0, weights.weightFor("zero"));
+        assertEquals(SessionWeights.MAX_WEIGHT, weights.weightFor("huge"));
+    }
+
+    @Test
+    void testNonPositiveDefaultIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SessionWeights.parse(0, ""));
+    }
+}